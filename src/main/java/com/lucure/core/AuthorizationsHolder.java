@@ -1,5 +1,7 @@
 package com.lucure.core;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.lucure.core.security.Authorizations;
 import com.lucure.core.security.VisibilityEvaluator;
 
@@ -9,13 +11,44 @@ public class AuthorizationsHolder {
     public static final ThreadLocal<AuthorizationsHolder> threadAuthorizations =
       new ThreadLocal<AuthorizationsHolder>() {
           @Override protected AuthorizationsHolder initialValue() {
-              return new AuthorizationsHolder(Authorizations.EMPTY);
+              return EMPTY;
           }
       };
 
     public static final AuthorizationsHolder EMPTY = new AuthorizationsHolder(
       Authorizations.EMPTY);
 
+    /**
+     * Holders handed out by {@link #of(Authorizations)}, an entry lives as
+     * long as its holder is referenced outside of the pool
+     */
+    private static final Cache<Authorizations, AuthorizationsHolder> POOL =
+      CacheBuilder.newBuilder().weakValues().build();
+
+    static {
+        POOL.put(Authorizations.EMPTY, EMPTY);
+    }
+
+    /**
+     * Returns the shared holder of the given authorizations, creating it if
+     * no holder of an equal set of authorizations is in use. Sharing the
+     * holder avoids escaping the authorizations again and keeps the
+     * evaluator's decisions across queries and document fetches made with
+     * the same authorizations.
+     */
+    public static AuthorizationsHolder of(Authorizations authorizations) {
+        AuthorizationsHolder holder = POOL.getIfPresent(authorizations);
+        if (holder == null) {
+            holder = new AuthorizationsHolder(authorizations);
+            AuthorizationsHolder existing = POOL.asMap().putIfAbsent(
+              authorizations, holder);
+            if (existing != null) {
+                holder = existing;
+            }
+        }
+        return holder;
+    }
+
     private final Authorizations authorizations;
     private final VisibilityEvaluator visibilityEvaluator;
 
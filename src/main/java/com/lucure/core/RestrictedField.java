@@ -1,6 +1,7 @@
 package com.lucure.core;
 
 import com.lucure.core.security.FieldVisibility;
+import com.lucure.core.security.FieldVisibilityCache;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenFilter;
 import org.apache.lucene.analysis.TokenStream;
@@ -50,9 +51,20 @@ public class RestrictedField extends Field {
     public RestrictedField(
       String name, Object value, FieldType type,
       FieldVisibility fieldVisibility) {
+        this(name, value, type, fieldVisibility, false);
+    }
+
+    /**
+     * @param canonicalize if true the field stores the
+     * {@link FieldVisibility#canonicalize() canonical form} of the visibility,
+     * so that equivalent expressions are indexed as the same bytes
+     */
+    public RestrictedField(
+      String name, Object value, FieldType type,
+      FieldVisibility fieldVisibility, boolean canonicalize) {
         super(name, type);
         this.fieldsData = value;
-        this.fieldVisibility = fieldVisibility;
+        this.fieldVisibility = visibility(fieldVisibility, canonicalize);
     }
 
     public RestrictedField(Field field, FieldVisibility fieldVisibility) {
@@ -62,9 +74,25 @@ public class RestrictedField extends Field {
     }
 
     public RestrictedField(IndexableField field, FieldVisibility fieldVisibility) {
+        this(field, fieldVisibility, false);
+    }
+
+    /**
+     * @see #RestrictedField(String, Object, FieldType, FieldVisibility, boolean)
+     */
+    public RestrictedField(
+      IndexableField field, FieldVisibility fieldVisibility,
+      boolean canonicalize) {
         super(field.name(), from(field.fieldType()));
         this.fieldsData = toObject(field);
-        this.fieldVisibility = fieldVisibility;
+        this.fieldVisibility = visibility(fieldVisibility, canonicalize);
+    }
+
+    private static FieldVisibility visibility(
+      FieldVisibility fieldVisibility, boolean canonicalize) {
+        return canonicalize && fieldVisibility != null ?
+               FieldVisibilityCache.SHARED.getCanonical(fieldVisibility) :
+               fieldVisibility;
     }
 
     public FieldVisibility getFieldVisibility() {
@@ -2,14 +2,12 @@ package com.lucure.core.codec;
 
 import com.lucure.core.AuthorizationsHolder;
 import com.lucure.core.security.Authorizations;
-import com.lucure.core.security.FieldVisibility;
 import com.lucure.core.security.VisibilityParseException;
 import org.apache.lucene.index.DocsAndPositionsEnum;
 import org.apache.lucene.util.AttributeSource;
 import org.apache.lucene.util.BytesRef;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 import static com.lucure.core.codec.AccessFilteredDocsAndPositionsEnum
   .AllAuthorizationsHolder.ALLAUTHSHOLDER;
@@ -17,6 +15,10 @@ import static com.lucure.core.codec.AccessFilteredDocsAndPositionsEnum
 /**
  * Enum to read and restrict access to a document based on the payload which
  * is expected to store the visibility
+ * <p>
+ * Only used for segments written before the postings stored the visibility
+ * of every doc, newer segments are filtered by the postings enums
+ * themselves.
  */
 public class AccessFilteredDocsAndPositionsEnum extends DocsAndPositionsEnum {
 
@@ -42,8 +44,13 @@ public class AccessFilteredDocsAndPositionsEnum extends DocsAndPositionsEnum {
         AuthorizationsHolder.threadAuthorizations.remove();
     }
 
-    private final DocsAndPositionsEnum docsAndPositionsEnum;
-    private final AuthorizationsHolder authorizationsHolder;
+    private DocsAndPositionsEnum docsAndPositionsEnum;
+    private AuthorizationsHolder authorizationsHolder;
+    // set when the delegate evaluates the visibilities of its payload blocks
+    private LucurePostingsReader.EverythingEnum blockEvaluatedEnum;
+    // first position of the current doc, read by hasAccess and not returned
+    // by nextPosition yet, or -1
+    private int pendingPosition = -1;
 
     public AccessFilteredDocsAndPositionsEnum(
       DocsAndPositionsEnum docsAndPositionsEnum) {
@@ -53,12 +60,41 @@ public class AccessFilteredDocsAndPositionsEnum extends DocsAndPositionsEnum {
     public AccessFilteredDocsAndPositionsEnum(
       DocsAndPositionsEnum docsAndPositionsEnum,
       AuthorizationsHolder authorizationsHolder) {
+        reset(docsAndPositionsEnum, authorizationsHolder);
+    }
+
+    /**
+     * Filters <code>docsAndPositionsEnum</code> with
+     * <code>authorizationsHolder</code> from now on, so that the postings
+     * reader reuses this enum and its delegate from term to term
+     */
+    void reset(DocsAndPositionsEnum docsAndPositionsEnum,
+               AuthorizationsHolder authorizationsHolder) {
         this.docsAndPositionsEnum = docsAndPositionsEnum;
         this.authorizationsHolder = authorizationsHolder;
+        if (docsAndPositionsEnum instanceof LucurePostingsReader.EverythingEnum &&
+            ((LucurePostingsReader.EverythingEnum) docsAndPositionsEnum).evaluatesPayloads()) {
+            this.blockEvaluatedEnum = (LucurePostingsReader.EverythingEnum) docsAndPositionsEnum;
+        } else {
+            this.blockEvaluatedEnum = null;
+        }
+        this.pendingPosition = -1;
+    }
+
+    /**
+     * @return the filtered enum
+     */
+    DocsAndPositionsEnum getDelegate() {
+        return docsAndPositionsEnum;
     }
 
     @Override
     public int nextPosition() throws IOException {
+        if (pendingPosition != -1) {
+            final int position = pendingPosition;
+            pendingPosition = -1;
+            return position;
+        }
         return docsAndPositionsEnum.nextPosition();
     }
 
@@ -128,16 +164,24 @@ public class AccessFilteredDocsAndPositionsEnum extends DocsAndPositionsEnum {
         return docsAndPositionsEnum.cost();
     }
 
+    /**
+     * Checks the payload of the first position of the current doc. That
+     * position is handed out again by the next call to {@link #nextPosition()}
+     * so callers still see all <code>freq()</code> positions.
+     */
     protected boolean hasAccess() throws IOException, VisibilityParseException {
-        docsAndPositionsEnum.nextPosition();
+        pendingPosition = -1;
+        if (ALLAUTHSHOLDER.equals(authorizationsHolder)) {
+            return true;
+        }
+        pendingPosition = docsAndPositionsEnum.nextPosition();
+        if (blockEvaluatedEnum != null) {
+            return blockEvaluatedEnum.isPayloadAccepted();
+        }
         BytesRef payload = docsAndPositionsEnum.getPayload();
         return payload == null ||
-               ALLAUTHSHOLDER.equals(authorizationsHolder) ||
                this.authorizationsHolder.getVisibilityEvaluator().evaluate(
-                 new FieldVisibility(Arrays.copyOfRange(payload.bytes,
-                                                         payload.offset,
-                                                         payload.offset +
-                                                         payload.length)));
+                 payload.bytes, payload.offset, payload.length);
     }
 
     @Override
@@ -0,0 +1,169 @@
+package com.lucure.core.codec;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.lucure.core.security.VisibilityEvaluator;
+import com.lucure.core.security.VisibilityParseException;
+import org.apache.lucene.util.FixedBitSet;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bounded, concurrent cache of the visibility ordinals of a segment that an
+ * authorization set is allowed to see.
+ * <p>
+ * Once a segment's visibilities are held in a {@link VisibilityDictionary},
+ * access to a posting only depends on its ordinal, so the dictionary is
+ * evaluated once per authorization set into a {@link FixedBitSet} and every
+ * later posting of that segment, for any query and term, is checked with a
+ * single bit test. The skip data summary of the allowed visibilities is
+ * computed along with the bit set, so terms and blocks are pruned without
+ * walking it again. Entries are weighed by the memory of their bit set and
+ * evicted when the byte budget is exceeded, or when the postings reader
+ * owning the dictionary is closed.
+ */
+public final class AllowedVisibilitiesCache {
+
+    /**
+     * Default byte budget of a cache
+     */
+    public static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Cache shared by all postings readers
+     */
+    public static final AllowedVisibilitiesCache SHARED =
+      new AllowedVisibilitiesCache(DEFAULT_MAX_BYTES);
+
+    private final Cache<Key, AllowedOrds> cache;
+
+    public AllowedVisibilitiesCache(long maxBytes) {
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumWeight(maxBytes)
+                                 .weigher(new Weigher<Key, AllowedOrds>() {
+                                     @Override
+                                     public int weigh(Key key,
+                                                      AllowedOrds allowed) {
+                                         return (int) Math.min(
+                                           Integer.MAX_VALUE,
+                                           allowed.ords.ramBytesUsed());
+                                     }
+                                 })
+                                 .recordStats()
+                                 .build();
+    }
+
+    /**
+     * Returns the ordinals of <code>dictionary</code> visible to the
+     * authorizations of <code>evaluator</code>, evaluating the whole
+     * dictionary the first time the pair is asked for.
+     */
+    AllowedOrds get(final VisibilityDictionary dictionary,
+                    final VisibilityEvaluator evaluator) throws IOException {
+        try {
+            return cache.get(new Key(dictionary,
+                                     evaluator.getAuthorizationsKey()),
+                             new Callable<AllowedOrds>() {
+                                 @Override
+                                 public AllowedOrds call()
+                                   throws VisibilityParseException,
+                                          IOException {
+                                     return evaluate(dictionary, evaluator);
+                                 }
+                             });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IOException("Exception occurred evaluating visibilities",
+                                  e.getCause());
+        }
+    }
+
+    private static AllowedOrds evaluate(VisibilityDictionary dictionary,
+                                        VisibilityEvaluator evaluator)
+      throws VisibilityParseException, IOException {
+        final FixedBitSet allowed = new FixedBitSet(dictionary.size());
+        for (int ord = 0; ord < dictionary.size(); ord++) {
+            if (evaluator.evaluate(dictionary.visibility(ord))) {
+                allowed.set(ord);
+            }
+        }
+        return new AllowedOrds(allowed,
+                               LucurePostingsReader.visibilitySummary(allowed));
+    }
+
+    /**
+     * Drops every entry of <code>dictionary</code>, called when its segment
+     * is closed
+     */
+    void evict(VisibilityDictionary dictionary) {
+        Iterator<Key> keys = cache.asMap().keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().dictionary == dictionary) {
+                keys.remove();
+            }
+        }
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Visibility ordinals an authorization set may see, with the skip data
+     * summary of their visibilities
+     */
+    static final class AllowedOrds {
+        final FixedBitSet ords;
+        final long summary;
+
+        AllowedOrds(FixedBitSet ords, long summary) {
+            this.ords = ords;
+            this.summary = summary;
+        }
+    }
+
+    /**
+     * Dictionaries are compared by identity, there is one per open segment,
+     * authorizations by the key of their evaluator
+     */
+    private static final class Key {
+        final VisibilityDictionary dictionary;
+        final Object authorizations;
+        final int hash;
+
+        Key(VisibilityDictionary dictionary, Object authorizations) {
+            this.dictionary = dictionary;
+            this.authorizations = authorizations;
+            this.hash = 31 * System.identityHashCode(dictionary) +
+                        authorizations.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return dictionary == other.dictionary &&
+                   authorizations.equals(other.authorizations);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
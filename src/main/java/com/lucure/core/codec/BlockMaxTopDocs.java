@@ -0,0 +1,349 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.index.LucureAtomicReader;
+import com.lucure.core.security.Authorizations;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.DocsEnum;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermContext;
+import org.apache.lucene.index.TermState;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.Similarity;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.PriorityQueue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Top docs of a single term, as scored by a {@link TermQuery}, that skips
+ * the blocks of postings none of whose docs can make it to the top docs.
+ * <p>
+ * Once <code>n</code> docs are collected, the lowest of their scores is the
+ * threshold a doc must beat. The best score a doc can get with a freq is
+ * bounded by scoring that freq with one doc of each distinct norm of the
+ * segment, so the threshold gives the lowest competitive freq, and the
+ * postings skip the blocks whose max freq, from their skip data, is lower
+ * (block-max pruning). Visibilities are only checked for docs whose freq
+ * is competitive. The bound holds for similarities scoring a doc from its
+ * norm and freq only, with a score that does not decrease with the freq,
+ * such as the default and BM25 similarities.
+ * <p>
+ * As docs of skipped blocks are not counted, the number of hits is not
+ * known: <code>totalHits</code> of the returned top docs is the number of
+ * docs scored, see {@link #getScoredDocs()}, a lower bound of the number of
+ * hits.
+ */
+public final class BlockMaxTopDocs extends TopDocs {
+
+    // docs with each distinct norm of a field, per segment core, dropped
+    // when the core is closed
+    private static final ConcurrentMap<Object, Map<String, int[]>> NORM_DOCS =
+      new ConcurrentHashMap<>();
+
+    private final int scoredDocs;
+
+    private BlockMaxTopDocs(int scoredDocs, ScoreDoc[] scoreDocs,
+                            float maxScore) {
+        super(scoredDocs, scoreDocs, maxScore);
+        this.scoredDocs = scoredDocs;
+    }
+
+    /**
+     * @return the number of docs scored, which is not the number of hits as
+     * the docs of skipped blocks are neither scored nor counted
+     */
+    public int getScoredDocs() {
+        return scoredDocs;
+    }
+
+    /**
+     * Returns the top <code>n</code> docs of <code>term</code> visible with
+     * <code>authorizations</code>, the authorizations of the current thread
+     * are restored once done
+     */
+    public static BlockMaxTopDocs search(
+      IndexSearcher searcher, Term term, int n,
+      Authorizations authorizations) throws IOException {
+        final AuthorizationsHolder previous =
+          AuthorizationsHolder.threadAuthorizations.get();
+        AuthorizationsHolder.threadAuthorizations.set(
+          AuthorizationsHolder.of(authorizations));
+        try {
+            return search(searcher, term, n);
+        } finally {
+            AuthorizationsHolder.threadAuthorizations.set(previous);
+        }
+    }
+
+    /**
+     * Returns the top <code>n</code> docs of <code>term</code> visible with
+     * the authorizations of the current thread
+     */
+    public static BlockMaxTopDocs search(IndexSearcher searcher, Term term,
+                                         int n)
+      throws IOException {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be > 0, got " + n);
+        }
+        final Similarity similarity = searcher.getSimilarity();
+        final TermContext termContext = TermContext.build(
+          searcher.getTopReaderContext(), term);
+        // as IndexSearcher#createNormalizedWeight does for a TermQuery
+        final Similarity.SimWeight stats = similarity.computeWeight(
+          1f, searcher.collectionStatistics(term.field()),
+          searcher.termStatistics(term, termContext));
+        float queryNorm = similarity.queryNorm(
+          stats.getValueForNormalization());
+        if (Float.isInfinite(queryNorm) || Float.isNaN(queryNorm)) {
+            queryNorm = 1f;
+        }
+        stats.normalize(queryNorm, 1f);
+
+        final TopQueue queue = new TopQueue(n);
+        int scored = 0;
+        for (AtomicReaderContext context : searcher.getIndexReader().leaves()) {
+            final TermState state = termContext.get(context.ord);
+            if (state == null) {
+                continue;
+            }
+            final Terms terms = context.reader().terms(term.field());
+            final TermsEnum termsEnum = terms.iterator(null);
+            termsEnum.seekExact(term.bytes(), state);
+            final DocsEnum docsEnum = termsEnum.docs(
+              context.reader().getLiveDocs(), null, DocsEnum.FLAG_FREQS);
+            scored += score(context, docsEnum, new LeafBounds(
+              similarity.simScorer(stats, context),
+              normDocs(context.reader(), term.field())), queue);
+        }
+
+        final ScoreDoc[] scoreDocs = new ScoreDoc[queue.size()];
+        for (int i = scoreDocs.length - 1; i >= 0; i--) {
+            scoreDocs[i] = queue.pop();
+        }
+        return new BlockMaxTopDocs(scored, scoreDocs, scoreDocs.length == 0 ?
+                                                      Float.NaN :
+                                                      scoreDocs[0].score);
+    }
+
+    private static int score(
+      AtomicReaderContext context, DocsEnum docsEnum, LeafBounds bounds,
+      TopQueue queue) throws IOException {
+        final LucurePostingsReader.BlockDocsEnum blockDocsEnum =
+          docsEnum instanceof LucurePostingsReader.BlockDocsEnum &&
+          ((LucurePostingsReader.BlockDocsEnum) docsEnum).hasBlockMaxFreqs() ?
+          (LucurePostingsReader.BlockDocsEnum) docsEnum : null;
+        int minCompetitiveFreq = 1;
+        int scored = 0;
+        int doc;
+        while ((doc = docsEnum.nextDoc()) != DocsEnum.NO_MORE_DOCS) {
+            scored++;
+            final float score = bounds.scorer.score(doc, docsEnum.freq());
+            if (queue.size() < queue.capacity) {
+                queue.add(new ScoreDoc(context.docBase + doc, score));
+            } else if (score > queue.top().score) {
+                // ties go to the lowest doc, as with TopScoreDocCollector
+                queue.top().doc = context.docBase + doc;
+                queue.top().score = score;
+                queue.updateTop();
+            } else {
+                continue;
+            }
+            if (blockDocsEnum != null && queue.size() == queue.capacity) {
+                final int freq = bounds.minCompetitiveFreq(
+                  queue.top().score, minCompetitiveFreq);
+                if (freq > minCompetitiveFreq) {
+                    minCompetitiveFreq = freq;
+                    blockDocsEnum.setMinCompetitiveFreq(minCompetitiveFreq);
+                }
+            }
+        }
+        return scored;
+    }
+
+    /**
+     * @return a doc of each distinct norm of <code>field</code>, only doc 0
+     * when it has no norms
+     */
+    private static int[] normDocs(AtomicReader reader, String field)
+      throws IOException {
+        // norms are not filtered, they are shared by the searchers of a core
+        final AtomicReader core = LucureAtomicReader.unwrap(reader);
+        final Object coreKey = core.getCoreCacheKey();
+        Map<String, int[]> fieldNormDocs = NORM_DOCS.get(coreKey);
+        if (fieldNormDocs == null) {
+            fieldNormDocs = new ConcurrentHashMap<>();
+            final Map<String, int[]> existing = NORM_DOCS.putIfAbsent(
+              coreKey, fieldNormDocs);
+            if (existing != null) {
+                fieldNormDocs = existing;
+            } else {
+                core.addCoreClosedListener(
+                  new AtomicReader.CoreClosedListener() {
+                      @Override
+                      public void onClose(Object ownerCoreCacheKey) {
+                          NORM_DOCS.remove(coreKey);
+                      }
+                  });
+            }
+        }
+        int[] normDocs = fieldNormDocs.get(field);
+        if (normDocs == null) {
+            normDocs = loadNormDocs(reader, field);
+            fieldNormDocs.put(field, normDocs);
+        }
+        return normDocs;
+    }
+
+    /**
+     * @return the number of segment cores whose norm docs are held
+     */
+    static int normDocsCores() {
+        return NORM_DOCS.size();
+    }
+
+    private static int[] loadNormDocs(AtomicReader reader, String field)
+      throws IOException {
+        final NumericDocValues norms = reader.getNormValues(field);
+        if (norms == null) {
+            return new int[]{0};
+        }
+        // norms are usually single bytes
+        final int[] byteNormDocs = new int[256];
+        Arrays.fill(byteNormDocs, -1);
+        final Map<Long, Integer> otherNormDocs = new HashMap<>();
+        int count = 0;
+        for (int doc = 0; doc < reader.maxDoc(); doc++) {
+            final long norm = norms.get(doc);
+            if (norm >= Byte.MIN_VALUE && norm <= Byte.MAX_VALUE) {
+                if (byteNormDocs[(int) norm & 0xFF] == -1) {
+                    byteNormDocs[(int) norm & 0xFF] = doc;
+                    count++;
+                }
+            } else if (!otherNormDocs.containsKey(norm)) {
+                otherNormDocs.put(norm, doc);
+            }
+        }
+        int[] normDocs = new int[count + otherNormDocs.size()];
+        int upto = 0;
+        for (int doc : byteNormDocs) {
+            if (doc != -1) {
+                normDocs[upto++] = doc;
+            }
+        }
+        for (int doc : otherNormDocs.values()) {
+            normDocs[upto++] = doc;
+        }
+        return normDocs;
+    }
+
+    /**
+     * Bounds of the scores of the docs of a segment
+     */
+    private static final class LeafBounds {
+        // freqs whose best score is kept
+        private static final int MAX_CACHED_FREQ = 1024;
+
+        final Similarity.SimScorer scorer;
+        private final int[] normDocs;
+        // best score of each freq, NaN when not computed yet
+        private float[] maxScores = new float[0];
+
+        LeafBounds(Similarity.SimScorer scorer, int[] normDocs) {
+            this.scorer = scorer;
+            this.normDocs = normDocs;
+        }
+
+        /**
+         * @return the best score a doc of the segment can get with
+         * <code>freq</code>
+         */
+        float maxScore(int freq) {
+            if (freq > MAX_CACHED_FREQ) {
+                return computeMaxScore(freq);
+            }
+            if (freq >= maxScores.length) {
+                final int length = maxScores.length;
+                maxScores = Arrays.copyOf(maxScores, Math.min(
+                  ArrayUtil.oversize(freq + 1, 4), MAX_CACHED_FREQ + 1));
+                Arrays.fill(maxScores, length, maxScores.length, Float.NaN);
+            }
+            if (Float.isNaN(maxScores[freq])) {
+                maxScores[freq] = computeMaxScore(freq);
+            }
+            return maxScores[freq];
+        }
+
+        private float computeMaxScore(int freq) {
+            float maxScore = Float.NEGATIVE_INFINITY;
+            for (int doc : normDocs) {
+                maxScore = Math.max(maxScore, scorer.score(doc, freq));
+            }
+            return maxScore;
+        }
+
+        /**
+         * @return the lowest freq, from <code>freq</code> on, with which a
+         * doc may score above <code>threshold</code>, exponential then
+         * binary searched as scores may saturate with the freq
+         */
+        int minCompetitiveFreq(float threshold, int freq) {
+            if (maxScore(freq) > threshold) {
+                return freq;
+            }
+            // maxScore(lower) <= threshold < maxScore(upper)
+            int lower = freq;
+            long upper = 2L * freq;
+            while (maxScore((int) upper) <= threshold) {
+                lower = (int) upper;
+                upper *= 2;
+                if (upper > Integer.MAX_VALUE) {
+                    // no freq is competitive
+                    return Integer.MAX_VALUE;
+                }
+            }
+            int high = (int) upper;
+            while (high - lower > 1) {
+                final int mid = (lower + high) >>> 1;
+                if (maxScore(mid) <= threshold) {
+                    lower = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            return high;
+        }
+    }
+
+    /**
+     * Top docs by score then doc, as HitQueue
+     */
+    private static final class TopQueue extends PriorityQueue<ScoreDoc> {
+        final int capacity;
+
+        TopQueue(int capacity) {
+            super(capacity);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean lessThan(ScoreDoc a, ScoreDoc b) {
+            if (a.score == b.score) {
+                return a.doc > b.doc;
+            }
+            return a.score < b.score;
+        }
+    }
+}
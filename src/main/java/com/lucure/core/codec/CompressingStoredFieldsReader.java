@@ -21,6 +21,7 @@ import com.lucure.core.AuthorizationsHolder;
 import com.lucure.core.index.visitor.DelegatingRestrictedFieldVisitor;
 import com.lucure.core.index.visitor.RestrictedStoredFieldVisitor;
 import com.lucure.core.security.FieldVisibility;
+import com.lucure.core.security.FieldVisibilityCache;
 import com.lucure.core.security.VisibilityParseException;
 import org.apache.lucene.codecs.CodecUtil;
 import org.apache.lucene.codecs.StoredFieldsReader;
@@ -31,11 +32,14 @@ import org.apache.lucene.store.*;
 import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.RamUsageEstimator;
 import org.apache.lucene.util.packed.PackedInts;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static com.lucure.core.codec.AccessFilteredDocsAndPositionsEnum
   .AllAuthorizationsHolder.ALLAUTHSHOLDER;
@@ -65,6 +69,15 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
   private final Decompressor decompressor;
   private final BytesRef bytes;
   private final int numDocs;
+  private byte[] visibilityBytes = BytesRef.EMPTY_BYTES;
+  // visibility dictionary of the last chunk visited
+  private long dictionaryChunkPointer = -1;
+  private long dictionaryEndPointer;
+  private int numChunkVisibilities;
+  private FieldVisibility[] chunkVisibilities = new FieldVisibility[0];
+  // decisions on the dictionary for decisionsHolder: 0 unknown, 1 allowed, 2 denied
+  private byte[] chunkDecisions = BytesRef.EMPTY_BYTES;
+  private AuthorizationsHolder decisionsHolder;
   private boolean closed;
 
   // used by clone
@@ -236,7 +249,8 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
   @Override
   public void visitDocument(int docID, StoredFieldVisitor visitor)
       throws IOException {
-    fieldsStream.seek(indexReader.getStartPointer(docID));
+    final long chunkPointer = indexReader.getStartPointer(docID);
+    fieldsStream.seek(chunkPointer);
 
     final int docBase = fieldsStream.readVInt();
     final int chunkDocs = fieldsStream.readVInt();
@@ -290,6 +304,10 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
       }
     }
 
+    if (version >= VERSION_VIS_DICTIONARY) {
+      readChunkVisibilities(chunkPointer);
+    }
+
     if ((length == 0) != (numStoredFields == 0)) {
       throw new CorruptIndexException("length=" + length + ", numStoredFields=" + numStoredFields + " (resource=" + fieldsStream + ")");
     }
@@ -299,6 +317,8 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
     }
 
     final DataInput documentInput;
+    // set when the whole document is in a single buffer
+    byte[] documentBytes = null;
     if (version >= VERSION_BIG_CHUNKS && totalLength >= 2 * chunkSize) {
       assert chunkSize > 0;
       assert offset < chunkSize;
@@ -346,6 +366,7 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
       decompressor.decompress(fieldsStream, totalLength, offset, length, bytes);
       assert bytes.length == length;
       documentInput = new ByteArrayDataInput(bytes.bytes, bytes.offset, bytes.length);
+      documentBytes = bytes.bytes;
     }
 
     for (int fieldIDX = 0; fieldIDX < numStoredFields; fieldIDX++) {
@@ -358,17 +379,28 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
 
         //get restricted
         FieldVisibility cv = RestrictedStoredFieldVisitor.EMPTY;
-        boolean isRestricted = documentInput.readByte() == 1;
-        if(isRestricted) {
-            int cv_length = documentInput.readVInt();
-            byte[] cv_bytes = new byte[cv_length];
-            documentInput.readBytes(cv_bytes, 0, cv_length);
-            cv = new FieldVisibility(cv_bytes);
+        final boolean allowed;
+        if (version >= VERSION_VIS_DICTIONARY) {
+            final int ord = documentInput.readVInt();
+            if (ord == 0) {
+                allowed = evaluate(cv);
+            } else if (ord > numChunkVisibilities) {
+                throw new CorruptIndexException("visibility ord=" + ord + ", dictionary size=" + numChunkVisibilities + " (resource=" + fieldsStream + ")");
+            } else {
+                cv = chunkVisibilities[ord - 1];
+                allowed = isAllowed(ord - 1);
+            }
+        } else {
+            boolean isRestricted = documentInput.readByte() == 1;
+            if(isRestricted) {
+                cv = readVisibility(documentInput, documentBytes);
+            }
+            allowed = evaluate(cv);
         }
 
         RestrictedStoredFieldVisitor restrictedStoredFieldVisitor =
           DelegatingRestrictedFieldVisitor.wrap(visitor);
-      if(evaluate(cv)) {
+      if(allowed) {
           switch (restrictedStoredFieldVisitor.needsField(fieldInfo, cv)) {
               case YES:
                   readField(documentInput, restrictedStoredFieldVisitor,
@@ -386,6 +418,79 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
     }
   }
 
+    /**
+     * Reads the visibility dictionary of the chunk starting at
+     * <code>chunkPointer</code>, only skipping over it when it is the chunk
+     * of the previous document so that the visibilities of a chunk are
+     * parsed and evaluated once for all of its documents.
+     */
+    private void readChunkVisibilities(long chunkPointer) throws IOException {
+        if (chunkPointer == dictionaryChunkPointer) {
+            fieldsStream.seek(dictionaryEndPointer);
+            return;
+        }
+        dictionaryChunkPointer = -1;
+        final int count = fieldsStream.readVInt();
+        if (chunkVisibilities.length < count) {
+            final int newLength = ArrayUtil.oversize(count, RamUsageEstimator.NUM_BYTES_OBJECT_REF);
+            chunkVisibilities = new FieldVisibility[newLength];
+            chunkDecisions = new byte[newLength];
+        }
+        for (int i = 0; i < count; i++) {
+            final int length = fieldsStream.readVInt();
+            if (visibilityBytes.length < length) {
+                visibilityBytes = new byte[ArrayUtil.oversize(length, 1)];
+            }
+            fieldsStream.readBytes(visibilityBytes, 0, length);
+            chunkVisibilities[i] = FieldVisibilityCache.SHARED.get(visibilityBytes, 0, length);
+        }
+        numChunkVisibilities = count;
+        decisionsHolder = null;
+        dictionaryEndPointer = fieldsStream.getFilePointer();
+        dictionaryChunkPointer = chunkPointer;
+    }
+
+    /**
+     * Evaluates the visibility of ordinal <code>ord</code> of the chunk
+     * dictionary once for the authorizations of the current thread
+     */
+    private boolean isAllowed(int ord) {
+        final AuthorizationsHolder authorizationsHolder =
+          AuthorizationsHolder.threadAuthorizations.get();
+        if (authorizationsHolder != decisionsHolder) {
+            Arrays.fill(chunkDecisions, 0, numChunkVisibilities, (byte) 0);
+            decisionsHolder = authorizationsHolder;
+        }
+        if (chunkDecisions[ord] == 0) {
+            chunkDecisions[ord] = evaluate(chunkVisibilities[ord]) ? (byte) 1 : (byte) 2;
+        }
+        return chunkDecisions[ord] == 1;
+    }
+
+    /**
+     * Reads a field visibility of a segment written before
+     * {@link CompressingStoredFieldsWriter#VERSION_VIS_DICTIONARY}. The expression is looked up in the shared
+     * cache straight from the decompressed bytes when the document is held
+     * in a single buffer, otherwise it is read into a reused buffer.
+     */
+    private FieldVisibility readVisibility(DataInput documentInput,
+                                           byte[] documentBytes)
+      throws IOException {
+        final int length = documentInput.readVInt();
+        if (documentBytes != null) {
+            final ByteArrayDataInput in = (ByteArrayDataInput) documentInput;
+            final FieldVisibility cv = FieldVisibilityCache.SHARED.get(
+              documentBytes, in.getPosition(), length);
+            in.skipBytes(length);
+            return cv;
+        }
+        if (visibilityBytes.length < length) {
+            visibilityBytes = new byte[ArrayUtil.oversize(length, 1)];
+        }
+        documentInput.readBytes(visibilityBytes, 0, length);
+        return FieldVisibilityCache.SHARED.get(visibilityBytes, 0, length);
+    }
+
     private boolean evaluate(FieldVisibility cv) {
         try {
             final AuthorizationsHolder authorizationsHolder
@@ -431,6 +536,8 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
     int chunkDocs;
     int[] numStoredFields;
     int[] lengths;
+    // visibility dictionary of the chunk
+    final List<BytesRef> visibilities = new ArrayList<>();
 
     private ChunkIterator(int startDocId) throws IOException {
       this.docBase = -1;
@@ -508,6 +615,16 @@ public final class CompressingStoredFieldsReader extends StoredFieldsReader {
           }
         }
       }
+
+      visibilities.clear();
+      if (version >= VERSION_VIS_DICTIONARY) {
+        final int count = fieldsStream.readVInt();
+        for (int i = 0; i < count; ++i) {
+          final byte[] visibility = new byte[fieldsStream.readVInt()];
+          fieldsStream.readBytes(visibility, 0, visibility.length);
+          visibilities.add(new BytesRef(visibility));
+        }
+      }
     }
 
     /**
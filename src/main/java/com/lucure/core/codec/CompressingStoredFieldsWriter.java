@@ -18,13 +18,14 @@ package com.lucure.core.codec;
  */
 
 import com.lucure.core.RestrictedField;
+import com.lucure.core.index.visitor.RestrictedDocumentStoredFieldVisitor;
 import org.apache.lucene.codecs.CodecUtil;
 import org.apache.lucene.codecs.StoredFieldsReader;
 import org.apache.lucene.codecs.StoredFieldsWriter;
 import org.apache.lucene.codecs.compressing.CompressionMode;
 import org.apache.lucene.codecs.compressing.Compressor;
-import org.apache.lucene.document.Document;
 import org.apache.lucene.index.*;
+import org.apache.lucene.store.ByteArrayDataInput;
 import org.apache.lucene.store.DataOutput;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.IOContext;
@@ -33,7 +34,11 @@ import org.apache.lucene.util.*;
 import org.apache.lucene.util.packed.PackedInts;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.apache.lucene.codecs.lucene40.Lucene40StoredFieldsWriter.FIELDS_EXTENSION;
 import static org.apache.lucene.codecs.lucene40.Lucene40StoredFieldsWriter.FIELDS_INDEX_EXTENSION;
@@ -62,7 +67,9 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
   static final int VERSION_START = 0;
   static final int VERSION_BIG_CHUNKS = 1;
   static final int VERSION_CHECKSUM = 2;
-  static final int VERSION_CURRENT = VERSION_CHECKSUM;
+  // restricted fields refer to a visibility dictionary in the chunk header
+  static final int VERSION_VIS_DICTIONARY = 3;
+  static final int VERSION_CURRENT = VERSION_VIS_DICTIONARY;
 
   private final Directory directory;
   private final String segment;
@@ -79,6 +86,9 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
   private int[] endOffsets; // end offsets in bufferedDocs
   private int docBase; // doc ID at the beginning of the chunk
   private int numBufferedDocs; // docBase + numBufferedDocs == current doc ID
+  // distinct visibilities of the buffered docs, by their ordinal + 1
+  private final Map<BytesRef, Integer> visibilityOrds = new HashMap<>();
+  private final List<BytesRef> visibilities = new ArrayList<>();
 
   /** Sole constructor. */
   public CompressingStoredFieldsWriter(Directory directory, SegmentInfo si, String segmentSuffix, IOContext context,
@@ -196,6 +206,30 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
 
     // save lengths
     saveInts(lengths, numBufferedDocs, fieldsStream);
+
+    // save the visibilities of the restricted fields
+    fieldsStream.writeVInt(visibilities.size());
+    for (BytesRef visibility : visibilities) {
+      fieldsStream.writeVInt(visibility.length);
+      fieldsStream.writeBytes(visibility.bytes, visibility.offset, visibility.length);
+    }
+  }
+
+  /**
+   * Returns the ordinal + 1 of <code>expression</code> in the visibility
+   * dictionary of the buffered chunk, adding it if needed. The expression is
+   * copied when added.
+   */
+  private int visibilityOrd(byte[] expression, int offset, int length) {
+    final BytesRef visibility = new BytesRef(expression, offset, length);
+    Integer ord = visibilityOrds.get(visibility);
+    if (ord == null) {
+      final BytesRef copy = BytesRef.deepCopyOf(visibility);
+      visibilities.add(copy);
+      ord = visibilities.size();
+      visibilityOrds.put(copy, ord);
+    }
+    return ord;
   }
 
   private boolean triggerFlush() {
@@ -228,6 +262,8 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
     docBase += numBufferedDocs;
     numBufferedDocs = 0;
     bufferedDocs.length = 0;
+    visibilityOrds.clear();
+    visibilities.clear();
   }
 
   @Override
@@ -268,15 +304,17 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
     final long infoAndBits = (((long) info.number) << TYPE_BITS) | bits;
     bufferedDocs.writeVLong(infoAndBits);
 
-      boolean isRestricted = field instanceof RestrictedField;
+      // an empty visibility reads back the same as no visibility
+      boolean isRestricted = field instanceof RestrictedField &&
+        ((RestrictedField) field).getFieldVisibility().getExpression().length > 0;
 
-      //set restricted
-      bufferedDocs.writeByte((byte) (isRestricted ? 1 : 0));
+      //set visibility, 0 when not restricted
       if(isRestricted) {
           RestrictedField restrictedField = (RestrictedField) field;
           byte[] expression = restrictedField.getFieldVisibility().getExpression();
-          bufferedDocs.writeVInt(expression.length);
-          bufferedDocs.writeBytes(expression, 0, expression.length);
+          bufferedDocs.writeVInt(visibilityOrd(expression, 0, expression.length));
+      } else {
+          bufferedDocs.writeVInt(0);
       }
 
     switch(bits) {
@@ -349,10 +387,11 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
           || matchingFieldsReader.getVersion() != VERSION_CURRENT // means reader version is not the same as the writer version
           || matchingFieldsReader.getCompressionMode() != compressionMode
           || matchingFieldsReader.getChunkSize() != chunkSize) { // the way data is decompressed depends on the chunk size
-        // naive merge...
+        // naive merge, keeping the visibilities of the fields...
         for (int i = nextLiveDoc(0, liveDocs, maxDoc); i < maxDoc; i = nextLiveDoc(i + 1, liveDocs, maxDoc)) {
-          Document doc = reader.document(i);
-          addDocument(doc, mergeState.fieldInfos);
+          RestrictedDocumentStoredFieldVisitor visitor = new RestrictedDocumentStoredFieldVisitor();
+          reader.document(i, visitor);
+          addDocument(visitor.getDocument(), mergeState.fieldInfos);
           ++docCount;
           mergeState.checkAbort.work(300);
         }
@@ -382,7 +421,11 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
             for (; docID < it.docBase + it.chunkDocs; docID = nextLiveDoc(docID + 1, liveDocs, maxDoc)) {
               final int diff = docID - it.docBase;
               startDocument();
-              bufferedDocs.writeBytes(it.bytes.bytes, it.bytes.offset + startOffsets[diff], it.lengths[diff]);
+              if (it.visibilities.isEmpty()) {
+                bufferedDocs.writeBytes(it.bytes.bytes, it.bytes.offset + startOffsets[diff], it.lengths[diff]);
+              } else {
+                copyDocument(it, startOffsets[diff], it.lengths[diff], it.numStoredFields[diff]);
+              }
               numStoredFieldsInDoc = it.numStoredFields[diff];
               finishDocument();
               ++docCount;
@@ -401,6 +444,49 @@ public final class CompressingStoredFieldsWriter extends StoredFieldsWriter {
     return docCount;
   }
 
+  /**
+   * Copies a document of the chunk of <code>it</code>, mapping the ordinals
+   * of its visibilities from the dictionary of that chunk to the one of the
+   * buffered chunk
+   */
+  private void copyDocument(CompressingStoredFieldsReader.ChunkIterator it,
+                            int offset, int length, int numStoredFields) throws IOException {
+    final byte[] bytes = it.bytes.bytes;
+    final ByteArrayDataInput in = new ByteArrayDataInput(bytes, it.bytes.offset + offset, length);
+    for (int i = 0; i < numStoredFields; ++i) {
+      final long infoAndBits = in.readVLong();
+      bufferedDocs.writeVLong(infoAndBits);
+      final int ord = in.readVInt();
+      if (ord == 0) {
+        bufferedDocs.writeVInt(0);
+      } else {
+        if (ord > it.visibilities.size()) {
+          throw new CorruptIndexException("visibility ord=" + ord + ", dictionary size=" + it.visibilities.size());
+        }
+        final BytesRef visibility = it.visibilities.get(ord - 1);
+        bufferedDocs.writeVInt(visibilityOrd(visibility.bytes, visibility.offset, visibility.length));
+      }
+      final int start = in.getPosition();
+      switch ((int) infoAndBits & TYPE_MASK) {
+        case BYTE_ARR:
+        case STRING:
+          in.skipBytes(in.readVInt());
+          break;
+        case NUMERIC_INT:
+        case NUMERIC_FLOAT:
+          in.skipBytes(4);
+          break;
+        case NUMERIC_LONG:
+        case NUMERIC_DOUBLE:
+          in.skipBytes(8);
+          break;
+        default:
+          throw new CorruptIndexException("Unknown type flag: " + Integer.toHexString((int) infoAndBits & TYPE_MASK));
+      }
+      bufferedDocs.writeBytes(bytes, start, in.getPosition() - start);
+    }
+  }
+
   private static int nextLiveDoc(int doc, Bits liveDocs, int maxDoc) {
     if (liveDocs == null) {
       return doc;
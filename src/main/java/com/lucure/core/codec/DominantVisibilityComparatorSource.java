@@ -0,0 +1,143 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.DocsEnum;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.FieldComparator;
+import org.apache.lucene.search.FieldComparatorSource;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+
+import static com.lucure.core.codec.AccessFilteredDocsAndPositionsEnum.AllAuthorizationsHolder.ALLAUTHSHOLDER;
+
+/**
+ * Compares docs by the dominant visibility indexed by
+ * {@link VisibilitySortingMergePolicy#addDominantVisibility}, docs without
+ * one first.
+ * <p>
+ * The dominant visibility field is restricted by the visibility it holds, so
+ * it is read with all authorizations, and without the FieldCache so the
+ * values are not left behind for searches.
+ */
+final class DominantVisibilityComparatorSource extends FieldComparatorSource {
+
+    /**
+     * @return the dominant visibility of every doc of <code>reader</code>,
+     * null for docs without one
+     */
+    static BytesRef[] dominantVisibilities(AtomicReader reader)
+      throws IOException {
+        final BytesRef[] visibilities = new BytesRef[reader.maxDoc()];
+        final Terms terms = reader.terms(
+          VisibilitySortingMergePolicy.DOMINANT_VISIBILITY_FIELD);
+        if (terms == null) {
+            return visibilities;
+        }
+        final AuthorizationsHolder previous =
+          AuthorizationsHolder.threadAuthorizations.get();
+        AuthorizationsHolder.threadAuthorizations.set(ALLAUTHSHOLDER);
+        try {
+            TermsEnum termsEnum = terms.iterator(null);
+            DocsEnum docsEnum = null;
+            BytesRef term;
+            while ((term = termsEnum.next()) != null) {
+                final BytesRef visibility = BytesRef.deepCopyOf(term);
+                docsEnum = termsEnum.docs(null, docsEnum, DocsEnum.FLAG_NONE);
+                int doc;
+                while ((doc = docsEnum.nextDoc()) != DocsEnum.NO_MORE_DOCS) {
+                    visibilities[doc] = visibility;
+                }
+            }
+        } finally {
+            AuthorizationsHolder.threadAuthorizations.set(previous);
+        }
+        return visibilities;
+    }
+
+    @Override
+    public FieldComparator<?> newComparator(
+      String fieldname, int numHits, int sortPos, boolean reversed) {
+        return new DominantVisibilityComparator(numHits);
+    }
+
+    /**
+     * Stable description, the sort is recorded in the diagnostics of sorted
+     * segments
+     */
+    @Override
+    public String toString() {
+        return "DominantVisibility";
+    }
+
+    private static int compare(BytesRef visibility1, BytesRef visibility2) {
+        if (visibility1 == null) {
+            return visibility2 == null ? 0 : -1;
+        }
+        if (visibility2 == null) {
+            return 1;
+        }
+        return visibility1.compareTo(visibility2);
+    }
+
+    private static final class DominantVisibilityComparator
+      extends FieldComparator<BytesRef> {
+
+        private final BytesRef[] slots;
+        private BytesRef[] docVisibilities;
+        private BytesRef bottom;
+        private BytesRef top;
+
+        DominantVisibilityComparator(int numHits) {
+            this.slots = new BytesRef[numHits];
+        }
+
+        @Override
+        public int compare(int slot1, int slot2) {
+            return DominantVisibilityComparatorSource.compare(slots[slot1],
+                                                              slots[slot2]);
+        }
+
+        @Override
+        public void setBottom(int slot) {
+            bottom = slots[slot];
+        }
+
+        @Override
+        public void setTopValue(BytesRef value) {
+            top = value;
+        }
+
+        @Override
+        public int compareBottom(int doc) {
+            return DominantVisibilityComparatorSource.compare(
+              bottom, docVisibilities[doc]);
+        }
+
+        @Override
+        public int compareTop(int doc) {
+            return DominantVisibilityComparatorSource.compare(
+              top, docVisibilities[doc]);
+        }
+
+        @Override
+        public void copy(int slot, int doc) {
+            slots[slot] = docVisibilities[doc];
+        }
+
+        @Override
+        public FieldComparator<BytesRef> setNextReader(
+          AtomicReaderContext context) throws IOException {
+            docVisibilities = dominantVisibilities(context.reader());
+            return this;
+        }
+
+        @Override
+        public BytesRef value(int slot) {
+            return slots[slot];
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.lucure.core.codec;
  */
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.apache.lucene.store.DataInput;
@@ -48,7 +49,7 @@ final class ForUtil {
 
   /**
    * Upper limit of the number of values that might be decoded in a single call to
-   * {@link #readBlock(IndexInput, byte[], int[])}. Although values after
+   * {@link #readBlock(IndexInput, ByteBuffer, int[])}. Although values after
    * <code>BLOCK_SIZE</code> are garbage, it is necessary to allocate value buffers
    * whose size is >= MAX_DATA_SIZE to avoid {@link ArrayIndexOutOfBoundsException}s.
    */
@@ -92,6 +93,9 @@ final class ForUtil {
   private final PackedInts.Encoder[] encoders;
   private final PackedInts.Decoder[] decoders;
   private final int[] iterations;
+  // bits per value of the blocks in the PACKED format, encoded and decoded
+  // by PackedBlocks, 0 for the other formats
+  private final int[] packedBitsPerValue;
 
   /**
    * Create a new {@link ForUtil} instance and save state into <code>out</code>.
@@ -102,6 +106,7 @@ final class ForUtil {
     encoders = new PackedInts.Encoder[33];
     decoders = new PackedInts.Decoder[33];
     iterations = new int[33];
+    packedBitsPerValue = new int[33];
 
     for (int bpv = 1; bpv <= 32; ++bpv) {
       final FormatAndBits formatAndBits = PackedInts.fastestFormatAndBits(
@@ -114,6 +119,7 @@ final class ForUtil {
       decoders[bpv] = PackedInts.getDecoder(
           formatAndBits.format, PackedInts.VERSION_CURRENT, formatAndBits.bitsPerValue);
       iterations[bpv] = computeIterations(decoders[bpv]);
+      packedBitsPerValue[bpv] = packedBitsPerValue(formatAndBits.format, formatAndBits.bitsPerValue);
 
       out.writeVInt(formatAndBits.format.getId() << 5 | (formatAndBits.bitsPerValue - 1));
     }
@@ -129,6 +135,7 @@ final class ForUtil {
     encoders = new PackedInts.Encoder[33];
     decoders = new PackedInts.Decoder[33];
     iterations = new int[33];
+    packedBitsPerValue = new int[33];
 
     for (int bpv = 1; bpv <= 32; ++bpv) {
       final int code = in.readVInt();
@@ -143,47 +150,62 @@ final class ForUtil {
       decoders[bpv] = PackedInts.getDecoder(
           format, packedIntsVersion, bitsPerValue);
       iterations[bpv] = computeIterations(decoders[bpv]);
+      packedBitsPerValue[bpv] = packedBitsPerValue(format, bitsPerValue);
     }
   }
 
+  private static int packedBitsPerValue(PackedInts.Format format, int bitsPerValue) {
+    assert PackedBlocks.BLOCK_SIZE == BLOCK_SIZE;
+    return format == PackedInts.Format.PACKED ? bitsPerValue : 0;
+  }
+
   /**
    * Write a block of data (<code>For</code> format).
    *
    * @param data     the data to write
-   * @param encoded  a buffer to use to encode data
+   * @param encoded  a buffer to use to encode data, wrapping an array of
+   *                 at least <code>MAX_ENCODED_SIZE</code> bytes
    * @param out      the destination output
    * @throws IOException If there is a low-level I/O error
    */
-  void writeBlock(int[] data, byte[] encoded, IndexOutput out) throws IOException {
-    if (isAllEqual(data)) {
+  void writeBlock(int[] data, ByteBuffer encoded, IndexOutput out) throws IOException {
+    final int numBits = bitsRequired(data);
+    if (numBits == ALL_VALUES_EQUAL) {
       out.writeByte((byte) ALL_VALUES_EQUAL);
       out.writeVInt(data[0]);
       return;
     }
-
-    final int numBits = bitsRequired(data);
     assert numBits > 0 && numBits <= 32 : numBits;
+    final int encodedSize = encodedSizes[numBits];
+    out.writeByte((byte) numBits);
+
+    if (packedBitsPerValue[numBits] != 0) {
+      assert PackedBlocks.encodedSize(packedBitsPerValue[numBits]) == encodedSize;
+      PackedBlocks.encode(packedBitsPerValue[numBits], data, encoded);
+      out.writeBytes(encoded.array(), encodedSize);
+      return;
+    }
+
     final PackedInts.Encoder encoder = encoders[numBits];
     final int iters = iterations[numBits];
     assert iters * encoder.byteValueCount() >= BLOCK_SIZE;
-    final int encodedSize = encodedSizes[numBits];
     assert iters * encoder.byteBlockCount() >= encodedSize;
 
-    out.writeByte((byte) numBits);
-
-    encoder.encode(data, 0, encoded, 0, iters);
-    out.writeBytes(encoded, encodedSize);
+    encoder.encode(data, 0, encoded.array(), 0, iters);
+    out.writeBytes(encoded.array(), encodedSize);
   }
 
   /**
    * Read the next block of data (<code>For</code> format).
    *
    * @param in        the input to use to read data
-   * @param encoded   a buffer that can be used to store encoded data
+   * @param encoded   a buffer that can be used to store encoded data,
+   *                  wrapping an array of at least
+   *                  <code>MAX_ENCODED_SIZE</code> bytes
    * @param decoded   where to write decoded data
    * @throws IOException If there is a low-level I/O error
    */
-  void readBlock(IndexInput in, byte[] encoded, int[] decoded) throws IOException {
+  void readBlock(IndexInput in, ByteBuffer encoded, int[] decoded) throws IOException {
     final int numBits = in.readByte();
     assert numBits <= 32 : numBits;
 
@@ -194,13 +216,18 @@ final class ForUtil {
     }
 
     final int encodedSize = encodedSizes[numBits];
-    in.readBytes(encoded, 0, encodedSize);
+    in.readBytes(encoded.array(), 0, encodedSize);
+
+    if (packedBitsPerValue[numBits] != 0) {
+      PackedBlocks.decode(packedBitsPerValue[numBits], encoded, decoded);
+      return;
+    }
 
     final PackedInts.Decoder decoder = decoders[numBits];
     final int iters = iterations[numBits];
     assert iters * decoder.byteValueCount() >= BLOCK_SIZE;
 
-    decoder.decode(encoded, 0, decoded, 0, iters);
+    decoder.decode(encoded.array(), 0, decoded, 0, iters);
   }
 
   /**
@@ -220,27 +247,21 @@ final class ForUtil {
     in.seek(in.getFilePointer() + encodedSize);
   }
 
-  private static boolean isAllEqual(final int[] data) {
-    final int v = data[0];
-    for (int i = 1; i < BLOCK_SIZE; ++i) {
-      if (data[i] != v) {
-        return false;
-      }
-    }
-    return true;
-  }
-
   /**
    * Compute the number of bits required to serialize any of the longs in
-   * <code>data</code>.
+   * <code>data</code>, or {@link #ALL_VALUES_EQUAL} when they are all equal,
+   * in a single branch free pass.
    */
   private static int bitsRequired(final int[] data) {
-    long or = 0;
+    final int first = data[0];
+    int or = 0;
+    int diff = 0;
     for (int i = 0; i < BLOCK_SIZE; ++i) {
       assert data[i] >= 0;
       or |= data[i];
+      diff |= data[i] ^ first;
     }
-    return PackedInts.bitsRequired(or);
+    return diff == 0 ? ALL_VALUES_EQUAL : PackedInts.bitsRequired(or);
   }
 
 }
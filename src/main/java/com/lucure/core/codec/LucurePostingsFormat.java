@@ -119,11 +119,13 @@ import org.apache.lucene.util.packed.PackedInts;
  *
  * <ul>
  *   <li>PostingsHeader --&gt; Header, PackedBlockSize</li>
- *   <li>TermMetadata --&gt; (DocFPDelta|SingletonDocID), PosFPDelta?, PosVIntBlockFPDelta?, PayFPDelta?, 
- *                            SkipFPDelta?</li>
+ *   <li>TermMetadata --&gt; (DocFPDelta|SingletonDocID SingletonDocVisibility?), TermVisibility?, PosFPDelta?,
+ *                            PosVIntBlockFPDelta?, PayFPDelta?, SkipFPDelta?</li>
+ *   <li>TermVisibility --&gt; UniformVisibility | 0, TermVisibilitySummary</li>
  *   <li>Header, --&gt; {@link CodecUtil#writeHeader CodecHeader}</li>
- *   <li>PackedBlockSize, SingletonDocID --&gt; {@link DataOutput#writeVInt VInt}</li>
- *   <li>DocFPDelta, PosFPDelta, PayFPDelta, PosVIntBlockFPDelta, SkipFPDelta --&gt; {@link DataOutput#writeVLong VLong}</li>
+ *   <li>PackedBlockSize, SingletonDocID, SingletonDocVisibility, UniformVisibility --&gt; {@link DataOutput#writeVInt VInt}</li>
+ *   <li>DocFPDelta, PosFPDelta, PayFPDelta, PosVIntBlockFPDelta, SkipFPDelta, TermVisibilitySummary --&gt;
+ *       {@link DataOutput#writeVLong VLong}</li>
  * </ul>
  * <p>Notes:</p>
  * <ul>
@@ -157,6 +159,12 @@ import org.apache.lucene.util.packed.PackedInts;
  *    <li>SingletonDocID is an optimization when a term only appears in one document. In this case, instead
  *        of writing a file pointer to the .doc file (DocFPDelta), and then a VIntBlock at that location, the 
  *        single document ID is written to the term dictionary.</li>
+ *    <li>TermVisibility summarizes the visibilities of all the positions of a term of a payload field, since
+ *        version 8. When they all share one visibility, UniformVisibility is its ordinal + 1 (0 for none)
+ *        shifted left by one with the low bit set, otherwise a 0 is followed by TermVisibilitySummary, the
+ *        OR of their visibility bits as in the skip data. Terms a searcher may see none of are returned
+ *        as empty postings, terms it may see all of are returned unfiltered. It is omitted for singletons
+ *        whose SingletonDocVisibility is not mixed, their visibility is the term's.</li>
  * </ul>
  * </dd>
  * </dl>
@@ -186,18 +194,18 @@ import org.apache.lucene.util.packed.PackedInts;
  *   <li>Header --&gt; {@link CodecUtil#writeHeader CodecHeader}</li>
  *   <li>TermFreqs --&gt; &lt;PackedBlock&gt; <sup>PackedDocBlockNum</sup>,  
  *                        VIntBlock? </li>
- *   <li>PackedBlock --&gt; PackedDocDeltaBlock, PackedFreqBlock?
- *   <li>VIntBlock --&gt; &lt;DocDelta[, Freq?]&gt;<sup>DocFreq-PackedBlockSize*PackedDocBlockNum</sup>
+ *   <li>PackedBlock --&gt; PackedDocDeltaBlock, PackedFreqBlock?, PackedDocVisibilityBlock?
+ *   <li>VIntBlock --&gt; &lt;DocDelta[, Freq?], DocVisibility?&gt;<sup>DocFreq-PackedBlockSize*PackedDocBlockNum</sup>
  *   <li>SkipData --&gt; &lt;&lt;SkipLevelLength, SkipLevel&gt;
  *       <sup>NumSkipLevels-1</sup>, SkipLevel&gt;, SkipDatum?</li>
  *   <li>SkipLevel --&gt; &lt;SkipDatum&gt; <sup>TrimmedDocFreq/(PackedBlockSize^(Level + 1))</sup></li>
  *   <li>SkipDatum --&gt; DocSkip, DocFPSkip, &lt;PosFPSkip, PosBlockOffset, PayLength?, 
- *                        PayFPSkip?&gt;?, SkipChildLevelPointer?</li>
- *   <li>PackedDocDeltaBlock, PackedFreqBlock --&gt; {@link PackedInts PackedInts}</li>
+ *                        PayFPSkip?&gt;?, VisibilitySummary?, SkipChildLevelPointer?</li>
+ *   <li>PackedDocDeltaBlock, PackedFreqBlock, PackedDocVisibilityBlock --&gt; {@link PackedInts PackedInts}</li>
  *   <li>DocDelta, Freq, DocSkip, DocFPSkip, PosFPSkip, PosBlockOffset, PayByteUpto, PayFPSkip 
  *       --&gt; 
  *   {@link DataOutput#writeVInt VInt}</li>
- *   <li>SkipChildLevelPointer --&gt; {@link DataOutput#writeVLong VLong}</li>
+ *   <li>SkipChildLevelPointer, VisibilitySummary --&gt; {@link DataOutput#writeVLong VLong}</li>
  * </ul>
  * <p>Notes:</p>
  * <ul>
@@ -319,10 +327,12 @@ import org.apache.lucene.util.packed.PackedInts;
  * <ul>
  *   <li>PayFile(.pay): --&gt; Header, &lt;TermPayloads, TermOffsets?&gt; <sup>TermCount</sup></li>
  *   <li>Header --&gt; {@link CodecUtil#writeHeader CodecHeader}</li>
- *   <li>TermPayloads --&gt; &lt;PackedPayLengthBlock, SumPayLength, PayData&gt; <sup>PackedPayBlockNum</sup>
+ *   <li>TermPayloads --&gt; &lt;PackedPayLengthBlock, SumPayLength, PayData&gt; <sup>PackedPayBlockNum</sup>,
+ *       or &lt;PayRuns&gt; <sup>PackedPayBlockNum</sup> since version 7
+ *   <li>PayRuns --&gt; NumRuns, &lt;RunVisibility, RunLength&gt; <sup>NumRuns-1</sup>, RunVisibility
  *   <li>TermOffsets --&gt; &lt;PackedOffsetStartDeltaBlock, PackedOffsetLengthBlock&gt; <sup>PackedPayBlockNum</sup>
  *   <li>PackedPayLengthBlock, PackedOffsetStartDeltaBlock, PackedOffsetLengthBlock --&gt; {@link PackedInts PackedInts}</li>
- *   <li>SumPayLength --&gt; {@link DataOutput#writeVInt VInt}</li>
+ *   <li>SumPayLength, NumRuns, RunVisibility, RunLength --&gt; {@link DataOutput#writeVInt VInt}</li>
  *   <li>PayData --&gt; {@link DataOutput#writeByte byte}<sup>SumPayLength</sup></li>
  * </ul>
  * <p>Notes:</p>
@@ -338,6 +348,41 @@ import org.apache.lucene.util.packed.PackedInts;
  *       of PayLengths in one packed block.</li>
  *   <li>PayLength in PackedPayLengthBlock is the length of each payload associated with the current 
  *       position.</li>
+ *   <li>PayRuns holds the payloads of a packed block as runs of consecutive positions with the same
+ *       visibility, RunVisibility being the ordinal + 1 of their payload, or 0 when they have none.
+ *       The last run covers the rest of the block, a block of a single visibility takes two bytes.</li>
+ * </ul>
+ * </dd>
+ * </dl>
+ *
+ * <a name="Visibilities" id="Visibilities"></a>
+ * <dl>
+ * <dd>
+ * <b>Visibilities</b>
+ * <p>Since version 3, payloads are not stored in .pos and .pay as given. Every distinct payload,
+ *    usually a visibility expression, is stored once in the .vis file and PayData holds its ordinal
+ *    instead. Readers load the .vis file once per segment and hand out the stored bytes as payloads.</p>
+ * <ul>
+ *   <li>VisFile(.vis) --&gt; Header, Count, &lt;Length, Bytes&gt; <sup>Count</sup>, Footer</li>
+ *   <li>Header --&gt; {@link CodecUtil#writeHeader CodecHeader}</li>
+ *   <li>Count, Length --&gt; {@link DataOutput#writeVInt VInt}</li>
+ *   <li>Bytes --&gt; {@link DataOutput#writeByte byte}<sup>Length</sup></li>
+ *   <li>Footer --&gt; {@link CodecUtil#writeFooter CodecFooter}</li>
+ *   <li>The ordinal of a payload, written as a {@link DataOutput#writeVInt VInt} in PayData, is the
+ *       position of its entry in the file.</li>
+ *   <li>Since version 4, fields with payloads also store the visibility of every document in .doc,
+ *       as the ordinal + 1 of the payload of its first position, or 0 when it has none: packed in
+ *       PackedDocVisibilityBlock, in DocVisibility for the VIntBlock and in SingletonDocVisibility
+ *       for pulsed terms. Term queries filter documents on it without reading .pos or .pay.</li>
+ *   <li>Since version 5, level 0 SkipDatums of fields with payloads end with the VisibilitySummary
+ *       of the block they follow: bit (DocVisibility - 1) % 62 is set for every DocVisibility of the
+ *       block, bit 62 for DocVisibility 0. Term queries skip blocks sharing no bit with the
+ *       visibilities the searcher is allowed to see without decoding them.</li>
+ *   <li>Since version 6, DocVisibility is shifted left by one, its low bit set when the positions
+ *       of the document do not all have the visibility of the first one, and VisibilitySummary
+ *       has the bits of the visibilities of all positions of the block. Positional enums asked
+ *       for with {@link #FLAG_VISIBLE_POSITIONS} check the positions of these documents one by
+ *       one, the documents themselves are still as visible as their first position.</li>
  * </ul>
  * </dd>
  * </dl>
@@ -401,6 +446,22 @@ public final class LucurePostingsFormat extends PostingsFormat {
    */
   public static final String PAY_EXTENSION = "pay";
 
+  /**
+   * Filename extension for the distinct visibilities (payloads) of a segment.
+   * See chapter: <a href="#Visibilities">Visibilities</a>
+   */
+  public static final String VIS_EXTENSION = "vis";
+
+  /**
+   * Flag for {@link TermsEnum#docsAndPositions}
+   * of fields with visibilities: of the docs whose first position is
+   * visible, only the positions visible to the searcher's authorizations
+   * are returned, and counted in {@link DocsAndPositionsEnum#freq()},
+   * rather than all of their positions. Docs whose first position is not
+   * visible are not returned, as with {@link TermsEnum#docs}.
+   */
+  public static final int FLAG_VISIBLE_POSITIONS = 0x80;
+
   private final int minTermBlockSize;
   private final int maxTermBlockSize;
 
@@ -18,11 +18,17 @@ package com.lucure.core.codec;
  */
 
 
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.codec.AllowedVisibilitiesCache.AllowedOrds;
+import com.lucure.core.security.VisibilityEvaluator;
+import com.lucure.core.security.VisibilityParseException;
 import org.apache.lucene.codecs.BlockTermState;
 import org.apache.lucene.codecs.CodecUtil;
 import org.apache.lucene.codecs.PostingsReaderBase;
 import org.apache.lucene.index.*;
 import org.apache.lucene.index.FieldInfo.IndexOptions;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.store.ChecksumIndexInput;
 import org.apache.lucene.store.DataInput;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.IOContext;
@@ -30,11 +36,15 @@ import org.apache.lucene.store.IndexInput;
 import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.CloseableThreadLocal;
+import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.IOUtils;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
+import static com.lucure.core.codec.AccessFilteredDocsAndPositionsEnum.AllAuthorizationsHolder.ALLAUTHSHOLDER;
 import static com.lucure.core.codec.ForUtil.MAX_DATA_SIZE;
 import static com.lucure.core.codec.ForUtil.MAX_ENCODED_SIZE;
 import static com.lucure.core.codec.LucurePostingsFormat.BLOCK_SIZE;
@@ -52,9 +62,13 @@ public final class LucurePostingsReader extends PostingsReaderBase {
   private final IndexInput docIn;
   private final IndexInput posIn;
   private final IndexInput payIn;
+  // null for segments written before VERSION_VIS_DICTIONARY
+  private final VisibilityDictionary visibilityDictionary;
 
   private final ForUtil forUtil;
   private int version;
+  // ordinals visible to the last authorizations each thread read terms with
+  private final CloseableThreadLocal<HolderAllowedOrds> allowedOrds = new CloseableThreadLocal<>();
 
   // public static boolean DEBUG = false;
 
@@ -66,6 +80,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     IndexInput docIn = null;
     IndexInput posIn = null;
     IndexInput payIn = null;
+    VisibilityDictionary visibilityDictionary = null;
     try {
       docIn = dir.openInput(IndexFileNames.segmentFileName(segmentInfo.name, segmentSuffix, LucurePostingsFormat.DOC_EXTENSION),
                             ioContext);
@@ -85,8 +100,16 @@ public final class LucurePostingsReader extends PostingsReaderBase {
                                 ioContext);
           CodecUtil.checkHeader(payIn, LucurePostingsWriter.PAY_CODEC, version, version);
         }
+
+        if (fieldInfos.hasPayloads() && version >= LucurePostingsWriter.VERSION_VIS_DICTIONARY) {
+          try (ChecksumIndexInput visIn = dir.openChecksumInput(IndexFileNames.segmentFileName(segmentInfo.name, segmentSuffix, LucurePostingsFormat.VIS_EXTENSION),
+                                                                ioContext)) {
+            visibilityDictionary = VisibilityDictionary.read(visIn, version);
+          }
+        }
       }
 
+      this.visibilityDictionary = visibilityDictionary;
       this.docIn = docIn;
       this.posIn = posIn;
       this.payIn = payIn;
@@ -116,6 +139,17 @@ public final class LucurePostingsReader extends PostingsReaderBase {
    */
   static void readVIntBlock(IndexInput docIn, int[] docBuffer,
       int[] freqBuffer, int num, boolean indexHasFreq) throws IOException {
+    readVIntBlock(docIn, docBuffer, freqBuffer, null, num, indexHasFreq, false);
+  }
+
+  /**
+   * Reads the vInt tail of a postings list whose docs may be followed by
+   * their visibility, which is dropped when <code>docVisibilityBuffer</code>
+   * is null
+   */
+  static void readVIntBlock(IndexInput docIn, int[] docBuffer,
+      int[] freqBuffer, int[] docVisibilityBuffer, int num, boolean indexHasFreq,
+      boolean indexHasDocVisibility) throws IOException {
     if (indexHasFreq) {
       for(int i=0;i<num;i++) {
         final int code = docIn.readVInt();
@@ -125,6 +159,12 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         } else {
           freqBuffer[i] = docIn.readVInt();
         }
+        if (indexHasDocVisibility) {
+          final int visibility = docIn.readVInt();
+          if (docVisibilityBuffer != null) {
+            docVisibilityBuffer[i] = visibility;
+          }
+        }
       }
     } else {
       for(int i=0;i<num;i++) {
@@ -133,6 +173,44 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     }
   }
 
+  /**
+   * @return true if a doc visibility (its ordinal + 1, or 0 when it has
+   * none) is one of <code>allowedOrds</code>
+   */
+  static boolean isAllowed(int visibility, FixedBitSet allowedOrds) {
+    return visibility == 0 || allowedOrds.get(visibility - 1);
+  }
+
+  /**
+   * @return the visibility of the first position of a doc from its
+   * visibility as stored in .doc
+   */
+  private int visibilityOf(int docVisibility) {
+    return version >= LucurePostingsWriter.VERSION_MIXED_VISIBILITY ? docVisibility >>> 1 : docVisibility;
+  }
+
+  /**
+   * @return whether the positions of a doc have different visibilities,
+   * from its visibility as stored in .doc
+   */
+  private boolean isMixedVisibility(int docVisibility) {
+    return version >= LucurePostingsWriter.VERSION_MIXED_VISIBILITY && (docVisibility & 1) != 0;
+  }
+
+  /**
+   * @return the skip data summary of the visibilities <code>allowedOrds</code>
+   * allows, see {@link LucureSkipWriter#visibilitySummaryBit(int)}
+   */
+  static long visibilitySummary(FixedBitSet allowedOrds) throws IOException {
+    // docs without a visibility are always allowed
+    long summary = LucureSkipWriter.visibilitySummaryBit(0);
+    DocIdSetIterator ords = allowedOrds.iterator();
+    for (int ord = ords.nextDoc(); ord != DocIdSetIterator.NO_MORE_DOCS; ord = ords.nextDoc()) {
+      summary |= LucureSkipWriter.visibilitySummaryBit(ord + 1);
+    }
+    return summary;
+  }
+
   @Override
   public BlockTermState newTermState() {
     return new IntBlockTermState();
@@ -140,6 +218,10 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
   @Override
   public void close() throws IOException {
+    if (visibilityDictionary != null) {
+      AllowedVisibilitiesCache.SHARED.evict(visibilityDictionary);
+    }
+    allowedOrds.close();
     IOUtils.close(docIn, posIn, payIn);
   }
 
@@ -169,9 +251,30 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     }
     if (termState.docFreq == 1) {
       termState.singletonDocID = in.readVInt();
+      if (fieldHasPayloads && version >= LucurePostingsWriter.VERSION_DOC_VISIBILITY) {
+        termState.singletonVisibility = in.readVInt();
+      }
     } else {
       termState.singletonDocID = -1;
     }
+    if (fieldHasPayloads && version >= LucurePostingsWriter.VERSION_TERM_VISIBILITY) {
+      if (termState.singletonDocID != -1 && (termState.singletonVisibility & 1) == 0) {
+        termState.termVisibility = termState.singletonVisibility >>> 1;
+        termState.termVisibilitySummary = LucureSkipWriter.visibilitySummaryBit(termState.termVisibility);
+      } else {
+        final int code = in.readVInt();
+        if ((code & 1) != 0) {
+          termState.termVisibility = code >>> 1;
+          termState.termVisibilitySummary = LucureSkipWriter.visibilitySummaryBit(termState.termVisibility);
+        } else {
+          termState.termVisibility = -1;
+          termState.termVisibilitySummary = in.readVLong();
+        }
+      }
+    } else {
+      termState.termVisibility = -1;
+      termState.termVisibilitySummary = -1L;
+    }
     if (fieldHasPositions) {
       if (termState.totalTermFreq > BLOCK_SIZE) {
         termState.lastPosBlockOffset = in.readVLong();
@@ -215,7 +318,82 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     
   @Override
   public DocsEnum docs(FieldInfo fieldInfo, BlockTermState termState, Bits liveDocs, DocsEnum reuse, int flags) throws IOException {
-    return docsAndPositions(fieldInfo, termState, liveDocs, null, flags | DocsAndPositionsEnum.FLAG_PAYLOADS);
+    if (fieldInfo.hasPayloads() && version < LucurePostingsWriter.VERSION_DOC_VISIBILITY) {
+      // the visibility of a doc is only known from its first payload
+      return docsAndPositions(fieldInfo, termState, liveDocs,
+                              reuse instanceof DocsAndPositionsEnum ? (DocsAndPositionsEnum) reuse : null,
+                              flags | DocsAndPositionsEnum.FLAG_PAYLOADS);
+    }
+
+    AllowedOrds allowedOrds = null;
+    if (fieldInfo.hasPayloads()) {
+      final AllowedOrds allowed = allowedOrds();
+      if (allowed != null && !hasVisiblePostings((IntBlockTermState) termState, allowed)) {
+        return reuse instanceof EmptyEnum ? ((EmptyEnum) reuse).reset() : new EmptyEnum(reuse);
+      }
+      if (allowed != null && ((IntBlockTermState) termState).termVisibility == -1) {
+        allowedOrds = allowed;
+      }
+      // else every posting of the term has the same visible visibility
+    }
+    if (reuse instanceof EmptyEnum) {
+      reuse = ((EmptyEnum) reuse).reuse;
+    }
+
+    BlockDocsEnum docsEnum;
+    if (reuse instanceof BlockDocsEnum) {
+      docsEnum = (BlockDocsEnum) reuse;
+      if (!docsEnum.canReuse(docIn, fieldInfo)) {
+        docsEnum = new BlockDocsEnum(fieldInfo);
+      }
+    } else {
+      docsEnum = new BlockDocsEnum(fieldInfo);
+    }
+    docsEnum.reset(liveDocs, (IntBlockTermState) termState, flags);
+    if (!fieldInfo.hasPayloads()) {
+      // unrestricted field, there is nothing to filter
+      return docsEnum;
+    }
+    // filter on the visibilities stored in .doc, positions are not read
+    docsEnum.setAllowedOrds(allowedOrds);
+    return docsEnum;
+  }
+
+  /**
+   * @return false if the summary of the visibilities of a term in its
+   * metadata shows none of its postings is visible with
+   * <code>allowed</code>, so that terms a searcher may not see are
+   * pruned without reading their postings
+   */
+  private boolean hasVisiblePostings(IntBlockTermState termState, AllowedOrds allowed) {
+    if (version < LucurePostingsWriter.VERSION_TERM_VISIBILITY) {
+      return true;
+    }
+    if (termState.termVisibility != -1) {
+      return isAllowed(termState.termVisibility, allowed.ords);
+    }
+    return (termState.termVisibilitySummary & allowed.summary) != 0;
+  }
+
+  /**
+   * @return the visibility ordinals of this segment the current thread's
+   * authorizations may see, or null to see everything during merges. They
+   * are looked up once per thread and reused by the next terms it reads
+   * with the same {@link AuthorizationsHolder}.
+   */
+  private AllowedOrds allowedOrds() throws IOException {
+    final AuthorizationsHolder authorizationsHolder = AuthorizationsHolder.threadAuthorizations.get();
+    HolderAllowedOrds last = allowedOrds.get();
+    if (last != null && last.authorizationsHolder == authorizationsHolder) {
+      return last.allowed;
+    }
+    if (ALLAUTHSHOLDER.equals(authorizationsHolder)) {
+      return null;
+    }
+    last = new HolderAllowedOrds(authorizationsHolder, AllowedVisibilitiesCache.SHARED.get(
+      visibilityDictionary, authorizationsHolder.getVisibilityEvaluator()));
+    allowedOrds.set(last);
+    return last.allowed;
   }
 
   // TODO: specialize to liveDocs vs not
@@ -227,6 +405,36 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
     boolean indexHasOffsets = fieldInfo.getIndexOptions().compareTo(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS) >= 0;
     boolean indexHasPayloads = fieldInfo.hasPayloads();
+    // before VERSION_DOC_VISIBILITY visibilities are only found in payloads,
+    // they are filtered by AccessFilteredDocsAndPositionsEnum
+    boolean filterPayloads = indexHasPayloads && version < LucurePostingsWriter.VERSION_DOC_VISIBILITY;
+    // positions are filtered one by one from their payloads
+    boolean visiblePositions = indexHasPayloads && (flags & LucurePostingsFormat.FLAG_VISIBLE_POSITIONS) != 0 &&
+                               version >= LucurePostingsWriter.VERSION_MIXED_VISIBILITY;
+    if (filterPayloads || visiblePositions) {
+      flags |= DocsAndPositionsEnum.FLAG_PAYLOADS;
+    }
+
+    AllowedOrds allowedOrds = null;
+    if (indexHasPayloads && !filterPayloads) {
+      final AllowedOrds allowed = allowedOrds();
+      if (allowed != null && !hasVisiblePostings((IntBlockTermState) termState, allowed)) {
+        return reuse instanceof EmptyEnum ? ((EmptyEnum) reuse).reset() : new EmptyEnum(reuse);
+      }
+      if (allowed != null && ((IntBlockTermState) termState).termVisibility == -1) {
+        allowedOrds = allowed;
+      }
+      // else every position of the term has the same visible visibility
+    }
+    if (reuse instanceof EmptyEnum) {
+      final DocsEnum wrapped = ((EmptyEnum) reuse).reuse;
+      reuse = wrapped instanceof DocsAndPositionsEnum ? (DocsAndPositionsEnum) wrapped : null;
+    }
+    AccessFilteredDocsAndPositionsEnum accessFilteredEnum = null;
+    if (reuse instanceof AccessFilteredDocsAndPositionsEnum) {
+      accessFilteredEnum = (AccessFilteredDocsAndPositionsEnum) reuse;
+      reuse = accessFilteredEnum.getDelegate();
+    }
 
     if ((!indexHasOffsets || (flags & DocsAndPositionsEnum.FLAG_OFFSETS) == 0) &&
         (!indexHasPayloads || (flags & DocsAndPositionsEnum.FLAG_PAYLOADS) == 0)) {
@@ -239,7 +447,11 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       } else {
         docsAndPositionsEnum = new BlockDocsAndPositionsEnum(fieldInfo);
       }
-      return new AccessFilteredDocsAndPositionsEnum(docsAndPositionsEnum.reset(liveDocs, (IntBlockTermState) termState));
+      docsAndPositionsEnum.reset(liveDocs, (IntBlockTermState) termState);
+      if (indexHasPayloads) {
+        docsAndPositionsEnum.setAllowedOrds(allowedOrds);
+      }
+      return docsAndPositionsEnum;
     } else {
       EverythingEnum everythingEnum;
       if (reuse instanceof EverythingEnum) {
@@ -250,7 +462,23 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       } else {
         everythingEnum = new EverythingEnum(fieldInfo);
       }
-      return new AccessFilteredDocsAndPositionsEnum(everythingEnum.reset(liveDocs, (IntBlockTermState) termState, flags));
+      everythingEnum.reset(liveDocs, (IntBlockTermState) termState, flags);
+      if (!indexHasPayloads) {
+        return everythingEnum;
+      }
+      if (!filterPayloads) {
+        everythingEnum.setAllowedOrds(allowedOrds);
+        everythingEnum.setVisiblePositions(visiblePositions);
+        return everythingEnum;
+      }
+      final AuthorizationsHolder authorizationsHolder = AuthorizationsHolder.threadAuthorizations.get();
+      // evaluate the visibilities of whole payload blocks as they are decoded
+      everythingEnum.setVisibilityEvaluator(ALLAUTHSHOLDER.equals(authorizationsHolder) ? null : authorizationsHolder.getVisibilityEvaluator());
+      if (accessFilteredEnum == null) {
+        return new AccessFilteredDocsAndPositionsEnum(everythingEnum, authorizationsHolder);
+      }
+      accessFilteredEnum.reset(everythingEnum, authorizationsHolder);
+      return accessFilteredEnum;
     }
   }
 
@@ -270,10 +498,12 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     }
 
     final class BlockDocsEnum extends DocsEnum {
-    private final byte[] encoded;
+    // wraps the encoded bytes of a block once for ForUtil
+    private final ByteBuffer encoded;
     
     private final int[] docDeltaBuffer = new int[MAX_DATA_SIZE];
     private final int[] freqBuffer = new int[MAX_DATA_SIZE];
+    private final int[] docVisibilityBuffer;
 
     private int docBufferUpto;
 
@@ -287,6 +517,8 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     final boolean indexHasPos;
     final boolean indexHasOffsets;
     final boolean indexHasPayloads;
+    // .doc holds the visibility of every doc
+    final boolean indexHasDocVisibility;
 
     private int docFreq;                              // number of docs in this posting list
     private long totalTermFreq;                       // sum of freqs in this posting list (or docFreq when omitted)
@@ -311,6 +543,17 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     
     private boolean needsFreq; // true if the caller actually needs frequencies
     private int singletonDocID; // docid when there is a single pulsed posting, otherwise -1
+    private int singletonVisibility;
+    // visibility ordinals docs must have to be returned, null to return all
+    private FixedBitSet allowedOrds;
+    // skip data summary bits of the allowed visibilities, blocks whose
+    // summary has none of them are skipped without being decoded
+    private long allowedSummary;
+    private final boolean indexHasVisibilitySummary;
+    // docs with a lower freq are not returned, nor the blocks whose max
+    // freq in the skip data is lower, 0 to return all
+    private int minCompetitiveFreq;
+    private final boolean indexHasBlockMaxFreq;
 
     public BlockDocsEnum(FieldInfo fieldInfo) throws IOException {
       this.startDocIn = LucurePostingsReader.this.docIn;
@@ -319,7 +562,11 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       indexHasPos = fieldInfo.getIndexOptions().compareTo(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS) >= 0;
       indexHasOffsets = fieldInfo.getIndexOptions().compareTo(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS) >= 0;
       indexHasPayloads = fieldInfo.hasPayloads();
-      encoded = new byte[MAX_ENCODED_SIZE];
+      indexHasDocVisibility = indexHasPayloads && version >= LucurePostingsWriter.VERSION_DOC_VISIBILITY;
+      docVisibilityBuffer = indexHasDocVisibility ? new int[MAX_DATA_SIZE] : null;
+      indexHasVisibilitySummary = indexHasPayloads && version >= LucurePostingsWriter.VERSION_SKIP_VISIBILITY;
+      indexHasBlockMaxFreq = indexHasFreq && version >= LucurePostingsWriter.VERSION_BLOCK_MAX_FREQ;
+      encoded = ByteBuffer.wrap(new byte[MAX_ENCODED_SIZE]);
     }
 
     public boolean canReuse(IndexInput docIn, FieldInfo fieldInfo) {
@@ -339,6 +586,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       docTermStartFP = termState.docStartFP;
       skipOffset = termState.skipOffset;
       singletonDocID = termState.singletonDocID;
+      singletonVisibility = termState.singletonVisibility;
       if (docFreq > 1) {
         if (docIn == null) {
           // lazy init
@@ -357,8 +605,95 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       nextSkipDoc = BLOCK_SIZE - 1; // we won't skip if target is found in first block
       docBufferUpto = BLOCK_SIZE;
       skipped = false;
+      allowedOrds = null;
+      minCompetitiveFreq = 0;
       return this;
     }
+
+    /**
+     * Only returns the docs ahead whose freq is at least
+     * <code>minCompetitiveFreq</code>. Blocks whose max freq in the skip
+     * data is lower are skipped without being decoded, and the visibility
+     * of a doc is only checked once its freq is competitive. Used by
+     * {@link BlockMaxTopDocs} as the lowest score of its top docs rises.
+     */
+    void setMinCompetitiveFreq(int minCompetitiveFreq) {
+      assert needsFreq || !indexHasFreq;
+      this.minCompetitiveFreq = minCompetitiveFreq;
+    }
+
+    /**
+     * @return whether blocks can be skipped from their max freq
+     */
+    boolean hasBlockMaxFreqs() {
+      return indexHasBlockMaxFreq && docFreq > BLOCK_SIZE;
+    }
+
+    /**
+     * Only returns docs whose visibility ordinal is set in
+     * <code>allowed</code>, from the visibilities stored in .doc, so
+     * positions and payloads are never read. Docs without a visibility are
+     * always returned.
+     */
+    void setAllowedOrds(AllowedOrds allowed) {
+      assert allowed == null || indexHasDocVisibility;
+      if (allowed != null) {
+        allowedOrds = allowed.ords;
+        allowedSummary = allowed.summary;
+      } else {
+        allowedOrds = null;
+      }
+    }
+
+    /**
+     * Skips, without decoding them, the blocks ahead whose skip data
+     * summary shows they have no doc visible with <code>allowedOrds</code>,
+     * or whose max freq is lower than <code>minCompetitiveFreq</code>
+     */
+    private void skipBlocks() throws IOException {
+      final boolean skipInvisible = allowedOrds != null && indexHasVisibilitySummary;
+      final boolean skipNonCompetitive = minCompetitiveFreq > 1 && indexHasBlockMaxFreq;
+      // every block but the last is followed by a skip point
+      while (docFreq - docUpto > BLOCK_SIZE) {
+        initSkipper();
+        // the next skip point is now the one ending the upcoming block
+        skipper.skipTo(accum + 1);
+        nextSkipDoc = skipper.getNextSkipDoc();
+        if ((!skipInvisible || (skipper.getNextVisibilitySummary() & allowedSummary) != 0) &&
+            (!skipNonCompetitive || skipper.getNextMaxFreq() >= minCompetitiveFreq)) {
+          return;
+        }
+        docUpto += BLOCK_SIZE;
+        accum = skipper.getNextSkipDoc();
+        docIn.seek(skipper.getNextDocPointer());
+      }
+    }
+
+    private void initSkipper() {
+      if (skipper == null) {
+        // Lazy init: first time this enum has ever been used for skipping
+        skipper = new LucureSkipReader(docIn.clone(),
+                                      LucurePostingsWriter.maxSkipLevels,
+                                      BLOCK_SIZE,
+                                      indexHasPos,
+                                      indexHasOffsets,
+                                      indexHasPayloads,
+                                      indexHasVisibilitySummary,
+                                      indexHasBlockMaxFreq);
+      }
+
+      if (!skipped) {
+        assert skipOffset != -1;
+        // This is the first time this enum has skipped
+        // since reset() was called; load the skip data:
+        skipper.init(docTermStartFP+skipOffset, docTermStartFP, 0, 0, docFreq);
+        skipped = true;
+      }
+    }
+
+    private boolean isVisible(int docBufferUpto) {
+      return allowedOrds == null || isAllowed(visibilityOf(docVisibilityBuffer[docBufferUpto]), allowedOrds);
+    }
     
     @Override
     public int freq() throws IOException {
@@ -390,15 +725,25 @@ public final class LucurePostingsReader extends PostingsReaderBase {
             forUtil.skipBlock(docIn); // skip over freqs
           }
         }
+        if (indexHasDocVisibility) {
+          if (allowedOrds != null) {
+            forUtil.readBlock(docIn, encoded, docVisibilityBuffer);
+          } else {
+            forUtil.skipBlock(docIn); // every doc is visible
+          }
+        }
       } else if (docFreq == 1) {
         docDeltaBuffer[0] = singletonDocID;
         freqBuffer[0] = (int) totalTermFreq;
+        if (indexHasDocVisibility) {
+          docVisibilityBuffer[0] = singletonVisibility;
+        }
       } else {
         // Read vInts:
         // if (DEBUG) {
         //   System.out.println("    fill last vInt block from fp=" + docIn.getFilePointer());
         // }
-        readVIntBlock(docIn, docDeltaBuffer, freqBuffer, left, indexHasFreq);
+        readVIntBlock(docIn, docDeltaBuffer, freqBuffer, docVisibilityBuffer, left, indexHasFreq, indexHasDocVisibility);
       }
       docBufferUpto = 0;
     }
@@ -420,6 +765,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           return doc = NO_MORE_DOCS;
         }
         if (docBufferUpto == BLOCK_SIZE) {
+          if ((allowedOrds != null && indexHasVisibilitySummary) || minCompetitiveFreq > 1) {
+            skipBlocks();
+          }
           refillDocs();
         }
 
@@ -429,7 +777,8 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         accum += docDeltaBuffer[docBufferUpto];
         docUpto++;
 
-        if (liveDocs == null || liveDocs.get(accum)) {
+        if (freqBuffer[docBufferUpto] >= minCompetitiveFreq &&
+            (liveDocs == null || liveDocs.get(accum)) && isVisible(docBufferUpto)) {
           doc = accum;
           freq = freqBuffer[docBufferUpto];
           docBufferUpto++;
@@ -439,7 +788,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           return doc;
         }
         // if (DEBUG) {
-        //   System.out.println("  doc=" + accum + " is deleted; try next doc");
+        //   System.out.println("  doc=" + accum + " is deleted or not visible; try next doc");
         // }
         docBufferUpto++;
       }
@@ -460,23 +809,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         //   System.out.println("load skipper");
         // }
 
-        if (skipper == null) {
-          // Lazy init: first time this enum has ever been used for skipping
-          skipper = new LucureSkipReader(docIn.clone(),
-                                        LucurePostingsWriter.maxSkipLevels,
-                                        BLOCK_SIZE,
-                                        indexHasPos,
-                                        indexHasOffsets,
-                                        indexHasPayloads);
-        }
-
-        if (!skipped) {
-          assert skipOffset != -1;
-          // This is the first time this enum has skipped
-          // since reset() was called; load the skip data:
-          skipper.init(docTermStartFP+skipOffset, docTermStartFP, 0, 0, docFreq);
-          skipped = true;
-        }
+        initSkipper();
 
         // always plus one to fix the result, since skip position in Lucene41SkipReader 
         // is a little different from MultiLevelSkipListReader
@@ -503,6 +836,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         return doc = NO_MORE_DOCS;
       }
       if (docBufferUpto == BLOCK_SIZE) {
+        if ((allowedOrds != null && indexHasVisibilitySummary) || minCompetitiveFreq > 1) {
+          skipBlocks();
+        }
         refillDocs();
       }
 
@@ -524,7 +860,8 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         }
       }
 
-      if (liveDocs == null || liveDocs.get(accum)) {
+      if (freqBuffer[docBufferUpto] >= minCompetitiveFreq &&
+          (liveDocs == null || liveDocs.get(accum)) && isVisible(docBufferUpto)) {
         // if (DEBUG) {
         //   System.out.println("  return doc=" + accum);
         // }
@@ -549,10 +886,12 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
   final class BlockDocsAndPositionsEnum extends DocsAndPositionsEnum {
     
-    private final byte[] encoded;
+    // wraps the encoded bytes of a block once for ForUtil
+    private final ByteBuffer encoded;
 
     private final int[] docDeltaBuffer = new int[MAX_DATA_SIZE];
     private final int[] freqBuffer = new int[MAX_DATA_SIZE];
+    private final int[] docVisibilityBuffer;
     private final int[] posDeltaBuffer = new int[MAX_DATA_SIZE];
 
     private int docBufferUpto;
@@ -568,6 +907,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
     final boolean indexHasOffsets;
     final boolean indexHasPayloads;
+    // .doc holds the visibility of every doc
+    final boolean indexHasDocVisibility;
+    final boolean indexHasVisibilitySummary;
 
     private int docFreq;                              // number of docs in this posting list
     private long totalTermFreq;                       // number of positions in this posting list
@@ -609,14 +951,22 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
     private Bits liveDocs;
     private int singletonDocID; // docid when there is a single pulsed posting, otherwise -1
+    private int singletonVisibility;
+    // visibility ordinals docs must have to be returned, null to return all
+    private FixedBitSet allowedOrds;
+    // skip data summary bits of the allowed visibilities
+    private long allowedSummary;
     
     public BlockDocsAndPositionsEnum(FieldInfo fieldInfo) throws IOException {
       this.startDocIn = LucurePostingsReader.this.docIn;
       this.docIn = null;
       this.posIn = LucurePostingsReader.this.posIn.clone();
-      encoded = new byte[MAX_ENCODED_SIZE];
+      encoded = ByteBuffer.wrap(new byte[MAX_ENCODED_SIZE]);
       indexHasOffsets = fieldInfo.getIndexOptions().compareTo(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS) >= 0;
       indexHasPayloads = fieldInfo.hasPayloads();
+      indexHasDocVisibility = indexHasPayloads && version >= LucurePostingsWriter.VERSION_DOC_VISIBILITY;
+      indexHasVisibilitySummary = indexHasPayloads && version >= LucurePostingsWriter.VERSION_SKIP_VISIBILITY;
+      docVisibilityBuffer = indexHasDocVisibility ? new int[MAX_DATA_SIZE] : null;
     }
 
     public boolean canReuse(IndexInput docIn, FieldInfo fieldInfo) {
@@ -637,6 +987,8 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       skipOffset = termState.skipOffset;
       totalTermFreq = termState.totalTermFreq;
       singletonDocID = termState.singletonDocID;
+      singletonVisibility = termState.singletonVisibility;
+      allowedOrds = null;
       if (docFreq > 1) {
         if (docIn == null) {
           // lazy init
@@ -673,6 +1025,88 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       return doc;
     }
 
+    /**
+     * Only returns docs whose visibility ordinal is set in
+     * <code>allowed</code>, from the visibilities stored in .doc. Docs
+     * without a visibility are always returned.
+     */
+    void setAllowedOrds(AllowedOrds allowed) {
+      assert allowed == null || indexHasDocVisibility;
+      if (allowed != null) {
+        allowedOrds = allowed.ords;
+        allowedSummary = allowed.summary;
+      } else {
+        allowedOrds = null;
+      }
+    }
+
+    private boolean isVisible(int docBufferUpto) {
+      return allowedOrds == null || isAllowed(visibilityOf(docVisibilityBuffer[docBufferUpto]), allowedOrds);
+    }
+
+    /**
+     * Skips, without decoding them, the blocks ahead whose skip data
+     * summary shows they have no doc visible with <code>allowedOrds</code>
+     */
+    private void skipInvisibleBlocks() throws IOException {
+      // every block but the last is followed by a skip point
+      while (docFreq - docUpto > BLOCK_SIZE) {
+        initSkipper();
+        // the next skip point is now the one ending the upcoming block
+        skipper.skipTo(accum + 1);
+        if ((skipper.getNextVisibilitySummary() & allowedSummary) != 0) {
+          nextSkipDoc = skipper.getNextSkipDoc();
+          return;
+        }
+        seekSkipPoint(skipper.skipTo(skipper.getNextSkipDoc() + 1) + 1);
+        nextSkipDoc = skipper.getNextSkipDoc();
+      }
+    }
+
+    private void initSkipper() {
+      if (skipper == null) {
+        // Lazy init: first time this enum has ever been used for skipping
+        // if (DEBUG) {
+        //   System.out.println("    create skipper");
+        // }
+        skipper = new LucureSkipReader(docIn.clone(),
+                                      LucurePostingsWriter.maxSkipLevels,
+                                      BLOCK_SIZE,
+                                      true,
+                                      indexHasOffsets,
+                                      indexHasPayloads,
+                                      indexHasVisibilitySummary,
+                                      version >= LucurePostingsWriter.VERSION_BLOCK_MAX_FREQ);
+      }
+
+      if (!skipped) {
+        assert skipOffset != -1;
+        // This is the first time this enum has skipped
+        // since reset() was called; load the skip data:
+        // if (DEBUG) {
+        //   System.out.println("    init skipper");
+        // }
+        skipper.init(docTermStartFP+skipOffset, docTermStartFP, posTermStartFP, payTermStartFP, docFreq);
+        skipped = true;
+      }
+    }
+
+    /**
+     * Moves to the skip point the skipper last skipped to, the start of the
+     * block holding doc <code>newDocUpto</code>
+     */
+    private void seekSkipPoint(int newDocUpto) throws IOException {
+      assert newDocUpto % BLOCK_SIZE == 0 : "got " + newDocUpto;
+      docUpto = newDocUpto;
+
+      // Force to read next block
+      docBufferUpto = BLOCK_SIZE;
+      accum = skipper.getDoc();
+      docIn.seek(skipper.getDocPointer());
+      posPendingFP = skipper.getPosPointer();
+      posPendingCount = skipper.getPosBufferUpto();
+    }
+
     private void refillDocs() throws IOException {
       final int left = docFreq - docUpto;
       assert left > 0;
@@ -686,15 +1120,25 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         //   System.out.println("    fill freq block from fp=" + docIn.getFilePointer());
         // }
         forUtil.readBlock(docIn, encoded, freqBuffer);
+        if (indexHasDocVisibility) {
+          if (allowedOrds != null) {
+            forUtil.readBlock(docIn, encoded, docVisibilityBuffer);
+          } else {
+            forUtil.skipBlock(docIn); // every doc is visible
+          }
+        }
       } else if (docFreq == 1) {
         docDeltaBuffer[0] = singletonDocID;
         freqBuffer[0] = (int) totalTermFreq;
+        if (indexHasDocVisibility) {
+          docVisibilityBuffer[0] = singletonVisibility;
+        }
       } else {
         // Read vInts:
         // if (DEBUG) {
         //   System.out.println("    fill last vInt doc block from fp=" + docIn.getFilePointer());
         // }
-        readVIntBlock(docIn, docDeltaBuffer, freqBuffer, left, true);
+        readVIntBlock(docIn, docDeltaBuffer, freqBuffer, docVisibilityBuffer, left, true, indexHasDocVisibility);
       }
       docBufferUpto = 0;
     }
@@ -750,6 +1194,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           return doc = NO_MORE_DOCS;
         }
         if (docBufferUpto == BLOCK_SIZE) {
+          if (allowedOrds != null && indexHasVisibilitySummary) {
+            skipInvisibleBlocks();
+          }
           refillDocs();
         }
         // if (DEBUG) {
@@ -761,7 +1208,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         docBufferUpto++;
         docUpto++;
 
-        if (liveDocs == null || liveDocs.get(accum)) {
+        if ((liveDocs == null || liveDocs.get(accum)) && isVisible(docBufferUpto - 1)) {
           doc = accum;
           position = 0;
           // if (DEBUG) {
@@ -786,29 +1233,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         // if (DEBUG) {
         //   System.out.println("    try skipper");
         // }
-        if (skipper == null) {
-          // Lazy init: first time this enum has ever been used for skipping
-          // if (DEBUG) {
-          //   System.out.println("    create skipper");
-          // }
-          skipper = new LucureSkipReader(docIn.clone(),
-                                        LucurePostingsWriter.maxSkipLevels,
-                                        BLOCK_SIZE,
-                                        true,
-                                        indexHasOffsets,
-                                        indexHasPayloads);
-        }
-
-        if (!skipped) {
-          assert skipOffset != -1;
-          // This is the first time this enum has skipped
-          // since reset() was called; load the skip data:
-          // if (DEBUG) {
-          //   System.out.println("    init skipper");
-          // }
-          skipper.init(docTermStartFP+skipOffset, docTermStartFP, posTermStartFP, payTermStartFP, docFreq);
-          skipped = true;
-        }
+        initSkipper();
 
         final int newDocUpto = skipper.skipTo(target) + 1; 
 
@@ -818,15 +1243,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           //   System.out.println("    skipper moved to docUpto=" + newDocUpto + " vs current=" + docUpto + "; docID=" + skipper.getDoc() + " fp=" + skipper.getDocPointer() + " pos.fp=" + skipper.getPosPointer() + " pos.bufferUpto=" + skipper.getPosBufferUpto());
           // }
 
-          assert newDocUpto % BLOCK_SIZE == 0 : "got " + newDocUpto;
-          docUpto = newDocUpto;
-
-          // Force to read next block
-          docBufferUpto = BLOCK_SIZE;
-          accum = skipper.getDoc();
-          docIn.seek(skipper.getDocPointer());
-          posPendingFP = skipper.getPosPointer();
-          posPendingCount = skipper.getPosBufferUpto();
+          seekSkipPoint(newDocUpto);
         }
         nextSkipDoc = skipper.getNextSkipDoc();
       }
@@ -834,6 +1251,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         return doc = NO_MORE_DOCS;
       }
       if (docBufferUpto == BLOCK_SIZE) {
+        if (allowedOrds != null && indexHasVisibilitySummary) {
+          skipInvisibleBlocks();
+        }
         refillDocs();
       }
 
@@ -857,7 +1277,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         }
       }
 
-      if (liveDocs == null || liveDocs.get(accum)) {
+      if ((liveDocs == null || liveDocs.get(accum)) && isVisible(docBufferUpto - 1)) {
         // if (DEBUG) {
         //   System.out.println("  return doc=" + accum);
         // }
@@ -965,10 +1385,12 @@ public final class LucurePostingsReader extends PostingsReaderBase {
   // Also handles payloads + offsets
   final class EverythingEnum extends DocsAndPositionsEnum {
     
-    private final byte[] encoded;
+    // wraps the encoded bytes of a block once for ForUtil
+    private final ByteBuffer encoded;
 
     private final int[] docDeltaBuffer = new int[MAX_DATA_SIZE];
     private final int[] freqBuffer = new int[MAX_DATA_SIZE];
+    private final int[] docVisibilityBuffer;
     private final int[] posDeltaBuffer = new int[MAX_DATA_SIZE];
 
     private final int[] payloadLengthBuffer;
@@ -978,6 +1400,20 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     private byte[] payloadBytes;
     private int payloadByteUpto;
     private int payloadLength;
+    // whether payloadLengthBuffer holds the lengths of the buffered block,
+    // it does not for run encoded or skipped payload blocks
+    private boolean payloadLengthsBuffered;
+
+    // when set, bit i of payloadAccept tells whether the visibility stored
+    // in the payload of the i-th buffered position is visible
+    private VisibilityEvaluator visibilityEvaluator;
+    private final long[] payloadAccept = new long[BLOCK_SIZE >>> 6];
+
+    // dictionary ordinals of the buffered payloads, -1 for no payload
+    private final VisibilityDictionary dictionary;
+    private final int[] payloadOrds;
+    // ordinals visible to visibilityEvaluator, from AllowedVisibilitiesCache
+    private FixedBitSet payloadAllowedOrds;
 
     private int lastStartOffset;
     private int startOffset;
@@ -998,6 +1434,11 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
     final boolean indexHasOffsets;
     final boolean indexHasPayloads;
+    // .doc holds the visibility of every doc
+    final boolean indexHasDocVisibility;
+    final boolean indexHasVisibilitySummary;
+    // packed payload blocks are runs of visibilities
+    final boolean indexHasPayloadRuns;
 
     private int docFreq;                              // number of docs in this posting list
     private long totalTermFreq;                       // number of positions in this posting list
@@ -1046,13 +1487,30 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     private boolean needsOffsets; // true if we actually need offsets
     private boolean needsPayloads; // true if we actually need payloads
     private int singletonDocID; // docid when there is a single pulsed posting, otherwise -1
+    private int singletonVisibility;
+    // visibility ordinals docs must have to be returned, null to return all
+    private FixedBitSet allowedOrds;
+    // skip data summary bits of the allowed visibilities
+    private long allowedSummary;
+
+    // whether the positions of docs with mixed visibilities are filtered
+    private boolean visiblePositions;
+    // whether the positions of the current doc are filtered
+    private boolean docPositionsFiltered;
+    // visible positions of the current doc, -1 until they are buffered
+    private int visibleFreq;
+    private int visiblePositionUpto;
+    private int[] visiblePositionBuffer;
+    private int[] visibleOrdBuffer;
+    private int[] visibleStartOffsetBuffer;
+    private int[] visibleEndOffsetBuffer;
     
     public EverythingEnum(FieldInfo fieldInfo) throws IOException {
       this.startDocIn = LucurePostingsReader.this.docIn;
       this.docIn = null;
       this.posIn = LucurePostingsReader.this.posIn.clone();
       this.payIn = LucurePostingsReader.this.payIn.clone();
-      encoded = new byte[MAX_ENCODED_SIZE];
+      encoded = ByteBuffer.wrap(new byte[MAX_ENCODED_SIZE]);
       indexHasOffsets = fieldInfo.getIndexOptions().compareTo(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS) >= 0;
       if (indexHasOffsets) {
         offsetStartDeltaBuffer = new int[MAX_DATA_SIZE];
@@ -1065,6 +1523,10 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       }
 
       indexHasPayloads = fieldInfo.hasPayloads();
+      indexHasDocVisibility = indexHasPayloads && version >= LucurePostingsWriter.VERSION_DOC_VISIBILITY;
+      indexHasVisibilitySummary = indexHasPayloads && version >= LucurePostingsWriter.VERSION_SKIP_VISIBILITY;
+      indexHasPayloadRuns = indexHasPayloads && version >= LucurePostingsWriter.VERSION_PAYLOAD_RUNS;
+      docVisibilityBuffer = indexHasDocVisibility ? new int[MAX_DATA_SIZE] : null;
       if (indexHasPayloads) {
         payloadLengthBuffer = new int[MAX_DATA_SIZE];
         payloadBytes = new byte[128];
@@ -1074,6 +1536,14 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         payloadBytes = null;
         payload = null;
       }
+
+      if (indexHasPayloads && visibilityDictionary != null) {
+        dictionary = visibilityDictionary;
+        payloadOrds = new int[MAX_DATA_SIZE];
+      } else {
+        dictionary = null;
+        payloadOrds = null;
+      }
     }
 
     public boolean canReuse(IndexInput docIn, FieldInfo fieldInfo) {
@@ -1094,6 +1564,10 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       skipOffset = termState.skipOffset;
       totalTermFreq = termState.totalTermFreq;
       singletonDocID = termState.singletonDocID;
+      singletonVisibility = termState.singletonVisibility;
+      allowedOrds = null;
+      visiblePositions = false;
+      docPositionsFiltered = false;
       if (docFreq > 1) {
         if (docIn == null) {
           // lazy init
@@ -1126,6 +1600,12 @@ public final class LucurePostingsReader extends PostingsReaderBase {
     
     @Override
     public int freq() throws IOException {
+      if (docPositionsFiltered) {
+        if (visibleFreq == -1) {
+          bufferVisiblePositions();
+        }
+        return visibleFreq;
+      }
       return freq;
     }
 
@@ -1134,6 +1614,158 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       return doc;
     }
 
+    /**
+     * Only returns docs whose visibility ordinal is set in
+     * <code>allowed</code>, from the visibilities stored in .doc. Docs
+     * without a visibility are always returned.
+     */
+    void setAllowedOrds(AllowedOrds allowed) {
+      assert allowed == null || indexHasDocVisibility;
+      if (allowed != null) {
+        allowedOrds = allowed.ords;
+        allowedSummary = allowed.summary;
+      } else {
+        allowedOrds = null;
+      }
+    }
+
+    /**
+     * Checks the positions of docs flagged with mixed visibilities one by
+     * one, counting only the visible positions in {@link #freq()}. As with
+     * {@link BlockDocsEnum}, a doc is only returned if its first position is
+     * visible, so that term and positional queries match the same docs.
+     * Positions are only decoded when {@link #freq()} or
+     * {@link #nextPosition()} is called. Must be called after
+     * {@link #setAllowedOrds(FixedBitSet)}, with payloads needed.
+     */
+    void setVisiblePositions(boolean visiblePositions) {
+      assert !visiblePositions || needsPayloads;
+      this.visiblePositions = visiblePositions && allowedOrds != null && dictionary != null;
+      if (this.visiblePositions && visiblePositionBuffer == null) {
+        visiblePositionBuffer = new int[BLOCK_SIZE];
+        visibleOrdBuffer = new int[BLOCK_SIZE];
+        if (indexHasOffsets) {
+          visibleStartOffsetBuffer = new int[BLOCK_SIZE];
+          visibleEndOffsetBuffer = new int[BLOCK_SIZE];
+        }
+      }
+    }
+
+    private boolean isVisible(int docBufferUpto) throws IOException {
+      docPositionsFiltered = false;
+      if (allowedOrds == null) {
+        return true;
+      }
+      final int docVisibility = docVisibilityBuffer[docBufferUpto];
+      if (!isAllowed(visibilityOf(docVisibility), allowedOrds)) {
+        return false;
+      }
+      if (visiblePositions && isMixedVisibility(docVisibility)) {
+        docPositionsFiltered = true;
+        visibleFreq = -1;
+      }
+      return true;
+    }
+
+    /**
+     * Reads all positions of the current doc, keeping the visible ones
+     * @return the number of visible positions
+     */
+    private int bufferVisiblePositions() throws IOException {
+      if (visiblePositionBuffer.length < freq) {
+        visiblePositionBuffer = ArrayUtil.grow(visiblePositionBuffer, freq);
+        visibleOrdBuffer = ArrayUtil.grow(visibleOrdBuffer, freq);
+        if (indexHasOffsets) {
+          visibleStartOffsetBuffer = ArrayUtil.grow(visibleStartOffsetBuffer, freq);
+          visibleEndOffsetBuffer = ArrayUtil.grow(visibleEndOffsetBuffer, freq);
+        }
+      }
+      position = 0;
+      lastStartOffset = 0;
+      int count = 0;
+      for (int i = 0; i < freq; i++) {
+        readPosition();
+        final int ord = payloadOrds[posBufferUpto - 1];
+        if (ord < 0 || allowedOrds.get(ord)) {
+          visiblePositionBuffer[count] = position;
+          visibleOrdBuffer[count] = ord;
+          if (indexHasOffsets) {
+            visibleStartOffsetBuffer[count] = startOffset;
+            visibleEndOffsetBuffer[count] = endOffset;
+          }
+          count++;
+        }
+      }
+      visiblePositionUpto = 0;
+      return visibleFreq = count;
+    }
+
+    /**
+     * Skips, without decoding them, the blocks ahead whose skip data
+     * summary shows they have no doc visible with <code>allowedOrds</code>
+     */
+    private void skipInvisibleBlocks() throws IOException {
+      // every block but the last is followed by a skip point
+      while (docFreq - docUpto > BLOCK_SIZE) {
+        initSkipper();
+        // the next skip point is now the one ending the upcoming block
+        skipper.skipTo(accum + 1);
+        if ((skipper.getNextVisibilitySummary() & allowedSummary) != 0) {
+          nextSkipDoc = skipper.getNextSkipDoc();
+          return;
+        }
+        seekSkipPoint(skipper.skipTo(skipper.getNextSkipDoc() + 1) + 1);
+        nextSkipDoc = skipper.getNextSkipDoc();
+      }
+    }
+
+    private void initSkipper() {
+      if (skipper == null) {
+        // Lazy init: first time this enum has ever been used for skipping
+        // if (DEBUG) {
+        //   System.out.println("    create skipper");
+        // }
+        skipper = new LucureSkipReader(docIn.clone(),
+                                      LucurePostingsWriter.maxSkipLevels,
+                                      BLOCK_SIZE,
+                                      true,
+                                      indexHasOffsets,
+                                      indexHasPayloads,
+                                      indexHasVisibilitySummary,
+                                      version >= LucurePostingsWriter.VERSION_BLOCK_MAX_FREQ);
+      }
+
+      if (!skipped) {
+        assert skipOffset != -1;
+        // This is the first time this enum has skipped
+        // since reset() was called; load the skip data:
+        // if (DEBUG) {
+        //   System.out.println("    init skipper");
+        // }
+        skipper.init(docTermStartFP+skipOffset, docTermStartFP, posTermStartFP, payTermStartFP, docFreq);
+        skipped = true;
+      }
+    }
+
+    /**
+     * Moves to the skip point the skipper last skipped to, the start of the
+     * block holding doc <code>newDocUpto</code>
+     */
+    private void seekSkipPoint(int newDocUpto) throws IOException {
+      assert newDocUpto % BLOCK_SIZE == 0 : "got " + newDocUpto;
+      docUpto = newDocUpto;
+
+      // Force to read next block
+      docBufferUpto = BLOCK_SIZE;
+      accum = skipper.getDoc();
+      docIn.seek(skipper.getDocPointer());
+      posPendingFP = skipper.getPosPointer();
+      payPendingFP = skipper.getPayPointer();
+      posPendingCount = skipper.getPosBufferUpto();
+      lastStartOffset = 0; // new document
+      payloadByteUpto = skipper.getPayloadByteUpto();
+    }
+
     private void refillDocs() throws IOException {
       final int left = docFreq - docUpto;
       assert left > 0;
@@ -1147,14 +1779,24 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         //   System.out.println("    fill freq block from fp=" + docIn.getFilePointer());
         // }
         forUtil.readBlock(docIn, encoded, freqBuffer);
+        if (indexHasDocVisibility) {
+          if (allowedOrds != null) {
+            forUtil.readBlock(docIn, encoded, docVisibilityBuffer);
+          } else {
+            forUtil.skipBlock(docIn); // every doc is visible
+          }
+        }
       } else if (docFreq == 1) {
         docDeltaBuffer[0] = singletonDocID;
         freqBuffer[0] = (int) totalTermFreq;
+        if (indexHasDocVisibility) {
+          docVisibilityBuffer[0] = singletonVisibility;
+        }
       } else {
         // if (DEBUG) {
         //   System.out.println("    fill last vInt doc block from fp=" + docIn.getFilePointer());
         // }
-        readVIntBlock(docIn, docDeltaBuffer, freqBuffer, left, true);
+        readVIntBlock(docIn, docDeltaBuffer, freqBuffer, docVisibilityBuffer, left, true, indexHasDocVisibility);
       }
       docBufferUpto = 0;
     }
@@ -1171,6 +1813,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         int payloadLength = 0;
         int offsetLength = 0;
         payloadByteUpto = 0;
+        payloadLengthsBuffered = indexHasPayloads;
         for(int i=0;i<count;i++) {
           int code = posIn.readVInt();
           if (indexHasPayloads) {
@@ -1210,6 +1853,12 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           }
         }
         payloadByteUpto = 0;
+        if (dictionary != null) {
+          decodeOrds(count);
+        }
+        if (visibilityEvaluator != null) {
+          evaluatePayloads(count);
+        }
       } else {
         // if (DEBUG) {
         //   System.out.println("        bulk pos block @ fp=" + posIn.getFilePointer());
@@ -1220,7 +1869,14 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           // if (DEBUG) {
           //   System.out.println("        bulk payload block @ pay.fp=" + payIn.getFilePointer());
           // }
-          if (needsPayloads) {
+          payloadLengthsBuffered = !indexHasPayloadRuns && needsPayloads;
+          if (indexHasPayloadRuns) {
+            if (needsPayloads) {
+              readPayloadRuns();
+            } else {
+              skipPayloadRuns();
+            }
+          } else if (needsPayloads) {
             forUtil.readBlock(payIn, encoded, payloadLengthBuffer);
             int numBytes = payIn.readVInt();
             // if (DEBUG) {
@@ -1230,6 +1886,12 @@ public final class LucurePostingsReader extends PostingsReaderBase {
               payloadBytes = ArrayUtil.grow(payloadBytes, numBytes);
             }
             payIn.readBytes(payloadBytes, 0, numBytes);
+            if (dictionary != null) {
+              decodeOrds(BLOCK_SIZE);
+            }
+            if (visibilityEvaluator != null) {
+              evaluatePayloads(BLOCK_SIZE);
+            }
           } else {
             // this works, because when writing a vint block we always force the first length to be written
             forUtil.skipBlock(payIn); // skip over lengths
@@ -1255,6 +1917,96 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       }
     }
 
+    /**
+     * Reads the runs of visibilities of a packed block straight into
+     * <code>payloadOrds</code>, see LucurePostingsWriter#writePayloadRuns
+     */
+    private void readPayloadRuns() throws IOException {
+      final int numRuns = payIn.readVInt();
+      int upto = 0;
+      for (int run = 1; run < numRuns; run++) {
+        final int ord = payIn.readVInt() - 1;
+        final int end = upto + payIn.readVInt();
+        Arrays.fill(payloadOrds, upto, end, ord);
+        upto = end;
+      }
+      Arrays.fill(payloadOrds, upto, BLOCK_SIZE, payIn.readVInt() - 1);
+    }
+
+    private void skipPayloadRuns() throws IOException {
+      // a visibility and a length per run but the last
+      for (int i = 2 * payIn.readVInt() - 1; i > 0; i--) {
+        payIn.readVInt();
+      }
+    }
+
+    /**
+     * Decodes the vInt dictionary ordinals held by the payloads of a block
+     */
+    private void decodeOrds(int count) {
+      int upto = 0;
+      for (int i = 0; i < count; i++) {
+        final int length = payloadLengthBuffer[i];
+        if (length == 0) {
+          payloadOrds[i] = -1;
+          continue;
+        }
+        int ord = 0;
+        for (int shift = 0, end = upto + length; upto < end; shift += 7) {
+          ord |= (payloadBytes[upto++] & 0x7F) << shift;
+        }
+        payloadOrds[i] = ord;
+      }
+    }
+
+    private void evaluatePayloads(int count) throws IOException {
+      if (dictionary != null) {
+        Arrays.fill(payloadAccept, 0L);
+        for (int i = 0; i < count; i++) {
+          final int ord = payloadOrds[i];
+          if (ord < 0 || payloadAllowedOrds.get(ord)) {
+            payloadAccept[i >>> 6] |= 1L << i;
+          }
+        }
+        return;
+      }
+      try {
+        visibilityEvaluator.evaluate(payloadBytes, 0, payloadLengthBuffer, count, payloadAccept);
+      } catch (VisibilityParseException vpe) {
+        throw new IOException("Exception occurred parsing visibility", vpe);
+      }
+    }
+
+    /**
+     * Sets the evaluator the visibilities of every decoded payload block are
+     * checked against, or null to not evaluate them. Only used when payloads
+     * are needed.
+     */
+    void setVisibilityEvaluator(VisibilityEvaluator visibilityEvaluator) throws IOException {
+      if (!indexHasPayloads || !needsPayloads) {
+        visibilityEvaluator = null;
+      }
+      if (dictionary != null && visibilityEvaluator != null &&
+          (payloadAllowedOrds == null || visibilityEvaluator != this.visibilityEvaluator)) {
+        payloadAllowedOrds = AllowedVisibilitiesCache.SHARED.get(dictionary, visibilityEvaluator).ords;
+      }
+      this.visibilityEvaluator = visibilityEvaluator;
+    }
+
+    boolean evaluatesPayloads() {
+      return visibilityEvaluator != null;
+    }
+
+    /**
+     * @return whether the visibility in the payload of the position last
+     * returned by {@link #nextPosition()} is visible, only valid if
+     * {@link #evaluatesPayloads()}
+     */
+    boolean isPayloadAccepted() {
+      final int i = posBufferUpto - 1;
+      return (payloadAccept[i >>> 6] & (1L << i)) != 0;
+    }
+
     @Override
     public int nextDoc() throws IOException {
       // if (DEBUG) {
@@ -1268,6 +2020,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           return doc = NO_MORE_DOCS;
         }
         if (docBufferUpto == BLOCK_SIZE) {
+          if (allowedOrds != null && indexHasVisibilitySummary) {
+            skipInvisibleBlocks();
+          }
           refillDocs();
         }
         // if (DEBUG) {
@@ -1279,7 +2034,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         docBufferUpto++;
         docUpto++;
 
-        if (liveDocs == null || liveDocs.get(accum)) {
+        if ((liveDocs == null || liveDocs.get(accum)) && isVisible(docBufferUpto - 1)) {
           doc = accum;
           // if (DEBUG) {
           //   System.out.println("    return doc=" + doc + " freq=" + freq + " posPendingCount=" + posPendingCount);
@@ -1308,29 +2063,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         //   System.out.println("    try skipper");
         // }
 
-        if (skipper == null) {
-          // Lazy init: first time this enum has ever been used for skipping
-          // if (DEBUG) {
-          //   System.out.println("    create skipper");
-          // }
-          skipper = new LucureSkipReader(docIn.clone(),
-                                        LucurePostingsWriter.maxSkipLevels,
-                                        BLOCK_SIZE,
-                                        true,
-                                        indexHasOffsets,
-                                        indexHasPayloads);
-        }
-
-        if (!skipped) {
-          assert skipOffset != -1;
-          // This is the first time this enum has skipped
-          // since reset() was called; load the skip data:
-          // if (DEBUG) {
-          //   System.out.println("    init skipper");
-          // }
-          skipper.init(docTermStartFP+skipOffset, docTermStartFP, posTermStartFP, payTermStartFP, docFreq);
-          skipped = true;
-        }
+        initSkipper();
 
         final int newDocUpto = skipper.skipTo(target) + 1; 
 
@@ -1339,18 +2072,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           // if (DEBUG) {
           //   System.out.println("    skipper moved to docUpto=" + newDocUpto + " vs current=" + docUpto + "; docID=" + skipper.getDoc() + " fp=" + skipper.getDocPointer() + " pos.fp=" + skipper.getPosPointer() + " pos.bufferUpto=" + skipper.getPosBufferUpto() + " pay.fp=" + skipper.getPayPointer() + " lastStartOffset=" + lastStartOffset);
           // }
-          assert newDocUpto % BLOCK_SIZE == 0 : "got " + newDocUpto;
-          docUpto = newDocUpto;
-
-          // Force to read next block
-          docBufferUpto = BLOCK_SIZE;
-          accum = skipper.getDoc();
-          docIn.seek(skipper.getDocPointer());
-          posPendingFP = skipper.getPosPointer();
-          payPendingFP = skipper.getPayPointer();
-          posPendingCount = skipper.getPosBufferUpto();
-          lastStartOffset = 0; // new document
-          payloadByteUpto = skipper.getPayloadByteUpto();
+          seekSkipPoint(newDocUpto);
         }
         nextSkipDoc = skipper.getNextSkipDoc();
       }
@@ -1358,6 +2080,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         return doc = NO_MORE_DOCS;
       }
       if (docBufferUpto == BLOCK_SIZE) {
+        if (allowedOrds != null && indexHasVisibilitySummary) {
+          skipInvisibleBlocks();
+        }
         refillDocs();
       }
 
@@ -1380,7 +2105,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         }
       }
 
-      if (liveDocs == null || liveDocs.get(accum)) {
+      if ((liveDocs == null || liveDocs.get(accum)) && isVisible(docBufferUpto - 1)) {
         // if (DEBUG) {
         //   System.out.println("  return doc=" + accum);
         // }
@@ -1410,7 +2135,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       if (toSkip < leftInBlock) {
         int end = posBufferUpto + toSkip;
         while(posBufferUpto < end) {
-          if (indexHasPayloads) {
+          if (payloadLengthsBuffered) {
             payloadByteUpto += payloadLengthBuffer[posBufferUpto];
           }
           posBufferUpto++;
@@ -1427,7 +2152,9 @@ public final class LucurePostingsReader extends PostingsReaderBase {
           assert posIn.getFilePointer() != lastPosBlockFP;
           forUtil.skipBlock(posIn);
 
-          if (indexHasPayloads) {
+          if (indexHasPayloadRuns) {
+            skipPayloadRuns();
+          } else if (indexHasPayloads) {
             // Skip payloadLength block:
             forUtil.skipBlock(payIn);
 
@@ -1446,7 +2173,7 @@ public final class LucurePostingsReader extends PostingsReaderBase {
         payloadByteUpto = 0;
         posBufferUpto = 0;
         while(posBufferUpto < toSkip) {
-          if (indexHasPayloads) {
+          if (payloadLengthsBuffered) {
             payloadByteUpto += payloadLengthBuffer[posBufferUpto];
           }
           posBufferUpto++;
@@ -1462,6 +2189,29 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
     @Override
     public int nextPosition() throws IOException {
+      if (docPositionsFiltered) {
+        if (visibleFreq == -1) {
+          bufferVisiblePositions();
+        }
+        assert visiblePositionUpto < visibleFreq;
+        final int i = visiblePositionUpto++;
+        final int ord = visibleOrdBuffer[i];
+        if (ord < 0) {
+          payloadLength = 0;
+        } else {
+          dictionary.get(ord, payload);
+          payloadLength = payload.length;
+        }
+        if (indexHasOffsets) {
+          startOffset = visibleStartOffsetBuffer[i];
+          endOffset = visibleEndOffsetBuffer[i];
+        }
+        return position = visiblePositionBuffer[i];
+      }
+      return readPosition();
+    }
+
+    private int readPosition() throws IOException {
       // if (DEBUG) {
       //   System.out.println("    FPR.nextPosition posPendingCount=" + posPendingCount + " posBufferUpto=" + posBufferUpto + " payloadByteUpto=" + payloadByteUpto)// ;
       // }
@@ -1496,11 +2246,24 @@ public final class LucurePostingsReader extends PostingsReaderBase {
       position += posDeltaBuffer[posBufferUpto];
 
       if (indexHasPayloads) {
-        payloadLength = payloadLengthBuffer[posBufferUpto];
-        payload.bytes = payloadBytes;
-        payload.offset = payloadByteUpto;
-        payload.length = payloadLength;
-        payloadByteUpto += payloadLength;
+        if (dictionary != null) {
+          final int ord = payloadOrds[posBufferUpto];
+          if (ord < 0) {
+            payloadLength = 0;
+          } else {
+            dictionary.get(ord, payload);
+            payloadLength = payload.length;
+          }
+          if (payloadLengthsBuffered) {
+            payloadByteUpto += payloadLengthBuffer[posBufferUpto];
+          }
+        } else {
+          payloadLength = payloadLengthBuffer[posBufferUpto];
+          payload.bytes = payloadBytes;
+          payload.offset = payloadByteUpto;
+          payload.length = payloadLength;
+          payloadByteUpto += payloadLength;
+        }
       }
 
       if (indexHasOffsets) {
@@ -1547,7 +2310,86 @@ public final class LucurePostingsReader extends PostingsReaderBase {
 
   @Override
   public long ramBytesUsed() {
-    return 0;
+    return visibilityDictionary != null ? visibilityDictionary.ramBytesUsed() : 0;
   }
 
+
+  /**
+   * Ordinals allowed by the authorizations of a holder
+   */
+  private static final class HolderAllowedOrds {
+    final AuthorizationsHolder authorizationsHolder;
+    final AllowedOrds allowed;
+
+    HolderAllowedOrds(AuthorizationsHolder authorizationsHolder, AllowedOrds allowed) {
+      this.authorizationsHolder = authorizationsHolder;
+      this.allowed = allowed;
+    }
+  }
+
+  /**
+   * Postings of a term the searcher may see none of. Holds on to the enum
+   * it replaces so that it is still reused by the next term.
+   */
+  static final class EmptyEnum extends DocsAndPositionsEnum {
+    final DocsEnum reuse;
+    private int doc = -1;
+
+    EmptyEnum(DocsEnum reuse) {
+      this.reuse = reuse;
+    }
+
+    /**
+     * Rewinds this enum for the next pruned term, keeping the enum it holds
+     */
+    EmptyEnum reset() {
+      doc = -1;
+      return this;
+    }
+
+    @Override
+    public int freq() {
+      return 0;
+    }
+
+    @Override
+    public int docID() {
+      return doc;
+    }
+
+    @Override
+    public int nextDoc() {
+      return doc = NO_MORE_DOCS;
+    }
+
+    @Override
+    public int advance(int target) {
+      return doc = NO_MORE_DOCS;
+    }
+
+    @Override
+    public long cost() {
+      return 0;
+    }
+
+    @Override
+    public int nextPosition() {
+      throw new IllegalStateException("no positions");
+    }
+
+    @Override
+    public int startOffset() {
+      return -1;
+    }
+
+    @Override
+    public int endOffset() {
+      return -1;
+    }
+
+    @Override
+    public BytesRef getPayload() {
+      return null;
+    }
+  }
 }
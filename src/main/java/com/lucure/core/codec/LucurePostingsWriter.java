@@ -26,10 +26,12 @@ import org.apache.lucene.store.DataOutput;
 import org.apache.lucene.store.IndexOutput;
 import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefHash;
 import org.apache.lucene.util.IOUtils;
 import org.apache.lucene.util.packed.PackedInts;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import static com.lucure.core.codec.ForUtil.MAX_DATA_SIZE;
 import static com.lucure.core.codec.ForUtil.MAX_ENCODED_SIZE;
@@ -62,11 +64,29 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
   final static int VERSION_START = 0;
   final static int VERSION_META_ARRAY = 1;
     final static int VERSION_CHECKSUM = 2;
-    final static int VERSION_CURRENT = VERSION_CHECKSUM;
+    // payloads are ordinals into the segment's VisibilityDictionary
+    final static int VERSION_VIS_DICTIONARY = 3;
+    // .doc holds the visibility ordinal of every doc of payload fields
+    final static int VERSION_DOC_VISIBILITY = 4;
+    // level 0 skip data summarizes the visibilities of each block
+    final static int VERSION_SKIP_VISIBILITY = 5;
+    // doc visibilities flag docs whose positions have mixed visibilities
+    final static int VERSION_MIXED_VISIBILITY = 6;
+    // packed payload blocks are run length encoded visibilities
+    final static int VERSION_PAYLOAD_RUNS = 7;
+    // term metadata summarizes the visibilities of the term's positions
+    final static int VERSION_TERM_VISIBILITY = 8;
+    // level 0 skip data holds the max freq of each block
+    final static int VERSION_BLOCK_MAX_FREQ = 9;
+    final static int VERSION_CURRENT = VERSION_BLOCK_MAX_FREQ;
 
   final IndexOutput docOut;
   final IndexOutput posOut;
   final IndexOutput payOut;
+  final IndexOutput visOut;
+
+  // distinct payloads of the segment, written to visOut on close
+  private final BytesRefHash visibilities;
 
   final static IntBlockTermState emptyState = new IntBlockTermState();
   IntBlockTermState lastState;
@@ -84,10 +104,18 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
 
   final int[] docDeltaBuffer;
   final int[] freqBuffer;
+  // visibility ordinal + 1 of the first payload of each doc, 0 for none,
+  // shifted left by one with the low bit set when the visibilities of the
+  // doc's positions differ
+  final int[] docVisibilityBuffer;
   private int docBufferUpto;
+  private boolean docVisibilityPending;
+  private int docFirstVisibility;
 
   final int[] posDeltaBuffer;
   final int[] payloadLengthBuffer;
+  // visibility ordinal + 1 of each buffered position, 0 for none
+  final int[] payloadVisibilityBuffer;
   final int[] offsetStartDeltaBuffer;
   final int[] offsetLengthBuffer;
   private int posBufferUpto;
@@ -100,13 +128,24 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
   private long lastBlockPayFP;
   private int lastBlockPosBufferUpto;
   private int lastBlockPayloadByteUpto;
+  private long lastBlockVisibilitySummary;
+  // summary of the visibilities of every position of the current block
+  private long blockVisibilitySummary;
+  private int lastBlockMaxFreq;
+  // max freq of the docs of the current block
+  private int blockMaxFreq;
+  // visibility shared by every position of the current term, -1 once they
+  // differ, and the summary of all of them
+  private int termVisibility;
+  private long termVisibilitySummary;
 
   private int lastDocID;
   private int lastPosition;
   private int lastStartOffset;
   private int docCount;
 
-  final byte[] encoded;
+  // wraps the encoded bytes of a block once for ForUtil
+  final ByteBuffer encoded;
 
   private final ForUtil forUtil;
   private final LucureSkipWriter skipWriter;
@@ -121,6 +160,7 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
                                           state.context);
     IndexOutput posOut = null;
     IndexOutput payOut = null;
+    IndexOutput visOut = null;
     boolean success = false;
     try {
       CodecUtil.writeHeader(docOut, DOC_CODEC, VERSION_CURRENT);
@@ -134,9 +174,13 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
         if (state.fieldInfos.hasPayloads()) {
           payloadBytes = new byte[128];
           payloadLengthBuffer = new int[MAX_DATA_SIZE];
+          payloadVisibilityBuffer = new int[MAX_DATA_SIZE];
+          visOut = state.directory.createOutput(IndexFileNames.segmentFileName(state.segmentInfo.name, state.segmentSuffix, LucurePostingsFormat.VIS_EXTENSION),
+                                                state.context);
         } else {
           payloadBytes = null;
           payloadLengthBuffer = null;
+          payloadVisibilityBuffer = null;
         }
 
         if (state.fieldInfos.hasOffsets()) {
@@ -155,21 +199,25 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
       } else {
         posDeltaBuffer = null;
         payloadLengthBuffer = null;
+        payloadVisibilityBuffer = null;
         offsetStartDeltaBuffer = null;
         offsetLengthBuffer = null;
         payloadBytes = null;
       }
       this.payOut = payOut;
       this.posOut = posOut;
+      this.visOut = visOut;
       success = true;
     } finally {
       if (!success) {
-        IOUtils.closeWhileHandlingException(docOut, posOut, payOut);
+        IOUtils.closeWhileHandlingException(docOut, posOut, payOut, visOut);
       }
     }
+    visibilities = visOut != null ? new BytesRefHash() : null;
 
     docDeltaBuffer = new int[MAX_DATA_SIZE];
     freqBuffer = new int[MAX_DATA_SIZE];
+    docVisibilityBuffer = visOut != null ? new int[MAX_DATA_SIZE] : null;
 
     // TODO: should we try skipping every 2/4 blocks...?
     skipWriter = new LucureSkipWriter(maxSkipLevels,
@@ -179,7 +227,7 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
                                      posOut,
                                      payOut);
 
-    encoded = new byte[MAX_ENCODED_SIZE];
+    encoded = ByteBuffer.wrap(new byte[MAX_ENCODED_SIZE]);
   }
 
   /** Creates a postings writer with <code>PackedInts.COMPACT</code> */
@@ -196,6 +244,14 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     // docid when there is a single pulsed posting, otherwise -1
     // freq is always implicitly totalTermFreq in this case.
     int singletonDocID = -1;
+    // visibility ordinal + 1 of the pulsed posting, 0 for none
+    int singletonVisibility;
+    // visibility ordinal + 1 shared by every position of the term, 0 for
+    // none, -1 when they differ or are not known
+    int termVisibility = -1;
+    // summary of the visibilities of every position of the term, see
+    // LucureSkipWriter#visibilitySummaryBit, all bits when not known
+    long termVisibilitySummary = -1L;
 
     @Override
     public IntBlockTermState clone() {
@@ -214,12 +270,15 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
       lastPosBlockOffset = other.lastPosBlockOffset;
       skipOffset = other.skipOffset;
       singletonDocID = other.singletonDocID;
+      singletonVisibility = other.singletonVisibility;
+      termVisibility = other.termVisibility;
+      termVisibilitySummary = other.termVisibilitySummary;
     }
 
 
     @Override
     public String toString() {
-      return super.toString() + " docStartFP=" + docStartFP + " posStartFP=" + posStartFP + " payStartFP=" + payStartFP + " lastPosBlockOffset=" + lastPosBlockOffset + " singletonDocID=" + singletonDocID;
+      return super.toString() + " docStartFP=" + docStartFP + " posStartFP=" + posStartFP + " payStartFP=" + payStartFP + " lastPosBlockOffset=" + lastPosBlockOffset + " singletonDocID=" + singletonDocID + " termVisibility=" + termVisibility;
     }
   }
 
@@ -241,7 +300,7 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     fieldHasPositions = indexOptions.compareTo(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS) >= 0;
     fieldHasOffsets = indexOptions.compareTo(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS) >= 0;
     fieldHasPayloads = fieldInfo.hasPayloads();
-    skipWriter.setField(fieldHasPositions, fieldHasOffsets, fieldHasPayloads);
+    skipWriter.setField(fieldHasFreqs, fieldHasPositions, fieldHasOffsets, fieldHasPayloads);
     lastState = emptyState;
     if (fieldHasPositions) {
       if (fieldHasPayloads || fieldHasOffsets) {
@@ -265,6 +324,9 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     }
     lastDocID = 0;
     lastBlockDocID = -1;
+    blockVisibilitySummary = 0;
+    blockMaxFreq = 0;
+    termVisibilitySummary = 0;
     // if (DEBUG) {
     //   System.out.println("FPW.startTerm startFP=" + docStartFP);
     // }
@@ -283,7 +345,7 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
       // if (DEBUG) {
       //   System.out.println("  bufferSkip at writeBlock: lastDocID=" + lastBlockDocID + " docCount=" + (docCount-1));
       // }
-      skipWriter.bufferSkip(lastBlockDocID, docCount, lastBlockPosFP, lastBlockPayFP, lastBlockPosBufferUpto, lastBlockPayloadByteUpto);
+      skipWriter.bufferSkip(lastBlockDocID, docCount, lastBlockPosFP, lastBlockPayFP, lastBlockPosBufferUpto, lastBlockPayloadByteUpto, lastBlockVisibilitySummary, lastBlockMaxFreq);
     }
 
     final int docDelta = docID - lastDocID;
@@ -298,25 +360,17 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     // }
     if (fieldHasFreqs) {
       freqBuffer[docBufferUpto] = termDocFreq;
+      blockMaxFreq = Math.max(blockMaxFreq, termDocFreq);
+    }
+    if (fieldHasPayloads) {
+      docVisibilityBuffer[docBufferUpto] = 0;
+      docVisibilityPending = true;
     }
     docBufferUpto++;
     docCount++;
 
-    if (docBufferUpto == BLOCK_SIZE) {
-      // if (DEBUG) {
-      //   System.out.println("  write docDelta block @ fp=" + docOut.getFilePointer());
-      // }
-      forUtil.writeBlock(docDeltaBuffer, encoded, docOut);
-      if (fieldHasFreqs) {
-        // if (DEBUG) {
-        //   System.out.println("  write freq block @ fp=" + docOut.getFilePointer());
-        // }
-        forUtil.writeBlock(freqBuffer, encoded, docOut);
-      }
-      // NOTE: don't set docBufferUpto back to 0 here;
-      // finishDoc will do so (because it needs to see that
-      // the block was filled so it can save skip data)
-    }
+    // NOTE: a full block is written by finishDoc, once the
+    // visibility of its last doc is known
 
 
     lastDocID = docID;
@@ -332,17 +386,49 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     // }
     posDeltaBuffer[posBufferUpto] = position - lastPosition;
     if (fieldHasPayloads) {
+      int visibility = 0;
       if (payload == null || payload.length == 0) {
         // no payload
         payloadLengthBuffer[posBufferUpto] = 0;
       } else {
-        payloadLengthBuffer[posBufferUpto] = payload.length;
-        if (payloadByteUpto + payload.length > payloadBytes.length) {
-          payloadBytes = ArrayUtil.grow(payloadBytes, payloadByteUpto + payload.length);
+        // the payload is replaced by the vInt ordinal of its bytes in the
+        // visibility dictionary
+        int ord = visibilities.add(payload);
+        if (ord < 0) {
+          ord = -ord - 1;
+        }
+        if (payloadByteUpto + 5 > payloadBytes.length) {
+          payloadBytes = ArrayUtil.grow(payloadBytes, payloadByteUpto + 5);
         }
-        System.arraycopy(payload.bytes, payload.offset, payloadBytes, payloadByteUpto, payload.length);
-        payloadByteUpto += payload.length;
+        final int start = payloadByteUpto;
+        visibility = ord + 1;
+        while ((ord & ~0x7F) != 0) {
+          payloadBytes[payloadByteUpto++] = (byte) ((ord & 0x7F) | 0x80);
+          ord >>>= 7;
+        }
+        payloadBytes[payloadByteUpto++] = (byte) ord;
+        payloadLengthBuffer[posBufferUpto] = payloadByteUpto - start;
+      }
+      payloadVisibilityBuffer[posBufferUpto] = visibility;
+      // a doc is as visible as its first position, see
+      // AccessFilteredDocsAndPositionsEnum, docs flagged as mixed have their
+      // positions filtered when read with
+      // LucurePostingsFormat.FLAG_VISIBLE_POSITIONS
+      if (docVisibilityPending) {
+        docVisibilityBuffer[docBufferUpto - 1] = visibility << 1;
+        docFirstVisibility = visibility;
+        docVisibilityPending = false;
+      } else if (visibility != docFirstVisibility) {
+        docVisibilityBuffer[docBufferUpto - 1] |= 1;
       }
+      if (termVisibilitySummary == 0) {
+        termVisibility = visibility;
+      } else if (visibility != termVisibility) {
+        termVisibility = -1;
+      }
+      final long visibilityBit = LucureSkipWriter.visibilitySummaryBit(visibility);
+      blockVisibilitySummary |= visibilityBit;
+      termVisibilitySummary |= visibilityBit;
     }
 
     if (fieldHasOffsets) {
@@ -362,9 +448,7 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
       forUtil.writeBlock(posDeltaBuffer, encoded, posOut);
 
       if (fieldHasPayloads) {
-        forUtil.writeBlock(payloadLengthBuffer, encoded, payOut);
-        payOut.writeVInt(payloadByteUpto);
-        payOut.writeBytes(payloadBytes, 0, payloadByteUpto);
+        writePayloadRuns();
         payloadByteUpto = 0;
       }
       if (fieldHasOffsets) {
@@ -375,12 +459,55 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     }
   }
 
+  /**
+   * Writes the visibilities of a full block of positions as runs of equal
+   * visibilities: the number of runs, then the visibility and length of each
+   * run, the length of the last one being implied. A uniform block takes two
+   * bytes.
+   */
+  private void writePayloadRuns() throws IOException {
+    int numRuns = 1;
+    for (int i = 1; i < BLOCK_SIZE; i++) {
+      if (payloadVisibilityBuffer[i] != payloadVisibilityBuffer[i - 1]) {
+        numRuns++;
+      }
+    }
+    payOut.writeVInt(numRuns);
+    int runStart = 0;
+    for (int i = 1; i <= BLOCK_SIZE; i++) {
+      if (i == BLOCK_SIZE || payloadVisibilityBuffer[i] != payloadVisibilityBuffer[runStart]) {
+        payOut.writeVInt(payloadVisibilityBuffer[runStart]);
+        if (i < BLOCK_SIZE) {
+          payOut.writeVInt(i - runStart);
+        }
+        runStart = i;
+      }
+    }
+  }
+
   @Override
   public void finishDoc() throws IOException {
     // Since we don't know df for current term, we had to buffer
     // those skip data for each block, and when a new doc comes, 
     // write them to skip file.
     if (docBufferUpto == BLOCK_SIZE) {
+      // if (DEBUG) {
+      //   System.out.println("  write docDelta block @ fp=" + docOut.getFilePointer());
+      // }
+      forUtil.writeBlock(docDeltaBuffer, encoded, docOut);
+      if (fieldHasFreqs) {
+        // if (DEBUG) {
+        //   System.out.println("  write freq block @ fp=" + docOut.getFilePointer());
+        // }
+        forUtil.writeBlock(freqBuffer, encoded, docOut);
+        lastBlockMaxFreq = blockMaxFreq;
+        blockMaxFreq = 0;
+      }
+      if (fieldHasPayloads) {
+        forUtil.writeBlock(docVisibilityBuffer, encoded, docOut);
+        lastBlockVisibilitySummary = blockVisibilitySummary;
+        blockVisibilitySummary = 0;
+      }
       lastBlockDocID = lastDocID;
       if (posOut != null) {
         if (payOut != null) {
@@ -419,11 +546,14 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     
     // docFreq == 1, don't write the single docid/freq to a separate file along with a pointer to it.
     final int singletonDocID;
+    final int singletonVisibility;
     if (state.docFreq == 1) {
       // pulse the singleton docid into the term dictionary, freq is implicitly totalTermFreq
       singletonDocID = docDeltaBuffer[0];
+      singletonVisibility = fieldHasPayloads ? docVisibilityBuffer[0] : 0;
     } else {
       singletonDocID = -1;
+      singletonVisibility = 0;
       // vInt encode the remaining doc deltas and freqs:
       for(int i=0;i<docBufferUpto;i++) {
         final int docDelta = docDeltaBuffer[i];
@@ -436,6 +566,9 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
           docOut.writeVInt(docDelta<<1);
           docOut.writeVInt(freq);
         }
+        if (fieldHasPayloads) {
+          docOut.writeVInt(docVisibilityBuffer[i]);
+        }
       }
     }
 
@@ -542,6 +675,11 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     state.posStartFP = posStartFP;
     state.payStartFP = payStartFP;
     state.singletonDocID = singletonDocID;
+    state.singletonVisibility = singletonVisibility;
+    if (fieldHasPayloads) {
+      state.termVisibility = termVisibility;
+      state.termVisibilitySummary = termVisibilitySummary;
+    }
     state.skipOffset = skipOffset;
     state.lastPosBlockOffset = lastPosBlockOffset;
     docBufferUpto = 0;
@@ -565,6 +703,18 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
     }
     if (state.singletonDocID != -1) {
       out.writeVInt(state.singletonDocID);
+      if (fieldHasPayloads) {
+        out.writeVInt(state.singletonVisibility);
+      }
+    }
+    // the visibility of a singleton that is not mixed is its term's
+    if (fieldHasPayloads && (state.singletonDocID == -1 || (state.singletonVisibility & 1) != 0)) {
+      if (state.termVisibility != -1) {
+        out.writeVInt((state.termVisibility << 1) | 1);
+      } else {
+        out.writeVInt(0);
+        out.writeVLong(state.termVisibilitySummary);
+      }
     }
     if (fieldHasPositions) {
       if (state.lastPosBlockOffset != -1) {
@@ -579,6 +729,18 @@ public final class LucurePostingsWriter extends PostingsWriterBase {
 
   @Override
   public void close() throws IOException {
-    IOUtils.close(docOut, posOut, payOut);
+    boolean success = false;
+    try {
+      if (visOut != null) {
+        VisibilityDictionary.write(visOut, visibilities, VERSION_CURRENT);
+      }
+      success = true;
+    } finally {
+      if (success) {
+        IOUtils.close(docOut, posOut, payOut, visOut);
+      } else {
+        IOUtils.closeWhileHandlingException(docOut, posOut, payOut, visOut);
+      }
+    }
   }
 }
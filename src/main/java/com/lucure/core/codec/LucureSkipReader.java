@@ -66,11 +66,33 @@ final class LucureSkipReader extends MultiLevelSkipListReader {
   private long lastDocPointer;
   private int lastPosBufferUpto;
 
+  // visibility summary of the block ending at the next level 0 skip point
+  private final boolean hasVisibilitySummary;
+  private long nextVisibilitySummary;
+  // max freq of the block ending at the next level 0 skip point
+  private final boolean hasBlockMaxFreq;
+  private int nextMaxFreq;
+
   public LucureSkipReader(
     IndexInput skipStream, int maxSkipLevels, int blockSize, boolean hasPos,
     boolean hasOffsets, boolean hasPayloads) {
+    this(skipStream, maxSkipLevels, blockSize, hasPos, hasOffsets, hasPayloads, false);
+  }
+
+  public LucureSkipReader(
+    IndexInput skipStream, int maxSkipLevels, int blockSize, boolean hasPos,
+    boolean hasOffsets, boolean hasPayloads, boolean hasVisibilitySummary) {
+    this(skipStream, maxSkipLevels, blockSize, hasPos, hasOffsets, hasPayloads, hasVisibilitySummary, false);
+  }
+
+  public LucureSkipReader(
+    IndexInput skipStream, int maxSkipLevels, int blockSize, boolean hasPos,
+    boolean hasOffsets, boolean hasPayloads, boolean hasVisibilitySummary,
+    boolean hasBlockMaxFreq) {
     super(skipStream, maxSkipLevels, blockSize, 8);
     this.blockSize = blockSize;
+    this.hasVisibilitySummary = hasVisibilitySummary;
+    this.hasBlockMaxFreq = hasBlockMaxFreq;
     docPointer = new long[maxSkipLevels];
     if (hasPos) {
       posPointer = new long[maxSkipLevels];
@@ -146,6 +168,26 @@ final class LucureSkipReader extends MultiLevelSkipListReader {
     return skipDoc[0];
   }
 
+  /** Returns the doc pointer of the next skip point, i.e. where the block
+   * ending at {@link #getNextSkipDoc()} is followed by the next block. */
+  public long getNextDocPointer() {
+    return docPointer[0];
+  }
+
+  /** Returns the visibility summary of the block ending at
+   * {@link #getNextSkipDoc()}, see {@link LucureSkipWriter#visibilitySummaryBit(int)}. */
+  public long getNextVisibilitySummary() {
+    assert hasVisibilitySummary;
+    return nextVisibilitySummary;
+  }
+
+  /** Returns the max freq of the docs of the block ending at
+   * {@link #getNextSkipDoc()}. */
+  public int getNextMaxFreq() {
+    assert hasBlockMaxFreq;
+    return nextMaxFreq;
+  }
+
   @Override
   protected void seekChild(int level) throws IOException {
     super.seekChild(level);
@@ -220,6 +262,12 @@ final class LucureSkipReader extends MultiLevelSkipListReader {
         payPointer[level] += skipStream.readVInt();
       }
     }
+    if (level == 0 && hasVisibilitySummary) {
+      nextVisibilitySummary = skipStream.readVLong();
+    }
+    if (level == 0 && hasBlockMaxFreq) {
+      nextMaxFreq = skipStream.readVInt();
+    }
     return delta;
   }
 }
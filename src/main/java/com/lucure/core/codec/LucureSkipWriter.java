@@ -62,6 +62,9 @@ final class LucureSkipWriter extends MultiLevelSkipListWriter {
   private long curPayPointer;
   private int curPosBufferUpto;
   private int curPayloadByteUpto;
+  private long curVisibilitySummary;
+  private int curMaxFreq;
+  private boolean fieldHasFreqs;
   private boolean fieldHasPositions;
   private boolean fieldHasOffsets;
   private boolean fieldHasPayloads;
@@ -85,7 +88,8 @@ final class LucureSkipWriter extends MultiLevelSkipListWriter {
     }
   }
 
-  public void setField(boolean fieldHasPositions, boolean fieldHasOffsets, boolean fieldHasPayloads) {
+  public void setField(boolean fieldHasFreqs, boolean fieldHasPositions, boolean fieldHasOffsets, boolean fieldHasPayloads) {
+    this.fieldHasFreqs = fieldHasFreqs;
     this.fieldHasPositions = fieldHasPositions;
     this.fieldHasOffsets = fieldHasOffsets;
     this.fieldHasPayloads = fieldHasPayloads;
@@ -110,13 +114,15 @@ final class LucureSkipWriter extends MultiLevelSkipListWriter {
   /**
    * Sets the values for the current skip data. 
    */
-  public void bufferSkip(int doc, int numDocs, long posFP, long payFP, int posBufferUpto, int payloadByteUpto) throws IOException {
+  public void bufferSkip(int doc, int numDocs, long posFP, long payFP, int posBufferUpto, int payloadByteUpto, long visibilitySummary, int maxFreq) throws IOException {
     this.curDoc = doc;
     this.curDocPointer = docOut.getFilePointer();
     this.curPosPointer = posFP;
     this.curPayPointer = payFP;
     this.curPosBufferUpto = posBufferUpto;
     this.curPayloadByteUpto = payloadByteUpto;
+    this.curVisibilitySummary = visibilitySummary;
+    this.curMaxFreq = maxFreq;
     bufferSkip(numDocs);
   }
   
@@ -149,5 +155,21 @@ final class LucureSkipWriter extends MultiLevelSkipListWriter {
         lastSkipPayPointer[level] = curPayPointer;
       }
     }
+    if (level == 0 && fieldHasPayloads) {
+      skipBuffer.writeVLong(curVisibilitySummary);
+    }
+    if (level == 0 && fieldHasFreqs) {
+      skipBuffer.writeVInt(curMaxFreq);
+    }
+  }
+
+  /**
+   * Returns the bit of a doc visibility (its ordinal + 1, or 0 when it has
+   * none) in the visibility summary of a block. The summary of a block ORs
+   * the bits of all its docs, a block can only hold docs with a visibility
+   * if that visibility's bit is set.
+   */
+  static long visibilitySummaryBit(int visibility) {
+    return visibility == 0 ? 1L << 62 : 1L << ((visibility - 1) % 62);
   }
 }
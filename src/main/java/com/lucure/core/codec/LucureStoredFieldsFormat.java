@@ -54,7 +54,7 @@ import org.apache.lucene.util.packed.PackedInts;
  * <li>Header --&gt; {@link CodecUtil#writeHeader CodecHeader}</li>
  * <li>PackedIntsVersion --&gt; {@link PackedInts#VERSION_CURRENT} as a {@link DataOutput#writeVInt VInt}</li>
  * <li>ChunkCount is not known in advance and is the number of chunks necessary to store all document of the segment</li>
- * <li>Chunk --&gt; DocBase, ChunkDocs, DocFieldCounts, DocLengths, &lt;CompressedDocs&gt;</li>
+ * <li>Chunk --&gt; DocBase, ChunkDocs, DocFieldCounts, DocLengths, VisibilityDictionary, &lt;CompressedDocs&gt;</li>
  * <li>DocBase --&gt; the ID of the first document of the chunk as a {@link DataOutput#writeVInt VInt}</li>
  * <li>ChunkDocs --&gt; the number of documents in the chunk as a {@link DataOutput#writeVInt VInt}</li>
  * <li>DocFieldCounts --&gt; the number of stored fields of every document in the chunk, encoded as followed:<ul>
@@ -65,9 +65,12 @@ import org.apache.lucene.util.packed.PackedInts;
  *   </ul></li>
  * </ul></li>
  * <li>DocLengths --&gt; the lengths of all documents in the chunk, encoded with the same method as DocFieldCounts</li>
+ * <li>VisibilityDictionary --&gt; VisibilityCount, &lt;VisibilityLength, &lt;Byte&gt;<sup>VisibilityLength</sup>&gt;<sup>VisibilityCount</sup>,
+ * the distinct visibility expressions of the restricted fields of the chunk, VisibilityCount and VisibilityLength as
+ * {@link DataOutput#writeVInt VInt}s</li>
  * <li>CompressedDocs --&gt; a compressed representation of &lt;Docs&gt; using the LZ4 compression format</li>
  * <li>Docs --&gt; &lt;Doc&gt;<sup>ChunkDocs</sup></li>
- * <li>Doc --&gt; &lt;FieldNumAndType, Value&gt;<sup>DocFieldCount</sup></li>
+ * <li>Doc --&gt; &lt;FieldNumAndType, VisibilityOrd, Value&gt;<sup>DocFieldCount</sup></li>
  * <li>FieldNumAndType --&gt; a {@link DataOutput#writeVLong VLong}, whose 3 last bits are Type and other bits are FieldNum</li>
  * <li>Type --&gt;<ul>
  *   <li>0: Value is String</li>
@@ -79,6 +82,8 @@ import org.apache.lucene.util.packed.PackedInts;
  *   <li>6, 7: unused</li>
  * </ul></li>
  * <li>FieldNum --&gt; an ID of the field</li>
+ * <li>VisibilityOrd --&gt; 0 if the field is not restricted, else 1 + the index of its visibility in the
+ * VisibilityDictionary of the chunk, as a {@link DataOutput#writeVInt VInt}</li>
  * <li>Value --&gt; {@link DataOutput#writeString(String) String} | BinaryValue | Int | Float | Long | Double depending on Type</li>
  * <li>BinaryValue --&gt; ValueLength &lt;Byte&gt;<sup>ValueLength</sup></li>
  * </ul>
@@ -87,6 +92,9 @@ import org.apache.lucene.util.packed.PackedInts;
  * <li>If documents are larger than 16KB then chunks will likely contain only
  * one document. However, documents can never spread across several chunks (all
  * fields of a single document are in the same chunk).</li>
+ * <li>A visibility expression is written once per chunk however many fields
+ * it restricts, and is parsed and evaluated once per chunk when reading
+ * documents of the same chunk in a row.</li>
  * <li>When at least one document in a chunk is large enough so that the chunk
  * is larger than 32KB, the chunk will actually be compressed in several LZ4
  * blocks of 16KB. This allows {@link StoredFieldVisitor}s which are only
@@ -0,0 +1,4437 @@
+package com.lucure.core.codec;
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+// This file has been automatically generated, DO NOT EDIT
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encoders and decoders of blocks of <code>BLOCK_SIZE</code> values in the
+ * {@link org.apache.lucene.util.packed.PackedInts.Format#PACKED PACKED}
+ * format, specialized and unrolled for every number of bits per value.
+ * They read and write the blocks as big endian longs through a
+ * {@link ByteBuffer}, wrapped once around its array by the caller rather
+ * than on each call, and are called through a switch rather than the
+ * {@link org.apache.lucene.util.packed.PackedInts.Decoder} of each width,
+ * see {@link ForUtil}. Generated by gen_PackedBlocks.py.
+ */
+final class PackedBlocks {
+
+  /**
+   * Number of values of a block
+   */
+  static final int BLOCK_SIZE = 128;
+
+  private PackedBlocks() {}
+
+  /**
+   * @return the number of bytes of a block of <code>bitsPerValue</code>
+   * bits per value
+   */
+  static int encodedSize(int bitsPerValue) {
+    return BLOCK_SIZE * bitsPerValue / 8;
+  }
+
+  /**
+   * Decodes the <code>BLOCK_SIZE</code> values of <code>blocks</code> into
+   * <code>values</code>, which are packed with <code>bitsPerValue</code> bits per value
+   */
+  static void decode(int bitsPerValue, ByteBuffer blocks, int[] values) {
+    switch (bitsPerValue) {
+      case 1:
+        decode1(blocks, values);
+        break;
+      case 2:
+        decode2(blocks, values);
+        break;
+      case 3:
+        decode3(blocks, values);
+        break;
+      case 4:
+        decode4(blocks, values);
+        break;
+      case 5:
+        decode5(blocks, values);
+        break;
+      case 6:
+        decode6(blocks, values);
+        break;
+      case 7:
+        decode7(blocks, values);
+        break;
+      case 8:
+        decode8(blocks, values);
+        break;
+      case 9:
+        decode9(blocks, values);
+        break;
+      case 10:
+        decode10(blocks, values);
+        break;
+      case 11:
+        decode11(blocks, values);
+        break;
+      case 12:
+        decode12(blocks, values);
+        break;
+      case 13:
+        decode13(blocks, values);
+        break;
+      case 14:
+        decode14(blocks, values);
+        break;
+      case 15:
+        decode15(blocks, values);
+        break;
+      case 16:
+        decode16(blocks, values);
+        break;
+      case 17:
+        decode17(blocks, values);
+        break;
+      case 18:
+        decode18(blocks, values);
+        break;
+      case 19:
+        decode19(blocks, values);
+        break;
+      case 20:
+        decode20(blocks, values);
+        break;
+      case 21:
+        decode21(blocks, values);
+        break;
+      case 22:
+        decode22(blocks, values);
+        break;
+      case 23:
+        decode23(blocks, values);
+        break;
+      case 24:
+        decode24(blocks, values);
+        break;
+      case 25:
+        decode25(blocks, values);
+        break;
+      case 26:
+        decode26(blocks, values);
+        break;
+      case 27:
+        decode27(blocks, values);
+        break;
+      case 28:
+        decode28(blocks, values);
+        break;
+      case 29:
+        decode29(blocks, values);
+        break;
+      case 30:
+        decode30(blocks, values);
+        break;
+      case 31:
+        decode31(blocks, values);
+        break;
+      case 32:
+        decode32(blocks, values);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported bitsPerValue: " + bitsPerValue);
+    }
+  }
+
+  /**
+   * Encodes the first <code>BLOCK_SIZE</code> values of <code>values</code> into
+   * <code>blocks</code> with <code>bitsPerValue</code> bits per value
+   */
+  static void encode(int bitsPerValue, int[] values, ByteBuffer blocks) {
+    switch (bitsPerValue) {
+      case 1:
+        encode1(values, blocks);
+        break;
+      case 2:
+        encode2(values, blocks);
+        break;
+      case 3:
+        encode3(values, blocks);
+        break;
+      case 4:
+        encode4(values, blocks);
+        break;
+      case 5:
+        encode5(values, blocks);
+        break;
+      case 6:
+        encode6(values, blocks);
+        break;
+      case 7:
+        encode7(values, blocks);
+        break;
+      case 8:
+        encode8(values, blocks);
+        break;
+      case 9:
+        encode9(values, blocks);
+        break;
+      case 10:
+        encode10(values, blocks);
+        break;
+      case 11:
+        encode11(values, blocks);
+        break;
+      case 12:
+        encode12(values, blocks);
+        break;
+      case 13:
+        encode13(values, blocks);
+        break;
+      case 14:
+        encode14(values, blocks);
+        break;
+      case 15:
+        encode15(values, blocks);
+        break;
+      case 16:
+        encode16(values, blocks);
+        break;
+      case 17:
+        encode17(values, blocks);
+        break;
+      case 18:
+        encode18(values, blocks);
+        break;
+      case 19:
+        encode19(values, blocks);
+        break;
+      case 20:
+        encode20(values, blocks);
+        break;
+      case 21:
+        encode21(values, blocks);
+        break;
+      case 22:
+        encode22(values, blocks);
+        break;
+      case 23:
+        encode23(values, blocks);
+        break;
+      case 24:
+        encode24(values, blocks);
+        break;
+      case 25:
+        encode25(values, blocks);
+        break;
+      case 26:
+        encode26(values, blocks);
+        break;
+      case 27:
+        encode27(values, blocks);
+        break;
+      case 28:
+        encode28(values, blocks);
+        break;
+      case 29:
+        encode29(values, blocks);
+        break;
+      case 30:
+        encode30(values, blocks);
+        break;
+      case 31:
+        encode31(values, blocks);
+        break;
+      case 32:
+        encode32(values, blocks);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported bitsPerValue: " + bitsPerValue);
+    }
+  }
+
+  private static void decode1(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      values[valuesOffset] = (int) (block0 >>> 63);
+      values[valuesOffset + 1] = (int) ((block0 >>> 62) & 0x1L);
+      values[valuesOffset + 2] = (int) ((block0 >>> 61) & 0x1L);
+      values[valuesOffset + 3] = (int) ((block0 >>> 60) & 0x1L);
+      values[valuesOffset + 4] = (int) ((block0 >>> 59) & 0x1L);
+      values[valuesOffset + 5] = (int) ((block0 >>> 58) & 0x1L);
+      values[valuesOffset + 6] = (int) ((block0 >>> 57) & 0x1L);
+      values[valuesOffset + 7] = (int) ((block0 >>> 56) & 0x1L);
+      values[valuesOffset + 8] = (int) ((block0 >>> 55) & 0x1L);
+      values[valuesOffset + 9] = (int) ((block0 >>> 54) & 0x1L);
+      values[valuesOffset + 10] = (int) ((block0 >>> 53) & 0x1L);
+      values[valuesOffset + 11] = (int) ((block0 >>> 52) & 0x1L);
+      values[valuesOffset + 12] = (int) ((block0 >>> 51) & 0x1L);
+      values[valuesOffset + 13] = (int) ((block0 >>> 50) & 0x1L);
+      values[valuesOffset + 14] = (int) ((block0 >>> 49) & 0x1L);
+      values[valuesOffset + 15] = (int) ((block0 >>> 48) & 0x1L);
+      values[valuesOffset + 16] = (int) ((block0 >>> 47) & 0x1L);
+      values[valuesOffset + 17] = (int) ((block0 >>> 46) & 0x1L);
+      values[valuesOffset + 18] = (int) ((block0 >>> 45) & 0x1L);
+      values[valuesOffset + 19] = (int) ((block0 >>> 44) & 0x1L);
+      values[valuesOffset + 20] = (int) ((block0 >>> 43) & 0x1L);
+      values[valuesOffset + 21] = (int) ((block0 >>> 42) & 0x1L);
+      values[valuesOffset + 22] = (int) ((block0 >>> 41) & 0x1L);
+      values[valuesOffset + 23] = (int) ((block0 >>> 40) & 0x1L);
+      values[valuesOffset + 24] = (int) ((block0 >>> 39) & 0x1L);
+      values[valuesOffset + 25] = (int) ((block0 >>> 38) & 0x1L);
+      values[valuesOffset + 26] = (int) ((block0 >>> 37) & 0x1L);
+      values[valuesOffset + 27] = (int) ((block0 >>> 36) & 0x1L);
+      values[valuesOffset + 28] = (int) ((block0 >>> 35) & 0x1L);
+      values[valuesOffset + 29] = (int) ((block0 >>> 34) & 0x1L);
+      values[valuesOffset + 30] = (int) ((block0 >>> 33) & 0x1L);
+      values[valuesOffset + 31] = (int) ((block0 >>> 32) & 0x1L);
+      values[valuesOffset + 32] = (int) ((block0 >>> 31) & 0x1L);
+      values[valuesOffset + 33] = (int) ((block0 >>> 30) & 0x1L);
+      values[valuesOffset + 34] = (int) ((block0 >>> 29) & 0x1L);
+      values[valuesOffset + 35] = (int) ((block0 >>> 28) & 0x1L);
+      values[valuesOffset + 36] = (int) ((block0 >>> 27) & 0x1L);
+      values[valuesOffset + 37] = (int) ((block0 >>> 26) & 0x1L);
+      values[valuesOffset + 38] = (int) ((block0 >>> 25) & 0x1L);
+      values[valuesOffset + 39] = (int) ((block0 >>> 24) & 0x1L);
+      values[valuesOffset + 40] = (int) ((block0 >>> 23) & 0x1L);
+      values[valuesOffset + 41] = (int) ((block0 >>> 22) & 0x1L);
+      values[valuesOffset + 42] = (int) ((block0 >>> 21) & 0x1L);
+      values[valuesOffset + 43] = (int) ((block0 >>> 20) & 0x1L);
+      values[valuesOffset + 44] = (int) ((block0 >>> 19) & 0x1L);
+      values[valuesOffset + 45] = (int) ((block0 >>> 18) & 0x1L);
+      values[valuesOffset + 46] = (int) ((block0 >>> 17) & 0x1L);
+      values[valuesOffset + 47] = (int) ((block0 >>> 16) & 0x1L);
+      values[valuesOffset + 48] = (int) ((block0 >>> 15) & 0x1L);
+      values[valuesOffset + 49] = (int) ((block0 >>> 14) & 0x1L);
+      values[valuesOffset + 50] = (int) ((block0 >>> 13) & 0x1L);
+      values[valuesOffset + 51] = (int) ((block0 >>> 12) & 0x1L);
+      values[valuesOffset + 52] = (int) ((block0 >>> 11) & 0x1L);
+      values[valuesOffset + 53] = (int) ((block0 >>> 10) & 0x1L);
+      values[valuesOffset + 54] = (int) ((block0 >>> 9) & 0x1L);
+      values[valuesOffset + 55] = (int) ((block0 >>> 8) & 0x1L);
+      values[valuesOffset + 56] = (int) ((block0 >>> 7) & 0x1L);
+      values[valuesOffset + 57] = (int) ((block0 >>> 6) & 0x1L);
+      values[valuesOffset + 58] = (int) ((block0 >>> 5) & 0x1L);
+      values[valuesOffset + 59] = (int) ((block0 >>> 4) & 0x1L);
+      values[valuesOffset + 60] = (int) ((block0 >>> 3) & 0x1L);
+      values[valuesOffset + 61] = (int) ((block0 >>> 2) & 0x1L);
+      values[valuesOffset + 62] = (int) ((block0 >>> 1) & 0x1L);
+      values[valuesOffset + 63] = (int) (block0 & 0x1L);
+      blocksOffset += 8;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode1(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 1)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 8;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode2(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      values[valuesOffset] = (int) (block0 >>> 62);
+      values[valuesOffset + 1] = (int) ((block0 >>> 60) & 0x3L);
+      values[valuesOffset + 2] = (int) ((block0 >>> 58) & 0x3L);
+      values[valuesOffset + 3] = (int) ((block0 >>> 56) & 0x3L);
+      values[valuesOffset + 4] = (int) ((block0 >>> 54) & 0x3L);
+      values[valuesOffset + 5] = (int) ((block0 >>> 52) & 0x3L);
+      values[valuesOffset + 6] = (int) ((block0 >>> 50) & 0x3L);
+      values[valuesOffset + 7] = (int) ((block0 >>> 48) & 0x3L);
+      values[valuesOffset + 8] = (int) ((block0 >>> 46) & 0x3L);
+      values[valuesOffset + 9] = (int) ((block0 >>> 44) & 0x3L);
+      values[valuesOffset + 10] = (int) ((block0 >>> 42) & 0x3L);
+      values[valuesOffset + 11] = (int) ((block0 >>> 40) & 0x3L);
+      values[valuesOffset + 12] = (int) ((block0 >>> 38) & 0x3L);
+      values[valuesOffset + 13] = (int) ((block0 >>> 36) & 0x3L);
+      values[valuesOffset + 14] = (int) ((block0 >>> 34) & 0x3L);
+      values[valuesOffset + 15] = (int) ((block0 >>> 32) & 0x3L);
+      values[valuesOffset + 16] = (int) ((block0 >>> 30) & 0x3L);
+      values[valuesOffset + 17] = (int) ((block0 >>> 28) & 0x3L);
+      values[valuesOffset + 18] = (int) ((block0 >>> 26) & 0x3L);
+      values[valuesOffset + 19] = (int) ((block0 >>> 24) & 0x3L);
+      values[valuesOffset + 20] = (int) ((block0 >>> 22) & 0x3L);
+      values[valuesOffset + 21] = (int) ((block0 >>> 20) & 0x3L);
+      values[valuesOffset + 22] = (int) ((block0 >>> 18) & 0x3L);
+      values[valuesOffset + 23] = (int) ((block0 >>> 16) & 0x3L);
+      values[valuesOffset + 24] = (int) ((block0 >>> 14) & 0x3L);
+      values[valuesOffset + 25] = (int) ((block0 >>> 12) & 0x3L);
+      values[valuesOffset + 26] = (int) ((block0 >>> 10) & 0x3L);
+      values[valuesOffset + 27] = (int) ((block0 >>> 8) & 0x3L);
+      values[valuesOffset + 28] = (int) ((block0 >>> 6) & 0x3L);
+      values[valuesOffset + 29] = (int) ((block0 >>> 4) & 0x3L);
+      values[valuesOffset + 30] = (int) ((block0 >>> 2) & 0x3L);
+      values[valuesOffset + 31] = (int) (block0 & 0x3L);
+      blocksOffset += 8;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode2(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 2)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 8;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode3(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      values[valuesOffset] = (int) (block0 >>> 61);
+      values[valuesOffset + 1] = (int) ((block0 >>> 58) & 0x7L);
+      values[valuesOffset + 2] = (int) ((block0 >>> 55) & 0x7L);
+      values[valuesOffset + 3] = (int) ((block0 >>> 52) & 0x7L);
+      values[valuesOffset + 4] = (int) ((block0 >>> 49) & 0x7L);
+      values[valuesOffset + 5] = (int) ((block0 >>> 46) & 0x7L);
+      values[valuesOffset + 6] = (int) ((block0 >>> 43) & 0x7L);
+      values[valuesOffset + 7] = (int) ((block0 >>> 40) & 0x7L);
+      values[valuesOffset + 8] = (int) ((block0 >>> 37) & 0x7L);
+      values[valuesOffset + 9] = (int) ((block0 >>> 34) & 0x7L);
+      values[valuesOffset + 10] = (int) ((block0 >>> 31) & 0x7L);
+      values[valuesOffset + 11] = (int) ((block0 >>> 28) & 0x7L);
+      values[valuesOffset + 12] = (int) ((block0 >>> 25) & 0x7L);
+      values[valuesOffset + 13] = (int) ((block0 >>> 22) & 0x7L);
+      values[valuesOffset + 14] = (int) ((block0 >>> 19) & 0x7L);
+      values[valuesOffset + 15] = (int) ((block0 >>> 16) & 0x7L);
+      values[valuesOffset + 16] = (int) ((block0 >>> 13) & 0x7L);
+      values[valuesOffset + 17] = (int) ((block0 >>> 10) & 0x7L);
+      values[valuesOffset + 18] = (int) ((block0 >>> 7) & 0x7L);
+      values[valuesOffset + 19] = (int) ((block0 >>> 4) & 0x7L);
+      values[valuesOffset + 20] = (int) ((block0 >>> 1) & 0x7L);
+      values[valuesOffset + 21] = (int) (((block0 & 0x1L) << 2) | (block1 >>> 62));
+      values[valuesOffset + 22] = (int) ((block1 >>> 59) & 0x7L);
+      values[valuesOffset + 23] = (int) ((block1 >>> 56) & 0x7L);
+      values[valuesOffset + 24] = (int) ((block1 >>> 53) & 0x7L);
+      values[valuesOffset + 25] = (int) ((block1 >>> 50) & 0x7L);
+      values[valuesOffset + 26] = (int) ((block1 >>> 47) & 0x7L);
+      values[valuesOffset + 27] = (int) ((block1 >>> 44) & 0x7L);
+      values[valuesOffset + 28] = (int) ((block1 >>> 41) & 0x7L);
+      values[valuesOffset + 29] = (int) ((block1 >>> 38) & 0x7L);
+      values[valuesOffset + 30] = (int) ((block1 >>> 35) & 0x7L);
+      values[valuesOffset + 31] = (int) ((block1 >>> 32) & 0x7L);
+      values[valuesOffset + 32] = (int) ((block1 >>> 29) & 0x7L);
+      values[valuesOffset + 33] = (int) ((block1 >>> 26) & 0x7L);
+      values[valuesOffset + 34] = (int) ((block1 >>> 23) & 0x7L);
+      values[valuesOffset + 35] = (int) ((block1 >>> 20) & 0x7L);
+      values[valuesOffset + 36] = (int) ((block1 >>> 17) & 0x7L);
+      values[valuesOffset + 37] = (int) ((block1 >>> 14) & 0x7L);
+      values[valuesOffset + 38] = (int) ((block1 >>> 11) & 0x7L);
+      values[valuesOffset + 39] = (int) ((block1 >>> 8) & 0x7L);
+      values[valuesOffset + 40] = (int) ((block1 >>> 5) & 0x7L);
+      values[valuesOffset + 41] = (int) ((block1 >>> 2) & 0x7L);
+      values[valuesOffset + 42] = (int) (((block1 & 0x3L) << 1) | (block2 >>> 63));
+      values[valuesOffset + 43] = (int) ((block2 >>> 60) & 0x7L);
+      values[valuesOffset + 44] = (int) ((block2 >>> 57) & 0x7L);
+      values[valuesOffset + 45] = (int) ((block2 >>> 54) & 0x7L);
+      values[valuesOffset + 46] = (int) ((block2 >>> 51) & 0x7L);
+      values[valuesOffset + 47] = (int) ((block2 >>> 48) & 0x7L);
+      values[valuesOffset + 48] = (int) ((block2 >>> 45) & 0x7L);
+      values[valuesOffset + 49] = (int) ((block2 >>> 42) & 0x7L);
+      values[valuesOffset + 50] = (int) ((block2 >>> 39) & 0x7L);
+      values[valuesOffset + 51] = (int) ((block2 >>> 36) & 0x7L);
+      values[valuesOffset + 52] = (int) ((block2 >>> 33) & 0x7L);
+      values[valuesOffset + 53] = (int) ((block2 >>> 30) & 0x7L);
+      values[valuesOffset + 54] = (int) ((block2 >>> 27) & 0x7L);
+      values[valuesOffset + 55] = (int) ((block2 >>> 24) & 0x7L);
+      values[valuesOffset + 56] = (int) ((block2 >>> 21) & 0x7L);
+      values[valuesOffset + 57] = (int) ((block2 >>> 18) & 0x7L);
+      values[valuesOffset + 58] = (int) ((block2 >>> 15) & 0x7L);
+      values[valuesOffset + 59] = (int) ((block2 >>> 12) & 0x7L);
+      values[valuesOffset + 60] = (int) ((block2 >>> 9) & 0x7L);
+      values[valuesOffset + 61] = (int) ((block2 >>> 6) & 0x7L);
+      values[valuesOffset + 62] = (int) ((block2 >>> 3) & 0x7L);
+      values[valuesOffset + 63] = (int) (block2 & 0x7L);
+      blocksOffset += 24;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode3(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 3)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 24;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode4(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      values[valuesOffset] = (int) (block0 >>> 60);
+      values[valuesOffset + 1] = (int) ((block0 >>> 56) & 0xFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 52) & 0xFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 48) & 0xFL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 44) & 0xFL);
+      values[valuesOffset + 5] = (int) ((block0 >>> 40) & 0xFL);
+      values[valuesOffset + 6] = (int) ((block0 >>> 36) & 0xFL);
+      values[valuesOffset + 7] = (int) ((block0 >>> 32) & 0xFL);
+      values[valuesOffset + 8] = (int) ((block0 >>> 28) & 0xFL);
+      values[valuesOffset + 9] = (int) ((block0 >>> 24) & 0xFL);
+      values[valuesOffset + 10] = (int) ((block0 >>> 20) & 0xFL);
+      values[valuesOffset + 11] = (int) ((block0 >>> 16) & 0xFL);
+      values[valuesOffset + 12] = (int) ((block0 >>> 12) & 0xFL);
+      values[valuesOffset + 13] = (int) ((block0 >>> 8) & 0xFL);
+      values[valuesOffset + 14] = (int) ((block0 >>> 4) & 0xFL);
+      values[valuesOffset + 15] = (int) (block0 & 0xFL);
+      blocksOffset += 8;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void encode4(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 4)
+          | (values[valuesOffset + 15] & 0xFFFFFFFFL));
+      blocksOffset += 8;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void decode5(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      values[valuesOffset] = (int) (block0 >>> 59);
+      values[valuesOffset + 1] = (int) ((block0 >>> 54) & 0x1FL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 49) & 0x1FL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 44) & 0x1FL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 39) & 0x1FL);
+      values[valuesOffset + 5] = (int) ((block0 >>> 34) & 0x1FL);
+      values[valuesOffset + 6] = (int) ((block0 >>> 29) & 0x1FL);
+      values[valuesOffset + 7] = (int) ((block0 >>> 24) & 0x1FL);
+      values[valuesOffset + 8] = (int) ((block0 >>> 19) & 0x1FL);
+      values[valuesOffset + 9] = (int) ((block0 >>> 14) & 0x1FL);
+      values[valuesOffset + 10] = (int) ((block0 >>> 9) & 0x1FL);
+      values[valuesOffset + 11] = (int) ((block0 >>> 4) & 0x1FL);
+      values[valuesOffset + 12] = (int) (((block0 & 0xFL) << 1) | (block1 >>> 63));
+      values[valuesOffset + 13] = (int) ((block1 >>> 58) & 0x1FL);
+      values[valuesOffset + 14] = (int) ((block1 >>> 53) & 0x1FL);
+      values[valuesOffset + 15] = (int) ((block1 >>> 48) & 0x1FL);
+      values[valuesOffset + 16] = (int) ((block1 >>> 43) & 0x1FL);
+      values[valuesOffset + 17] = (int) ((block1 >>> 38) & 0x1FL);
+      values[valuesOffset + 18] = (int) ((block1 >>> 33) & 0x1FL);
+      values[valuesOffset + 19] = (int) ((block1 >>> 28) & 0x1FL);
+      values[valuesOffset + 20] = (int) ((block1 >>> 23) & 0x1FL);
+      values[valuesOffset + 21] = (int) ((block1 >>> 18) & 0x1FL);
+      values[valuesOffset + 22] = (int) ((block1 >>> 13) & 0x1FL);
+      values[valuesOffset + 23] = (int) ((block1 >>> 8) & 0x1FL);
+      values[valuesOffset + 24] = (int) ((block1 >>> 3) & 0x1FL);
+      values[valuesOffset + 25] = (int) (((block1 & 0x7L) << 2) | (block2 >>> 62));
+      values[valuesOffset + 26] = (int) ((block2 >>> 57) & 0x1FL);
+      values[valuesOffset + 27] = (int) ((block2 >>> 52) & 0x1FL);
+      values[valuesOffset + 28] = (int) ((block2 >>> 47) & 0x1FL);
+      values[valuesOffset + 29] = (int) ((block2 >>> 42) & 0x1FL);
+      values[valuesOffset + 30] = (int) ((block2 >>> 37) & 0x1FL);
+      values[valuesOffset + 31] = (int) ((block2 >>> 32) & 0x1FL);
+      values[valuesOffset + 32] = (int) ((block2 >>> 27) & 0x1FL);
+      values[valuesOffset + 33] = (int) ((block2 >>> 22) & 0x1FL);
+      values[valuesOffset + 34] = (int) ((block2 >>> 17) & 0x1FL);
+      values[valuesOffset + 35] = (int) ((block2 >>> 12) & 0x1FL);
+      values[valuesOffset + 36] = (int) ((block2 >>> 7) & 0x1FL);
+      values[valuesOffset + 37] = (int) ((block2 >>> 2) & 0x1FL);
+      values[valuesOffset + 38] = (int) (((block2 & 0x3L) << 3) | (block3 >>> 61));
+      values[valuesOffset + 39] = (int) ((block3 >>> 56) & 0x1FL);
+      values[valuesOffset + 40] = (int) ((block3 >>> 51) & 0x1FL);
+      values[valuesOffset + 41] = (int) ((block3 >>> 46) & 0x1FL);
+      values[valuesOffset + 42] = (int) ((block3 >>> 41) & 0x1FL);
+      values[valuesOffset + 43] = (int) ((block3 >>> 36) & 0x1FL);
+      values[valuesOffset + 44] = (int) ((block3 >>> 31) & 0x1FL);
+      values[valuesOffset + 45] = (int) ((block3 >>> 26) & 0x1FL);
+      values[valuesOffset + 46] = (int) ((block3 >>> 21) & 0x1FL);
+      values[valuesOffset + 47] = (int) ((block3 >>> 16) & 0x1FL);
+      values[valuesOffset + 48] = (int) ((block3 >>> 11) & 0x1FL);
+      values[valuesOffset + 49] = (int) ((block3 >>> 6) & 0x1FL);
+      values[valuesOffset + 50] = (int) ((block3 >>> 1) & 0x1FL);
+      values[valuesOffset + 51] = (int) (((block3 & 0x1L) << 4) | (block4 >>> 60));
+      values[valuesOffset + 52] = (int) ((block4 >>> 55) & 0x1FL);
+      values[valuesOffset + 53] = (int) ((block4 >>> 50) & 0x1FL);
+      values[valuesOffset + 54] = (int) ((block4 >>> 45) & 0x1FL);
+      values[valuesOffset + 55] = (int) ((block4 >>> 40) & 0x1FL);
+      values[valuesOffset + 56] = (int) ((block4 >>> 35) & 0x1FL);
+      values[valuesOffset + 57] = (int) ((block4 >>> 30) & 0x1FL);
+      values[valuesOffset + 58] = (int) ((block4 >>> 25) & 0x1FL);
+      values[valuesOffset + 59] = (int) ((block4 >>> 20) & 0x1FL);
+      values[valuesOffset + 60] = (int) ((block4 >>> 15) & 0x1FL);
+      values[valuesOffset + 61] = (int) ((block4 >>> 10) & 0x1FL);
+      values[valuesOffset + 62] = (int) ((block4 >>> 5) & 0x1FL);
+      values[valuesOffset + 63] = (int) (block4 & 0x1FL);
+      blocksOffset += 40;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode5(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 5)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 40;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode6(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      values[valuesOffset] = (int) (block0 >>> 58);
+      values[valuesOffset + 1] = (int) ((block0 >>> 52) & 0x3FL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 46) & 0x3FL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 40) & 0x3FL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 34) & 0x3FL);
+      values[valuesOffset + 5] = (int) ((block0 >>> 28) & 0x3FL);
+      values[valuesOffset + 6] = (int) ((block0 >>> 22) & 0x3FL);
+      values[valuesOffset + 7] = (int) ((block0 >>> 16) & 0x3FL);
+      values[valuesOffset + 8] = (int) ((block0 >>> 10) & 0x3FL);
+      values[valuesOffset + 9] = (int) ((block0 >>> 4) & 0x3FL);
+      values[valuesOffset + 10] = (int) (((block0 & 0xFL) << 2) | (block1 >>> 62));
+      values[valuesOffset + 11] = (int) ((block1 >>> 56) & 0x3FL);
+      values[valuesOffset + 12] = (int) ((block1 >>> 50) & 0x3FL);
+      values[valuesOffset + 13] = (int) ((block1 >>> 44) & 0x3FL);
+      values[valuesOffset + 14] = (int) ((block1 >>> 38) & 0x3FL);
+      values[valuesOffset + 15] = (int) ((block1 >>> 32) & 0x3FL);
+      values[valuesOffset + 16] = (int) ((block1 >>> 26) & 0x3FL);
+      values[valuesOffset + 17] = (int) ((block1 >>> 20) & 0x3FL);
+      values[valuesOffset + 18] = (int) ((block1 >>> 14) & 0x3FL);
+      values[valuesOffset + 19] = (int) ((block1 >>> 8) & 0x3FL);
+      values[valuesOffset + 20] = (int) ((block1 >>> 2) & 0x3FL);
+      values[valuesOffset + 21] = (int) (((block1 & 0x3L) << 4) | (block2 >>> 60));
+      values[valuesOffset + 22] = (int) ((block2 >>> 54) & 0x3FL);
+      values[valuesOffset + 23] = (int) ((block2 >>> 48) & 0x3FL);
+      values[valuesOffset + 24] = (int) ((block2 >>> 42) & 0x3FL);
+      values[valuesOffset + 25] = (int) ((block2 >>> 36) & 0x3FL);
+      values[valuesOffset + 26] = (int) ((block2 >>> 30) & 0x3FL);
+      values[valuesOffset + 27] = (int) ((block2 >>> 24) & 0x3FL);
+      values[valuesOffset + 28] = (int) ((block2 >>> 18) & 0x3FL);
+      values[valuesOffset + 29] = (int) ((block2 >>> 12) & 0x3FL);
+      values[valuesOffset + 30] = (int) ((block2 >>> 6) & 0x3FL);
+      values[valuesOffset + 31] = (int) (block2 & 0x3FL);
+      blocksOffset += 24;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode6(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 6)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 24;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode7(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      values[valuesOffset] = (int) (block0 >>> 57);
+      values[valuesOffset + 1] = (int) ((block0 >>> 50) & 0x7FL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 43) & 0x7FL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 36) & 0x7FL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 29) & 0x7FL);
+      values[valuesOffset + 5] = (int) ((block0 >>> 22) & 0x7FL);
+      values[valuesOffset + 6] = (int) ((block0 >>> 15) & 0x7FL);
+      values[valuesOffset + 7] = (int) ((block0 >>> 8) & 0x7FL);
+      values[valuesOffset + 8] = (int) ((block0 >>> 1) & 0x7FL);
+      values[valuesOffset + 9] = (int) (((block0 & 0x1L) << 6) | (block1 >>> 58));
+      values[valuesOffset + 10] = (int) ((block1 >>> 51) & 0x7FL);
+      values[valuesOffset + 11] = (int) ((block1 >>> 44) & 0x7FL);
+      values[valuesOffset + 12] = (int) ((block1 >>> 37) & 0x7FL);
+      values[valuesOffset + 13] = (int) ((block1 >>> 30) & 0x7FL);
+      values[valuesOffset + 14] = (int) ((block1 >>> 23) & 0x7FL);
+      values[valuesOffset + 15] = (int) ((block1 >>> 16) & 0x7FL);
+      values[valuesOffset + 16] = (int) ((block1 >>> 9) & 0x7FL);
+      values[valuesOffset + 17] = (int) ((block1 >>> 2) & 0x7FL);
+      values[valuesOffset + 18] = (int) (((block1 & 0x3L) << 5) | (block2 >>> 59));
+      values[valuesOffset + 19] = (int) ((block2 >>> 52) & 0x7FL);
+      values[valuesOffset + 20] = (int) ((block2 >>> 45) & 0x7FL);
+      values[valuesOffset + 21] = (int) ((block2 >>> 38) & 0x7FL);
+      values[valuesOffset + 22] = (int) ((block2 >>> 31) & 0x7FL);
+      values[valuesOffset + 23] = (int) ((block2 >>> 24) & 0x7FL);
+      values[valuesOffset + 24] = (int) ((block2 >>> 17) & 0x7FL);
+      values[valuesOffset + 25] = (int) ((block2 >>> 10) & 0x7FL);
+      values[valuesOffset + 26] = (int) ((block2 >>> 3) & 0x7FL);
+      values[valuesOffset + 27] = (int) (((block2 & 0x7L) << 4) | (block3 >>> 60));
+      values[valuesOffset + 28] = (int) ((block3 >>> 53) & 0x7FL);
+      values[valuesOffset + 29] = (int) ((block3 >>> 46) & 0x7FL);
+      values[valuesOffset + 30] = (int) ((block3 >>> 39) & 0x7FL);
+      values[valuesOffset + 31] = (int) ((block3 >>> 32) & 0x7FL);
+      values[valuesOffset + 32] = (int) ((block3 >>> 25) & 0x7FL);
+      values[valuesOffset + 33] = (int) ((block3 >>> 18) & 0x7FL);
+      values[valuesOffset + 34] = (int) ((block3 >>> 11) & 0x7FL);
+      values[valuesOffset + 35] = (int) ((block3 >>> 4) & 0x7FL);
+      values[valuesOffset + 36] = (int) (((block3 & 0xFL) << 3) | (block4 >>> 61));
+      values[valuesOffset + 37] = (int) ((block4 >>> 54) & 0x7FL);
+      values[valuesOffset + 38] = (int) ((block4 >>> 47) & 0x7FL);
+      values[valuesOffset + 39] = (int) ((block4 >>> 40) & 0x7FL);
+      values[valuesOffset + 40] = (int) ((block4 >>> 33) & 0x7FL);
+      values[valuesOffset + 41] = (int) ((block4 >>> 26) & 0x7FL);
+      values[valuesOffset + 42] = (int) ((block4 >>> 19) & 0x7FL);
+      values[valuesOffset + 43] = (int) ((block4 >>> 12) & 0x7FL);
+      values[valuesOffset + 44] = (int) ((block4 >>> 5) & 0x7FL);
+      values[valuesOffset + 45] = (int) (((block4 & 0x1FL) << 2) | (block5 >>> 62));
+      values[valuesOffset + 46] = (int) ((block5 >>> 55) & 0x7FL);
+      values[valuesOffset + 47] = (int) ((block5 >>> 48) & 0x7FL);
+      values[valuesOffset + 48] = (int) ((block5 >>> 41) & 0x7FL);
+      values[valuesOffset + 49] = (int) ((block5 >>> 34) & 0x7FL);
+      values[valuesOffset + 50] = (int) ((block5 >>> 27) & 0x7FL);
+      values[valuesOffset + 51] = (int) ((block5 >>> 20) & 0x7FL);
+      values[valuesOffset + 52] = (int) ((block5 >>> 13) & 0x7FL);
+      values[valuesOffset + 53] = (int) ((block5 >>> 6) & 0x7FL);
+      values[valuesOffset + 54] = (int) (((block5 & 0x3FL) << 1) | (block6 >>> 63));
+      values[valuesOffset + 55] = (int) ((block6 >>> 56) & 0x7FL);
+      values[valuesOffset + 56] = (int) ((block6 >>> 49) & 0x7FL);
+      values[valuesOffset + 57] = (int) ((block6 >>> 42) & 0x7FL);
+      values[valuesOffset + 58] = (int) ((block6 >>> 35) & 0x7FL);
+      values[valuesOffset + 59] = (int) ((block6 >>> 28) & 0x7FL);
+      values[valuesOffset + 60] = (int) ((block6 >>> 21) & 0x7FL);
+      values[valuesOffset + 61] = (int) ((block6 >>> 14) & 0x7FL);
+      values[valuesOffset + 62] = (int) ((block6 >>> 7) & 0x7FL);
+      values[valuesOffset + 63] = (int) (block6 & 0x7FL);
+      blocksOffset += 56;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode7(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 7)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 56;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode8(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 16; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      values[valuesOffset] = (int) (block0 >>> 56);
+      values[valuesOffset + 1] = (int) ((block0 >>> 48) & 0xFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 40) & 0xFFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 32) & 0xFFL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 24) & 0xFFL);
+      values[valuesOffset + 5] = (int) ((block0 >>> 16) & 0xFFL);
+      values[valuesOffset + 6] = (int) ((block0 >>> 8) & 0xFFL);
+      values[valuesOffset + 7] = (int) (block0 & 0xFFL);
+      blocksOffset += 8;
+      valuesOffset += 8;
+    }
+  }
+
+  private static void encode8(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 16; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 8)
+          | (values[valuesOffset + 7] & 0xFFFFFFFFL));
+      blocksOffset += 8;
+      valuesOffset += 8;
+    }
+  }
+
+  private static void decode9(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      values[valuesOffset] = (int) (block0 >>> 55);
+      values[valuesOffset + 1] = (int) ((block0 >>> 46) & 0x1FFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 37) & 0x1FFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 28) & 0x1FFL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 19) & 0x1FFL);
+      values[valuesOffset + 5] = (int) ((block0 >>> 10) & 0x1FFL);
+      values[valuesOffset + 6] = (int) ((block0 >>> 1) & 0x1FFL);
+      values[valuesOffset + 7] = (int) (((block0 & 0x1L) << 8) | (block1 >>> 56));
+      values[valuesOffset + 8] = (int) ((block1 >>> 47) & 0x1FFL);
+      values[valuesOffset + 9] = (int) ((block1 >>> 38) & 0x1FFL);
+      values[valuesOffset + 10] = (int) ((block1 >>> 29) & 0x1FFL);
+      values[valuesOffset + 11] = (int) ((block1 >>> 20) & 0x1FFL);
+      values[valuesOffset + 12] = (int) ((block1 >>> 11) & 0x1FFL);
+      values[valuesOffset + 13] = (int) ((block1 >>> 2) & 0x1FFL);
+      values[valuesOffset + 14] = (int) (((block1 & 0x3L) << 7) | (block2 >>> 57));
+      values[valuesOffset + 15] = (int) ((block2 >>> 48) & 0x1FFL);
+      values[valuesOffset + 16] = (int) ((block2 >>> 39) & 0x1FFL);
+      values[valuesOffset + 17] = (int) ((block2 >>> 30) & 0x1FFL);
+      values[valuesOffset + 18] = (int) ((block2 >>> 21) & 0x1FFL);
+      values[valuesOffset + 19] = (int) ((block2 >>> 12) & 0x1FFL);
+      values[valuesOffset + 20] = (int) ((block2 >>> 3) & 0x1FFL);
+      values[valuesOffset + 21] = (int) (((block2 & 0x7L) << 6) | (block3 >>> 58));
+      values[valuesOffset + 22] = (int) ((block3 >>> 49) & 0x1FFL);
+      values[valuesOffset + 23] = (int) ((block3 >>> 40) & 0x1FFL);
+      values[valuesOffset + 24] = (int) ((block3 >>> 31) & 0x1FFL);
+      values[valuesOffset + 25] = (int) ((block3 >>> 22) & 0x1FFL);
+      values[valuesOffset + 26] = (int) ((block3 >>> 13) & 0x1FFL);
+      values[valuesOffset + 27] = (int) ((block3 >>> 4) & 0x1FFL);
+      values[valuesOffset + 28] = (int) (((block3 & 0xFL) << 5) | (block4 >>> 59));
+      values[valuesOffset + 29] = (int) ((block4 >>> 50) & 0x1FFL);
+      values[valuesOffset + 30] = (int) ((block4 >>> 41) & 0x1FFL);
+      values[valuesOffset + 31] = (int) ((block4 >>> 32) & 0x1FFL);
+      values[valuesOffset + 32] = (int) ((block4 >>> 23) & 0x1FFL);
+      values[valuesOffset + 33] = (int) ((block4 >>> 14) & 0x1FFL);
+      values[valuesOffset + 34] = (int) ((block4 >>> 5) & 0x1FFL);
+      values[valuesOffset + 35] = (int) (((block4 & 0x1FL) << 4) | (block5 >>> 60));
+      values[valuesOffset + 36] = (int) ((block5 >>> 51) & 0x1FFL);
+      values[valuesOffset + 37] = (int) ((block5 >>> 42) & 0x1FFL);
+      values[valuesOffset + 38] = (int) ((block5 >>> 33) & 0x1FFL);
+      values[valuesOffset + 39] = (int) ((block5 >>> 24) & 0x1FFL);
+      values[valuesOffset + 40] = (int) ((block5 >>> 15) & 0x1FFL);
+      values[valuesOffset + 41] = (int) ((block5 >>> 6) & 0x1FFL);
+      values[valuesOffset + 42] = (int) (((block5 & 0x3FL) << 3) | (block6 >>> 61));
+      values[valuesOffset + 43] = (int) ((block6 >>> 52) & 0x1FFL);
+      values[valuesOffset + 44] = (int) ((block6 >>> 43) & 0x1FFL);
+      values[valuesOffset + 45] = (int) ((block6 >>> 34) & 0x1FFL);
+      values[valuesOffset + 46] = (int) ((block6 >>> 25) & 0x1FFL);
+      values[valuesOffset + 47] = (int) ((block6 >>> 16) & 0x1FFL);
+      values[valuesOffset + 48] = (int) ((block6 >>> 7) & 0x1FFL);
+      values[valuesOffset + 49] = (int) (((block6 & 0x7FL) << 2) | (block7 >>> 62));
+      values[valuesOffset + 50] = (int) ((block7 >>> 53) & 0x1FFL);
+      values[valuesOffset + 51] = (int) ((block7 >>> 44) & 0x1FFL);
+      values[valuesOffset + 52] = (int) ((block7 >>> 35) & 0x1FFL);
+      values[valuesOffset + 53] = (int) ((block7 >>> 26) & 0x1FFL);
+      values[valuesOffset + 54] = (int) ((block7 >>> 17) & 0x1FFL);
+      values[valuesOffset + 55] = (int) ((block7 >>> 8) & 0x1FFL);
+      values[valuesOffset + 56] = (int) (((block7 & 0xFFL) << 1) | (block8 >>> 63));
+      values[valuesOffset + 57] = (int) ((block8 >>> 54) & 0x1FFL);
+      values[valuesOffset + 58] = (int) ((block8 >>> 45) & 0x1FFL);
+      values[valuesOffset + 59] = (int) ((block8 >>> 36) & 0x1FFL);
+      values[valuesOffset + 60] = (int) ((block8 >>> 27) & 0x1FFL);
+      values[valuesOffset + 61] = (int) ((block8 >>> 18) & 0x1FFL);
+      values[valuesOffset + 62] = (int) ((block8 >>> 9) & 0x1FFL);
+      values[valuesOffset + 63] = (int) (block8 & 0x1FFL);
+      blocksOffset += 72;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode9(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 9)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 72;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode10(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      values[valuesOffset] = (int) (block0 >>> 54);
+      values[valuesOffset + 1] = (int) ((block0 >>> 44) & 0x3FFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 34) & 0x3FFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 24) & 0x3FFL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 14) & 0x3FFL);
+      values[valuesOffset + 5] = (int) ((block0 >>> 4) & 0x3FFL);
+      values[valuesOffset + 6] = (int) (((block0 & 0xFL) << 6) | (block1 >>> 58));
+      values[valuesOffset + 7] = (int) ((block1 >>> 48) & 0x3FFL);
+      values[valuesOffset + 8] = (int) ((block1 >>> 38) & 0x3FFL);
+      values[valuesOffset + 9] = (int) ((block1 >>> 28) & 0x3FFL);
+      values[valuesOffset + 10] = (int) ((block1 >>> 18) & 0x3FFL);
+      values[valuesOffset + 11] = (int) ((block1 >>> 8) & 0x3FFL);
+      values[valuesOffset + 12] = (int) (((block1 & 0xFFL) << 2) | (block2 >>> 62));
+      values[valuesOffset + 13] = (int) ((block2 >>> 52) & 0x3FFL);
+      values[valuesOffset + 14] = (int) ((block2 >>> 42) & 0x3FFL);
+      values[valuesOffset + 15] = (int) ((block2 >>> 32) & 0x3FFL);
+      values[valuesOffset + 16] = (int) ((block2 >>> 22) & 0x3FFL);
+      values[valuesOffset + 17] = (int) ((block2 >>> 12) & 0x3FFL);
+      values[valuesOffset + 18] = (int) ((block2 >>> 2) & 0x3FFL);
+      values[valuesOffset + 19] = (int) (((block2 & 0x3L) << 8) | (block3 >>> 56));
+      values[valuesOffset + 20] = (int) ((block3 >>> 46) & 0x3FFL);
+      values[valuesOffset + 21] = (int) ((block3 >>> 36) & 0x3FFL);
+      values[valuesOffset + 22] = (int) ((block3 >>> 26) & 0x3FFL);
+      values[valuesOffset + 23] = (int) ((block3 >>> 16) & 0x3FFL);
+      values[valuesOffset + 24] = (int) ((block3 >>> 6) & 0x3FFL);
+      values[valuesOffset + 25] = (int) (((block3 & 0x3FL) << 4) | (block4 >>> 60));
+      values[valuesOffset + 26] = (int) ((block4 >>> 50) & 0x3FFL);
+      values[valuesOffset + 27] = (int) ((block4 >>> 40) & 0x3FFL);
+      values[valuesOffset + 28] = (int) ((block4 >>> 30) & 0x3FFL);
+      values[valuesOffset + 29] = (int) ((block4 >>> 20) & 0x3FFL);
+      values[valuesOffset + 30] = (int) ((block4 >>> 10) & 0x3FFL);
+      values[valuesOffset + 31] = (int) (block4 & 0x3FFL);
+      blocksOffset += 40;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode10(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 10)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 40;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode11(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      values[valuesOffset] = (int) (block0 >>> 53);
+      values[valuesOffset + 1] = (int) ((block0 >>> 42) & 0x7FFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 31) & 0x7FFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 20) & 0x7FFL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 9) & 0x7FFL);
+      values[valuesOffset + 5] = (int) (((block0 & 0x1FFL) << 2) | (block1 >>> 62));
+      values[valuesOffset + 6] = (int) ((block1 >>> 51) & 0x7FFL);
+      values[valuesOffset + 7] = (int) ((block1 >>> 40) & 0x7FFL);
+      values[valuesOffset + 8] = (int) ((block1 >>> 29) & 0x7FFL);
+      values[valuesOffset + 9] = (int) ((block1 >>> 18) & 0x7FFL);
+      values[valuesOffset + 10] = (int) ((block1 >>> 7) & 0x7FFL);
+      values[valuesOffset + 11] = (int) (((block1 & 0x7FL) << 4) | (block2 >>> 60));
+      values[valuesOffset + 12] = (int) ((block2 >>> 49) & 0x7FFL);
+      values[valuesOffset + 13] = (int) ((block2 >>> 38) & 0x7FFL);
+      values[valuesOffset + 14] = (int) ((block2 >>> 27) & 0x7FFL);
+      values[valuesOffset + 15] = (int) ((block2 >>> 16) & 0x7FFL);
+      values[valuesOffset + 16] = (int) ((block2 >>> 5) & 0x7FFL);
+      values[valuesOffset + 17] = (int) (((block2 & 0x1FL) << 6) | (block3 >>> 58));
+      values[valuesOffset + 18] = (int) ((block3 >>> 47) & 0x7FFL);
+      values[valuesOffset + 19] = (int) ((block3 >>> 36) & 0x7FFL);
+      values[valuesOffset + 20] = (int) ((block3 >>> 25) & 0x7FFL);
+      values[valuesOffset + 21] = (int) ((block3 >>> 14) & 0x7FFL);
+      values[valuesOffset + 22] = (int) ((block3 >>> 3) & 0x7FFL);
+      values[valuesOffset + 23] = (int) (((block3 & 0x7L) << 8) | (block4 >>> 56));
+      values[valuesOffset + 24] = (int) ((block4 >>> 45) & 0x7FFL);
+      values[valuesOffset + 25] = (int) ((block4 >>> 34) & 0x7FFL);
+      values[valuesOffset + 26] = (int) ((block4 >>> 23) & 0x7FFL);
+      values[valuesOffset + 27] = (int) ((block4 >>> 12) & 0x7FFL);
+      values[valuesOffset + 28] = (int) ((block4 >>> 1) & 0x7FFL);
+      values[valuesOffset + 29] = (int) (((block4 & 0x1L) << 10) | (block5 >>> 54));
+      values[valuesOffset + 30] = (int) ((block5 >>> 43) & 0x7FFL);
+      values[valuesOffset + 31] = (int) ((block5 >>> 32) & 0x7FFL);
+      values[valuesOffset + 32] = (int) ((block5 >>> 21) & 0x7FFL);
+      values[valuesOffset + 33] = (int) ((block5 >>> 10) & 0x7FFL);
+      values[valuesOffset + 34] = (int) (((block5 & 0x3FFL) << 1) | (block6 >>> 63));
+      values[valuesOffset + 35] = (int) ((block6 >>> 52) & 0x7FFL);
+      values[valuesOffset + 36] = (int) ((block6 >>> 41) & 0x7FFL);
+      values[valuesOffset + 37] = (int) ((block6 >>> 30) & 0x7FFL);
+      values[valuesOffset + 38] = (int) ((block6 >>> 19) & 0x7FFL);
+      values[valuesOffset + 39] = (int) ((block6 >>> 8) & 0x7FFL);
+      values[valuesOffset + 40] = (int) (((block6 & 0xFFL) << 3) | (block7 >>> 61));
+      values[valuesOffset + 41] = (int) ((block7 >>> 50) & 0x7FFL);
+      values[valuesOffset + 42] = (int) ((block7 >>> 39) & 0x7FFL);
+      values[valuesOffset + 43] = (int) ((block7 >>> 28) & 0x7FFL);
+      values[valuesOffset + 44] = (int) ((block7 >>> 17) & 0x7FFL);
+      values[valuesOffset + 45] = (int) ((block7 >>> 6) & 0x7FFL);
+      values[valuesOffset + 46] = (int) (((block7 & 0x3FL) << 5) | (block8 >>> 59));
+      values[valuesOffset + 47] = (int) ((block8 >>> 48) & 0x7FFL);
+      values[valuesOffset + 48] = (int) ((block8 >>> 37) & 0x7FFL);
+      values[valuesOffset + 49] = (int) ((block8 >>> 26) & 0x7FFL);
+      values[valuesOffset + 50] = (int) ((block8 >>> 15) & 0x7FFL);
+      values[valuesOffset + 51] = (int) ((block8 >>> 4) & 0x7FFL);
+      values[valuesOffset + 52] = (int) (((block8 & 0xFL) << 7) | (block9 >>> 57));
+      values[valuesOffset + 53] = (int) ((block9 >>> 46) & 0x7FFL);
+      values[valuesOffset + 54] = (int) ((block9 >>> 35) & 0x7FFL);
+      values[valuesOffset + 55] = (int) ((block9 >>> 24) & 0x7FFL);
+      values[valuesOffset + 56] = (int) ((block9 >>> 13) & 0x7FFL);
+      values[valuesOffset + 57] = (int) ((block9 >>> 2) & 0x7FFL);
+      values[valuesOffset + 58] = (int) (((block9 & 0x3L) << 9) | (block10 >>> 55));
+      values[valuesOffset + 59] = (int) ((block10 >>> 44) & 0x7FFL);
+      values[valuesOffset + 60] = (int) ((block10 >>> 33) & 0x7FFL);
+      values[valuesOffset + 61] = (int) ((block10 >>> 22) & 0x7FFL);
+      values[valuesOffset + 62] = (int) ((block10 >>> 11) & 0x7FFL);
+      values[valuesOffset + 63] = (int) (block10 & 0x7FFL);
+      blocksOffset += 88;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode11(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 11)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 88;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode12(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      values[valuesOffset] = (int) (block0 >>> 52);
+      values[valuesOffset + 1] = (int) ((block0 >>> 40) & 0xFFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 28) & 0xFFFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 16) & 0xFFFL);
+      values[valuesOffset + 4] = (int) ((block0 >>> 4) & 0xFFFL);
+      values[valuesOffset + 5] = (int) (((block0 & 0xFL) << 8) | (block1 >>> 56));
+      values[valuesOffset + 6] = (int) ((block1 >>> 44) & 0xFFFL);
+      values[valuesOffset + 7] = (int) ((block1 >>> 32) & 0xFFFL);
+      values[valuesOffset + 8] = (int) ((block1 >>> 20) & 0xFFFL);
+      values[valuesOffset + 9] = (int) ((block1 >>> 8) & 0xFFFL);
+      values[valuesOffset + 10] = (int) (((block1 & 0xFFL) << 4) | (block2 >>> 60));
+      values[valuesOffset + 11] = (int) ((block2 >>> 48) & 0xFFFL);
+      values[valuesOffset + 12] = (int) ((block2 >>> 36) & 0xFFFL);
+      values[valuesOffset + 13] = (int) ((block2 >>> 24) & 0xFFFL);
+      values[valuesOffset + 14] = (int) ((block2 >>> 12) & 0xFFFL);
+      values[valuesOffset + 15] = (int) (block2 & 0xFFFL);
+      blocksOffset += 24;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void encode12(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 12)
+          | (values[valuesOffset + 15] & 0xFFFFFFFFL));
+      blocksOffset += 24;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void decode13(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      values[valuesOffset] = (int) (block0 >>> 51);
+      values[valuesOffset + 1] = (int) ((block0 >>> 38) & 0x1FFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 25) & 0x1FFFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 12) & 0x1FFFL);
+      values[valuesOffset + 4] = (int) (((block0 & 0xFFFL) << 1) | (block1 >>> 63));
+      values[valuesOffset + 5] = (int) ((block1 >>> 50) & 0x1FFFL);
+      values[valuesOffset + 6] = (int) ((block1 >>> 37) & 0x1FFFL);
+      values[valuesOffset + 7] = (int) ((block1 >>> 24) & 0x1FFFL);
+      values[valuesOffset + 8] = (int) ((block1 >>> 11) & 0x1FFFL);
+      values[valuesOffset + 9] = (int) (((block1 & 0x7FFL) << 2) | (block2 >>> 62));
+      values[valuesOffset + 10] = (int) ((block2 >>> 49) & 0x1FFFL);
+      values[valuesOffset + 11] = (int) ((block2 >>> 36) & 0x1FFFL);
+      values[valuesOffset + 12] = (int) ((block2 >>> 23) & 0x1FFFL);
+      values[valuesOffset + 13] = (int) ((block2 >>> 10) & 0x1FFFL);
+      values[valuesOffset + 14] = (int) (((block2 & 0x3FFL) << 3) | (block3 >>> 61));
+      values[valuesOffset + 15] = (int) ((block3 >>> 48) & 0x1FFFL);
+      values[valuesOffset + 16] = (int) ((block3 >>> 35) & 0x1FFFL);
+      values[valuesOffset + 17] = (int) ((block3 >>> 22) & 0x1FFFL);
+      values[valuesOffset + 18] = (int) ((block3 >>> 9) & 0x1FFFL);
+      values[valuesOffset + 19] = (int) (((block3 & 0x1FFL) << 4) | (block4 >>> 60));
+      values[valuesOffset + 20] = (int) ((block4 >>> 47) & 0x1FFFL);
+      values[valuesOffset + 21] = (int) ((block4 >>> 34) & 0x1FFFL);
+      values[valuesOffset + 22] = (int) ((block4 >>> 21) & 0x1FFFL);
+      values[valuesOffset + 23] = (int) ((block4 >>> 8) & 0x1FFFL);
+      values[valuesOffset + 24] = (int) (((block4 & 0xFFL) << 5) | (block5 >>> 59));
+      values[valuesOffset + 25] = (int) ((block5 >>> 46) & 0x1FFFL);
+      values[valuesOffset + 26] = (int) ((block5 >>> 33) & 0x1FFFL);
+      values[valuesOffset + 27] = (int) ((block5 >>> 20) & 0x1FFFL);
+      values[valuesOffset + 28] = (int) ((block5 >>> 7) & 0x1FFFL);
+      values[valuesOffset + 29] = (int) (((block5 & 0x7FL) << 6) | (block6 >>> 58));
+      values[valuesOffset + 30] = (int) ((block6 >>> 45) & 0x1FFFL);
+      values[valuesOffset + 31] = (int) ((block6 >>> 32) & 0x1FFFL);
+      values[valuesOffset + 32] = (int) ((block6 >>> 19) & 0x1FFFL);
+      values[valuesOffset + 33] = (int) ((block6 >>> 6) & 0x1FFFL);
+      values[valuesOffset + 34] = (int) (((block6 & 0x3FL) << 7) | (block7 >>> 57));
+      values[valuesOffset + 35] = (int) ((block7 >>> 44) & 0x1FFFL);
+      values[valuesOffset + 36] = (int) ((block7 >>> 31) & 0x1FFFL);
+      values[valuesOffset + 37] = (int) ((block7 >>> 18) & 0x1FFFL);
+      values[valuesOffset + 38] = (int) ((block7 >>> 5) & 0x1FFFL);
+      values[valuesOffset + 39] = (int) (((block7 & 0x1FL) << 8) | (block8 >>> 56));
+      values[valuesOffset + 40] = (int) ((block8 >>> 43) & 0x1FFFL);
+      values[valuesOffset + 41] = (int) ((block8 >>> 30) & 0x1FFFL);
+      values[valuesOffset + 42] = (int) ((block8 >>> 17) & 0x1FFFL);
+      values[valuesOffset + 43] = (int) ((block8 >>> 4) & 0x1FFFL);
+      values[valuesOffset + 44] = (int) (((block8 & 0xFL) << 9) | (block9 >>> 55));
+      values[valuesOffset + 45] = (int) ((block9 >>> 42) & 0x1FFFL);
+      values[valuesOffset + 46] = (int) ((block9 >>> 29) & 0x1FFFL);
+      values[valuesOffset + 47] = (int) ((block9 >>> 16) & 0x1FFFL);
+      values[valuesOffset + 48] = (int) ((block9 >>> 3) & 0x1FFFL);
+      values[valuesOffset + 49] = (int) (((block9 & 0x7L) << 10) | (block10 >>> 54));
+      values[valuesOffset + 50] = (int) ((block10 >>> 41) & 0x1FFFL);
+      values[valuesOffset + 51] = (int) ((block10 >>> 28) & 0x1FFFL);
+      values[valuesOffset + 52] = (int) ((block10 >>> 15) & 0x1FFFL);
+      values[valuesOffset + 53] = (int) ((block10 >>> 2) & 0x1FFFL);
+      values[valuesOffset + 54] = (int) (((block10 & 0x3L) << 11) | (block11 >>> 53));
+      values[valuesOffset + 55] = (int) ((block11 >>> 40) & 0x1FFFL);
+      values[valuesOffset + 56] = (int) ((block11 >>> 27) & 0x1FFFL);
+      values[valuesOffset + 57] = (int) ((block11 >>> 14) & 0x1FFFL);
+      values[valuesOffset + 58] = (int) ((block11 >>> 1) & 0x1FFFL);
+      values[valuesOffset + 59] = (int) (((block11 & 0x1L) << 12) | (block12 >>> 52));
+      values[valuesOffset + 60] = (int) ((block12 >>> 39) & 0x1FFFL);
+      values[valuesOffset + 61] = (int) ((block12 >>> 26) & 0x1FFFL);
+      values[valuesOffset + 62] = (int) ((block12 >>> 13) & 0x1FFFL);
+      values[valuesOffset + 63] = (int) (block12 & 0x1FFFL);
+      blocksOffset += 104;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode13(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 13)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 104;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode14(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      values[valuesOffset] = (int) (block0 >>> 50);
+      values[valuesOffset + 1] = (int) ((block0 >>> 36) & 0x3FFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 22) & 0x3FFFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 8) & 0x3FFFL);
+      values[valuesOffset + 4] = (int) (((block0 & 0xFFL) << 6) | (block1 >>> 58));
+      values[valuesOffset + 5] = (int) ((block1 >>> 44) & 0x3FFFL);
+      values[valuesOffset + 6] = (int) ((block1 >>> 30) & 0x3FFFL);
+      values[valuesOffset + 7] = (int) ((block1 >>> 16) & 0x3FFFL);
+      values[valuesOffset + 8] = (int) ((block1 >>> 2) & 0x3FFFL);
+      values[valuesOffset + 9] = (int) (((block1 & 0x3L) << 12) | (block2 >>> 52));
+      values[valuesOffset + 10] = (int) ((block2 >>> 38) & 0x3FFFL);
+      values[valuesOffset + 11] = (int) ((block2 >>> 24) & 0x3FFFL);
+      values[valuesOffset + 12] = (int) ((block2 >>> 10) & 0x3FFFL);
+      values[valuesOffset + 13] = (int) (((block2 & 0x3FFL) << 4) | (block3 >>> 60));
+      values[valuesOffset + 14] = (int) ((block3 >>> 46) & 0x3FFFL);
+      values[valuesOffset + 15] = (int) ((block3 >>> 32) & 0x3FFFL);
+      values[valuesOffset + 16] = (int) ((block3 >>> 18) & 0x3FFFL);
+      values[valuesOffset + 17] = (int) ((block3 >>> 4) & 0x3FFFL);
+      values[valuesOffset + 18] = (int) (((block3 & 0xFL) << 10) | (block4 >>> 54));
+      values[valuesOffset + 19] = (int) ((block4 >>> 40) & 0x3FFFL);
+      values[valuesOffset + 20] = (int) ((block4 >>> 26) & 0x3FFFL);
+      values[valuesOffset + 21] = (int) ((block4 >>> 12) & 0x3FFFL);
+      values[valuesOffset + 22] = (int) (((block4 & 0xFFFL) << 2) | (block5 >>> 62));
+      values[valuesOffset + 23] = (int) ((block5 >>> 48) & 0x3FFFL);
+      values[valuesOffset + 24] = (int) ((block5 >>> 34) & 0x3FFFL);
+      values[valuesOffset + 25] = (int) ((block5 >>> 20) & 0x3FFFL);
+      values[valuesOffset + 26] = (int) ((block5 >>> 6) & 0x3FFFL);
+      values[valuesOffset + 27] = (int) (((block5 & 0x3FL) << 8) | (block6 >>> 56));
+      values[valuesOffset + 28] = (int) ((block6 >>> 42) & 0x3FFFL);
+      values[valuesOffset + 29] = (int) ((block6 >>> 28) & 0x3FFFL);
+      values[valuesOffset + 30] = (int) ((block6 >>> 14) & 0x3FFFL);
+      values[valuesOffset + 31] = (int) (block6 & 0x3FFFL);
+      blocksOffset += 56;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode14(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 14)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 56;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode15(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      values[valuesOffset] = (int) (block0 >>> 49);
+      values[valuesOffset + 1] = (int) ((block0 >>> 34) & 0x7FFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 19) & 0x7FFFL);
+      values[valuesOffset + 3] = (int) ((block0 >>> 4) & 0x7FFFL);
+      values[valuesOffset + 4] = (int) (((block0 & 0xFL) << 11) | (block1 >>> 53));
+      values[valuesOffset + 5] = (int) ((block1 >>> 38) & 0x7FFFL);
+      values[valuesOffset + 6] = (int) ((block1 >>> 23) & 0x7FFFL);
+      values[valuesOffset + 7] = (int) ((block1 >>> 8) & 0x7FFFL);
+      values[valuesOffset + 8] = (int) (((block1 & 0xFFL) << 7) | (block2 >>> 57));
+      values[valuesOffset + 9] = (int) ((block2 >>> 42) & 0x7FFFL);
+      values[valuesOffset + 10] = (int) ((block2 >>> 27) & 0x7FFFL);
+      values[valuesOffset + 11] = (int) ((block2 >>> 12) & 0x7FFFL);
+      values[valuesOffset + 12] = (int) (((block2 & 0xFFFL) << 3) | (block3 >>> 61));
+      values[valuesOffset + 13] = (int) ((block3 >>> 46) & 0x7FFFL);
+      values[valuesOffset + 14] = (int) ((block3 >>> 31) & 0x7FFFL);
+      values[valuesOffset + 15] = (int) ((block3 >>> 16) & 0x7FFFL);
+      values[valuesOffset + 16] = (int) ((block3 >>> 1) & 0x7FFFL);
+      values[valuesOffset + 17] = (int) (((block3 & 0x1L) << 14) | (block4 >>> 50));
+      values[valuesOffset + 18] = (int) ((block4 >>> 35) & 0x7FFFL);
+      values[valuesOffset + 19] = (int) ((block4 >>> 20) & 0x7FFFL);
+      values[valuesOffset + 20] = (int) ((block4 >>> 5) & 0x7FFFL);
+      values[valuesOffset + 21] = (int) (((block4 & 0x1FL) << 10) | (block5 >>> 54));
+      values[valuesOffset + 22] = (int) ((block5 >>> 39) & 0x7FFFL);
+      values[valuesOffset + 23] = (int) ((block5 >>> 24) & 0x7FFFL);
+      values[valuesOffset + 24] = (int) ((block5 >>> 9) & 0x7FFFL);
+      values[valuesOffset + 25] = (int) (((block5 & 0x1FFL) << 6) | (block6 >>> 58));
+      values[valuesOffset + 26] = (int) ((block6 >>> 43) & 0x7FFFL);
+      values[valuesOffset + 27] = (int) ((block6 >>> 28) & 0x7FFFL);
+      values[valuesOffset + 28] = (int) ((block6 >>> 13) & 0x7FFFL);
+      values[valuesOffset + 29] = (int) (((block6 & 0x1FFFL) << 2) | (block7 >>> 62));
+      values[valuesOffset + 30] = (int) ((block7 >>> 47) & 0x7FFFL);
+      values[valuesOffset + 31] = (int) ((block7 >>> 32) & 0x7FFFL);
+      values[valuesOffset + 32] = (int) ((block7 >>> 17) & 0x7FFFL);
+      values[valuesOffset + 33] = (int) ((block7 >>> 2) & 0x7FFFL);
+      values[valuesOffset + 34] = (int) (((block7 & 0x3L) << 13) | (block8 >>> 51));
+      values[valuesOffset + 35] = (int) ((block8 >>> 36) & 0x7FFFL);
+      values[valuesOffset + 36] = (int) ((block8 >>> 21) & 0x7FFFL);
+      values[valuesOffset + 37] = (int) ((block8 >>> 6) & 0x7FFFL);
+      values[valuesOffset + 38] = (int) (((block8 & 0x3FL) << 9) | (block9 >>> 55));
+      values[valuesOffset + 39] = (int) ((block9 >>> 40) & 0x7FFFL);
+      values[valuesOffset + 40] = (int) ((block9 >>> 25) & 0x7FFFL);
+      values[valuesOffset + 41] = (int) ((block9 >>> 10) & 0x7FFFL);
+      values[valuesOffset + 42] = (int) (((block9 & 0x3FFL) << 5) | (block10 >>> 59));
+      values[valuesOffset + 43] = (int) ((block10 >>> 44) & 0x7FFFL);
+      values[valuesOffset + 44] = (int) ((block10 >>> 29) & 0x7FFFL);
+      values[valuesOffset + 45] = (int) ((block10 >>> 14) & 0x7FFFL);
+      values[valuesOffset + 46] = (int) (((block10 & 0x3FFFL) << 1) | (block11 >>> 63));
+      values[valuesOffset + 47] = (int) ((block11 >>> 48) & 0x7FFFL);
+      values[valuesOffset + 48] = (int) ((block11 >>> 33) & 0x7FFFL);
+      values[valuesOffset + 49] = (int) ((block11 >>> 18) & 0x7FFFL);
+      values[valuesOffset + 50] = (int) ((block11 >>> 3) & 0x7FFFL);
+      values[valuesOffset + 51] = (int) (((block11 & 0x7L) << 12) | (block12 >>> 52));
+      values[valuesOffset + 52] = (int) ((block12 >>> 37) & 0x7FFFL);
+      values[valuesOffset + 53] = (int) ((block12 >>> 22) & 0x7FFFL);
+      values[valuesOffset + 54] = (int) ((block12 >>> 7) & 0x7FFFL);
+      values[valuesOffset + 55] = (int) (((block12 & 0x7FL) << 8) | (block13 >>> 56));
+      values[valuesOffset + 56] = (int) ((block13 >>> 41) & 0x7FFFL);
+      values[valuesOffset + 57] = (int) ((block13 >>> 26) & 0x7FFFL);
+      values[valuesOffset + 58] = (int) ((block13 >>> 11) & 0x7FFFL);
+      values[valuesOffset + 59] = (int) (((block13 & 0x7FFL) << 4) | (block14 >>> 60));
+      values[valuesOffset + 60] = (int) ((block14 >>> 45) & 0x7FFFL);
+      values[valuesOffset + 61] = (int) ((block14 >>> 30) & 0x7FFFL);
+      values[valuesOffset + 62] = (int) ((block14 >>> 15) & 0x7FFFL);
+      values[valuesOffset + 63] = (int) (block14 & 0x7FFFL);
+      blocksOffset += 120;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode15(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 15)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 120;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode16(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 32; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      values[valuesOffset] = (int) (block0 >>> 48);
+      values[valuesOffset + 1] = (int) ((block0 >>> 32) & 0xFFFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 16) & 0xFFFFL);
+      values[valuesOffset + 3] = (int) (block0 & 0xFFFFL);
+      blocksOffset += 8;
+      valuesOffset += 4;
+    }
+  }
+
+  private static void encode16(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 32; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 16)
+          | (values[valuesOffset + 3] & 0xFFFFFFFFL));
+      blocksOffset += 8;
+      valuesOffset += 4;
+    }
+  }
+
+  private static void decode17(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      values[valuesOffset] = (int) (block0 >>> 47);
+      values[valuesOffset + 1] = (int) ((block0 >>> 30) & 0x1FFFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 13) & 0x1FFFFL);
+      values[valuesOffset + 3] = (int) (((block0 & 0x1FFFL) << 4) | (block1 >>> 60));
+      values[valuesOffset + 4] = (int) ((block1 >>> 43) & 0x1FFFFL);
+      values[valuesOffset + 5] = (int) ((block1 >>> 26) & 0x1FFFFL);
+      values[valuesOffset + 6] = (int) ((block1 >>> 9) & 0x1FFFFL);
+      values[valuesOffset + 7] = (int) (((block1 & 0x1FFL) << 8) | (block2 >>> 56));
+      values[valuesOffset + 8] = (int) ((block2 >>> 39) & 0x1FFFFL);
+      values[valuesOffset + 9] = (int) ((block2 >>> 22) & 0x1FFFFL);
+      values[valuesOffset + 10] = (int) ((block2 >>> 5) & 0x1FFFFL);
+      values[valuesOffset + 11] = (int) (((block2 & 0x1FL) << 12) | (block3 >>> 52));
+      values[valuesOffset + 12] = (int) ((block3 >>> 35) & 0x1FFFFL);
+      values[valuesOffset + 13] = (int) ((block3 >>> 18) & 0x1FFFFL);
+      values[valuesOffset + 14] = (int) ((block3 >>> 1) & 0x1FFFFL);
+      values[valuesOffset + 15] = (int) (((block3 & 0x1L) << 16) | (block4 >>> 48));
+      values[valuesOffset + 16] = (int) ((block4 >>> 31) & 0x1FFFFL);
+      values[valuesOffset + 17] = (int) ((block4 >>> 14) & 0x1FFFFL);
+      values[valuesOffset + 18] = (int) (((block4 & 0x3FFFL) << 3) | (block5 >>> 61));
+      values[valuesOffset + 19] = (int) ((block5 >>> 44) & 0x1FFFFL);
+      values[valuesOffset + 20] = (int) ((block5 >>> 27) & 0x1FFFFL);
+      values[valuesOffset + 21] = (int) ((block5 >>> 10) & 0x1FFFFL);
+      values[valuesOffset + 22] = (int) (((block5 & 0x3FFL) << 7) | (block6 >>> 57));
+      values[valuesOffset + 23] = (int) ((block6 >>> 40) & 0x1FFFFL);
+      values[valuesOffset + 24] = (int) ((block6 >>> 23) & 0x1FFFFL);
+      values[valuesOffset + 25] = (int) ((block6 >>> 6) & 0x1FFFFL);
+      values[valuesOffset + 26] = (int) (((block6 & 0x3FL) << 11) | (block7 >>> 53));
+      values[valuesOffset + 27] = (int) ((block7 >>> 36) & 0x1FFFFL);
+      values[valuesOffset + 28] = (int) ((block7 >>> 19) & 0x1FFFFL);
+      values[valuesOffset + 29] = (int) ((block7 >>> 2) & 0x1FFFFL);
+      values[valuesOffset + 30] = (int) (((block7 & 0x3L) << 15) | (block8 >>> 49));
+      values[valuesOffset + 31] = (int) ((block8 >>> 32) & 0x1FFFFL);
+      values[valuesOffset + 32] = (int) ((block8 >>> 15) & 0x1FFFFL);
+      values[valuesOffset + 33] = (int) (((block8 & 0x7FFFL) << 2) | (block9 >>> 62));
+      values[valuesOffset + 34] = (int) ((block9 >>> 45) & 0x1FFFFL);
+      values[valuesOffset + 35] = (int) ((block9 >>> 28) & 0x1FFFFL);
+      values[valuesOffset + 36] = (int) ((block9 >>> 11) & 0x1FFFFL);
+      values[valuesOffset + 37] = (int) (((block9 & 0x7FFL) << 6) | (block10 >>> 58));
+      values[valuesOffset + 38] = (int) ((block10 >>> 41) & 0x1FFFFL);
+      values[valuesOffset + 39] = (int) ((block10 >>> 24) & 0x1FFFFL);
+      values[valuesOffset + 40] = (int) ((block10 >>> 7) & 0x1FFFFL);
+      values[valuesOffset + 41] = (int) (((block10 & 0x7FL) << 10) | (block11 >>> 54));
+      values[valuesOffset + 42] = (int) ((block11 >>> 37) & 0x1FFFFL);
+      values[valuesOffset + 43] = (int) ((block11 >>> 20) & 0x1FFFFL);
+      values[valuesOffset + 44] = (int) ((block11 >>> 3) & 0x1FFFFL);
+      values[valuesOffset + 45] = (int) (((block11 & 0x7L) << 14) | (block12 >>> 50));
+      values[valuesOffset + 46] = (int) ((block12 >>> 33) & 0x1FFFFL);
+      values[valuesOffset + 47] = (int) ((block12 >>> 16) & 0x1FFFFL);
+      values[valuesOffset + 48] = (int) (((block12 & 0xFFFFL) << 1) | (block13 >>> 63));
+      values[valuesOffset + 49] = (int) ((block13 >>> 46) & 0x1FFFFL);
+      values[valuesOffset + 50] = (int) ((block13 >>> 29) & 0x1FFFFL);
+      values[valuesOffset + 51] = (int) ((block13 >>> 12) & 0x1FFFFL);
+      values[valuesOffset + 52] = (int) (((block13 & 0xFFFL) << 5) | (block14 >>> 59));
+      values[valuesOffset + 53] = (int) ((block14 >>> 42) & 0x1FFFFL);
+      values[valuesOffset + 54] = (int) ((block14 >>> 25) & 0x1FFFFL);
+      values[valuesOffset + 55] = (int) ((block14 >>> 8) & 0x1FFFFL);
+      values[valuesOffset + 56] = (int) (((block14 & 0xFFL) << 9) | (block15 >>> 55));
+      values[valuesOffset + 57] = (int) ((block15 >>> 38) & 0x1FFFFL);
+      values[valuesOffset + 58] = (int) ((block15 >>> 21) & 0x1FFFFL);
+      values[valuesOffset + 59] = (int) ((block15 >>> 4) & 0x1FFFFL);
+      values[valuesOffset + 60] = (int) (((block15 & 0xFL) << 13) | (block16 >>> 51));
+      values[valuesOffset + 61] = (int) ((block16 >>> 34) & 0x1FFFFL);
+      values[valuesOffset + 62] = (int) ((block16 >>> 17) & 0x1FFFFL);
+      values[valuesOffset + 63] = (int) (block16 & 0x1FFFFL);
+      blocksOffset += 136;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode17(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 17)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 136;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode18(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      values[valuesOffset] = (int) (block0 >>> 46);
+      values[valuesOffset + 1] = (int) ((block0 >>> 28) & 0x3FFFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 10) & 0x3FFFFL);
+      values[valuesOffset + 3] = (int) (((block0 & 0x3FFL) << 8) | (block1 >>> 56));
+      values[valuesOffset + 4] = (int) ((block1 >>> 38) & 0x3FFFFL);
+      values[valuesOffset + 5] = (int) ((block1 >>> 20) & 0x3FFFFL);
+      values[valuesOffset + 6] = (int) ((block1 >>> 2) & 0x3FFFFL);
+      values[valuesOffset + 7] = (int) (((block1 & 0x3L) << 16) | (block2 >>> 48));
+      values[valuesOffset + 8] = (int) ((block2 >>> 30) & 0x3FFFFL);
+      values[valuesOffset + 9] = (int) ((block2 >>> 12) & 0x3FFFFL);
+      values[valuesOffset + 10] = (int) (((block2 & 0xFFFL) << 6) | (block3 >>> 58));
+      values[valuesOffset + 11] = (int) ((block3 >>> 40) & 0x3FFFFL);
+      values[valuesOffset + 12] = (int) ((block3 >>> 22) & 0x3FFFFL);
+      values[valuesOffset + 13] = (int) ((block3 >>> 4) & 0x3FFFFL);
+      values[valuesOffset + 14] = (int) (((block3 & 0xFL) << 14) | (block4 >>> 50));
+      values[valuesOffset + 15] = (int) ((block4 >>> 32) & 0x3FFFFL);
+      values[valuesOffset + 16] = (int) ((block4 >>> 14) & 0x3FFFFL);
+      values[valuesOffset + 17] = (int) (((block4 & 0x3FFFL) << 4) | (block5 >>> 60));
+      values[valuesOffset + 18] = (int) ((block5 >>> 42) & 0x3FFFFL);
+      values[valuesOffset + 19] = (int) ((block5 >>> 24) & 0x3FFFFL);
+      values[valuesOffset + 20] = (int) ((block5 >>> 6) & 0x3FFFFL);
+      values[valuesOffset + 21] = (int) (((block5 & 0x3FL) << 12) | (block6 >>> 52));
+      values[valuesOffset + 22] = (int) ((block6 >>> 34) & 0x3FFFFL);
+      values[valuesOffset + 23] = (int) ((block6 >>> 16) & 0x3FFFFL);
+      values[valuesOffset + 24] = (int) (((block6 & 0xFFFFL) << 2) | (block7 >>> 62));
+      values[valuesOffset + 25] = (int) ((block7 >>> 44) & 0x3FFFFL);
+      values[valuesOffset + 26] = (int) ((block7 >>> 26) & 0x3FFFFL);
+      values[valuesOffset + 27] = (int) ((block7 >>> 8) & 0x3FFFFL);
+      values[valuesOffset + 28] = (int) (((block7 & 0xFFL) << 10) | (block8 >>> 54));
+      values[valuesOffset + 29] = (int) ((block8 >>> 36) & 0x3FFFFL);
+      values[valuesOffset + 30] = (int) ((block8 >>> 18) & 0x3FFFFL);
+      values[valuesOffset + 31] = (int) (block8 & 0x3FFFFL);
+      blocksOffset += 72;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode18(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 18)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 72;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode19(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      final long block17 = blocks.getLong(blocksOffset + 136);
+      final long block18 = blocks.getLong(blocksOffset + 144);
+      values[valuesOffset] = (int) (block0 >>> 45);
+      values[valuesOffset + 1] = (int) ((block0 >>> 26) & 0x7FFFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 7) & 0x7FFFFL);
+      values[valuesOffset + 3] = (int) (((block0 & 0x7FL) << 12) | (block1 >>> 52));
+      values[valuesOffset + 4] = (int) ((block1 >>> 33) & 0x7FFFFL);
+      values[valuesOffset + 5] = (int) ((block1 >>> 14) & 0x7FFFFL);
+      values[valuesOffset + 6] = (int) (((block1 & 0x3FFFL) << 5) | (block2 >>> 59));
+      values[valuesOffset + 7] = (int) ((block2 >>> 40) & 0x7FFFFL);
+      values[valuesOffset + 8] = (int) ((block2 >>> 21) & 0x7FFFFL);
+      values[valuesOffset + 9] = (int) ((block2 >>> 2) & 0x7FFFFL);
+      values[valuesOffset + 10] = (int) (((block2 & 0x3L) << 17) | (block3 >>> 47));
+      values[valuesOffset + 11] = (int) ((block3 >>> 28) & 0x7FFFFL);
+      values[valuesOffset + 12] = (int) ((block3 >>> 9) & 0x7FFFFL);
+      values[valuesOffset + 13] = (int) (((block3 & 0x1FFL) << 10) | (block4 >>> 54));
+      values[valuesOffset + 14] = (int) ((block4 >>> 35) & 0x7FFFFL);
+      values[valuesOffset + 15] = (int) ((block4 >>> 16) & 0x7FFFFL);
+      values[valuesOffset + 16] = (int) (((block4 & 0xFFFFL) << 3) | (block5 >>> 61));
+      values[valuesOffset + 17] = (int) ((block5 >>> 42) & 0x7FFFFL);
+      values[valuesOffset + 18] = (int) ((block5 >>> 23) & 0x7FFFFL);
+      values[valuesOffset + 19] = (int) ((block5 >>> 4) & 0x7FFFFL);
+      values[valuesOffset + 20] = (int) (((block5 & 0xFL) << 15) | (block6 >>> 49));
+      values[valuesOffset + 21] = (int) ((block6 >>> 30) & 0x7FFFFL);
+      values[valuesOffset + 22] = (int) ((block6 >>> 11) & 0x7FFFFL);
+      values[valuesOffset + 23] = (int) (((block6 & 0x7FFL) << 8) | (block7 >>> 56));
+      values[valuesOffset + 24] = (int) ((block7 >>> 37) & 0x7FFFFL);
+      values[valuesOffset + 25] = (int) ((block7 >>> 18) & 0x7FFFFL);
+      values[valuesOffset + 26] = (int) (((block7 & 0x3FFFFL) << 1) | (block8 >>> 63));
+      values[valuesOffset + 27] = (int) ((block8 >>> 44) & 0x7FFFFL);
+      values[valuesOffset + 28] = (int) ((block8 >>> 25) & 0x7FFFFL);
+      values[valuesOffset + 29] = (int) ((block8 >>> 6) & 0x7FFFFL);
+      values[valuesOffset + 30] = (int) (((block8 & 0x3FL) << 13) | (block9 >>> 51));
+      values[valuesOffset + 31] = (int) ((block9 >>> 32) & 0x7FFFFL);
+      values[valuesOffset + 32] = (int) ((block9 >>> 13) & 0x7FFFFL);
+      values[valuesOffset + 33] = (int) (((block9 & 0x1FFFL) << 6) | (block10 >>> 58));
+      values[valuesOffset + 34] = (int) ((block10 >>> 39) & 0x7FFFFL);
+      values[valuesOffset + 35] = (int) ((block10 >>> 20) & 0x7FFFFL);
+      values[valuesOffset + 36] = (int) ((block10 >>> 1) & 0x7FFFFL);
+      values[valuesOffset + 37] = (int) (((block10 & 0x1L) << 18) | (block11 >>> 46));
+      values[valuesOffset + 38] = (int) ((block11 >>> 27) & 0x7FFFFL);
+      values[valuesOffset + 39] = (int) ((block11 >>> 8) & 0x7FFFFL);
+      values[valuesOffset + 40] = (int) (((block11 & 0xFFL) << 11) | (block12 >>> 53));
+      values[valuesOffset + 41] = (int) ((block12 >>> 34) & 0x7FFFFL);
+      values[valuesOffset + 42] = (int) ((block12 >>> 15) & 0x7FFFFL);
+      values[valuesOffset + 43] = (int) (((block12 & 0x7FFFL) << 4) | (block13 >>> 60));
+      values[valuesOffset + 44] = (int) ((block13 >>> 41) & 0x7FFFFL);
+      values[valuesOffset + 45] = (int) ((block13 >>> 22) & 0x7FFFFL);
+      values[valuesOffset + 46] = (int) ((block13 >>> 3) & 0x7FFFFL);
+      values[valuesOffset + 47] = (int) (((block13 & 0x7L) << 16) | (block14 >>> 48));
+      values[valuesOffset + 48] = (int) ((block14 >>> 29) & 0x7FFFFL);
+      values[valuesOffset + 49] = (int) ((block14 >>> 10) & 0x7FFFFL);
+      values[valuesOffset + 50] = (int) (((block14 & 0x3FFL) << 9) | (block15 >>> 55));
+      values[valuesOffset + 51] = (int) ((block15 >>> 36) & 0x7FFFFL);
+      values[valuesOffset + 52] = (int) ((block15 >>> 17) & 0x7FFFFL);
+      values[valuesOffset + 53] = (int) (((block15 & 0x1FFFFL) << 2) | (block16 >>> 62));
+      values[valuesOffset + 54] = (int) ((block16 >>> 43) & 0x7FFFFL);
+      values[valuesOffset + 55] = (int) ((block16 >>> 24) & 0x7FFFFL);
+      values[valuesOffset + 56] = (int) ((block16 >>> 5) & 0x7FFFFL);
+      values[valuesOffset + 57] = (int) (((block16 & 0x1FL) << 14) | (block17 >>> 50));
+      values[valuesOffset + 58] = (int) ((block17 >>> 31) & 0x7FFFFL);
+      values[valuesOffset + 59] = (int) ((block17 >>> 12) & 0x7FFFFL);
+      values[valuesOffset + 60] = (int) (((block17 & 0xFFFL) << 7) | (block18 >>> 57));
+      values[valuesOffset + 61] = (int) ((block18 >>> 38) & 0x7FFFFL);
+      values[valuesOffset + 62] = (int) ((block18 >>> 19) & 0x7FFFFL);
+      values[valuesOffset + 63] = (int) (block18 & 0x7FFFFL);
+      blocksOffset += 152;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode19(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) >>> 17));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 136,
+          ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 144,
+          ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 19)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 152;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode20(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      values[valuesOffset] = (int) (block0 >>> 44);
+      values[valuesOffset + 1] = (int) ((block0 >>> 24) & 0xFFFFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 4) & 0xFFFFFL);
+      values[valuesOffset + 3] = (int) (((block0 & 0xFL) << 16) | (block1 >>> 48));
+      values[valuesOffset + 4] = (int) ((block1 >>> 28) & 0xFFFFFL);
+      values[valuesOffset + 5] = (int) ((block1 >>> 8) & 0xFFFFFL);
+      values[valuesOffset + 6] = (int) (((block1 & 0xFFL) << 12) | (block2 >>> 52));
+      values[valuesOffset + 7] = (int) ((block2 >>> 32) & 0xFFFFFL);
+      values[valuesOffset + 8] = (int) ((block2 >>> 12) & 0xFFFFFL);
+      values[valuesOffset + 9] = (int) (((block2 & 0xFFFL) << 8) | (block3 >>> 56));
+      values[valuesOffset + 10] = (int) ((block3 >>> 36) & 0xFFFFFL);
+      values[valuesOffset + 11] = (int) ((block3 >>> 16) & 0xFFFFFL);
+      values[valuesOffset + 12] = (int) (((block3 & 0xFFFFL) << 4) | (block4 >>> 60));
+      values[valuesOffset + 13] = (int) ((block4 >>> 40) & 0xFFFFFL);
+      values[valuesOffset + 14] = (int) ((block4 >>> 20) & 0xFFFFFL);
+      values[valuesOffset + 15] = (int) (block4 & 0xFFFFFL);
+      blocksOffset += 40;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void encode20(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 20)
+          | (values[valuesOffset + 15] & 0xFFFFFFFFL));
+      blocksOffset += 40;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void decode21(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      final long block17 = blocks.getLong(blocksOffset + 136);
+      final long block18 = blocks.getLong(blocksOffset + 144);
+      final long block19 = blocks.getLong(blocksOffset + 152);
+      final long block20 = blocks.getLong(blocksOffset + 160);
+      values[valuesOffset] = (int) (block0 >>> 43);
+      values[valuesOffset + 1] = (int) ((block0 >>> 22) & 0x1FFFFFL);
+      values[valuesOffset + 2] = (int) ((block0 >>> 1) & 0x1FFFFFL);
+      values[valuesOffset + 3] = (int) (((block0 & 0x1L) << 20) | (block1 >>> 44));
+      values[valuesOffset + 4] = (int) ((block1 >>> 23) & 0x1FFFFFL);
+      values[valuesOffset + 5] = (int) ((block1 >>> 2) & 0x1FFFFFL);
+      values[valuesOffset + 6] = (int) (((block1 & 0x3L) << 19) | (block2 >>> 45));
+      values[valuesOffset + 7] = (int) ((block2 >>> 24) & 0x1FFFFFL);
+      values[valuesOffset + 8] = (int) ((block2 >>> 3) & 0x1FFFFFL);
+      values[valuesOffset + 9] = (int) (((block2 & 0x7L) << 18) | (block3 >>> 46));
+      values[valuesOffset + 10] = (int) ((block3 >>> 25) & 0x1FFFFFL);
+      values[valuesOffset + 11] = (int) ((block3 >>> 4) & 0x1FFFFFL);
+      values[valuesOffset + 12] = (int) (((block3 & 0xFL) << 17) | (block4 >>> 47));
+      values[valuesOffset + 13] = (int) ((block4 >>> 26) & 0x1FFFFFL);
+      values[valuesOffset + 14] = (int) ((block4 >>> 5) & 0x1FFFFFL);
+      values[valuesOffset + 15] = (int) (((block4 & 0x1FL) << 16) | (block5 >>> 48));
+      values[valuesOffset + 16] = (int) ((block5 >>> 27) & 0x1FFFFFL);
+      values[valuesOffset + 17] = (int) ((block5 >>> 6) & 0x1FFFFFL);
+      values[valuesOffset + 18] = (int) (((block5 & 0x3FL) << 15) | (block6 >>> 49));
+      values[valuesOffset + 19] = (int) ((block6 >>> 28) & 0x1FFFFFL);
+      values[valuesOffset + 20] = (int) ((block6 >>> 7) & 0x1FFFFFL);
+      values[valuesOffset + 21] = (int) (((block6 & 0x7FL) << 14) | (block7 >>> 50));
+      values[valuesOffset + 22] = (int) ((block7 >>> 29) & 0x1FFFFFL);
+      values[valuesOffset + 23] = (int) ((block7 >>> 8) & 0x1FFFFFL);
+      values[valuesOffset + 24] = (int) (((block7 & 0xFFL) << 13) | (block8 >>> 51));
+      values[valuesOffset + 25] = (int) ((block8 >>> 30) & 0x1FFFFFL);
+      values[valuesOffset + 26] = (int) ((block8 >>> 9) & 0x1FFFFFL);
+      values[valuesOffset + 27] = (int) (((block8 & 0x1FFL) << 12) | (block9 >>> 52));
+      values[valuesOffset + 28] = (int) ((block9 >>> 31) & 0x1FFFFFL);
+      values[valuesOffset + 29] = (int) ((block9 >>> 10) & 0x1FFFFFL);
+      values[valuesOffset + 30] = (int) (((block9 & 0x3FFL) << 11) | (block10 >>> 53));
+      values[valuesOffset + 31] = (int) ((block10 >>> 32) & 0x1FFFFFL);
+      values[valuesOffset + 32] = (int) ((block10 >>> 11) & 0x1FFFFFL);
+      values[valuesOffset + 33] = (int) (((block10 & 0x7FFL) << 10) | (block11 >>> 54));
+      values[valuesOffset + 34] = (int) ((block11 >>> 33) & 0x1FFFFFL);
+      values[valuesOffset + 35] = (int) ((block11 >>> 12) & 0x1FFFFFL);
+      values[valuesOffset + 36] = (int) (((block11 & 0xFFFL) << 9) | (block12 >>> 55));
+      values[valuesOffset + 37] = (int) ((block12 >>> 34) & 0x1FFFFFL);
+      values[valuesOffset + 38] = (int) ((block12 >>> 13) & 0x1FFFFFL);
+      values[valuesOffset + 39] = (int) (((block12 & 0x1FFFL) << 8) | (block13 >>> 56));
+      values[valuesOffset + 40] = (int) ((block13 >>> 35) & 0x1FFFFFL);
+      values[valuesOffset + 41] = (int) ((block13 >>> 14) & 0x1FFFFFL);
+      values[valuesOffset + 42] = (int) (((block13 & 0x3FFFL) << 7) | (block14 >>> 57));
+      values[valuesOffset + 43] = (int) ((block14 >>> 36) & 0x1FFFFFL);
+      values[valuesOffset + 44] = (int) ((block14 >>> 15) & 0x1FFFFFL);
+      values[valuesOffset + 45] = (int) (((block14 & 0x7FFFL) << 6) | (block15 >>> 58));
+      values[valuesOffset + 46] = (int) ((block15 >>> 37) & 0x1FFFFFL);
+      values[valuesOffset + 47] = (int) ((block15 >>> 16) & 0x1FFFFFL);
+      values[valuesOffset + 48] = (int) (((block15 & 0xFFFFL) << 5) | (block16 >>> 59));
+      values[valuesOffset + 49] = (int) ((block16 >>> 38) & 0x1FFFFFL);
+      values[valuesOffset + 50] = (int) ((block16 >>> 17) & 0x1FFFFFL);
+      values[valuesOffset + 51] = (int) (((block16 & 0x1FFFFL) << 4) | (block17 >>> 60));
+      values[valuesOffset + 52] = (int) ((block17 >>> 39) & 0x1FFFFFL);
+      values[valuesOffset + 53] = (int) ((block17 >>> 18) & 0x1FFFFFL);
+      values[valuesOffset + 54] = (int) (((block17 & 0x3FFFFL) << 3) | (block18 >>> 61));
+      values[valuesOffset + 55] = (int) ((block18 >>> 40) & 0x1FFFFFL);
+      values[valuesOffset + 56] = (int) ((block18 >>> 19) & 0x1FFFFFL);
+      values[valuesOffset + 57] = (int) (((block18 & 0x7FFFFL) << 2) | (block19 >>> 62));
+      values[valuesOffset + 58] = (int) ((block19 >>> 41) & 0x1FFFFFL);
+      values[valuesOffset + 59] = (int) ((block19 >>> 20) & 0x1FFFFFL);
+      values[valuesOffset + 60] = (int) (((block19 & 0xFFFFFL) << 1) | (block20 >>> 63));
+      values[valuesOffset + 61] = (int) ((block20 >>> 42) & 0x1FFFFFL);
+      values[valuesOffset + 62] = (int) ((block20 >>> 21) & 0x1FFFFFL);
+      values[valuesOffset + 63] = (int) (block20 & 0x1FFFFFL);
+      blocksOffset += 168;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode21(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 19));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 17));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 136,
+          ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 144,
+          ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 152,
+          ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 160,
+          ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 21)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 168;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode22(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      values[valuesOffset] = (int) (block0 >>> 42);
+      values[valuesOffset + 1] = (int) ((block0 >>> 20) & 0x3FFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0xFFFFFL) << 2) | (block1 >>> 62));
+      values[valuesOffset + 3] = (int) ((block1 >>> 40) & 0x3FFFFFL);
+      values[valuesOffset + 4] = (int) ((block1 >>> 18) & 0x3FFFFFL);
+      values[valuesOffset + 5] = (int) (((block1 & 0x3FFFFL) << 4) | (block2 >>> 60));
+      values[valuesOffset + 6] = (int) ((block2 >>> 38) & 0x3FFFFFL);
+      values[valuesOffset + 7] = (int) ((block2 >>> 16) & 0x3FFFFFL);
+      values[valuesOffset + 8] = (int) (((block2 & 0xFFFFL) << 6) | (block3 >>> 58));
+      values[valuesOffset + 9] = (int) ((block3 >>> 36) & 0x3FFFFFL);
+      values[valuesOffset + 10] = (int) ((block3 >>> 14) & 0x3FFFFFL);
+      values[valuesOffset + 11] = (int) (((block3 & 0x3FFFL) << 8) | (block4 >>> 56));
+      values[valuesOffset + 12] = (int) ((block4 >>> 34) & 0x3FFFFFL);
+      values[valuesOffset + 13] = (int) ((block4 >>> 12) & 0x3FFFFFL);
+      values[valuesOffset + 14] = (int) (((block4 & 0xFFFL) << 10) | (block5 >>> 54));
+      values[valuesOffset + 15] = (int) ((block5 >>> 32) & 0x3FFFFFL);
+      values[valuesOffset + 16] = (int) ((block5 >>> 10) & 0x3FFFFFL);
+      values[valuesOffset + 17] = (int) (((block5 & 0x3FFL) << 12) | (block6 >>> 52));
+      values[valuesOffset + 18] = (int) ((block6 >>> 30) & 0x3FFFFFL);
+      values[valuesOffset + 19] = (int) ((block6 >>> 8) & 0x3FFFFFL);
+      values[valuesOffset + 20] = (int) (((block6 & 0xFFL) << 14) | (block7 >>> 50));
+      values[valuesOffset + 21] = (int) ((block7 >>> 28) & 0x3FFFFFL);
+      values[valuesOffset + 22] = (int) ((block7 >>> 6) & 0x3FFFFFL);
+      values[valuesOffset + 23] = (int) (((block7 & 0x3FL) << 16) | (block8 >>> 48));
+      values[valuesOffset + 24] = (int) ((block8 >>> 26) & 0x3FFFFFL);
+      values[valuesOffset + 25] = (int) ((block8 >>> 4) & 0x3FFFFFL);
+      values[valuesOffset + 26] = (int) (((block8 & 0xFL) << 18) | (block9 >>> 46));
+      values[valuesOffset + 27] = (int) ((block9 >>> 24) & 0x3FFFFFL);
+      values[valuesOffset + 28] = (int) ((block9 >>> 2) & 0x3FFFFFL);
+      values[valuesOffset + 29] = (int) (((block9 & 0x3L) << 20) | (block10 >>> 44));
+      values[valuesOffset + 30] = (int) ((block10 >>> 22) & 0x3FFFFFL);
+      values[valuesOffset + 31] = (int) (block10 & 0x3FFFFFL);
+      blocksOffset += 88;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode22(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 22)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 88;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode23(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      final long block17 = blocks.getLong(blocksOffset + 136);
+      final long block18 = blocks.getLong(blocksOffset + 144);
+      final long block19 = blocks.getLong(blocksOffset + 152);
+      final long block20 = blocks.getLong(blocksOffset + 160);
+      final long block21 = blocks.getLong(blocksOffset + 168);
+      final long block22 = blocks.getLong(blocksOffset + 176);
+      values[valuesOffset] = (int) (block0 >>> 41);
+      values[valuesOffset + 1] = (int) ((block0 >>> 18) & 0x7FFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0x3FFFFL) << 5) | (block1 >>> 59));
+      values[valuesOffset + 3] = (int) ((block1 >>> 36) & 0x7FFFFFL);
+      values[valuesOffset + 4] = (int) ((block1 >>> 13) & 0x7FFFFFL);
+      values[valuesOffset + 5] = (int) (((block1 & 0x1FFFL) << 10) | (block2 >>> 54));
+      values[valuesOffset + 6] = (int) ((block2 >>> 31) & 0x7FFFFFL);
+      values[valuesOffset + 7] = (int) ((block2 >>> 8) & 0x7FFFFFL);
+      values[valuesOffset + 8] = (int) (((block2 & 0xFFL) << 15) | (block3 >>> 49));
+      values[valuesOffset + 9] = (int) ((block3 >>> 26) & 0x7FFFFFL);
+      values[valuesOffset + 10] = (int) ((block3 >>> 3) & 0x7FFFFFL);
+      values[valuesOffset + 11] = (int) (((block3 & 0x7L) << 20) | (block4 >>> 44));
+      values[valuesOffset + 12] = (int) ((block4 >>> 21) & 0x7FFFFFL);
+      values[valuesOffset + 13] = (int) (((block4 & 0x1FFFFFL) << 2) | (block5 >>> 62));
+      values[valuesOffset + 14] = (int) ((block5 >>> 39) & 0x7FFFFFL);
+      values[valuesOffset + 15] = (int) ((block5 >>> 16) & 0x7FFFFFL);
+      values[valuesOffset + 16] = (int) (((block5 & 0xFFFFL) << 7) | (block6 >>> 57));
+      values[valuesOffset + 17] = (int) ((block6 >>> 34) & 0x7FFFFFL);
+      values[valuesOffset + 18] = (int) ((block6 >>> 11) & 0x7FFFFFL);
+      values[valuesOffset + 19] = (int) (((block6 & 0x7FFL) << 12) | (block7 >>> 52));
+      values[valuesOffset + 20] = (int) ((block7 >>> 29) & 0x7FFFFFL);
+      values[valuesOffset + 21] = (int) ((block7 >>> 6) & 0x7FFFFFL);
+      values[valuesOffset + 22] = (int) (((block7 & 0x3FL) << 17) | (block8 >>> 47));
+      values[valuesOffset + 23] = (int) ((block8 >>> 24) & 0x7FFFFFL);
+      values[valuesOffset + 24] = (int) ((block8 >>> 1) & 0x7FFFFFL);
+      values[valuesOffset + 25] = (int) (((block8 & 0x1L) << 22) | (block9 >>> 42));
+      values[valuesOffset + 26] = (int) ((block9 >>> 19) & 0x7FFFFFL);
+      values[valuesOffset + 27] = (int) (((block9 & 0x7FFFFL) << 4) | (block10 >>> 60));
+      values[valuesOffset + 28] = (int) ((block10 >>> 37) & 0x7FFFFFL);
+      values[valuesOffset + 29] = (int) ((block10 >>> 14) & 0x7FFFFFL);
+      values[valuesOffset + 30] = (int) (((block10 & 0x3FFFL) << 9) | (block11 >>> 55));
+      values[valuesOffset + 31] = (int) ((block11 >>> 32) & 0x7FFFFFL);
+      values[valuesOffset + 32] = (int) ((block11 >>> 9) & 0x7FFFFFL);
+      values[valuesOffset + 33] = (int) (((block11 & 0x1FFL) << 14) | (block12 >>> 50));
+      values[valuesOffset + 34] = (int) ((block12 >>> 27) & 0x7FFFFFL);
+      values[valuesOffset + 35] = (int) ((block12 >>> 4) & 0x7FFFFFL);
+      values[valuesOffset + 36] = (int) (((block12 & 0xFL) << 19) | (block13 >>> 45));
+      values[valuesOffset + 37] = (int) ((block13 >>> 22) & 0x7FFFFFL);
+      values[valuesOffset + 38] = (int) (((block13 & 0x3FFFFFL) << 1) | (block14 >>> 63));
+      values[valuesOffset + 39] = (int) ((block14 >>> 40) & 0x7FFFFFL);
+      values[valuesOffset + 40] = (int) ((block14 >>> 17) & 0x7FFFFFL);
+      values[valuesOffset + 41] = (int) (((block14 & 0x1FFFFL) << 6) | (block15 >>> 58));
+      values[valuesOffset + 42] = (int) ((block15 >>> 35) & 0x7FFFFFL);
+      values[valuesOffset + 43] = (int) ((block15 >>> 12) & 0x7FFFFFL);
+      values[valuesOffset + 44] = (int) (((block15 & 0xFFFL) << 11) | (block16 >>> 53));
+      values[valuesOffset + 45] = (int) ((block16 >>> 30) & 0x7FFFFFL);
+      values[valuesOffset + 46] = (int) ((block16 >>> 7) & 0x7FFFFFL);
+      values[valuesOffset + 47] = (int) (((block16 & 0x7FL) << 16) | (block17 >>> 48));
+      values[valuesOffset + 48] = (int) ((block17 >>> 25) & 0x7FFFFFL);
+      values[valuesOffset + 49] = (int) ((block17 >>> 2) & 0x7FFFFFL);
+      values[valuesOffset + 50] = (int) (((block17 & 0x3L) << 21) | (block18 >>> 43));
+      values[valuesOffset + 51] = (int) ((block18 >>> 20) & 0x7FFFFFL);
+      values[valuesOffset + 52] = (int) (((block18 & 0xFFFFFL) << 3) | (block19 >>> 61));
+      values[valuesOffset + 53] = (int) ((block19 >>> 38) & 0x7FFFFFL);
+      values[valuesOffset + 54] = (int) ((block19 >>> 15) & 0x7FFFFFL);
+      values[valuesOffset + 55] = (int) (((block19 & 0x7FFFL) << 8) | (block20 >>> 56));
+      values[valuesOffset + 56] = (int) ((block20 >>> 33) & 0x7FFFFFL);
+      values[valuesOffset + 57] = (int) ((block20 >>> 10) & 0x7FFFFFL);
+      values[valuesOffset + 58] = (int) (((block20 & 0x3FFL) << 13) | (block21 >>> 51));
+      values[valuesOffset + 59] = (int) ((block21 >>> 28) & 0x7FFFFFL);
+      values[valuesOffset + 60] = (int) ((block21 >>> 5) & 0x7FFFFFL);
+      values[valuesOffset + 61] = (int) (((block21 & 0x1FL) << 18) | (block22 >>> 46));
+      values[valuesOffset + 62] = (int) ((block22 >>> 23) & 0x7FFFFFL);
+      values[valuesOffset + 63] = (int) (block22 & 0x7FFFFFL);
+      blocksOffset += 184;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode23(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) >>> 17));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) >>> 22));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) >>> 19));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 136,
+          ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) >>> 21));
+      blocks.putLong(blocksOffset + 144,
+          ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 152,
+          ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 160,
+          ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 168,
+          ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 176,
+          ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 23)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 184;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode24(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 16; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      values[valuesOffset] = (int) (block0 >>> 40);
+      values[valuesOffset + 1] = (int) ((block0 >>> 16) & 0xFFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0xFFFFL) << 8) | (block1 >>> 56));
+      values[valuesOffset + 3] = (int) ((block1 >>> 32) & 0xFFFFFFL);
+      values[valuesOffset + 4] = (int) ((block1 >>> 8) & 0xFFFFFFL);
+      values[valuesOffset + 5] = (int) (((block1 & 0xFFL) << 16) | (block2 >>> 48));
+      values[valuesOffset + 6] = (int) ((block2 >>> 24) & 0xFFFFFFL);
+      values[valuesOffset + 7] = (int) (block2 & 0xFFFFFFL);
+      blocksOffset += 24;
+      valuesOffset += 8;
+    }
+  }
+
+  private static void encode24(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 16; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 24)
+          | (values[valuesOffset + 7] & 0xFFFFFFFFL));
+      blocksOffset += 24;
+      valuesOffset += 8;
+    }
+  }
+
+  private static void decode25(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      final long block17 = blocks.getLong(blocksOffset + 136);
+      final long block18 = blocks.getLong(blocksOffset + 144);
+      final long block19 = blocks.getLong(blocksOffset + 152);
+      final long block20 = blocks.getLong(blocksOffset + 160);
+      final long block21 = blocks.getLong(blocksOffset + 168);
+      final long block22 = blocks.getLong(blocksOffset + 176);
+      final long block23 = blocks.getLong(blocksOffset + 184);
+      final long block24 = blocks.getLong(blocksOffset + 192);
+      values[valuesOffset] = (int) (block0 >>> 39);
+      values[valuesOffset + 1] = (int) ((block0 >>> 14) & 0x1FFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0x3FFFL) << 11) | (block1 >>> 53));
+      values[valuesOffset + 3] = (int) ((block1 >>> 28) & 0x1FFFFFFL);
+      values[valuesOffset + 4] = (int) ((block1 >>> 3) & 0x1FFFFFFL);
+      values[valuesOffset + 5] = (int) (((block1 & 0x7L) << 22) | (block2 >>> 42));
+      values[valuesOffset + 6] = (int) ((block2 >>> 17) & 0x1FFFFFFL);
+      values[valuesOffset + 7] = (int) (((block2 & 0x1FFFFL) << 8) | (block3 >>> 56));
+      values[valuesOffset + 8] = (int) ((block3 >>> 31) & 0x1FFFFFFL);
+      values[valuesOffset + 9] = (int) ((block3 >>> 6) & 0x1FFFFFFL);
+      values[valuesOffset + 10] = (int) (((block3 & 0x3FL) << 19) | (block4 >>> 45));
+      values[valuesOffset + 11] = (int) ((block4 >>> 20) & 0x1FFFFFFL);
+      values[valuesOffset + 12] = (int) (((block4 & 0xFFFFFL) << 5) | (block5 >>> 59));
+      values[valuesOffset + 13] = (int) ((block5 >>> 34) & 0x1FFFFFFL);
+      values[valuesOffset + 14] = (int) ((block5 >>> 9) & 0x1FFFFFFL);
+      values[valuesOffset + 15] = (int) (((block5 & 0x1FFL) << 16) | (block6 >>> 48));
+      values[valuesOffset + 16] = (int) ((block6 >>> 23) & 0x1FFFFFFL);
+      values[valuesOffset + 17] = (int) (((block6 & 0x7FFFFFL) << 2) | (block7 >>> 62));
+      values[valuesOffset + 18] = (int) ((block7 >>> 37) & 0x1FFFFFFL);
+      values[valuesOffset + 19] = (int) ((block7 >>> 12) & 0x1FFFFFFL);
+      values[valuesOffset + 20] = (int) (((block7 & 0xFFFL) << 13) | (block8 >>> 51));
+      values[valuesOffset + 21] = (int) ((block8 >>> 26) & 0x1FFFFFFL);
+      values[valuesOffset + 22] = (int) ((block8 >>> 1) & 0x1FFFFFFL);
+      values[valuesOffset + 23] = (int) (((block8 & 0x1L) << 24) | (block9 >>> 40));
+      values[valuesOffset + 24] = (int) ((block9 >>> 15) & 0x1FFFFFFL);
+      values[valuesOffset + 25] = (int) (((block9 & 0x7FFFL) << 10) | (block10 >>> 54));
+      values[valuesOffset + 26] = (int) ((block10 >>> 29) & 0x1FFFFFFL);
+      values[valuesOffset + 27] = (int) ((block10 >>> 4) & 0x1FFFFFFL);
+      values[valuesOffset + 28] = (int) (((block10 & 0xFL) << 21) | (block11 >>> 43));
+      values[valuesOffset + 29] = (int) ((block11 >>> 18) & 0x1FFFFFFL);
+      values[valuesOffset + 30] = (int) (((block11 & 0x3FFFFL) << 7) | (block12 >>> 57));
+      values[valuesOffset + 31] = (int) ((block12 >>> 32) & 0x1FFFFFFL);
+      values[valuesOffset + 32] = (int) ((block12 >>> 7) & 0x1FFFFFFL);
+      values[valuesOffset + 33] = (int) (((block12 & 0x7FL) << 18) | (block13 >>> 46));
+      values[valuesOffset + 34] = (int) ((block13 >>> 21) & 0x1FFFFFFL);
+      values[valuesOffset + 35] = (int) (((block13 & 0x1FFFFFL) << 4) | (block14 >>> 60));
+      values[valuesOffset + 36] = (int) ((block14 >>> 35) & 0x1FFFFFFL);
+      values[valuesOffset + 37] = (int) ((block14 >>> 10) & 0x1FFFFFFL);
+      values[valuesOffset + 38] = (int) (((block14 & 0x3FFL) << 15) | (block15 >>> 49));
+      values[valuesOffset + 39] = (int) ((block15 >>> 24) & 0x1FFFFFFL);
+      values[valuesOffset + 40] = (int) (((block15 & 0xFFFFFFL) << 1) | (block16 >>> 63));
+      values[valuesOffset + 41] = (int) ((block16 >>> 38) & 0x1FFFFFFL);
+      values[valuesOffset + 42] = (int) ((block16 >>> 13) & 0x1FFFFFFL);
+      values[valuesOffset + 43] = (int) (((block16 & 0x1FFFL) << 12) | (block17 >>> 52));
+      values[valuesOffset + 44] = (int) ((block17 >>> 27) & 0x1FFFFFFL);
+      values[valuesOffset + 45] = (int) ((block17 >>> 2) & 0x1FFFFFFL);
+      values[valuesOffset + 46] = (int) (((block17 & 0x3L) << 23) | (block18 >>> 41));
+      values[valuesOffset + 47] = (int) ((block18 >>> 16) & 0x1FFFFFFL);
+      values[valuesOffset + 48] = (int) (((block18 & 0xFFFFL) << 9) | (block19 >>> 55));
+      values[valuesOffset + 49] = (int) ((block19 >>> 30) & 0x1FFFFFFL);
+      values[valuesOffset + 50] = (int) ((block19 >>> 5) & 0x1FFFFFFL);
+      values[valuesOffset + 51] = (int) (((block19 & 0x1FL) << 20) | (block20 >>> 44));
+      values[valuesOffset + 52] = (int) ((block20 >>> 19) & 0x1FFFFFFL);
+      values[valuesOffset + 53] = (int) (((block20 & 0x7FFFFL) << 6) | (block21 >>> 58));
+      values[valuesOffset + 54] = (int) ((block21 >>> 33) & 0x1FFFFFFL);
+      values[valuesOffset + 55] = (int) ((block21 >>> 8) & 0x1FFFFFFL);
+      values[valuesOffset + 56] = (int) (((block21 & 0xFFL) << 17) | (block22 >>> 47));
+      values[valuesOffset + 57] = (int) ((block22 >>> 22) & 0x1FFFFFFL);
+      values[valuesOffset + 58] = (int) (((block22 & 0x3FFFFFL) << 3) | (block23 >>> 61));
+      values[valuesOffset + 59] = (int) ((block23 >>> 36) & 0x1FFFFFFL);
+      values[valuesOffset + 60] = (int) ((block23 >>> 11) & 0x1FFFFFFL);
+      values[valuesOffset + 61] = (int) (((block23 & 0x7FFL) << 14) | (block24 >>> 50));
+      values[valuesOffset + 62] = (int) ((block24 >>> 25) & 0x1FFFFFFL);
+      values[valuesOffset + 63] = (int) (block24 & 0x1FFFFFFL);
+      blocksOffset += 200;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode25(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) >>> 22));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) >>> 19));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) >>> 24));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) >>> 21));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 136,
+          ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) >>> 23));
+      blocks.putLong(blocksOffset + 144,
+          ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 152,
+          ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 160,
+          ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 168,
+          ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) >>> 17));
+      blocks.putLong(blocksOffset + 176,
+          ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 184,
+          ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 192,
+          ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 25)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 200;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode26(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      values[valuesOffset] = (int) (block0 >>> 38);
+      values[valuesOffset + 1] = (int) ((block0 >>> 12) & 0x3FFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0xFFFL) << 14) | (block1 >>> 50));
+      values[valuesOffset + 3] = (int) ((block1 >>> 24) & 0x3FFFFFFL);
+      values[valuesOffset + 4] = (int) (((block1 & 0xFFFFFFL) << 2) | (block2 >>> 62));
+      values[valuesOffset + 5] = (int) ((block2 >>> 36) & 0x3FFFFFFL);
+      values[valuesOffset + 6] = (int) ((block2 >>> 10) & 0x3FFFFFFL);
+      values[valuesOffset + 7] = (int) (((block2 & 0x3FFL) << 16) | (block3 >>> 48));
+      values[valuesOffset + 8] = (int) ((block3 >>> 22) & 0x3FFFFFFL);
+      values[valuesOffset + 9] = (int) (((block3 & 0x3FFFFFL) << 4) | (block4 >>> 60));
+      values[valuesOffset + 10] = (int) ((block4 >>> 34) & 0x3FFFFFFL);
+      values[valuesOffset + 11] = (int) ((block4 >>> 8) & 0x3FFFFFFL);
+      values[valuesOffset + 12] = (int) (((block4 & 0xFFL) << 18) | (block5 >>> 46));
+      values[valuesOffset + 13] = (int) ((block5 >>> 20) & 0x3FFFFFFL);
+      values[valuesOffset + 14] = (int) (((block5 & 0xFFFFFL) << 6) | (block6 >>> 58));
+      values[valuesOffset + 15] = (int) ((block6 >>> 32) & 0x3FFFFFFL);
+      values[valuesOffset + 16] = (int) ((block6 >>> 6) & 0x3FFFFFFL);
+      values[valuesOffset + 17] = (int) (((block6 & 0x3FL) << 20) | (block7 >>> 44));
+      values[valuesOffset + 18] = (int) ((block7 >>> 18) & 0x3FFFFFFL);
+      values[valuesOffset + 19] = (int) (((block7 & 0x3FFFFL) << 8) | (block8 >>> 56));
+      values[valuesOffset + 20] = (int) ((block8 >>> 30) & 0x3FFFFFFL);
+      values[valuesOffset + 21] = (int) ((block8 >>> 4) & 0x3FFFFFFL);
+      values[valuesOffset + 22] = (int) (((block8 & 0xFL) << 22) | (block9 >>> 42));
+      values[valuesOffset + 23] = (int) ((block9 >>> 16) & 0x3FFFFFFL);
+      values[valuesOffset + 24] = (int) (((block9 & 0xFFFFL) << 10) | (block10 >>> 54));
+      values[valuesOffset + 25] = (int) ((block10 >>> 28) & 0x3FFFFFFL);
+      values[valuesOffset + 26] = (int) ((block10 >>> 2) & 0x3FFFFFFL);
+      values[valuesOffset + 27] = (int) (((block10 & 0x3L) << 24) | (block11 >>> 40));
+      values[valuesOffset + 28] = (int) ((block11 >>> 14) & 0x3FFFFFFL);
+      values[valuesOffset + 29] = (int) (((block11 & 0x3FFFL) << 12) | (block12 >>> 52));
+      values[valuesOffset + 30] = (int) ((block12 >>> 26) & 0x3FFFFFFL);
+      values[valuesOffset + 31] = (int) (block12 & 0x3FFFFFFL);
+      blocksOffset += 104;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode26(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) >>> 22));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) >>> 24));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 26)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 104;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode27(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      final long block17 = blocks.getLong(blocksOffset + 136);
+      final long block18 = blocks.getLong(blocksOffset + 144);
+      final long block19 = blocks.getLong(blocksOffset + 152);
+      final long block20 = blocks.getLong(blocksOffset + 160);
+      final long block21 = blocks.getLong(blocksOffset + 168);
+      final long block22 = blocks.getLong(blocksOffset + 176);
+      final long block23 = blocks.getLong(blocksOffset + 184);
+      final long block24 = blocks.getLong(blocksOffset + 192);
+      final long block25 = blocks.getLong(blocksOffset + 200);
+      final long block26 = blocks.getLong(blocksOffset + 208);
+      values[valuesOffset] = (int) (block0 >>> 37);
+      values[valuesOffset + 1] = (int) ((block0 >>> 10) & 0x7FFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0x3FFL) << 17) | (block1 >>> 47));
+      values[valuesOffset + 3] = (int) ((block1 >>> 20) & 0x7FFFFFFL);
+      values[valuesOffset + 4] = (int) (((block1 & 0xFFFFFL) << 7) | (block2 >>> 57));
+      values[valuesOffset + 5] = (int) ((block2 >>> 30) & 0x7FFFFFFL);
+      values[valuesOffset + 6] = (int) ((block2 >>> 3) & 0x7FFFFFFL);
+      values[valuesOffset + 7] = (int) (((block2 & 0x7L) << 24) | (block3 >>> 40));
+      values[valuesOffset + 8] = (int) ((block3 >>> 13) & 0x7FFFFFFL);
+      values[valuesOffset + 9] = (int) (((block3 & 0x1FFFL) << 14) | (block4 >>> 50));
+      values[valuesOffset + 10] = (int) ((block4 >>> 23) & 0x7FFFFFFL);
+      values[valuesOffset + 11] = (int) (((block4 & 0x7FFFFFL) << 4) | (block5 >>> 60));
+      values[valuesOffset + 12] = (int) ((block5 >>> 33) & 0x7FFFFFFL);
+      values[valuesOffset + 13] = (int) ((block5 >>> 6) & 0x7FFFFFFL);
+      values[valuesOffset + 14] = (int) (((block5 & 0x3FL) << 21) | (block6 >>> 43));
+      values[valuesOffset + 15] = (int) ((block6 >>> 16) & 0x7FFFFFFL);
+      values[valuesOffset + 16] = (int) (((block6 & 0xFFFFL) << 11) | (block7 >>> 53));
+      values[valuesOffset + 17] = (int) ((block7 >>> 26) & 0x7FFFFFFL);
+      values[valuesOffset + 18] = (int) (((block7 & 0x3FFFFFFL) << 1) | (block8 >>> 63));
+      values[valuesOffset + 19] = (int) ((block8 >>> 36) & 0x7FFFFFFL);
+      values[valuesOffset + 20] = (int) ((block8 >>> 9) & 0x7FFFFFFL);
+      values[valuesOffset + 21] = (int) (((block8 & 0x1FFL) << 18) | (block9 >>> 46));
+      values[valuesOffset + 22] = (int) ((block9 >>> 19) & 0x7FFFFFFL);
+      values[valuesOffset + 23] = (int) (((block9 & 0x7FFFFL) << 8) | (block10 >>> 56));
+      values[valuesOffset + 24] = (int) ((block10 >>> 29) & 0x7FFFFFFL);
+      values[valuesOffset + 25] = (int) ((block10 >>> 2) & 0x7FFFFFFL);
+      values[valuesOffset + 26] = (int) (((block10 & 0x3L) << 25) | (block11 >>> 39));
+      values[valuesOffset + 27] = (int) ((block11 >>> 12) & 0x7FFFFFFL);
+      values[valuesOffset + 28] = (int) (((block11 & 0xFFFL) << 15) | (block12 >>> 49));
+      values[valuesOffset + 29] = (int) ((block12 >>> 22) & 0x7FFFFFFL);
+      values[valuesOffset + 30] = (int) (((block12 & 0x3FFFFFL) << 5) | (block13 >>> 59));
+      values[valuesOffset + 31] = (int) ((block13 >>> 32) & 0x7FFFFFFL);
+      values[valuesOffset + 32] = (int) ((block13 >>> 5) & 0x7FFFFFFL);
+      values[valuesOffset + 33] = (int) (((block13 & 0x1FL) << 22) | (block14 >>> 42));
+      values[valuesOffset + 34] = (int) ((block14 >>> 15) & 0x7FFFFFFL);
+      values[valuesOffset + 35] = (int) (((block14 & 0x7FFFL) << 12) | (block15 >>> 52));
+      values[valuesOffset + 36] = (int) ((block15 >>> 25) & 0x7FFFFFFL);
+      values[valuesOffset + 37] = (int) (((block15 & 0x1FFFFFFL) << 2) | (block16 >>> 62));
+      values[valuesOffset + 38] = (int) ((block16 >>> 35) & 0x7FFFFFFL);
+      values[valuesOffset + 39] = (int) ((block16 >>> 8) & 0x7FFFFFFL);
+      values[valuesOffset + 40] = (int) (((block16 & 0xFFL) << 19) | (block17 >>> 45));
+      values[valuesOffset + 41] = (int) ((block17 >>> 18) & 0x7FFFFFFL);
+      values[valuesOffset + 42] = (int) (((block17 & 0x3FFFFL) << 9) | (block18 >>> 55));
+      values[valuesOffset + 43] = (int) ((block18 >>> 28) & 0x7FFFFFFL);
+      values[valuesOffset + 44] = (int) ((block18 >>> 1) & 0x7FFFFFFL);
+      values[valuesOffset + 45] = (int) (((block18 & 0x1L) << 26) | (block19 >>> 38));
+      values[valuesOffset + 46] = (int) ((block19 >>> 11) & 0x7FFFFFFL);
+      values[valuesOffset + 47] = (int) (((block19 & 0x7FFL) << 16) | (block20 >>> 48));
+      values[valuesOffset + 48] = (int) ((block20 >>> 21) & 0x7FFFFFFL);
+      values[valuesOffset + 49] = (int) (((block20 & 0x1FFFFFL) << 6) | (block21 >>> 58));
+      values[valuesOffset + 50] = (int) ((block21 >>> 31) & 0x7FFFFFFL);
+      values[valuesOffset + 51] = (int) ((block21 >>> 4) & 0x7FFFFFFL);
+      values[valuesOffset + 52] = (int) (((block21 & 0xFL) << 23) | (block22 >>> 41));
+      values[valuesOffset + 53] = (int) ((block22 >>> 14) & 0x7FFFFFFL);
+      values[valuesOffset + 54] = (int) (((block22 & 0x3FFFL) << 13) | (block23 >>> 51));
+      values[valuesOffset + 55] = (int) ((block23 >>> 24) & 0x7FFFFFFL);
+      values[valuesOffset + 56] = (int) (((block23 & 0xFFFFFFL) << 3) | (block24 >>> 61));
+      values[valuesOffset + 57] = (int) ((block24 >>> 34) & 0x7FFFFFFL);
+      values[valuesOffset + 58] = (int) ((block24 >>> 7) & 0x7FFFFFFL);
+      values[valuesOffset + 59] = (int) (((block24 & 0x7FL) << 20) | (block25 >>> 44));
+      values[valuesOffset + 60] = (int) ((block25 >>> 17) & 0x7FFFFFFL);
+      values[valuesOffset + 61] = (int) (((block25 & 0x1FFFFL) << 10) | (block26 >>> 54));
+      values[valuesOffset + 62] = (int) ((block26 >>> 27) & 0x7FFFFFFL);
+      values[valuesOffset + 63] = (int) (block26 & 0x7FFFFFFL);
+      blocksOffset += 216;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode27(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 17));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) >>> 24));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 21));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) >>> 25));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 22));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) >>> 19));
+      blocks.putLong(blocksOffset + 136,
+          ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 144,
+          ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) >>> 26));
+      blocks.putLong(blocksOffset + 152,
+          ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 160,
+          ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 168,
+          ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) >>> 23));
+      blocks.putLong(blocksOffset + 176,
+          ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 184,
+          ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 192,
+          ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 200,
+          ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 208,
+          ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 27)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 216;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode28(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      values[valuesOffset] = (int) (block0 >>> 36);
+      values[valuesOffset + 1] = (int) ((block0 >>> 8) & 0xFFFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0xFFL) << 20) | (block1 >>> 44));
+      values[valuesOffset + 3] = (int) ((block1 >>> 16) & 0xFFFFFFFL);
+      values[valuesOffset + 4] = (int) (((block1 & 0xFFFFL) << 12) | (block2 >>> 52));
+      values[valuesOffset + 5] = (int) ((block2 >>> 24) & 0xFFFFFFFL);
+      values[valuesOffset + 6] = (int) (((block2 & 0xFFFFFFL) << 4) | (block3 >>> 60));
+      values[valuesOffset + 7] = (int) ((block3 >>> 32) & 0xFFFFFFFL);
+      values[valuesOffset + 8] = (int) ((block3 >>> 4) & 0xFFFFFFFL);
+      values[valuesOffset + 9] = (int) (((block3 & 0xFL) << 24) | (block4 >>> 40));
+      values[valuesOffset + 10] = (int) ((block4 >>> 12) & 0xFFFFFFFL);
+      values[valuesOffset + 11] = (int) (((block4 & 0xFFFL) << 16) | (block5 >>> 48));
+      values[valuesOffset + 12] = (int) ((block5 >>> 20) & 0xFFFFFFFL);
+      values[valuesOffset + 13] = (int) (((block5 & 0xFFFFFL) << 8) | (block6 >>> 56));
+      values[valuesOffset + 14] = (int) ((block6 >>> 28) & 0xFFFFFFFL);
+      values[valuesOffset + 15] = (int) (block6 & 0xFFFFFFFL);
+      blocksOffset += 56;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void encode28(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 8; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) >>> 24));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 28)
+          | (values[valuesOffset + 15] & 0xFFFFFFFFL));
+      blocksOffset += 56;
+      valuesOffset += 16;
+    }
+  }
+
+  private static void decode29(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      final long block17 = blocks.getLong(blocksOffset + 136);
+      final long block18 = blocks.getLong(blocksOffset + 144);
+      final long block19 = blocks.getLong(blocksOffset + 152);
+      final long block20 = blocks.getLong(blocksOffset + 160);
+      final long block21 = blocks.getLong(blocksOffset + 168);
+      final long block22 = blocks.getLong(blocksOffset + 176);
+      final long block23 = blocks.getLong(blocksOffset + 184);
+      final long block24 = blocks.getLong(blocksOffset + 192);
+      final long block25 = blocks.getLong(blocksOffset + 200);
+      final long block26 = blocks.getLong(blocksOffset + 208);
+      final long block27 = blocks.getLong(blocksOffset + 216);
+      final long block28 = blocks.getLong(blocksOffset + 224);
+      values[valuesOffset] = (int) (block0 >>> 35);
+      values[valuesOffset + 1] = (int) ((block0 >>> 6) & 0x1FFFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0x3FL) << 23) | (block1 >>> 41));
+      values[valuesOffset + 3] = (int) ((block1 >>> 12) & 0x1FFFFFFFL);
+      values[valuesOffset + 4] = (int) (((block1 & 0xFFFL) << 17) | (block2 >>> 47));
+      values[valuesOffset + 5] = (int) ((block2 >>> 18) & 0x1FFFFFFFL);
+      values[valuesOffset + 6] = (int) (((block2 & 0x3FFFFL) << 11) | (block3 >>> 53));
+      values[valuesOffset + 7] = (int) ((block3 >>> 24) & 0x1FFFFFFFL);
+      values[valuesOffset + 8] = (int) (((block3 & 0xFFFFFFL) << 5) | (block4 >>> 59));
+      values[valuesOffset + 9] = (int) ((block4 >>> 30) & 0x1FFFFFFFL);
+      values[valuesOffset + 10] = (int) ((block4 >>> 1) & 0x1FFFFFFFL);
+      values[valuesOffset + 11] = (int) (((block4 & 0x1L) << 28) | (block5 >>> 36));
+      values[valuesOffset + 12] = (int) ((block5 >>> 7) & 0x1FFFFFFFL);
+      values[valuesOffset + 13] = (int) (((block5 & 0x7FL) << 22) | (block6 >>> 42));
+      values[valuesOffset + 14] = (int) ((block6 >>> 13) & 0x1FFFFFFFL);
+      values[valuesOffset + 15] = (int) (((block6 & 0x1FFFL) << 16) | (block7 >>> 48));
+      values[valuesOffset + 16] = (int) ((block7 >>> 19) & 0x1FFFFFFFL);
+      values[valuesOffset + 17] = (int) (((block7 & 0x7FFFFL) << 10) | (block8 >>> 54));
+      values[valuesOffset + 18] = (int) ((block8 >>> 25) & 0x1FFFFFFFL);
+      values[valuesOffset + 19] = (int) (((block8 & 0x1FFFFFFL) << 4) | (block9 >>> 60));
+      values[valuesOffset + 20] = (int) ((block9 >>> 31) & 0x1FFFFFFFL);
+      values[valuesOffset + 21] = (int) ((block9 >>> 2) & 0x1FFFFFFFL);
+      values[valuesOffset + 22] = (int) (((block9 & 0x3L) << 27) | (block10 >>> 37));
+      values[valuesOffset + 23] = (int) ((block10 >>> 8) & 0x1FFFFFFFL);
+      values[valuesOffset + 24] = (int) (((block10 & 0xFFL) << 21) | (block11 >>> 43));
+      values[valuesOffset + 25] = (int) ((block11 >>> 14) & 0x1FFFFFFFL);
+      values[valuesOffset + 26] = (int) (((block11 & 0x3FFFL) << 15) | (block12 >>> 49));
+      values[valuesOffset + 27] = (int) ((block12 >>> 20) & 0x1FFFFFFFL);
+      values[valuesOffset + 28] = (int) (((block12 & 0xFFFFFL) << 9) | (block13 >>> 55));
+      values[valuesOffset + 29] = (int) ((block13 >>> 26) & 0x1FFFFFFFL);
+      values[valuesOffset + 30] = (int) (((block13 & 0x3FFFFFFL) << 3) | (block14 >>> 61));
+      values[valuesOffset + 31] = (int) ((block14 >>> 32) & 0x1FFFFFFFL);
+      values[valuesOffset + 32] = (int) ((block14 >>> 3) & 0x1FFFFFFFL);
+      values[valuesOffset + 33] = (int) (((block14 & 0x7L) << 26) | (block15 >>> 38));
+      values[valuesOffset + 34] = (int) ((block15 >>> 9) & 0x1FFFFFFFL);
+      values[valuesOffset + 35] = (int) (((block15 & 0x1FFL) << 20) | (block16 >>> 44));
+      values[valuesOffset + 36] = (int) ((block16 >>> 15) & 0x1FFFFFFFL);
+      values[valuesOffset + 37] = (int) (((block16 & 0x7FFFL) << 14) | (block17 >>> 50));
+      values[valuesOffset + 38] = (int) ((block17 >>> 21) & 0x1FFFFFFFL);
+      values[valuesOffset + 39] = (int) (((block17 & 0x1FFFFFL) << 8) | (block18 >>> 56));
+      values[valuesOffset + 40] = (int) ((block18 >>> 27) & 0x1FFFFFFFL);
+      values[valuesOffset + 41] = (int) (((block18 & 0x7FFFFFFL) << 2) | (block19 >>> 62));
+      values[valuesOffset + 42] = (int) ((block19 >>> 33) & 0x1FFFFFFFL);
+      values[valuesOffset + 43] = (int) ((block19 >>> 4) & 0x1FFFFFFFL);
+      values[valuesOffset + 44] = (int) (((block19 & 0xFL) << 25) | (block20 >>> 39));
+      values[valuesOffset + 45] = (int) ((block20 >>> 10) & 0x1FFFFFFFL);
+      values[valuesOffset + 46] = (int) (((block20 & 0x3FFL) << 19) | (block21 >>> 45));
+      values[valuesOffset + 47] = (int) ((block21 >>> 16) & 0x1FFFFFFFL);
+      values[valuesOffset + 48] = (int) (((block21 & 0xFFFFL) << 13) | (block22 >>> 51));
+      values[valuesOffset + 49] = (int) ((block22 >>> 22) & 0x1FFFFFFFL);
+      values[valuesOffset + 50] = (int) (((block22 & 0x3FFFFFL) << 7) | (block23 >>> 57));
+      values[valuesOffset + 51] = (int) ((block23 >>> 28) & 0x1FFFFFFFL);
+      values[valuesOffset + 52] = (int) (((block23 & 0xFFFFFFFL) << 1) | (block24 >>> 63));
+      values[valuesOffset + 53] = (int) ((block24 >>> 34) & 0x1FFFFFFFL);
+      values[valuesOffset + 54] = (int) ((block24 >>> 5) & 0x1FFFFFFFL);
+      values[valuesOffset + 55] = (int) (((block24 & 0x1FL) << 24) | (block25 >>> 40));
+      values[valuesOffset + 56] = (int) ((block25 >>> 11) & 0x1FFFFFFFL);
+      values[valuesOffset + 57] = (int) (((block25 & 0x7FFL) << 18) | (block26 >>> 46));
+      values[valuesOffset + 58] = (int) ((block26 >>> 17) & 0x1FFFFFFFL);
+      values[valuesOffset + 59] = (int) (((block26 & 0x1FFFFL) << 12) | (block27 >>> 52));
+      values[valuesOffset + 60] = (int) ((block27 >>> 23) & 0x1FFFFFFFL);
+      values[valuesOffset + 61] = (int) (((block27 & 0x7FFFFFL) << 6) | (block28 >>> 58));
+      values[valuesOffset + 62] = (int) ((block28 >>> 29) & 0x1FFFFFFFL);
+      values[valuesOffset + 63] = (int) (block28 & 0x1FFFFFFFL);
+      blocksOffset += 232;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode29(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 23));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 17));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) >>> 28));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) >>> 22));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 31)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) >>> 27));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) >>> 21));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 26));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 136,
+          ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 144,
+          ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 152,
+          ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) >>> 25));
+      blocks.putLong(blocksOffset + 160,
+          ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) >>> 19));
+      blocks.putLong(blocksOffset + 168,
+          ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 176,
+          ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 184,
+          ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 192,
+          ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) >>> 24));
+      blocks.putLong(blocksOffset + 200,
+          ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 208,
+          ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 216,
+          ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 224,
+          ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 29)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 232;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode30(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      values[valuesOffset] = (int) (block0 >>> 34);
+      values[valuesOffset + 1] = (int) ((block0 >>> 4) & 0x3FFFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0xFL) << 26) | (block1 >>> 38));
+      values[valuesOffset + 3] = (int) ((block1 >>> 8) & 0x3FFFFFFFL);
+      values[valuesOffset + 4] = (int) (((block1 & 0xFFL) << 22) | (block2 >>> 42));
+      values[valuesOffset + 5] = (int) ((block2 >>> 12) & 0x3FFFFFFFL);
+      values[valuesOffset + 6] = (int) (((block2 & 0xFFFL) << 18) | (block3 >>> 46));
+      values[valuesOffset + 7] = (int) ((block3 >>> 16) & 0x3FFFFFFFL);
+      values[valuesOffset + 8] = (int) (((block3 & 0xFFFFL) << 14) | (block4 >>> 50));
+      values[valuesOffset + 9] = (int) ((block4 >>> 20) & 0x3FFFFFFFL);
+      values[valuesOffset + 10] = (int) (((block4 & 0xFFFFFL) << 10) | (block5 >>> 54));
+      values[valuesOffset + 11] = (int) ((block5 >>> 24) & 0x3FFFFFFFL);
+      values[valuesOffset + 12] = (int) (((block5 & 0xFFFFFFL) << 6) | (block6 >>> 58));
+      values[valuesOffset + 13] = (int) ((block6 >>> 28) & 0x3FFFFFFFL);
+      values[valuesOffset + 14] = (int) (((block6 & 0xFFFFFFFL) << 2) | (block7 >>> 62));
+      values[valuesOffset + 15] = (int) ((block7 >>> 32) & 0x3FFFFFFFL);
+      values[valuesOffset + 16] = (int) ((block7 >>> 2) & 0x3FFFFFFFL);
+      values[valuesOffset + 17] = (int) (((block7 & 0x3L) << 28) | (block8 >>> 36));
+      values[valuesOffset + 18] = (int) ((block8 >>> 6) & 0x3FFFFFFFL);
+      values[valuesOffset + 19] = (int) (((block8 & 0x3FL) << 24) | (block9 >>> 40));
+      values[valuesOffset + 20] = (int) ((block9 >>> 10) & 0x3FFFFFFFL);
+      values[valuesOffset + 21] = (int) (((block9 & 0x3FFL) << 20) | (block10 >>> 44));
+      values[valuesOffset + 22] = (int) ((block10 >>> 14) & 0x3FFFFFFFL);
+      values[valuesOffset + 23] = (int) (((block10 & 0x3FFFL) << 16) | (block11 >>> 48));
+      values[valuesOffset + 24] = (int) ((block11 >>> 18) & 0x3FFFFFFFL);
+      values[valuesOffset + 25] = (int) (((block11 & 0x3FFFFL) << 12) | (block12 >>> 52));
+      values[valuesOffset + 26] = (int) ((block12 >>> 22) & 0x3FFFFFFFL);
+      values[valuesOffset + 27] = (int) (((block12 & 0x3FFFFFL) << 8) | (block13 >>> 56));
+      values[valuesOffset + 28] = (int) ((block13 >>> 26) & 0x3FFFFFFFL);
+      values[valuesOffset + 29] = (int) (((block13 & 0x3FFFFFFL) << 4) | (block14 >>> 60));
+      values[valuesOffset + 30] = (int) ((block14 >>> 30) & 0x3FFFFFFFL);
+      values[valuesOffset + 31] = (int) (block14 & 0x3FFFFFFFL);
+      blocksOffset += 120;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void encode30(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 4; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 26));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 22));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) >>> 28));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) >>> 24));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 30)
+          | (values[valuesOffset + 31] & 0xFFFFFFFFL));
+      blocksOffset += 120;
+      valuesOffset += 32;
+    }
+  }
+
+  private static void decode31(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      final long block1 = blocks.getLong(blocksOffset + 8);
+      final long block2 = blocks.getLong(blocksOffset + 16);
+      final long block3 = blocks.getLong(blocksOffset + 24);
+      final long block4 = blocks.getLong(blocksOffset + 32);
+      final long block5 = blocks.getLong(blocksOffset + 40);
+      final long block6 = blocks.getLong(blocksOffset + 48);
+      final long block7 = blocks.getLong(blocksOffset + 56);
+      final long block8 = blocks.getLong(blocksOffset + 64);
+      final long block9 = blocks.getLong(blocksOffset + 72);
+      final long block10 = blocks.getLong(blocksOffset + 80);
+      final long block11 = blocks.getLong(blocksOffset + 88);
+      final long block12 = blocks.getLong(blocksOffset + 96);
+      final long block13 = blocks.getLong(blocksOffset + 104);
+      final long block14 = blocks.getLong(blocksOffset + 112);
+      final long block15 = blocks.getLong(blocksOffset + 120);
+      final long block16 = blocks.getLong(blocksOffset + 128);
+      final long block17 = blocks.getLong(blocksOffset + 136);
+      final long block18 = blocks.getLong(blocksOffset + 144);
+      final long block19 = blocks.getLong(blocksOffset + 152);
+      final long block20 = blocks.getLong(blocksOffset + 160);
+      final long block21 = blocks.getLong(blocksOffset + 168);
+      final long block22 = blocks.getLong(blocksOffset + 176);
+      final long block23 = blocks.getLong(blocksOffset + 184);
+      final long block24 = blocks.getLong(blocksOffset + 192);
+      final long block25 = blocks.getLong(blocksOffset + 200);
+      final long block26 = blocks.getLong(blocksOffset + 208);
+      final long block27 = blocks.getLong(blocksOffset + 216);
+      final long block28 = blocks.getLong(blocksOffset + 224);
+      final long block29 = blocks.getLong(blocksOffset + 232);
+      final long block30 = blocks.getLong(blocksOffset + 240);
+      values[valuesOffset] = (int) (block0 >>> 33);
+      values[valuesOffset + 1] = (int) ((block0 >>> 2) & 0x7FFFFFFFL);
+      values[valuesOffset + 2] = (int) (((block0 & 0x3L) << 29) | (block1 >>> 35));
+      values[valuesOffset + 3] = (int) ((block1 >>> 4) & 0x7FFFFFFFL);
+      values[valuesOffset + 4] = (int) (((block1 & 0xFL) << 27) | (block2 >>> 37));
+      values[valuesOffset + 5] = (int) ((block2 >>> 6) & 0x7FFFFFFFL);
+      values[valuesOffset + 6] = (int) (((block2 & 0x3FL) << 25) | (block3 >>> 39));
+      values[valuesOffset + 7] = (int) ((block3 >>> 8) & 0x7FFFFFFFL);
+      values[valuesOffset + 8] = (int) (((block3 & 0xFFL) << 23) | (block4 >>> 41));
+      values[valuesOffset + 9] = (int) ((block4 >>> 10) & 0x7FFFFFFFL);
+      values[valuesOffset + 10] = (int) (((block4 & 0x3FFL) << 21) | (block5 >>> 43));
+      values[valuesOffset + 11] = (int) ((block5 >>> 12) & 0x7FFFFFFFL);
+      values[valuesOffset + 12] = (int) (((block5 & 0xFFFL) << 19) | (block6 >>> 45));
+      values[valuesOffset + 13] = (int) ((block6 >>> 14) & 0x7FFFFFFFL);
+      values[valuesOffset + 14] = (int) (((block6 & 0x3FFFL) << 17) | (block7 >>> 47));
+      values[valuesOffset + 15] = (int) ((block7 >>> 16) & 0x7FFFFFFFL);
+      values[valuesOffset + 16] = (int) (((block7 & 0xFFFFL) << 15) | (block8 >>> 49));
+      values[valuesOffset + 17] = (int) ((block8 >>> 18) & 0x7FFFFFFFL);
+      values[valuesOffset + 18] = (int) (((block8 & 0x3FFFFL) << 13) | (block9 >>> 51));
+      values[valuesOffset + 19] = (int) ((block9 >>> 20) & 0x7FFFFFFFL);
+      values[valuesOffset + 20] = (int) (((block9 & 0xFFFFFL) << 11) | (block10 >>> 53));
+      values[valuesOffset + 21] = (int) ((block10 >>> 22) & 0x7FFFFFFFL);
+      values[valuesOffset + 22] = (int) (((block10 & 0x3FFFFFL) << 9) | (block11 >>> 55));
+      values[valuesOffset + 23] = (int) ((block11 >>> 24) & 0x7FFFFFFFL);
+      values[valuesOffset + 24] = (int) (((block11 & 0xFFFFFFL) << 7) | (block12 >>> 57));
+      values[valuesOffset + 25] = (int) ((block12 >>> 26) & 0x7FFFFFFFL);
+      values[valuesOffset + 26] = (int) (((block12 & 0x3FFFFFFL) << 5) | (block13 >>> 59));
+      values[valuesOffset + 27] = (int) ((block13 >>> 28) & 0x7FFFFFFFL);
+      values[valuesOffset + 28] = (int) (((block13 & 0xFFFFFFFL) << 3) | (block14 >>> 61));
+      values[valuesOffset + 29] = (int) ((block14 >>> 30) & 0x7FFFFFFFL);
+      values[valuesOffset + 30] = (int) (((block14 & 0x3FFFFFFFL) << 1) | (block15 >>> 63));
+      values[valuesOffset + 31] = (int) ((block15 >>> 32) & 0x7FFFFFFFL);
+      values[valuesOffset + 32] = (int) ((block15 >>> 1) & 0x7FFFFFFFL);
+      values[valuesOffset + 33] = (int) (((block15 & 0x1L) << 30) | (block16 >>> 34));
+      values[valuesOffset + 34] = (int) ((block16 >>> 3) & 0x7FFFFFFFL);
+      values[valuesOffset + 35] = (int) (((block16 & 0x7L) << 28) | (block17 >>> 36));
+      values[valuesOffset + 36] = (int) ((block17 >>> 5) & 0x7FFFFFFFL);
+      values[valuesOffset + 37] = (int) (((block17 & 0x1FL) << 26) | (block18 >>> 38));
+      values[valuesOffset + 38] = (int) ((block18 >>> 7) & 0x7FFFFFFFL);
+      values[valuesOffset + 39] = (int) (((block18 & 0x7FL) << 24) | (block19 >>> 40));
+      values[valuesOffset + 40] = (int) ((block19 >>> 9) & 0x7FFFFFFFL);
+      values[valuesOffset + 41] = (int) (((block19 & 0x1FFL) << 22) | (block20 >>> 42));
+      values[valuesOffset + 42] = (int) ((block20 >>> 11) & 0x7FFFFFFFL);
+      values[valuesOffset + 43] = (int) (((block20 & 0x7FFL) << 20) | (block21 >>> 44));
+      values[valuesOffset + 44] = (int) ((block21 >>> 13) & 0x7FFFFFFFL);
+      values[valuesOffset + 45] = (int) (((block21 & 0x1FFFL) << 18) | (block22 >>> 46));
+      values[valuesOffset + 46] = (int) ((block22 >>> 15) & 0x7FFFFFFFL);
+      values[valuesOffset + 47] = (int) (((block22 & 0x7FFFL) << 16) | (block23 >>> 48));
+      values[valuesOffset + 48] = (int) ((block23 >>> 17) & 0x7FFFFFFFL);
+      values[valuesOffset + 49] = (int) (((block23 & 0x1FFFFL) << 14) | (block24 >>> 50));
+      values[valuesOffset + 50] = (int) ((block24 >>> 19) & 0x7FFFFFFFL);
+      values[valuesOffset + 51] = (int) (((block24 & 0x7FFFFL) << 12) | (block25 >>> 52));
+      values[valuesOffset + 52] = (int) ((block25 >>> 21) & 0x7FFFFFFFL);
+      values[valuesOffset + 53] = (int) (((block25 & 0x1FFFFFL) << 10) | (block26 >>> 54));
+      values[valuesOffset + 54] = (int) ((block26 >>> 23) & 0x7FFFFFFFL);
+      values[valuesOffset + 55] = (int) (((block26 & 0x7FFFFFL) << 8) | (block27 >>> 56));
+      values[valuesOffset + 56] = (int) ((block27 >>> 25) & 0x7FFFFFFFL);
+      values[valuesOffset + 57] = (int) (((block27 & 0x1FFFFFFL) << 6) | (block28 >>> 58));
+      values[valuesOffset + 58] = (int) ((block28 >>> 27) & 0x7FFFFFFFL);
+      values[valuesOffset + 59] = (int) (((block28 & 0x7FFFFFFL) << 4) | (block29 >>> 60));
+      values[valuesOffset + 60] = (int) ((block29 >>> 29) & 0x7FFFFFFFL);
+      values[valuesOffset + 61] = (int) (((block29 & 0x1FFFFFFFL) << 2) | (block30 >>> 62));
+      values[valuesOffset + 62] = (int) ((block30 >>> 31) & 0x7FFFFFFFL);
+      values[valuesOffset + 63] = (int) (block30 & 0x7FFFFFFFL);
+      blocksOffset += 248;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void encode31(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 2; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 33)
+          | ((values[valuesOffset + 1] & 0xFFFFFFFFL) << 2)
+          | ((values[valuesOffset + 2] & 0xFFFFFFFFL) >>> 29));
+      blocks.putLong(blocksOffset + 8,
+          ((values[valuesOffset + 2] & 0xFFFFFFFFL) << 35)
+          | ((values[valuesOffset + 3] & 0xFFFFFFFFL) << 4)
+          | ((values[valuesOffset + 4] & 0xFFFFFFFFL) >>> 27));
+      blocks.putLong(blocksOffset + 16,
+          ((values[valuesOffset + 4] & 0xFFFFFFFFL) << 37)
+          | ((values[valuesOffset + 5] & 0xFFFFFFFFL) << 6)
+          | ((values[valuesOffset + 6] & 0xFFFFFFFFL) >>> 25));
+      blocks.putLong(blocksOffset + 24,
+          ((values[valuesOffset + 6] & 0xFFFFFFFFL) << 39)
+          | ((values[valuesOffset + 7] & 0xFFFFFFFFL) << 8)
+          | ((values[valuesOffset + 8] & 0xFFFFFFFFL) >>> 23));
+      blocks.putLong(blocksOffset + 32,
+          ((values[valuesOffset + 8] & 0xFFFFFFFFL) << 41)
+          | ((values[valuesOffset + 9] & 0xFFFFFFFFL) << 10)
+          | ((values[valuesOffset + 10] & 0xFFFFFFFFL) >>> 21));
+      blocks.putLong(blocksOffset + 40,
+          ((values[valuesOffset + 10] & 0xFFFFFFFFL) << 43)
+          | ((values[valuesOffset + 11] & 0xFFFFFFFFL) << 12)
+          | ((values[valuesOffset + 12] & 0xFFFFFFFFL) >>> 19));
+      blocks.putLong(blocksOffset + 48,
+          ((values[valuesOffset + 12] & 0xFFFFFFFFL) << 45)
+          | ((values[valuesOffset + 13] & 0xFFFFFFFFL) << 14)
+          | ((values[valuesOffset + 14] & 0xFFFFFFFFL) >>> 17));
+      blocks.putLong(blocksOffset + 56,
+          ((values[valuesOffset + 14] & 0xFFFFFFFFL) << 47)
+          | ((values[valuesOffset + 15] & 0xFFFFFFFFL) << 16)
+          | ((values[valuesOffset + 16] & 0xFFFFFFFFL) >>> 15));
+      blocks.putLong(blocksOffset + 64,
+          ((values[valuesOffset + 16] & 0xFFFFFFFFL) << 49)
+          | ((values[valuesOffset + 17] & 0xFFFFFFFFL) << 18)
+          | ((values[valuesOffset + 18] & 0xFFFFFFFFL) >>> 13));
+      blocks.putLong(blocksOffset + 72,
+          ((values[valuesOffset + 18] & 0xFFFFFFFFL) << 51)
+          | ((values[valuesOffset + 19] & 0xFFFFFFFFL) << 20)
+          | ((values[valuesOffset + 20] & 0xFFFFFFFFL) >>> 11));
+      blocks.putLong(blocksOffset + 80,
+          ((values[valuesOffset + 20] & 0xFFFFFFFFL) << 53)
+          | ((values[valuesOffset + 21] & 0xFFFFFFFFL) << 22)
+          | ((values[valuesOffset + 22] & 0xFFFFFFFFL) >>> 9));
+      blocks.putLong(blocksOffset + 88,
+          ((values[valuesOffset + 22] & 0xFFFFFFFFL) << 55)
+          | ((values[valuesOffset + 23] & 0xFFFFFFFFL) << 24)
+          | ((values[valuesOffset + 24] & 0xFFFFFFFFL) >>> 7));
+      blocks.putLong(blocksOffset + 96,
+          ((values[valuesOffset + 24] & 0xFFFFFFFFL) << 57)
+          | ((values[valuesOffset + 25] & 0xFFFFFFFFL) << 26)
+          | ((values[valuesOffset + 26] & 0xFFFFFFFFL) >>> 5));
+      blocks.putLong(blocksOffset + 104,
+          ((values[valuesOffset + 26] & 0xFFFFFFFFL) << 59)
+          | ((values[valuesOffset + 27] & 0xFFFFFFFFL) << 28)
+          | ((values[valuesOffset + 28] & 0xFFFFFFFFL) >>> 3));
+      blocks.putLong(blocksOffset + 112,
+          ((values[valuesOffset + 28] & 0xFFFFFFFFL) << 61)
+          | ((values[valuesOffset + 29] & 0xFFFFFFFFL) << 30)
+          | ((values[valuesOffset + 30] & 0xFFFFFFFFL) >>> 1));
+      blocks.putLong(blocksOffset + 120,
+          ((values[valuesOffset + 30] & 0xFFFFFFFFL) << 63)
+          | ((values[valuesOffset + 31] & 0xFFFFFFFFL) << 32)
+          | ((values[valuesOffset + 32] & 0xFFFFFFFFL) << 1)
+          | ((values[valuesOffset + 33] & 0xFFFFFFFFL) >>> 30));
+      blocks.putLong(blocksOffset + 128,
+          ((values[valuesOffset + 33] & 0xFFFFFFFFL) << 34)
+          | ((values[valuesOffset + 34] & 0xFFFFFFFFL) << 3)
+          | ((values[valuesOffset + 35] & 0xFFFFFFFFL) >>> 28));
+      blocks.putLong(blocksOffset + 136,
+          ((values[valuesOffset + 35] & 0xFFFFFFFFL) << 36)
+          | ((values[valuesOffset + 36] & 0xFFFFFFFFL) << 5)
+          | ((values[valuesOffset + 37] & 0xFFFFFFFFL) >>> 26));
+      blocks.putLong(blocksOffset + 144,
+          ((values[valuesOffset + 37] & 0xFFFFFFFFL) << 38)
+          | ((values[valuesOffset + 38] & 0xFFFFFFFFL) << 7)
+          | ((values[valuesOffset + 39] & 0xFFFFFFFFL) >>> 24));
+      blocks.putLong(blocksOffset + 152,
+          ((values[valuesOffset + 39] & 0xFFFFFFFFL) << 40)
+          | ((values[valuesOffset + 40] & 0xFFFFFFFFL) << 9)
+          | ((values[valuesOffset + 41] & 0xFFFFFFFFL) >>> 22));
+      blocks.putLong(blocksOffset + 160,
+          ((values[valuesOffset + 41] & 0xFFFFFFFFL) << 42)
+          | ((values[valuesOffset + 42] & 0xFFFFFFFFL) << 11)
+          | ((values[valuesOffset + 43] & 0xFFFFFFFFL) >>> 20));
+      blocks.putLong(blocksOffset + 168,
+          ((values[valuesOffset + 43] & 0xFFFFFFFFL) << 44)
+          | ((values[valuesOffset + 44] & 0xFFFFFFFFL) << 13)
+          | ((values[valuesOffset + 45] & 0xFFFFFFFFL) >>> 18));
+      blocks.putLong(blocksOffset + 176,
+          ((values[valuesOffset + 45] & 0xFFFFFFFFL) << 46)
+          | ((values[valuesOffset + 46] & 0xFFFFFFFFL) << 15)
+          | ((values[valuesOffset + 47] & 0xFFFFFFFFL) >>> 16));
+      blocks.putLong(blocksOffset + 184,
+          ((values[valuesOffset + 47] & 0xFFFFFFFFL) << 48)
+          | ((values[valuesOffset + 48] & 0xFFFFFFFFL) << 17)
+          | ((values[valuesOffset + 49] & 0xFFFFFFFFL) >>> 14));
+      blocks.putLong(blocksOffset + 192,
+          ((values[valuesOffset + 49] & 0xFFFFFFFFL) << 50)
+          | ((values[valuesOffset + 50] & 0xFFFFFFFFL) << 19)
+          | ((values[valuesOffset + 51] & 0xFFFFFFFFL) >>> 12));
+      blocks.putLong(blocksOffset + 200,
+          ((values[valuesOffset + 51] & 0xFFFFFFFFL) << 52)
+          | ((values[valuesOffset + 52] & 0xFFFFFFFFL) << 21)
+          | ((values[valuesOffset + 53] & 0xFFFFFFFFL) >>> 10));
+      blocks.putLong(blocksOffset + 208,
+          ((values[valuesOffset + 53] & 0xFFFFFFFFL) << 54)
+          | ((values[valuesOffset + 54] & 0xFFFFFFFFL) << 23)
+          | ((values[valuesOffset + 55] & 0xFFFFFFFFL) >>> 8));
+      blocks.putLong(blocksOffset + 216,
+          ((values[valuesOffset + 55] & 0xFFFFFFFFL) << 56)
+          | ((values[valuesOffset + 56] & 0xFFFFFFFFL) << 25)
+          | ((values[valuesOffset + 57] & 0xFFFFFFFFL) >>> 6));
+      blocks.putLong(blocksOffset + 224,
+          ((values[valuesOffset + 57] & 0xFFFFFFFFL) << 58)
+          | ((values[valuesOffset + 58] & 0xFFFFFFFFL) << 27)
+          | ((values[valuesOffset + 59] & 0xFFFFFFFFL) >>> 4));
+      blocks.putLong(blocksOffset + 232,
+          ((values[valuesOffset + 59] & 0xFFFFFFFFL) << 60)
+          | ((values[valuesOffset + 60] & 0xFFFFFFFFL) << 29)
+          | ((values[valuesOffset + 61] & 0xFFFFFFFFL) >>> 2));
+      blocks.putLong(blocksOffset + 240,
+          ((values[valuesOffset + 61] & 0xFFFFFFFFL) << 62)
+          | ((values[valuesOffset + 62] & 0xFFFFFFFFL) << 31)
+          | (values[valuesOffset + 63] & 0xFFFFFFFFL));
+      blocksOffset += 248;
+      valuesOffset += 64;
+    }
+  }
+
+  private static void decode32(ByteBuffer blocks, int[] values) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 64; ++i) {
+      final long block0 = blocks.getLong(blocksOffset);
+      values[valuesOffset] = (int) (block0 >>> 32);
+      values[valuesOffset + 1] = (int) (block0 & 0xFFFFFFFFL);
+      blocksOffset += 8;
+      valuesOffset += 2;
+    }
+  }
+
+  private static void encode32(int[] values, ByteBuffer blocks) {
+    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < 64; ++i) {
+      blocks.putLong(blocksOffset,
+          ((values[valuesOffset] & 0xFFFFFFFFL) << 32)
+          | (values[valuesOffset + 1] & 0xFFFFFFFFL));
+      blocksOffset += 8;
+      valuesOffset += 2;
+    }
+  }
+}
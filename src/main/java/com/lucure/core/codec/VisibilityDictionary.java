@@ -0,0 +1,103 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.security.FieldVisibility;
+import com.lucure.core.security.FieldVisibilityCache;
+import org.apache.lucene.codecs.CodecUtil;
+import org.apache.lucene.store.ChecksumIndexInput;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefHash;
+
+import java.io.IOException;
+
+/**
+ * The distinct visibility expressions (payloads) of a segment's postings,
+ * stored once in the .vis file and referenced from the postings by ordinal.
+ * <p>
+ * VisFile(.vis) --&gt; Header, Count, &lt;Length, Bytes&gt;<sup>Count</sup>,
+ * Footer. Ordinals are assigned in the order the expressions are first
+ * seen.
+ */
+final class VisibilityDictionary {
+
+    final static String VIS_CODEC = "LucurePostingsWriterVis";
+
+    private final byte[] bytes;
+    // expression of ordinal i is bytes[offsets[i]:offsets[i + 1]]
+    private final int[] offsets;
+    private final FieldVisibility[] visibilities;
+
+    private VisibilityDictionary(byte[] bytes, int[] offsets) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.visibilities = new FieldVisibility[offsets.length - 1];
+    }
+
+    static void write(IndexOutput out, BytesRefHash expressions, int version)
+      throws IOException {
+        CodecUtil.writeHeader(out, VIS_CODEC, version);
+        final BytesRef scratch = new BytesRef();
+        out.writeVInt(expressions.size());
+        for (int ord = 0; ord < expressions.size(); ord++) {
+            expressions.get(ord, scratch);
+            out.writeVInt(scratch.length);
+            out.writeBytes(scratch.bytes, scratch.offset, scratch.length);
+        }
+        CodecUtil.writeFooter(out);
+    }
+
+    static VisibilityDictionary read(ChecksumIndexInput in, int version)
+      throws IOException {
+        CodecUtil.checkHeader(in, VIS_CODEC, version, version);
+        final int count = in.readVInt();
+        final int[] offsets = new int[count + 1];
+        byte[] bytes = new byte[16];
+        int upto = 0;
+        for (int ord = 0; ord < count; ord++) {
+            final int length = in.readVInt();
+            if (upto + length > bytes.length) {
+                bytes = ArrayUtil.grow(bytes, upto + length);
+            }
+            in.readBytes(bytes, upto, length);
+            upto += length;
+            offsets[ord + 1] = upto;
+        }
+        CodecUtil.checkFooter(in);
+        return new VisibilityDictionary(bytes, offsets);
+    }
+
+    int size() {
+        return visibilities.length;
+    }
+
+    /**
+     * Points <code>ref</code> at the expression of <code>ord</code>
+     */
+    void get(int ord, BytesRef ref) {
+        ref.bytes = bytes;
+        ref.offset = offsets[ord];
+        ref.length = offsets[ord + 1] - offsets[ord];
+    }
+
+    int length(int ord) {
+        return offsets[ord + 1] - offsets[ord];
+    }
+
+    /**
+     * @return the parsed expression of <code>ord</code>, parsed through the
+     * shared {@link FieldVisibilityCache} the first time it is asked for
+     */
+    FieldVisibility visibility(int ord) {
+        FieldVisibility visibility = visibilities[ord];
+        if (visibility == null) {
+            visibility = visibilities[ord] = FieldVisibilityCache.SHARED.get(
+              bytes, offsets[ord], length(ord));
+        }
+        return visibility;
+    }
+
+    long ramBytesUsed() {
+        return bytes.length + 4L * offsets.length + 8L * visibilities.length;
+    }
+}
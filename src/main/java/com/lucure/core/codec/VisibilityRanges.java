@@ -0,0 +1,89 @@
+package com.lucure.core.codec;
+
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The contiguous doc id ranges of a segment sharing a dominant visibility,
+ * see {@link VisibilitySortingMergePolicy}. A segment sorted by dominant
+ * visibility has one range per visibility, an unsorted one up to a range
+ * per doc.
+ */
+public final class VisibilityRanges {
+
+    // starts[i] is the first doc of range i, starts[size] is maxDoc
+    private final int[] starts;
+    // dominant visibility of range i, null for none
+    private final BytesRef[] visibilities;
+    private final int size;
+
+    private VisibilityRanges(int[] starts, BytesRef[] visibilities, int size) {
+        this.starts = starts;
+        this.visibilities = visibilities;
+        this.size = size;
+    }
+
+    /**
+     * Reads the ranges of <code>reader</code> from the dominant visibilities
+     * of its docs, whatever the authorizations of the current thread
+     */
+    public static VisibilityRanges of(AtomicReader reader) throws IOException {
+        final BytesRef[] docVisibilities =
+          DominantVisibilityComparatorSource.dominantVisibilities(reader);
+        int[] starts = new int[8];
+        BytesRef[] visibilities = new BytesRef[8];
+        int size = 0;
+        for (int doc = 0; doc < docVisibilities.length; doc++) {
+            // terms are shared by their docs
+            if (doc == 0 || docVisibilities[doc] != docVisibilities[doc - 1]) {
+                if (size + 1 >= starts.length) {
+                    starts = ArrayUtil.grow(starts, size + 2);
+                    visibilities = Arrays.copyOf(visibilities, starts.length);
+                }
+                starts[size] = doc;
+                visibilities[size] = docVisibilities[doc];
+                size++;
+            }
+        }
+        starts[size] = docVisibilities.length;
+        return new VisibilityRanges(starts, visibilities, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the first doc of range <code>range</code>
+     */
+    public int start(int range) {
+        return starts[range];
+    }
+
+    /**
+     * @return the doc after the last doc of range <code>range</code>
+     */
+    public int end(int range) {
+        return starts[range + 1];
+    }
+
+    /**
+     * @return the dominant visibility of the docs of range
+     * <code>range</code>, null if they have none
+     */
+    public BytesRef visibility(int range) {
+        return visibilities[range];
+    }
+
+    /**
+     * @return the range holding <code>doc</code>
+     */
+    public int rangeOf(int doc) {
+        int range = Arrays.binarySearch(starts, 0, size, doc);
+        return range >= 0 ? range : -range - 2;
+    }
+}
@@ -0,0 +1,144 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.RestrictedField;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.FieldInfo.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.MergeTrigger;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.sorter.SortingMergePolicy;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Merge policy sorting the docs of merged segments by their dominant
+ * visibility, the visibility most of their restricted fields have.
+ * <p>
+ * Each visibility then covers a few contiguous doc id ranges per segment, see
+ * {@link VisibilityRanges}, so the postings of a term are clustered by
+ * visibility and the postings reader skips whole blocks of docs the searcher
+ * may not see from their skip data. Docs must be indexed with
+ * {@link #addDominantVisibility(Document)}. Flushed segments are not sorted,
+ * only merged ones.
+ */
+public class VisibilitySortingMergePolicy extends MergePolicy {
+
+    /**
+     * Field holding the dominant visibility of a doc, restricted by it
+     */
+    public static final String DOMINANT_VISIBILITY_FIELD = "_dominant_visibility";
+
+    /**
+     * Only for merges: searching with it would read every dominant
+     * visibility with all authorizations and return them as sort values, see
+     * {@link #isSorted(AtomicReader)} instead
+     */
+    private static final Sort SORT = new Sort(
+      new SortField(DOMINANT_VISIBILITY_FIELD,
+                    new DominantVisibilityComparatorSource()));
+
+    private static final FieldType DOMINANT_VISIBILITY_TYPE = new FieldType();
+
+    static {
+        DOMINANT_VISIBILITY_TYPE.setIndexed(true);
+        DOMINANT_VISIBILITY_TYPE.setTokenized(false);
+        DOMINANT_VISIBILITY_TYPE.setOmitNorms(true);
+        // payloads need positions
+        DOMINANT_VISIBILITY_TYPE.setIndexOptions(
+          IndexOptions.DOCS_AND_FREQS_AND_POSITIONS);
+        DOMINANT_VISIBILITY_TYPE.freeze();
+    }
+
+    private final SortingMergePolicy sortingMergePolicy;
+
+    public VisibilitySortingMergePolicy(MergePolicy in) {
+        this.sortingMergePolicy = new SortingMergePolicy(in, SORT);
+    }
+
+    /**
+     * Adds the dominant visibility of <code>document</code> to it, ties going
+     * to the visibility found first. Docs without restricted fields have none
+     * and are sorted first.
+     */
+    public static void addDominantVisibility(Document document) {
+        Map<FieldVisibility, Integer> counts = new HashMap<>();
+        FieldVisibility dominant = null;
+        int dominantCount = 0;
+        for (IndexableField field : document.getFields()) {
+            if (!(field instanceof RestrictedField)) {
+                continue;
+            }
+            FieldVisibility visibility =
+              ((RestrictedField) field).getFieldVisibility();
+            Integer count = counts.get(visibility);
+            count = count == null ? 1 : count + 1;
+            counts.put(visibility, count);
+            if (count > dominantCount) {
+                dominant = visibility;
+                dominantCount = count;
+            }
+        }
+        if (dominant != null) {
+            document.add(new RestrictedField(
+              DOMINANT_VISIBILITY_FIELD,
+              new String(dominant.getExpression(), StandardCharsets.UTF_8),
+              DOMINANT_VISIBILITY_TYPE, dominant));
+        }
+    }
+
+    /**
+     * @return true if the docs of <code>reader</code> are sorted by dominant
+     * visibility
+     */
+    public static boolean isSorted(AtomicReader reader) {
+        return SortingMergePolicy.isSorted(reader, SORT);
+    }
+
+    @Override
+    public MergeSpecification findMerges(
+      MergeTrigger mergeTrigger, SegmentInfos segmentInfos,
+      IndexWriter writer) throws IOException {
+        return sortingMergePolicy.findMerges(mergeTrigger, segmentInfos,
+                                             writer);
+    }
+
+    @Override
+    public MergeSpecification findForcedMerges(
+      SegmentInfos segmentInfos, int maxSegmentCount,
+      Map<SegmentCommitInfo, Boolean> segmentsToMerge,
+      IndexWriter writer) throws IOException {
+        return sortingMergePolicy.findForcedMerges(segmentInfos,
+                                                   maxSegmentCount,
+                                                   segmentsToMerge, writer);
+    }
+
+    @Override
+    public MergeSpecification findForcedDeletesMerges(
+      SegmentInfos segmentInfos, IndexWriter writer) throws IOException {
+        return sortingMergePolicy.findForcedDeletesMerges(segmentInfos,
+                                                          writer);
+    }
+
+    @Override
+    public boolean useCompoundFile(
+      SegmentInfos infos, SegmentCommitInfo mergedInfo,
+      IndexWriter writer) throws IOException {
+        return sortingMergePolicy.useCompoundFile(infos, mergedInfo, writer);
+    }
+
+    @Override
+    public String toString() {
+        return "VisibilitySortingMergePolicy(" + sortingMergePolicy + ")";
+    }
+}
@@ -0,0 +1,189 @@
+#! /usr/bin/env python
+
+# Licensed to the Apache Software Foundation (ASF) under one or more
+# contributor license agreements.  See the NOTICE file distributed with
+# this work for additional information regarding copyright ownership.
+# The ASF licenses this file to You under the Apache License, Version 2.0
+# (the "License"); you may not use this file except in compliance with
+# the License.  You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+
+# Generates PackedBlocks.java, run from this directory:
+#   python gen_PackedBlocks.py
+
+try:
+  from math import gcd
+except ImportError:
+  from fractions import gcd
+
+BLOCK_SIZE = 128
+MAX_BITS = 32
+
+HEADER = """package com.lucure.core.codec;
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+// This file has been automatically generated, DO NOT EDIT
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encoders and decoders of blocks of <code>BLOCK_SIZE</code> values in the
+ * {@link org.apache.lucene.util.packed.PackedInts.Format#PACKED PACKED}
+ * format, specialized and unrolled for every number of bits per value.
+ * They read and write the blocks as big endian longs through a
+ * {@link ByteBuffer}, wrapped once around its array by the caller rather
+ * than on each call, and are called through a switch rather than the
+ * {@link org.apache.lucene.util.packed.PackedInts.Decoder} of each width,
+ * see {@link ForUtil}. Generated by gen_PackedBlocks.py.
+ */
+final class PackedBlocks {
+
+  /**
+   * Number of values of a block
+   */
+  static final int BLOCK_SIZE = %d;
+
+  private PackedBlocks() {}
+
+  /**
+   * @return the number of bytes of a block of <code>bitsPerValue</code>
+   * bits per value
+   */
+  static int encodedSize(int bitsPerValue) {
+    return BLOCK_SIZE * bitsPerValue / 8;
+  }
+""" % BLOCK_SIZE
+
+
+def period(bpv):
+  """values and longs of the smallest run of values ending on a long boundary"""
+  g = gcd(bpv, 64)
+  return 64 // g, bpv // g
+
+
+def mask(bits):
+  return "0x%XL" % ((1 << bits) - 1)
+
+
+def offset(name, delta):
+  return name if delta == 0 else "%s + %d" % (name, delta)
+
+
+def decode_method(bpv):
+  values, longs = period(bpv)
+  lines = []
+  lines.append("  private static void decode%d(ByteBuffer blocks, int[] values) {" % bpv)
+  lines.append("    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < %d; ++i) {" % (BLOCK_SIZE // values))
+  for k in range(longs):
+    lines.append("      final long block%d = blocks.getLong(%s);" % (k, offset("blocksOffset", 8 * k)))
+  for j in range(values):
+    start = j * bpv
+    k, o = divmod(start, 64)
+    if o + bpv <= 64:
+      shift = 64 - o - bpv
+      if shift == 0:
+        expr = "block%d" % k if o == 0 else "(block%d & %s)" % (k, mask(bpv))
+      elif o == 0:
+        expr = "(block%d >>> %d)" % (k, shift)
+      else:
+        expr = "((block%d >>> %d) & %s)" % (k, shift, mask(bpv))
+    else:
+      high = o + bpv - 64
+      expr = "(((block%d & %s) << %d) | (block%d >>> %d))" % (k, mask(64 - o), high, k + 1, 64 - high)
+    lines.append("      values[%s] = (int) %s;" % (offset("valuesOffset", j), expr))
+  lines.append("      blocksOffset += %d;" % (8 * longs))
+  lines.append("      valuesOffset += %d;" % values)
+  lines.append("    }")
+  lines.append("  }")
+  return "\n".join(lines)
+
+
+def encode_method(bpv):
+  values, longs = period(bpv)
+  parts = [[] for _ in range(longs)]
+  for j in range(values):
+    value = "(values[%s] & 0xFFFFFFFFL)" % offset("valuesOffset", j)
+    start = j * bpv
+    k, o = divmod(start, 64)
+    if o + bpv <= 64:
+      shift = 64 - o - bpv
+      parts[k].append("(%s << %d)" % (value, shift) if shift > 0 else value)
+    else:
+      high = o + bpv - 64
+      parts[k].append("(%s >>> %d)" % (value, high))
+      parts[k + 1].append("(%s << %d)" % (value, 64 - high))
+  lines = []
+  lines.append("  private static void encode%d(int[] values, ByteBuffer blocks) {" % bpv)
+  lines.append("    for (int i = 0, blocksOffset = 0, valuesOffset = 0; i < %d; ++i) {" % (BLOCK_SIZE // values))
+  for k in range(longs):
+    lines.append("      blocks.putLong(%s,\n          %s);" % (offset("blocksOffset", 8 * k), "\n          | ".join(parts[k])))
+  lines.append("      blocksOffset += %d;" % (8 * longs))
+  lines.append("      valuesOffset += %d;" % values)
+  lines.append("    }")
+  lines.append("  }")
+  return "\n".join(lines)
+
+
+def dispatch(name, javadoc, params, args):
+  lines = []
+  lines.append("  /**")
+  for line in javadoc:
+    lines.append("   * %s" % line)
+  lines.append("   */")
+  lines.append("  static void %s(int bitsPerValue, %s) {" % (name, params))
+  lines.append("    switch (bitsPerValue) {")
+  for bpv in range(1, MAX_BITS + 1):
+    lines.append("      case %d:" % bpv)
+    lines.append("        %s%d(%s);" % (name, bpv, args))
+    lines.append("        break;")
+  lines.append("      default:")
+  lines.append("        throw new IllegalArgumentException(\"Unsupported bitsPerValue: \" + bitsPerValue);")
+  lines.append("    }")
+  lines.append("  }")
+  return "\n".join(lines)
+
+
+if __name__ == '__main__':
+  f = open('PackedBlocks.java', 'w')
+  f.write(HEADER)
+  f.write("\n")
+  f.write(dispatch("decode",
+                   ["Decodes the <code>BLOCK_SIZE</code> values of <code>blocks</code> into",
+                    "<code>values</code>, which are packed with <code>bitsPerValue</code> bits per value"],
+                   "ByteBuffer blocks, int[] values", "blocks, values"))
+  f.write("\n\n")
+  f.write(dispatch("encode",
+                   ["Encodes the first <code>BLOCK_SIZE</code> values of <code>values</code> into",
+                    "<code>blocks</code> with <code>bitsPerValue</code> bits per value"],
+                   "int[] values, ByteBuffer blocks", "values, blocks"))
+  f.write("\n")
+  for bpv in range(1, MAX_BITS + 1):
+    f.write("\n")
+    f.write(decode_method(bpv))
+    f.write("\n\n")
+    f.write(encode_method(bpv))
+    f.write("\n")
+  f.write("}\n")
+  f.close()
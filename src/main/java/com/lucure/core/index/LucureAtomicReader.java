@@ -15,6 +15,19 @@ public class LucureAtomicReader extends FilterAtomicReader {
         super(atomicReader);
     }
 
+    /**
+     * @return the reader <code>reader</code> wraps if it is a
+     * LucureAtomicReader, else <code>reader</code>. Only for data that is
+     * not filtered by authorizations, such as norms, which can then be cached
+     * on the core of the wrapped reader and shared by all searchers.
+     */
+    public static AtomicReader unwrap(AtomicReader reader) {
+        while (reader instanceof LucureAtomicReader) {
+            reader = ((LucureAtomicReader) reader).in;
+        }
+        return reader;
+    }
+
     @Override
     public void document(
       int docID, StoredFieldVisitor visitor) throws IOException {
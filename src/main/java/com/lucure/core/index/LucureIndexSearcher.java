@@ -90,7 +90,7 @@ public class LucureIndexSearcher extends IndexSearcher {
     }
 
     public Document doc(int docID, Authorizations authorizations) throws IOException {
-        threadAuthorizations.set(new AuthorizationsHolder(authorizations));
+        threadAuthorizations.set(AuthorizationsHolder.of(authorizations));
         return doc(docID, (Set<String>) null, authorizations);
     }
 
@@ -99,7 +99,7 @@ public class LucureIndexSearcher extends IndexSearcher {
      * @see IndexReader#document(int, org.apache.lucene.index.StoredFieldVisitor)
      */
     public void doc(int docID, StoredFieldVisitor fieldVisitor, Authorizations authorizations) throws IOException {
-        AuthorizationsHolder authorizationsHolder = new AuthorizationsHolder(authorizations);
+        AuthorizationsHolder authorizationsHolder = AuthorizationsHolder.of(authorizations);
         threadAuthorizations.set(authorizationsHolder);
         super.doc(docID, DelegatingRestrictedFieldVisitor.wrap(fieldVisitor));
     }
@@ -109,7 +109,7 @@ public class LucureIndexSearcher extends IndexSearcher {
      * @see IndexReader#document(int, java.util.Set)
      */
     public Document doc(int docID, Set<String> fieldsToLoad, Authorizations authorizations) throws IOException {
-        AuthorizationsHolder authorizationsHolder = new AuthorizationsHolder(authorizations);
+        AuthorizationsHolder authorizationsHolder = AuthorizationsHolder.of(authorizations);
         threadAuthorizations.set(authorizationsHolder);
         RestrictedDocumentStoredFieldVisitor documentStoredFieldVisitor =
           new RestrictedDocumentStoredFieldVisitor(fieldsToLoad);
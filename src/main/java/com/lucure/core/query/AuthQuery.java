@@ -1,6 +1,7 @@
 package com.lucure.core.query;
 
 import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.index.LucureAtomicReader;
 import com.lucure.core.security.Authorizations;
 import org.apache.lucene.index.AtomicReaderContext;
 import org.apache.lucene.index.IndexReader;
@@ -20,7 +21,8 @@ public class AuthQuery extends Query {
 
     public static AuthQuery wrap(Query query, Authorizations authorizations) {
         return query instanceof AuthQuery ?
-               new AuthQuery(((AuthQuery) query).getInnerQuery(), authorizations) :
+               new AuthQuery(((AuthQuery) query).getInnerQuery(), authorizations,
+                             ((AuthQuery) query).getTermDocsCache()) :
                new AuthQuery(query, authorizations);
     }
 
@@ -89,6 +91,66 @@ public class AuthQuery extends Query {
         }
     }
 
+    /**
+     * Docs of a term visible with the authorizations, as kept by an
+     * {@link AuthorizedTermDocsCache}
+     */
+    private static class CachedTermFilter extends Filter {
+
+        private final Term term;
+        private final AuthorizedTermDocsCache termDocsCache;
+        private final AuthorizationsHolder authorizationsHolder;
+
+        private CachedTermFilter(
+          Term term, AuthorizedTermDocsCache termDocsCache,
+          AuthorizationsHolder authorizationsHolder) {
+            this.term = term;
+            this.termDocsCache = termDocsCache;
+            this.authorizationsHolder = authorizationsHolder;
+        }
+
+        @Override
+        public DocIdSet getDocIdSet(
+          AtomicReaderContext context, Bits acceptDocs) throws IOException {
+            // a LucureAtomicReader reads the postings of the segment it wraps
+            final Object coreKey = LucureAtomicReader.unwrap(context.reader())
+                                                     .getCoreCacheKey();
+            return BitsFilteredDocIdSet.wrap(
+              termDocsCache.get(context.reader(), coreKey, term,
+                                authorizationsHolder),
+              acceptDocs);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CachedTermFilter)) {
+                return false;
+            }
+
+            CachedTermFilter that = (CachedTermFilter) o;
+
+            return term.equals(that.term) &&
+                   termDocsCache == that.termDocsCache &&
+                   authorizationsHolder.equals(that.authorizationsHolder);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = term.hashCode();
+            result = 31 * result + System.identityHashCode(termDocsCache);
+            result = 31 * result + authorizationsHolder.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return term.toString();
+        }
+    }
+
     private static class AuthScorer extends Scorer {
 
         private final Scorer scorer;
@@ -175,10 +237,24 @@ public class AuthQuery extends Query {
 
     private final Query query;
     private final AuthorizationsHolder authorizationsHolder;
+    private final AuthorizedTermDocsCache termDocsCache;
 
     public AuthQuery(Query query, Authorizations authorizations) {
+        this(query, authorizations, null);
+    }
+
+    /**
+     * Constant score queries of a single term, a {@link TermQuery} or a
+     * {@link QueryWrapperFilter} of one, on their own or as clauses of
+     * boolean queries, read their docs from <code>termDocsCache</code>, if
+     * not null, rather than from the postings
+     */
+    public AuthQuery(
+      Query query, Authorizations authorizations,
+      AuthorizedTermDocsCache termDocsCache) {
         this.query = query;
-        this.authorizationsHolder = new AuthorizationsHolder(authorizations);
+        this.authorizationsHolder = AuthorizationsHolder.of(authorizations);
+        this.termDocsCache = termDocsCache;
     }
 
     @Override
@@ -203,7 +279,53 @@ public class AuthQuery extends Query {
 
     @Override
     public Weight createWeight(IndexSearcher searcher) throws IOException {
-        return new AuthWeight(query.createWeight(searcher), this, authorizationsHolder);
+        Query weighted = termDocsCache != null ? withCachedTerms(query) : query;
+        return new AuthWeight(weighted.createWeight(searcher), this, authorizationsHolder);
+    }
+
+    /**
+     * @return <code>query</code> with its constant score term queries
+     * replaced by {@link CachedTermFilter}s, scoring the same
+     */
+    private Query withCachedTerms(Query query) {
+        if (query instanceof ConstantScoreQuery) {
+            final Term term = constantScoreTerm((ConstantScoreQuery) query);
+            if (term == null) {
+                return query;
+            }
+            final Query cached = new ConstantScoreQuery(new CachedTermFilter(
+              term, termDocsCache, authorizationsHolder));
+            cached.setBoost(query.getBoost());
+            return cached;
+        }
+        if (query instanceof BooleanQuery) {
+            final BooleanQuery booleanQuery = (BooleanQuery) query;
+            final BooleanQuery cached = new BooleanQuery(booleanQuery.isCoordDisabled());
+            cached.setMinimumNumberShouldMatch(booleanQuery.getMinimumNumberShouldMatch());
+            cached.setBoost(booleanQuery.getBoost());
+            boolean changed = false;
+            for (BooleanClause clause : booleanQuery.clauses()) {
+                final Query clauseQuery = withCachedTerms(clause.getQuery());
+                changed |= clauseQuery != clause.getQuery();
+                cached.add(clauseQuery, clause.getOccur());
+            }
+            return changed ? cached : query;
+        }
+        return query;
+    }
+
+    /**
+     * @return the term of a constant score query of a single term, or null
+     */
+    private static Term constantScoreTerm(ConstantScoreQuery query) {
+        if (query.getQuery() instanceof TermQuery) {
+            return ((TermQuery) query.getQuery()).getTerm();
+        }
+        if (query.getFilter() instanceof QueryWrapperFilter &&
+            ((QueryWrapperFilter) query.getFilter()).getQuery() instanceof TermQuery) {
+            return ((TermQuery) ((QueryWrapperFilter) query.getFilter()).getQuery()).getTerm();
+        }
+        return null;
     }
 
     @Override
@@ -211,7 +333,8 @@ public class AuthQuery extends Query {
       IndexReader reader) throws IOException {
         Query rewrite = query.rewrite(reader);
         if(!query.equals(rewrite)) {
-            return new AuthQuery(rewrite, authorizationsHolder.getAuthorizations());
+            return new AuthQuery(rewrite, authorizationsHolder.getAuthorizations(),
+                                 termDocsCache);
         }
         return this;
     }
@@ -224,13 +347,18 @@ public class AuthQuery extends Query {
     @Override
     public Query clone() {
         return new AuthQuery(query.clone(), new Authorizations(
-          authorizationsHolder.getAuthorizations().getAuthorizations()));
+          authorizationsHolder.getAuthorizations().getAuthorizations()),
+                             termDocsCache);
     }
 
     public Query getInnerQuery() {
         return query;
     }
 
+    public AuthorizedTermDocsCache getTermDocsCache() {
+        return termDocsCache;
+    }
+
     public Authorizations getAuthorizations() {
         return authorizationsHolder.getAuthorizations();
     }
@@ -0,0 +1,223 @@
+package com.lucure.core.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.lucure.core.AuthorizationsHolder;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.DocsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.PForDeltaDocIdSet;
+import org.apache.lucene.util.WAH8DocIdSet;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bounded, concurrent cache of the docs of a segment matching a term with
+ * the visibilities an authorization set is allowed to see.
+ * <p>
+ * The same restricted term filters are run again and again by each group of
+ * users, so the docs they match in a segment are kept, per term and set of
+ * authorizations, as a compressed doc id set and read back without going
+ * through the postings and their visibilities at all. Sparse sets are held
+ * as a {@link PForDeltaDocIdSet}, dense ones as a {@link WAH8DocIdSet}.
+ * Deleted docs are not removed from the sets, they are filtered out when
+ * the sets are read, so a set stays valid for every reader of its segment's
+ * core. Entries are weighed by their memory and evicted, least recently
+ * used first, once the byte budget is exceeded, or when the core of their
+ * segment is closed.
+ *
+ * @see AuthQuery#AuthQuery(org.apache.lucene.search.Query,
+ * com.lucure.core.security.Authorizations, AuthorizedTermDocsCache)
+ */
+public final class AuthorizedTermDocsCache {
+
+    /**
+     * Default byte budget of a cache
+     */
+    public static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+    // estimated bytes of an entry besides its doc id set
+    private static final int ENTRY_BYTES = 128;
+
+    private final Cache<Key, DocIdSet> cache;
+    // cores whose closing evicts their entries
+    private final Set<Object> listenedCores = Collections.newSetFromMap(
+      new ConcurrentHashMap<Object, Boolean>());
+
+    public AuthorizedTermDocsCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public AuthorizedTermDocsCache(long maxBytes) {
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumWeight(maxBytes)
+                                 .weigher(new Weigher<Key, DocIdSet>() {
+                                     @Override
+                                     public int weigh(Key key, DocIdSet docs) {
+                                         return (int) Math.min(
+                                           Integer.MAX_VALUE,
+                                           ENTRY_BYTES + key.term.bytes().length +
+                                           docs.ramBytesUsed());
+                                     }
+                                 })
+                                 .recordStats()
+                                 .build();
+    }
+
+    /**
+     * Returns the docs of <code>reader</code>, deleted or not, holding
+     * <code>term</code> with a visibility allowed by
+     * <code>authorizationsHolder</code>, reading them from the postings the
+     * first time the term and authorizations are asked for.
+     *
+     * @param coreKey the core key of the segment whose postings
+     * <code>reader</code> reads unchanged, the entries are kept per core so
+     * that they are shared by the readers wrapping the segment, and dropped
+     * when <code>reader</code> is told the core is closed
+     */
+    DocIdSet get(final AtomicReader reader, final Object coreKey,
+                 final Term term,
+                 final AuthorizationsHolder authorizationsHolder)
+      throws IOException {
+        if (listenedCores.add(coreKey)) {
+            reader.addCoreClosedListener(new AtomicReader.CoreClosedListener() {
+                @Override
+                public void onClose(Object ownerCoreCacheKey) {
+                    listenedCores.remove(coreKey);
+                    evict(coreKey);
+                }
+            });
+        }
+        try {
+            return cache.get(
+              new Key(coreKey, term, authorizationsHolder.getVisibilityEvaluator()
+                                                         .getAuthorizationsKey()),
+              new Callable<DocIdSet>() {
+                  @Override
+                  public DocIdSet call() throws IOException {
+                      return load(reader, term, authorizationsHolder);
+                  }
+              });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IOException("Exception occurred loading the docs of " +
+                                  term, e.getCause());
+        }
+    }
+
+    private static DocIdSet load(
+      AtomicReader reader, Term term,
+      AuthorizationsHolder authorizationsHolder) throws IOException {
+        final Terms terms = reader.terms(term.field());
+        if (terms == null) {
+            return DocIdSet.EMPTY;
+        }
+        final TermsEnum termsEnum = terms.iterator(null);
+        if (!termsEnum.seekExact(term.bytes())) {
+            return DocIdSet.EMPTY;
+        }
+        final AuthorizationsHolder previous =
+          AuthorizationsHolder.threadAuthorizations.get();
+        AuthorizationsHolder.threadAuthorizations.set(authorizationsHolder);
+        int[] docs = new int[16];
+        int count = 0;
+        try {
+            final DocsEnum docsEnum = termsEnum.docs(null, null,
+                                                     DocsEnum.FLAG_NONE);
+            int doc;
+            while ((doc = docsEnum.nextDoc()) != DocIdSetIterator.NO_MORE_DOCS) {
+                docs = ArrayUtil.grow(docs, count + 1);
+                docs[count++] = doc;
+            }
+        } finally {
+            AuthorizationsHolder.threadAuthorizations.set(previous);
+        }
+        if (count == 0) {
+            return DocIdSet.EMPTY;
+        }
+        // PForDelta takes a few bits per doc, WAH8 a bit or less
+        if (count <= reader.maxDoc() >>> 5) {
+            final PForDeltaDocIdSet.Builder builder = new PForDeltaDocIdSet.Builder();
+            for (int i = 0; i < count; i++) {
+                builder.add(docs[i]);
+            }
+            return builder.build();
+        }
+        final WAH8DocIdSet.Builder builder = new WAH8DocIdSet.Builder();
+        for (int i = 0; i < count; i++) {
+            builder.add(docs[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Drops every entry of the segment core of <code>coreKey</code>
+     */
+    void evict(Object coreKey) {
+        Iterator<Key> keys = cache.asMap().keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().coreKey == coreKey) {
+                keys.remove();
+            }
+        }
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Cores are compared by identity, authorizations by the key of their
+     * evaluator so that equal sets of authorizations share their entries
+     */
+    private static final class Key {
+        final Object coreKey;
+        final Term term;
+        final Object authorizations;
+        final int hash;
+
+        Key(Object coreKey, Term term, Object authorizations) {
+            this.coreKey = coreKey;
+            this.term = term;
+            this.authorizations = authorizations;
+            this.hash = 31 * (31 * System.identityHashCode(coreKey) +
+                              term.hashCode()) + authorizations.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return coreKey == other.coreKey && term.equals(other.term) &&
+                   authorizations.equals(other.authorizations);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.lucure.core.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process wide dictionary that interns authorization tokens to dense int ids.
+ * <p>
+ * Ids are handed out in increasing order starting at 0 and are never reused,
+ * so they can be used as bit indexes (see {@link Authorizations#getBits()}).
+ * Only the tokens of authorization sets are interned: the terms of visibility
+ * expressions are {@link #lookup(byte[], int, int) looked up}, a term no
+ * authorization set holds can never be satisfied and needs no id. The
+ * dictionary never shrinks, so it grows with the number of distinct
+ * authorizations of the process, not with the number of distinct
+ * visibilities indexed, and so does the bit set of an authorization set,
+ * which is sized by its largest id.
+ */
+public final class AuthorizationDictionary {
+
+    /**
+     * Id returned by {@link #lookup(byte[], int, int)} for unknown tokens
+     */
+    public static final int NO_ID = -1;
+
+    private static final ConcurrentMap<ByteSequence, Integer> ids =
+      new ConcurrentHashMap<ByteSequence, Integer>();
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private AuthorizationDictionary() {
+    }
+
+    /**
+     * Returns the id of the token <code>bytes[offset:offset+length]</code>,
+     * assigning a new one if the token has never been seen. The given bytes
+     * are copied if a new id is assigned.
+     */
+    public static int intern(byte[] bytes, int offset, int length) {
+        Integer id = ids.get(new ArrayByteSequence(bytes, offset, length));
+        if (id != null) {
+            return id;
+        }
+
+        byte[] token = new byte[length];
+        System.arraycopy(bytes, offset, token, 0, length);
+        synchronized (ids) {
+            ArrayByteSequence key = new ArrayByteSequence(token);
+            id = ids.get(key);
+            if (id == null) {
+                // the size is published after the token, so that a token is
+                // found by anyone who has seen the size it brought
+                id = nextId.get();
+                ids.put(key, id);
+                nextId.set(id + 1);
+            }
+        }
+        return id;
+    }
+
+    public static int intern(byte[] token) {
+        return intern(token, 0, token.length);
+    }
+
+    /**
+     * @return the id of the token or {@link #NO_ID} if it has never been
+     * interned
+     */
+    public static int lookup(byte[] bytes, int offset, int length) {
+        Integer id = ids.get(new ArrayByteSequence(bytes, offset, length));
+        return id == null ? NO_ID : id;
+    }
+
+    /**
+     * @return number of ids handed out so far, which only changes when a new
+     * token is interned
+     */
+    public static int size() {
+        return nextId.get();
+    }
+}
@@ -34,6 +34,8 @@ public class Authorizations implements Iterable<byte[]>, Serializable, Authoriza
 
   private Set<ByteSequence> auths = new HashSet<ByteSequence>();
   private List<byte[]> authsList = new ArrayList<byte[]>(); // sorted order
+  private transient volatile long[] bits; // AuthorizationDictionary ids, built lazily
+  private transient volatile AuthorizationsMatcher matcher; // built lazily
 
   /**
    * An empty set of authorizations.
@@ -248,7 +250,7 @@ public class Authorizations implements Iterable<byte[]>, Serializable, Authoriza
    * @return true if authorization is in this collection
    */
   public boolean contains(byte[] auth) {
-    return auths.contains(new ArrayByteSequence(auth));
+    return getMatcher().contains(auth);
   }
 
   /**
@@ -260,7 +262,27 @@ public class Authorizations implements Iterable<byte[]>, Serializable, Authoriza
    */
   @Override
   public boolean contains(ByteSequence auth) {
-    return auths.contains(auth);
+    return getMatcher().contains(auth);
+  }
+  
+  /**
+   * Checks whether this object contains the authorization found in <code>bytes[offset:offset+length]</code>.
+   * 
+   * @return true if authorization is in this collection
+   */
+  public boolean contains(byte[] bytes, int offset, int length) {
+    return getMatcher().contains(bytes, offset, length);
+  }
+  
+  /**
+   * Gets the immutable matcher answering {@link #contains(byte[], int, int)}, built the first time this is called.
+   */
+  public AuthorizationsMatcher getMatcher() {
+    AuthorizationsMatcher m = matcher;
+    if (m == null) {
+      m = matcher = new AuthorizationsMatcher(authsList);
+    }
+    return m;
   }
 
   /**
@@ -271,7 +293,43 @@ public class Authorizations implements Iterable<byte[]>, Serializable, Authoriza
    * @return true if authorization is in this collection
    */
   public boolean contains(String auth) {
-    return auths.contains(new ArrayByteSequence(auth));
+    return getMatcher().contains(auth.getBytes(UTF8));
+  }
+
+  /**
+   * Gets the authorizations as a bit set over their {@link AuthorizationDictionary} ids. The returned array must not be modified. Expression terms are
+   * resolved from their escaped bytes, so only the bits of authorizations escaped by {@link VisibilityEvaluator} can be evaluated against.
+   * 
+   * @return bit set where bit <code>id</code> is set if the authorization interned to <code>id</code> is in this collection
+   */
+  long[] getBits() {
+    long[] b = bits;
+    if (b == null) {
+      int[] ids = new int[authsList.size()];
+      int maxId = -1;
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = AuthorizationDictionary.intern(authsList.get(i));
+        maxId = Math.max(maxId, ids[i]);
+      }
+      b = new long[(maxId >> 6) + 1];
+      for (int id : ids)
+        b[id >> 6] |= 1L << id;
+      bits = b;
+    }
+    return b;
+  }
+
+  /**
+   * Checks whether this object contains the authorization with the given {@link AuthorizationDictionary} id.
+   * 
+   * @param id
+   *          id of an authorization interned in the {@link AuthorizationDictionary}
+   * @return true if authorization is in this collection
+   */
+  boolean containsId(int id) {
+    final long[] b = getBits();
+    final int word = id >> 6;
+    return id >= 0 && word < b.length && (b[word] & (1L << id)) != 0;
   }
 
   @Override
@@ -0,0 +1,88 @@
+package com.lucure.core.security;
+
+import java.util.Collection;
+
+/**
+ * Immutable matcher over a set of authorizations, answering membership
+ * straight from a slice of a buffer.
+ * <p>
+ * The authorizations are held in an open addressing table sized to at most
+ * half full, along with their hashes. A lookup hashes the slice in place,
+ * and only compares bytes, with {@link FastByteComparisons}, against
+ * entries of the same hash and length. Nothing is allocated and no
+ * {@link ByteSequence} is built per lookup.
+ */
+public final class AuthorizationsMatcher {
+
+    private final byte[][] table;
+    private final int[] hashes;
+    private final int mask;
+    private final int size;
+
+    public AuthorizationsMatcher(Collection<byte[]> authorizations) {
+        int capacity = Integer.highestOneBit(
+          Math.max(1, authorizations.size()) * 2) * 2;
+        this.table = new byte[capacity][];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+
+        int size = 0;
+        for (byte[] auth : authorizations) {
+            if (auth.length == 0 || contains(auth)) {
+                continue;
+            }
+            final int hash = hash(auth, 0, auth.length);
+            int slot = hash & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = auth;
+            hashes[slot] = hash;
+            size++;
+        }
+        this.size = size;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return true if <code>bytes[offset:offset+length]</code> is one of the
+     * authorizations
+     */
+    public boolean contains(byte[] bytes, int offset, int length) {
+        final int hash = hash(bytes, offset, length);
+        int slot = hash & mask;
+        byte[] auth;
+        while ((auth = table[slot]) != null) {
+            if (hashes[slot] == hash && auth.length == length &&
+                FastByteComparisons.compareTo(auth, 0, length, bytes, offset,
+                                              length) == 0) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean contains(byte[] auth) {
+        return contains(auth, 0, auth.length);
+    }
+
+    public boolean contains(ByteSequence auth) {
+        if (auth.isBackedByArray()) {
+            return contains(auth.getBackingArray(), auth.offset(),
+                            auth.length());
+        }
+        return contains(auth.toArray());
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -27,6 +27,9 @@ public class FieldVisibility {
   
   Node node = null;
   private byte[] expression;
+  private int hash;
+  // swapped when recompiled, published to the threads evaluating it
+  private volatile VisibilityProgram program;
   
   /**
    * Accessor for the underlying byte string.
@@ -52,6 +55,7 @@ public class FieldVisibility {
     int start = 0;
     int end = 0;
     List<Node> children = EMPTY;
+    int termId = AuthorizationDictionary.NO_ID;
     
     public Node(NodeType type) {
       this.type = type;
@@ -99,6 +103,27 @@ public class FieldVisibility {
       }
       return new ArrayByteSequence(expression, start, end - start);
     }
+    
+    /**
+     * Gets the {@link AuthorizationDictionary} id of this term, or {@link AuthorizationDictionary#NO_ID} if no authorization set has interned it yet. The
+     * term itself is never interned and only a found id is remembered.
+     */
+    public int getTermId(byte expression[]) {
+      int id = termId;
+      if (id == AuthorizationDictionary.NO_ID) {
+        if (type != NodeType.TERM)
+          throw new RuntimeException();
+        
+        if (expression[start] == '"') {
+          // its a quoted term
+          id = AuthorizationDictionary.lookup(expression, start + 1, end - start - 2);
+        } else {
+          id = AuthorizationDictionary.lookup(expression, start, end - start);
+        }
+        termId = id;
+      }
+      return id;
+    }
   }
   
   public static class NodeComparator implements Comparator<Node>, Serializable {
@@ -196,18 +221,112 @@ public class FieldVisibility {
     }
   }
   
+  /*
+   * Deep copies an expression's AST, so it can be normalized without touching a tree that may be shared between threads.
+   */
+  private static Node copy(Node root) {
+    Node copy = new Node(root.type);
+    copy.start = root.start;
+    copy.end = root.end;
+    for (Node c : root.children)
+      copy.add(copy(c));
+    return copy;
+  }
+  
   /**
    * Generates a byte[] that represents a normalized, but logically equivalent, form of the supplied expression.
    * 
    * @return normalized expression in byte[] form
    */
   public byte[] flatten() {
-    Node normRoot = normalize(node, expression);
+    Node normRoot = normalize(copy(node), expression);
     StringBuilder builder = new StringBuilder(expression.length);
     stringify(normRoot, expression, builder);
     return builder.toString().getBytes(Constants.UTF8);
   }
   
+  /*
+   * Removes the children of an AND or OR node that are absorbed by a sibling, on an already normalized tree. In an OR a child is absorbed by a sibling whose
+   * terms are a strict subset of its own AND terms (`a|(a&b)` becomes `a`), in an AND a child is absorbed by a sibling whose terms are a strict subset of its
+   * own OR terms (`a&(a|b)` becomes `a`).
+   */
+  private static Node absorb(Node root, NodeComparator comparator) {
+    if (root.type == NodeType.TERM)
+      return root;
+    for (int i = 0; i < root.children.size(); i++)
+      root.children.set(i, absorb(root.children.get(i), comparator));
+    
+    NodeType inner = root.type == NodeType.OR ? NodeType.AND : NodeType.OR;
+    List<Node> kept = new ArrayList<Node>(root.children.size());
+    for (Node c : root.children) {
+      boolean absorbed = false;
+      for (Node other : root.children) {
+        if (other != c && isStrictSubset(operands(other, inner), operands(c, inner), comparator)) {
+          absorbed = true;
+          break;
+        }
+      }
+      if (!absorbed)
+        kept.add(c);
+    }
+    if (kept.size() == 1)
+      return kept.get(0);
+    root.children.clear();
+    root.children.addAll(kept);
+    return root;
+  }
+  
+  private static List<Node> operands(Node node, NodeType type) {
+    return node.type == type ? node.children : Collections.singletonList(node);
+  }
+  
+  private static boolean isStrictSubset(List<Node> a, List<Node> b, NodeComparator comparator) {
+    if (a.size() >= b.size())
+      return false;
+    for (Node x : a) {
+      boolean found = false;
+      for (Node y : b) {
+        if (comparator.compare(x, y) == 0) {
+          found = true;
+          break;
+        }
+      }
+      if (!found)
+        return false;
+    }
+    return true;
+  }
+  
+  private static int countNodes(Node root) {
+    int count = 1;
+    for (Node c : root.children)
+      count += countNodes(c);
+    return count;
+  }
+  
+  /**
+   * Returns the canonical form of this visibility: flattened, sorted and deduplicated like {@link #flatten()}, with absorbed sub expressions removed
+   * (`a|(a&b)` becomes `a`). Logically equivalent expressions written differently, such as `a&b`, `b&a` and `(a)&b`, share the same canonical form.
+   * 
+   * @return this if the expression is already canonical
+   */
+  public FieldVisibility canonicalize() {
+    if (expression.length == 0)
+      return this;
+    NodeComparator comparator = new NodeComparator(expression);
+    Node root = normalize(copy(node), expression, comparator);
+    int nodes;
+    do {
+      nodes = countNodes(root);
+      root = normalize(absorb(root, comparator), expression, comparator);
+    } while (countNodes(root) < nodes);
+    
+    StringBuilder builder = new StringBuilder(expression.length);
+    stringify(root, expression, builder);
+    byte[] canonical = builder.toString().getBytes(Constants.UTF8);
+    return Arrays.equals(canonical, expression) ? this : new FieldVisibility(canonical);
+  }
+  
   private static class ColumnVisibilityParser {
     private int index = 0;
     private int parens = 0;
@@ -440,13 +559,31 @@ public class FieldVisibility {
   
   @Override
   public int hashCode() {
-    return Arrays.hashCode(expression);
+    int h = hash;
+    if (h == 0) {
+      h = hash = Arrays.hashCode(expression);
+    }
+    return h;
   }
   
   public Node getParseTree() {
     return node;
   }
   
+  /**
+   * Gets the {@link VisibilityProgram} of this visibility, compiling it the first time this is called, or again once a term it could not resolve may
+   * have been interned, and reordering it once it has been profiled.
+   */
+  public VisibilityProgram getProgram() throws VisibilityParseException {
+    VisibilityProgram p = program;
+    if (p == null || p.isStale()) {
+      p = program = VisibilityProgram.compile(expression, node);
+    } else if (p.isProfiled()) {
+      p = program = p.reorder();
+    }
+    return p;
+  }
+  
   /**
    * Use to properly quote terms in a column visibility expression. If no quoting is needed, then nothing is done.
    * 
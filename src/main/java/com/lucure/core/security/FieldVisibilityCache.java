@@ -0,0 +1,113 @@
+package com.lucure.core.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Bounded, concurrent cache of parsed {@link FieldVisibility} expressions,
+ * keyed by the expression bytes.
+ * <p>
+ * An index usually holds a small number of distinct visibilities repeated
+ * over a very large number of postings and stored fields, so the parse
+ * results are shared here instead of parsing the same bytes for every
+ * candidate document. Lookups are done against a slice of a buffer and only
+ * copy the bytes when the expression is not cached yet.
+ */
+public final class FieldVisibilityCache {
+
+    /**
+     * Default maximum number of distinct expressions held by a cache
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    /**
+     * Cache shared by the postings and stored fields readers
+     */
+    public static final FieldVisibilityCache SHARED = new FieldVisibilityCache(
+      DEFAULT_MAX_SIZE);
+
+    private static final FieldVisibility EMPTY_VISIBILITY = new FieldVisibility();
+
+    private final Cache<ByteSequence, FieldVisibility> cache;
+    private final Cache<FieldVisibility, FieldVisibility> canonicalForms;
+
+    public FieldVisibilityCache(long maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(maxSize)
+                                 .recordStats()
+                                 .build();
+        this.canonicalForms = CacheBuilder.newBuilder()
+                                          .maximumSize(maxSize)
+                                          .build();
+    }
+
+    /**
+     * @see #get(byte[], int, int)
+     */
+    public FieldVisibility get(byte[] expression) {
+        return get(expression, 0, expression.length);
+    }
+
+    /**
+     * Returns the parsed visibility for the expression found in
+     * <code>bytes[offset:offset+length]</code>. The given bytes are never
+     * retained, they are copied if the expression has to be parsed.
+     *
+     * @throws BadArgumentException if the expression is not a valid visibility
+     */
+    public FieldVisibility get(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return EMPTY_VISIBILITY;
+        }
+
+        FieldVisibility fieldVisibility = cache.getIfPresent(
+          new ArrayByteSequence(bytes, offset, length));
+        if (fieldVisibility == null) {
+            byte[] expression = new byte[length];
+            System.arraycopy(bytes, offset, expression, 0, length);
+            fieldVisibility = new FieldVisibility(expression);
+            cache.put(new ArrayByteSequence(expression), fieldVisibility);
+        }
+        return fieldVisibility;
+    }
+
+    /**
+     * Returns the cached parse of the {@link FieldVisibility#canonicalize()
+     * canonical form} of the given visibility.
+     */
+    public FieldVisibility getCanonical(FieldVisibility fieldVisibility) {
+        FieldVisibility canonical = canonicalForms.getIfPresent(
+          fieldVisibility);
+        if (canonical == null) {
+            canonical = get(fieldVisibility.canonicalize().getExpression());
+            canonicalForms.put(fieldVisibility, canonical);
+        }
+        return canonical;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+        canonicalForms.invalidateAll();
+    }
+}
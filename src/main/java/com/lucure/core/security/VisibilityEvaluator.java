@@ -17,10 +17,57 @@
 package com.lucure.core.security;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 public class VisibilityEvaluator {
-  private Authorizations auths;
+  
+  /**
+   * Default number of decisions an evaluator remembers, see {@link #VisibilityEvaluator(Authorizations, int)}.
+   */
+  public static final int DEFAULT_DECISION_CACHE_SIZE = 1024;
+  
+  /**
+   * A memoized evaluation result. Immutable so it can be published to the decision table without synchronization.
+   */
+  private static final class Decision {
+    final FieldVisibility visibility;
+    final boolean allowed;
+    
+    Decision(FieldVisibility visibility, boolean allowed) {
+      this.visibility = visibility;
+      this.allowed = allowed;
+    }
+  }
+  
+  /**
+   * Authorizations by their {@link AuthorizationDictionary} ids, which are equal for equal sets of authorizations.
+   */
+  private static final class AuthorizationsKey {
+    final long[] bits;
+    final int hash;
+    
+    AuthorizationsKey(long[] bits) {
+      this.bits = bits;
+      this.hash = Arrays.hashCode(bits);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+      return o == this || (o instanceof AuthorizationsKey && Arrays.equals(bits, ((AuthorizationsKey) o).bits));
+    }
+    
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+  
+  private final Authorizations auths;
+  private final long[] bits;
+  private final AuthorizationsKey authorizationsKey;
+  private final Decision[] decisions;
+  private final int decisionMask;
   
   static Authorizations escape(Authorizations auths) {
     ArrayList<byte[]> retAuths = new ArrayList<byte[]>(auths.getAuthorizations().size());
@@ -62,44 +109,139 @@ public class VisibilityEvaluator {
   }
   
   /**
-   * The VisibilityEvaluator computes a trie from the given Authorizations, that ColumnVisibility expressions can be evaluated against.
+   * The VisibilityEvaluator escapes the given Authorizations and maps them to a bit set over their {@link AuthorizationDictionary} ids, that compiled
+   * FieldVisibility expressions are evaluated against.
    */
   public VisibilityEvaluator(Authorizations authorizations) {
+    this(authorizations, DEFAULT_DECISION_CACHE_SIZE);
+  }
+  
+  /**
+   * Creates an evaluator that remembers up to <code>decisionCacheSize</code> (rounded down to a power of two) evaluation results, so that evaluating an
+   * already seen visibility costs a single hash probe. The decisions live as long as the evaluator and each one holds a reference to its visibility.
+   * 
+   * @param decisionCacheSize
+   *          number of decisions to remember, 0 disables the cache
+   */
+  public VisibilityEvaluator(Authorizations authorizations, int decisionCacheSize) {
+    if (decisionCacheSize < 0)
+      throw new IllegalArgumentException("decisionCacheSize must be >= 0, got " + decisionCacheSize);
     this.auths = escape(authorizations);
+    this.bits = auths.getBits();
+    this.authorizationsKey = new AuthorizationsKey(bits);
+    if (decisionCacheSize > 0) {
+      this.decisions = new Decision[Integer.highestOneBit(decisionCacheSize)];
+      this.decisionMask = decisions.length - 1;
+    } else {
+      this.decisions = null;
+      this.decisionMask = 0;
+    }
   }
   
   public Authorizations getAuthorizations() {
     return new Authorizations(auths.getAuthorizations());
   }
   
-  public boolean evaluate(FieldVisibility visibility) throws VisibilityParseException {
-    return evaluate(visibility.getExpression(), visibility.getParseTree());
+  /**
+   * Returns a key of the authorizations of this evaluator, equal to the key of any evaluator of the same authorizations. Unlike
+   * {@link #getAuthorizations()} it is built once, so that caches keyed on it neither copy nor hash the authorizations again on each lookup.
+   */
+  public Object getAuthorizationsKey() {
+    return authorizationsKey;
+  }
+  
+  /**
+   * Evaluates the expression found in <code>buf[off:off+len]</code>. The parsed expression is taken from {@link FieldVisibilityCache#SHARED}, so a cached
+   * expression is evaluated without copying or allocating.
+   */
+  public boolean evaluate(byte[] buf, int off, int len) throws VisibilityParseException {
+    return len == 0 || evaluate(FieldVisibilityCache.SHARED.get(buf, off, len));
+  }
+  
+  /**
+   * Evaluates a block of expressions laid out back to back in <code>bytes</code>, starting at <code>offset</code>, with the length of the i-th expression in
+   * <code>lengths[i]</code>. Bit i of <code>accept</code> is set if the i-th expression is visible, an empty expression is always visible. Runs of equal
+   * expressions are evaluated once.
+   * 
+   * @param accept
+   *          bitmask of at least <code>(count + 63) / 64</code> words
+   * @return the number of visible expressions
+   */
+  public int evaluate(byte[] bytes, int offset, int[] lengths, int count, long[] accept) throws VisibilityParseException {
+    Arrays.fill(accept, 0, (count + 63) >>> 6, 0L);
+    int accepted = 0;
+    int lastOffset = -1;
+    int lastLength = -1;
+    boolean lastAllowed = true;
+    for (int i = 0; i < count; i++) {
+      final int length = lengths[i];
+      final boolean allowed;
+      if (length == 0) {
+        allowed = true;
+      } else if (length == lastLength && sameBytes(bytes, lastOffset, offset, length)) {
+        allowed = lastAllowed;
+      } else {
+        allowed = evaluate(FieldVisibilityCache.SHARED.get(bytes, offset, length));
+        lastOffset = offset;
+        lastLength = length;
+        lastAllowed = allowed;
+      }
+      if (allowed) {
+        accept[i >>> 6] |= 1L << i;
+        accepted++;
+      }
+      offset += length;
+    }
+    return accepted;
   }
   
-  private final boolean evaluate(final byte[] expression, final FieldVisibility.Node root) throws VisibilityParseException {
-    if(expression.length == 0)
-      return true;
-    switch (root.type) {
-      case TERM:
-        return auths.contains(root.getTerm(expression));
-      case AND:
-        if (root.children == null || root.children.size() < 2)
-          throw new VisibilityParseException("AND has less than 2 children", expression, root.start);
-        for (FieldVisibility.Node child : root.children) {
-          if (!evaluate(expression, child))
-            return false;
-        }
-        return true;
-      case OR:
-        if (root.children == null || root.children.size() < 2)
-          throw new VisibilityParseException("OR has less than 2 children", expression, root.start);
-        for (FieldVisibility.Node child : root.children) {
-          if (evaluate(expression, child))
-            return true;
-        }
+  /**
+   * Evaluates the first <code>count</code> visibilities, setting bit i of <code>accept</code> if the i-th one is visible. A null visibility is always visible.
+   * Runs of the same visibility are evaluated once.
+   * 
+   * @param accept
+   *          bitmask of at least <code>(count + 63) / 64</code> words
+   * @return the number of visible entries
+   */
+  public int evaluate(FieldVisibility[] visibilities, int count, long[] accept) throws VisibilityParseException {
+    Arrays.fill(accept, 0, (count + 63) >>> 6, 0L);
+    int accepted = 0;
+    FieldVisibility last = null;
+    boolean lastAllowed = true;
+    for (int i = 0; i < count; i++) {
+      final FieldVisibility visibility = visibilities[i];
+      if (visibility != last) {
+        lastAllowed = visibility == null || evaluate(visibility);
+        last = visibility;
+      }
+      if (lastAllowed) {
+        accept[i >>> 6] |= 1L << i;
+        accepted++;
+      }
+    }
+    return accepted;
+  }
+  
+  private static boolean sameBytes(byte[] bytes, int a, int b, int length) {
+    for (int i = 0; i < length; i++) {
+      if (bytes[a + i] != bytes[b + i])
         return false;
-      default:
-        throw new VisibilityParseException("No such node type", expression, root.start);
     }
+    return true;
+  }
+  
+  public boolean evaluate(FieldVisibility visibility) throws VisibilityParseException {
+    if (decisions == null)
+      return visibility.getProgram().evaluate(bits);
+    
+    int h = visibility.hashCode();
+    final int slot = (h ^ (h >>> 16)) & decisionMask;
+    final Decision decision = decisions[slot];
+    if (decision != null && (decision.visibility == visibility || decision.visibility.equals(visibility)))
+      return decision.allowed;
+    
+    final boolean allowed = visibility.getProgram().evaluate(bits);
+    decisions[slot] = new Decision(visibility, allowed);
+    return allowed;
   }
 }
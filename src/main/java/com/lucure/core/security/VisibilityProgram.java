@@ -0,0 +1,394 @@
+package com.lucure.core.security;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link FieldVisibility} compiled to a flat branch program.
+ * <p>
+ * Every instruction tests one authorization (by its
+ * {@link AuthorizationDictionary} id) and names the instruction to run next
+ * when the test passes and when it fails, or one of the terminal
+ * {@link #ACCEPT} and {@link #REJECT} targets. AND and OR nodes disappear
+ * during compilation: a failed term in an AND jumps straight to the AND's
+ * failure target, a passed term in an OR jumps straight to the OR's success
+ * target. Evaluation is a loop over three int arrays, it does not recurse,
+ * allocate or throw. A term no authorization set had interned when the
+ * program was compiled is tested as never held, and the program is
+ * {@link #isStale() stale} once new tokens are interned, so that its
+ * {@link FieldVisibility} compiles it again.
+ * <p>
+ * A freshly compiled program tests children in parse order and counts, for
+ * each term, how often it is tested and how often it is held, over its
+ * first {@link #PROFILED_EVALUATIONS} evaluations. The owning
+ * {@link FieldVisibility} then recompiles it with {@link #reorder()}, which
+ * tests the children of an AND from the most likely to fail and the
+ * children of an OR from the most likely to pass, so evaluation stops as
+ * early as possible for the authorization sets actually seen. A reordered
+ * program is profiled again over the last {@link #PROFILED_EVALUATIONS} of
+ * its first {@link #REPROFILE_INTERVAL} evaluations and is then reordered
+ * again, up to {@link #MAX_REORDERS} times, so the order follows the
+ * authorization sets seen past the first ones. A program stops counting its
+ * evaluations once its profile is complete, and the last reordered program
+ * does not count them at all.
+ * <p>
+ * A {@link VisibilityEvaluator} remembers its decisions, so a program only
+ * runs, and is only profiled, for the visibilities an authorization set has
+ * not been decided on yet: the order favors the authorization sets seen
+ * first, and a program may go long without being reordered.
+ * <p>
+ * Programs are immutable apart from their profile and are shared by all
+ * threads evaluating the same visibility. The profile counters are updated
+ * without synchronization: a lost update only skews the order, never the
+ * result of an evaluation.
+ */
+public final class VisibilityProgram {
+
+    /**
+     * Branch target that ends the program granting access
+     */
+    public static final int ACCEPT = -1;
+
+    /**
+     * Branch target that ends the program denying access
+     */
+    public static final int REJECT = -2;
+
+    /**
+     * Number of evaluations profiled before a program is reordered
+     */
+    public static final int PROFILED_EVALUATIONS = 64;
+
+    /**
+     * Number of evaluations after which a reordered program is reordered
+     * again
+     */
+    public static final int REPROFILE_INTERVAL = 4096;
+
+    /**
+     * Number of times a program is reordered before its order is kept
+     */
+    public static final int MAX_REORDERS = 4;
+
+    /**
+     * Program of the empty expression, visible to everyone
+     */
+    public static final VisibilityProgram EMPTY = new VisibilityProgram(
+      null, null, ACCEPT, new int[0], new int[0], new int[0], null, 0, 0);
+
+    private final byte[] expression;
+    private final FieldVisibility.Node root;
+    private final int entry;
+    private final int[] termIds;
+    private final int[] onTrue;
+    private final int[] onFalse;
+    // dictionary size when a term could not be resolved, -1 if all were
+    private final int unresolvedAt;
+
+    // number of times the program was reordered
+    private final int reorders;
+    // profile, null for the empty program and once reordered MAX_REORDERS
+    // times
+    private final FieldVisibility.Node[] terms;
+    private final int[] tested;
+    private final int[] held;
+    private int evaluations;
+    // evaluations after which the program is reordered, the last
+    // PROFILED_EVALUATIONS of them are profiled
+    private final int reorderAfter;
+
+    private VisibilityProgram(byte[] expression, FieldVisibility.Node root,
+                              int entry, int[] termIds, int[] onTrue,
+                              int[] onFalse, FieldVisibility.Node[] terms,
+                              int reorders, int dictionarySize) {
+        this.expression = expression;
+        this.root = root;
+        this.entry = entry;
+        this.termIds = termIds;
+        this.onTrue = onTrue;
+        this.onFalse = onFalse;
+        int unresolvedAt = -1;
+        for (int id : termIds) {
+            if (id == AuthorizationDictionary.NO_ID) {
+                unresolvedAt = dictionarySize;
+                break;
+            }
+        }
+        this.unresolvedAt = unresolvedAt;
+        this.reorders = reorders;
+        final boolean profile = terms != null && reorders < MAX_REORDERS;
+        this.terms = profile ? terms : null;
+        this.tested = profile ? new int[termIds.length] : null;
+        this.held = profile ? new int[termIds.length] : null;
+        this.reorderAfter = reorders == 0 ? PROFILED_EVALUATIONS :
+                            REPROFILE_INTERVAL;
+    }
+
+    /**
+     * Compiles the parse tree of <code>expression</code>, testing children
+     * in parse order and profiling evaluations.
+     *
+     * @throws VisibilityParseException if the parse tree is malformed
+     */
+    public static VisibilityProgram compile(byte[] expression,
+                                            FieldVisibility.Node root)
+      throws VisibilityParseException {
+        if (expression.length == 0) {
+            return EMPTY;
+        }
+        return compile(expression, root, null, 0);
+    }
+
+    private static VisibilityProgram compile(
+      byte[] expression, FieldVisibility.Node root,
+      Map<FieldVisibility.Node, Double> likelihoods, int reorders)
+      throws VisibilityParseException {
+        // read before resolving the terms, so that a term interned meanwhile
+        // makes the program stale
+        final int dictionarySize = AuthorizationDictionary.size();
+        Compiler compiler = new Compiler(expression, countTerms(root),
+                                         likelihoods);
+        int entry = compiler.compile(root, ACCEPT, REJECT);
+        return new VisibilityProgram(expression, root, entry, compiler.termIds,
+                                     compiler.onTrue, compiler.onFalse,
+                                     compiler.terms, reorders, dictionarySize);
+    }
+
+    /**
+     * Runs the program against a set of authorization ids, as computed by a
+     * {@link VisibilityEvaluator} from its escaped authorizations. The bits
+     * must have been computed before the program was taken from
+     * {@link FieldVisibility#getProgram()}, as the evaluator does, or the
+     * program may not know the ids of their authorizations yet.
+     */
+    public boolean evaluate(long[] authorizationBits) {
+        // no longer written once the profile is complete
+        if (tested != null && evaluations < reorderAfter) {
+            final int n = ++evaluations;
+            if (n > reorderAfter - PROFILED_EVALUATIONS) {
+                return evaluateProfiled(authorizationBits);
+            }
+        }
+        int pc = entry;
+        while (pc >= 0) {
+            final int id = termIds[pc];
+            final int word = id >>> 6;
+            pc = word < authorizationBits.length &&
+                 (authorizationBits[word] & (1L << id)) != 0
+                 ? onTrue[pc] : onFalse[pc];
+        }
+        return pc == ACCEPT;
+    }
+
+    private boolean evaluateProfiled(long[] authorizationBits) {
+        int pc = entry;
+        while (pc >= 0) {
+            final int id = termIds[pc];
+            final int word = id >>> 6;
+            tested[pc]++;
+            if (word < authorizationBits.length &&
+                (authorizationBits[word] & (1L << id)) != 0) {
+                held[pc]++;
+                pc = onTrue[pc];
+            } else {
+                pc = onFalse[pc];
+            }
+        }
+        return pc == ACCEPT;
+    }
+
+    /**
+     * @return true if a term was not interned when this program was compiled
+     * and tokens have been interned since, so that the program may test as
+     * never held a term some authorization set now holds
+     */
+    public boolean isStale() {
+        return unresolvedAt >= 0 && AuthorizationDictionary.size() != unresolvedAt;
+    }
+
+    /**
+     * @return true once this program has been profiled long enough to be
+     * {@link #reorder() reordered}
+     */
+    public boolean isProfiled() {
+        return tested != null && evaluations >= reorderAfter;
+    }
+
+    /**
+     * Recompiles this program ordering the children of every AND and OR by
+     * the likelihood, observed so far, that they are held. Terms that were
+     * never tested are assumed to be held half of the time.
+     *
+     * @return the reordered program, or this if it is not profiling
+     */
+    public VisibilityProgram reorder() throws VisibilityParseException {
+        if (tested == null) {
+            return this;
+        }
+        Map<FieldVisibility.Node, Double> likelihoods =
+          new IdentityHashMap<FieldVisibility.Node, Double>();
+        for (int pc = 0; pc < terms.length; pc++) {
+            // lost updates may count a term held more often than tested
+            final int h = held[pc];
+            final int t = tested[pc];
+            likelihoods.put(terms[pc], t == 0 ? 0.5 : Math.min(1, (double) h / t));
+        }
+        likelihood(root, likelihoods);
+        return compile(expression, root, likelihoods, reorders + 1);
+    }
+
+    private static double likelihood(FieldVisibility.Node node,
+                                     Map<FieldVisibility.Node, Double> likelihoods) {
+        if (node.type == FieldVisibility.NodeType.TERM) {
+            return likelihoods.get(node);
+        }
+        // assumes independent terms
+        double none = 1;
+        double all = 1;
+        for (FieldVisibility.Node child : node.children) {
+            double p = likelihood(child, likelihoods);
+            all *= p;
+            none *= 1 - p;
+        }
+        double p = node.type == FieldVisibility.NodeType.AND ? all : 1 - none;
+        likelihoods.put(node, p);
+        return p;
+    }
+
+    /**
+     * @return number of instructions, i.e. the number of terms in the
+     * expression
+     */
+    public int size() {
+        return termIds.length;
+    }
+
+    /**
+     * @return the id of the term tested first, or -1 for an empty program
+     */
+    int firstTermId() {
+        return entry >= 0 ? termIds[entry] : -1;
+    }
+
+    /**
+     * @return number of evaluations counted for the profile
+     */
+    int evaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("VisibilityProgram[entry=")
+          .append(entry);
+        for (int pc = 0; pc < termIds.length; pc++) {
+            sb.append(", ").append(pc).append(": test ").append(termIds[pc])
+              .append(" ? ").append(onTrue[pc]).append(" : ")
+              .append(onFalse[pc]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static int countTerms(FieldVisibility.Node node) {
+        if (node.type == FieldVisibility.NodeType.TERM) {
+            return 1;
+        }
+        int count = 0;
+        for (FieldVisibility.Node child : node.children) {
+            count += countTerms(child);
+        }
+        return count;
+    }
+
+    /**
+     * Lays out the instructions of a tree. Children are compiled last to
+     * first so every instruction knows its successors when it is emitted.
+     */
+    private static final class Compiler {
+        final byte[] expression;
+        final int[] termIds;
+        final int[] onTrue;
+        final int[] onFalse;
+        final FieldVisibility.Node[] terms;
+        final Map<FieldVisibility.Node, Double> likelihoods;
+        int size;
+
+        Compiler(byte[] expression, int terms,
+                 Map<FieldVisibility.Node, Double> likelihoods) {
+            this.expression = expression;
+            this.termIds = new int[terms];
+            this.onTrue = new int[terms];
+            this.onFalse = new int[terms];
+            this.terms = new FieldVisibility.Node[terms];
+            this.likelihoods = likelihoods;
+        }
+
+        int compile(FieldVisibility.Node node, int ifTrue, int ifFalse)
+          throws VisibilityParseException {
+            switch (node.type) {
+                case TERM:
+                    termIds[size] = node.getTermId(expression);
+                    onTrue[size] = ifTrue;
+                    onFalse[size] = ifFalse;
+                    terms[size] = node;
+                    return size++;
+                case AND: {
+                    checkChildren(node, "AND");
+                    // most likely to fail first
+                    List<FieldVisibility.Node> children = order(node, 1);
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        ifTrue = compile(children.get(i), ifTrue, ifFalse);
+                    }
+                    return ifTrue;
+                }
+                case OR: {
+                    checkChildren(node, "OR");
+                    // most likely to pass first
+                    List<FieldVisibility.Node> children = order(node, -1);
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        ifFalse = compile(children.get(i), ifTrue, ifFalse);
+                    }
+                    return ifFalse;
+                }
+                default:
+                    throw new VisibilityParseException("No such node type",
+                                                       expression, node.start);
+            }
+        }
+
+        /**
+         * @param direction 1 to order by increasing likelihood, -1 by
+         * decreasing likelihood
+         */
+        private List<FieldVisibility.Node> order(FieldVisibility.Node node,
+                                                 final int direction) {
+            if (likelihoods == null) {
+                return node.children;
+            }
+            List<FieldVisibility.Node> children =
+              new ArrayList<FieldVisibility.Node>(node.children);
+            // stable, so equally likely children keep parse order
+            Collections.sort(children, new Comparator<FieldVisibility.Node>() {
+                @Override
+                public int compare(FieldVisibility.Node a,
+                                   FieldVisibility.Node b) {
+                    return direction * Double.compare(likelihoods.get(a),
+                                                      likelihoods.get(b));
+                }
+            });
+            return children;
+        }
+
+        private void checkChildren(FieldVisibility.Node node, String type)
+          throws VisibilityParseException {
+            if (node.children == null || node.children.size() < 2) {
+                throw new VisibilityParseException(
+                  type + " has less than 2 children", expression, node.start);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lucure.core;
+
+import com.lucure.core.security.Authorizations;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AuthorizationsHolderTest {
+
+    @Test
+    public void testPooledHolder() throws Exception {
+        AuthorizationsHolder holder = AuthorizationsHolder.of(
+          new Authorizations("A", "B"));
+        assertSame(holder, AuthorizationsHolder.of(new Authorizations("B", "A")));
+        assertSame(holder.getVisibilityEvaluator(), AuthorizationsHolder.of(
+          new Authorizations("A", "B")).getVisibilityEvaluator());
+        assertNotSame(holder, AuthorizationsHolder.of(new Authorizations("A")));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertSame(AuthorizationsHolder.EMPTY,
+                   AuthorizationsHolder.of(new Authorizations()));
+        assertSame(AuthorizationsHolder.EMPTY,
+                   AuthorizationsHolder.of(Authorizations.EMPTY));
+    }
+}
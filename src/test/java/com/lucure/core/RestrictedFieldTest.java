@@ -34,6 +34,20 @@ public class RestrictedFieldTest {
         }
     }
 
+    @Test
+    public void testCanonicalVisibility() throws Exception {
+        RestrictedField restrictedField = new RestrictedField(new StringField(
+          "field", "value", Field.Store.NO), new FieldVisibility("B|(A&B)"),
+                                                              true);
+        assertEquals(new FieldVisibility("B"),
+                     restrictedField.getFieldVisibility());
+
+        restrictedField = new RestrictedField(new StringField(
+          "field", "value", Field.Store.NO), new FieldVisibility("B|(A&B)"));
+        assertEquals(new FieldVisibility("B|(A&B)"),
+                     restrictedField.getFieldVisibility());
+    }
+
     @Test
     public void testEquals() throws Exception {
         String visibility = "U";
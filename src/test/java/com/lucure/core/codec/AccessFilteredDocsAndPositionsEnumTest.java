@@ -10,6 +10,7 @@ import static com.lucure.core.codec.AccessFilteredDocsAndPositionsEnum
   .AllAuthorizationsHolder.ALLAUTHSHOLDER;
 import static org.apache.lucene.search.DocIdSetIterator.NO_MORE_DOCS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.*;
 
 public class AccessFilteredDocsAndPositionsEnumTest {
@@ -58,4 +59,41 @@ public class AccessFilteredDocsAndPositionsEnumTest {
                                                    ALLAUTHSHOLDER);
         assertEquals(0, accessFilteredDocsAndPositionsEnum.nextDoc());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReset() throws Exception {
+        final DocsAndPositionsEnum docsAndPositionsEnum = mock(
+          DocsAndPositionsEnum.class);
+        when(docsAndPositionsEnum.nextDoc()).thenReturn(0);
+        when(docsAndPositionsEnum.nextPosition()).thenReturn(3);
+        when(docsAndPositionsEnum.getPayload()).thenReturn(new BytesRef("A"));
+        final DocsAndPositionsEnum nextDocsAndPositionsEnum = mock(
+          DocsAndPositionsEnum.class);
+        when(nextDocsAndPositionsEnum.nextDoc()).thenReturn(5, NO_MORE_DOCS);
+        when(nextDocsAndPositionsEnum.docID()).thenReturn(5);
+        when(nextDocsAndPositionsEnum.nextPosition()).thenReturn(7);
+        when(nextDocsAndPositionsEnum.getPayload()).thenReturn(new BytesRef("A"));
+
+        final AccessFilteredDocsAndPositionsEnum accessFilteredDocsAndPositionsEnum
+          = new AccessFilteredDocsAndPositionsEnum(docsAndPositionsEnum,
+                                                   new AuthorizationsHolder(
+                                                     new Authorizations("A")));
+        assertEquals(0, accessFilteredDocsAndPositionsEnum.nextDoc());
+
+        // the pending position of the previous delegate is dropped
+        accessFilteredDocsAndPositionsEnum.reset(
+          nextDocsAndPositionsEnum,
+          new AuthorizationsHolder(new Authorizations("A")));
+        assertSame(nextDocsAndPositionsEnum,
+                   accessFilteredDocsAndPositionsEnum.getDelegate());
+        assertEquals(5, accessFilteredDocsAndPositionsEnum.nextDoc());
+        assertEquals(7, accessFilteredDocsAndPositionsEnum.nextPosition());
+
+        // and the new authorizations are used
+        when(nextDocsAndPositionsEnum.nextDoc()).thenReturn(5, NO_MORE_DOCS);
+        accessFilteredDocsAndPositionsEnum.reset(
+          nextDocsAndPositionsEnum,
+          new AuthorizationsHolder(new Authorizations("B")));
+        assertEquals(NO_MORE_DOCS, accessFilteredDocsAndPositionsEnum.nextDoc());
+    }
+}
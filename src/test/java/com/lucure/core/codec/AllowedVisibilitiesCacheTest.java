@@ -0,0 +1,100 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.VisibilityEvaluator;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefHash;
+import org.apache.lucene.util.FixedBitSet;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AllowedVisibilitiesCacheTest {
+
+    private static VisibilityDictionary dictionary(String... expressions)
+      throws Exception {
+        BytesRefHash hash = new BytesRefHash();
+        for (String expression : expressions) {
+            hash.add(new BytesRef(expression));
+        }
+        try (RAMDirectory directory = new RAMDirectory()) {
+            try (IndexOutput out = directory.createOutput("_0.vis",
+                                                          IOContext.DEFAULT)) {
+                VisibilityDictionary.write(
+                  out, hash, LucurePostingsWriter.VERSION_CURRENT);
+            }
+            return VisibilityDictionary.read(
+              directory.openChecksumInput("_0.vis", IOContext.DEFAULT),
+              LucurePostingsWriter.VERSION_CURRENT);
+        }
+    }
+
+    @Test
+    public void testAllowedOrdinals() throws Exception {
+        AllowedVisibilitiesCache cache = new AllowedVisibilitiesCache(
+          AllowedVisibilitiesCache.DEFAULT_MAX_BYTES);
+        VisibilityDictionary dictionary = dictionary("A", "B", "A|B", "A&B");
+
+        FixedBitSet allowed = cache.get(dictionary, new VisibilityEvaluator(
+          new Authorizations("A"))).ords;
+        assertTrue(allowed.get(0));
+        assertFalse(allowed.get(1));
+        assertTrue(allowed.get(2));
+        assertFalse(allowed.get(3));
+        // summarized along with the ordinals
+        assertEquals(LucurePostingsReader.visibilitySummary(allowed),
+                     cache.get(dictionary, new VisibilityEvaluator(
+                       new Authorizations("A"))).summary);
+
+        // equal authorizations share the entry
+        assertSame(allowed, cache.get(dictionary, new VisibilityEvaluator(
+          new Authorizations("A"))).ords);
+        assertEquals(4, cache.get(dictionary, new VisibilityEvaluator(
+          new Authorizations("A", "B"))).ords.cardinality());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testEvaluatorKeyedOnce() throws Exception {
+        AllowedVisibilitiesCache cache = new AllowedVisibilitiesCache(
+          AllowedVisibilitiesCache.DEFAULT_MAX_BYTES);
+        VisibilityDictionary dictionary = dictionary("A", "B");
+        VisibilityEvaluator evaluator = new VisibilityEvaluator(
+          new Authorizations("A"));
+        Object key = evaluator.getAuthorizationsKey();
+
+        FixedBitSet allowed = cache.get(dictionary, evaluator).ords;
+        for (int i = 0; i < 10; i++) {
+            assertSame(allowed, cache.get(dictionary, evaluator).ords);
+        }
+        // the key is built with the evaluator, not on each lookup
+        assertSame(key, evaluator.getAuthorizationsKey());
+        assertEquals(key, new VisibilityEvaluator(new Authorizations("A"))
+          .getAuthorizationsKey());
+        assertNotEquals(key, new VisibilityEvaluator(new Authorizations("B"))
+          .getAuthorizationsKey());
+        assertEquals(1, cache.stats().loadCount());
+        assertEquals(10, cache.stats().hitCount());
+    }
+
+    @Test
+    public void testEvict() throws Exception {
+        AllowedVisibilitiesCache cache = new AllowedVisibilitiesCache(
+          AllowedVisibilitiesCache.DEFAULT_MAX_BYTES);
+        VisibilityDictionary first = dictionary("A", "B");
+        VisibilityDictionary second = dictionary("A", "B");
+        VisibilityEvaluator evaluator = new VisibilityEvaluator(
+          new Authorizations("A"));
+        cache.get(first, evaluator);
+        cache.get(second, evaluator);
+
+        cache.evict(first);
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.stats().hitCount());
+        cache.get(second, evaluator);
+        assertEquals(1, cache.stats().hitCount());
+    }
+}
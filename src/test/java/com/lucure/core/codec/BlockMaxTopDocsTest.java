@@ -0,0 +1,165 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.RestrictedField;
+import com.lucure.core.index.LucureIndexSearcher;
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BlockMaxTopDocsTest {
+
+    private static final int NUM_DOCS = 6000;
+    private static final String FIELD = "body";
+    private static final Term TERM = new Term(FIELD, "hot");
+
+    private static RAMDirectory ramDirectory;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        IndexWriterConfig conf = new IndexWriterConfig(
+          Version.LUCENE_47, new WhitespaceAnalyzer(Version.LUCENE_47));
+        conf.setCodec(new LucureCodec());
+        ramDirectory = new RAMDirectory();
+        FieldVisibility[] visibilities = {new FieldVisibility("A"),
+                                          new FieldVisibility("B")};
+        Random random = new Random(7);
+        try (IndexWriter writer = new IndexWriter(ramDirectory, conf)) {
+            for (int i = 0; i < NUM_DOCS; i++) {
+                // runs of docs of high freqs in a few blocks, and docs of a
+                // few lengths so that the norms do not make up for the freqs
+                int freq = i % 1000 < 20 ? 5 + random.nextInt(30) :
+                           1 + random.nextInt(3);
+                StringBuilder text = new StringBuilder();
+                for (int j = 0; j < freq; j++) {
+                    text.append("hot ");
+                }
+                for (int j = 40 - freq + random.nextInt(3); j > 0; j--) {
+                    text.append("filler ");
+                }
+                Document document = new Document();
+                document.add(new StringField("id", Integer.toString(i),
+                                             Field.Store.NO));
+                document.add(new RestrictedField(
+                  new TextField(FIELD, text.toString(), Field.Store.NO),
+                  visibilities[random.nextInt(visibilities.length)]));
+                writer.addDocument(document);
+                if (i == NUM_DOCS / 2) {
+                    writer.commit();
+                }
+            }
+            for (int i = 0; i < NUM_DOCS; i += 97) {
+                writer.deleteDocuments(new Term("id", Integer.toString(i)));
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.remove();
+        ramDirectory.close();
+    }
+
+    @Test
+    public void testSameTopDocsAsTermQuery() throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            assertSameTopDocs(searcher, 10, "A");
+            assertSameTopDocs(searcher, 10, "B");
+            assertSameTopDocs(searcher, 1, "A", "B");
+            assertSameTopDocs(searcher, 10, "A", "B");
+            assertSameTopDocs(searcher, 1000, "A", "B");
+            assertSameTopDocs(searcher, 10);
+
+            searcher.setSimilarity(new BM25Similarity());
+            assertSameTopDocs(searcher, 10, "A");
+            assertSameTopDocs(searcher, 10, "A", "B");
+        }
+    }
+
+    @Test
+    public void testNonCompetitiveDocsAreNotScored() throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            Authorizations authorizations = new Authorizations("A", "B");
+            BlockMaxTopDocs topDocs = BlockMaxTopDocs.search(
+              searcher, TERM, 10, authorizations);
+            AuthorizationsHolder.threadAuthorizations.set(
+              AuthorizationsHolder.of(authorizations));
+            int hits = searcher.search(new TermQuery(TERM), 1).totalHits;
+            // only the docs of high freqs are scored
+            assertTrue(topDocs.getScoredDocs() + " vs " + hits,
+                       topDocs.getScoredDocs() < hits / 2);
+            assertEquals(topDocs.getScoredDocs(), topDocs.totalHits);
+        }
+    }
+
+    @Test
+    public void testAuthorizationsRestored() throws Exception {
+        AuthorizationsHolder holder = AuthorizationsHolder.of(
+          new Authorizations("B"));
+        AuthorizationsHolder.threadAuthorizations.set(holder);
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            BlockMaxTopDocs.search(new IndexSearcher(reader), TERM, 10,
+                                   new Authorizations("A"));
+        }
+        assertSame(holder, AuthorizationsHolder.threadAuthorizations.get());
+    }
+
+    @Test
+    public void testNormDocsDroppedWithTheirCore() throws Exception {
+        int cores = BlockMaxTopDocs.normDocsCores();
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            BlockMaxTopDocs.search(new IndexSearcher(reader), TERM, 10,
+                                   new Authorizations("A"));
+            assertEquals(cores + reader.leaves().size(),
+                         BlockMaxTopDocs.normDocsCores());
+            // searchers wrapping the segments share their norm docs
+            BlockMaxTopDocs.search(new LucureIndexSearcher(reader), TERM, 10,
+                                   new Authorizations("A"));
+            assertEquals(cores + reader.leaves().size(),
+                         BlockMaxTopDocs.normDocsCores());
+        }
+        assertEquals(cores, BlockMaxTopDocs.normDocsCores());
+    }
+
+    private static void assertSameTopDocs(
+      IndexSearcher searcher, int n, String... auths) throws Exception {
+        Authorizations authorizations = new Authorizations(auths);
+        TopDocs actual = BlockMaxTopDocs.search(searcher, TERM, n,
+                                                authorizations);
+        AuthorizationsHolder.threadAuthorizations.set(
+          AuthorizationsHolder.of(authorizations));
+        TopDocs expected = searcher.search(new TermQuery(TERM), n);
+        assertEquals(expected.scoreDocs.length, actual.scoreDocs.length);
+        assertTrue(actual.totalHits <= expected.totalHits);
+        for (int i = 0; i < expected.scoreDocs.length; i++) {
+            assertEquals(expected.scoreDocs[i].doc, actual.scoreDocs[i].doc);
+            assertEquals(expected.scoreDocs[i].score,
+                         actual.scoreDocs[i].score, 0f);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.RestrictedField;
+import com.lucure.core.index.LucureIndexSearcher;
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.Version;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CompressingStoredFieldsReaderTest {
+
+    private static final int NUM_SEGMENTS = 3;
+    private static final int DOCS_PER_SEGMENT = 700;
+    private static final String[] VISIBILITIES = {"A", "B", "A&B", "A|B"};
+
+    private RAMDirectory ramDirectory;
+    private IndexWriter writer;
+
+    @Before
+    public void setup() throws Exception {
+        IndexWriterConfig conf = new IndexWriterConfig(
+          Version.LUCENE_47, new WhitespaceAnalyzer(Version.LUCENE_47));
+        conf.setCodec(new LucureCodec());
+        ramDirectory = new RAMDirectory();
+        writer = new IndexWriter(ramDirectory, conf);
+        int id = 0;
+        for (int segment = 0; segment < NUM_SEGMENTS; segment++) {
+            for (int i = 0; i < DOCS_PER_SEGMENT; i++, id++) {
+                Document document = new Document();
+                document.add(new StringField("id", Integer.toString(id),
+                                             Field.Store.YES));
+                // each segment adds the visibilities to its chunks in a
+                // different order
+                document.add(new RestrictedField(
+                  new StoredField("secret", "secret" + id),
+                  new FieldVisibility(visibility(id, segment))));
+                if (id % 5 == 0) {
+                    document.add(new RestrictedField(
+                      new StoredField("number", id),
+                      new FieldVisibility(VISIBILITIES[3])));
+                }
+                writer.addDocument(document);
+            }
+            writer.commit();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.remove();
+        writer.close();
+        ramDirectory.close();
+    }
+
+    @Test
+    public void testRestrictedFields() throws Exception {
+        assertDocuments();
+    }
+
+    @Test
+    public void testRestrictedFieldsAfterMerge() throws Exception {
+        for (int id = 0; id < NUM_SEGMENTS * DOCS_PER_SEGMENT; id += 7) {
+            writer.deleteDocuments(new Term("id", Integer.toString(id)));
+        }
+        writer.forceMerge(1);
+        writer.commit();
+        assertDocuments();
+    }
+
+    private void assertDocuments() throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            LucureIndexSearcher searcher = new LucureIndexSearcher(reader);
+            Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                if (liveDocs != null && !liveDocs.get(doc)) {
+                    continue;
+                }
+                // authorizations change from doc to doc of a chunk
+                for (String[] auths : new String[][]{{}, {"A"}, {"B"},
+                                                     {"A", "B"}}) {
+                    Document document = searcher.doc(
+                      doc, new Authorizations(auths));
+                    int id = Integer.parseInt(document.get("id"));
+                    int segment = id / DOCS_PER_SEGMENT;
+                    String secret = document.get("secret");
+                    if (allowed(visibility(id, segment), auths)) {
+                        assertEquals("secret" + id, secret);
+                    } else {
+                        assertNull(secret);
+                    }
+                    if (id % 5 == 0 && auths.length > 0) {
+                        assertEquals(id, document.getField("number")
+                                                 .numericValue().intValue());
+                    } else {
+                        assertNull(document.getField("number"));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String visibility(int id, int segment) {
+        return VISIBILITIES[(id + segment) % VISIBILITIES.length];
+    }
+
+    private static boolean allowed(String visibility, String[] auths) {
+        boolean a = auths.length > 0 && auths[0].equals("A");
+        boolean b = auths.length > 0 && auths[auths.length - 1].equals("B");
+        switch (visibility) {
+            case "A":
+                return a;
+            case "B":
+                return b;
+            case "A&B":
+                return a && b;
+            default:
+                return a || b;
+        }
+    }
+}
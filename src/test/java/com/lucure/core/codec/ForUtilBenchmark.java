@@ -0,0 +1,114 @@
+package com.lucure.core.codec;
+
+import org.apache.lucene.util.packed.PackedInts;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.lucure.core.codec.ForUtil.MAX_DATA_SIZE;
+import static com.lucure.core.codec.LucurePostingsFormat.BLOCK_SIZE;
+
+/**
+ * Compares decoding and encoding blocks of the PACKED format with the
+ * generated {@link PackedBlocks} and with the {@link PackedInts} decoders
+ * and encoders of each width, as {@link ForUtil} used to. A
+ * <code>bitsPerValue</code> of 0 cycles through blocks of 1 to 16 bits, as
+ * doc deltas and freqs of a query do, so that the call to the decoders is
+ * megamorphic. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=ForUtilBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForUtilBenchmark {
+
+    private static final int NUM_BLOCKS = 16;
+
+    @Param({"0", "3", "7", "12", "20"})
+    public int bitsPerValue;
+
+    private int[] widths;
+    private int[][] values;
+    private ByteBuffer[] blocks;
+    private PackedInts.Encoder[] encoders;
+    private PackedInts.Decoder[] decoders;
+    private final ByteBuffer encoded = ByteBuffer.wrap(
+      new byte[ForUtil.MAX_ENCODED_SIZE]);
+    private final int[] decoded = new int[MAX_DATA_SIZE];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        widths = new int[NUM_BLOCKS];
+        values = new int[NUM_BLOCKS][BLOCK_SIZE];
+        blocks = new ByteBuffer[NUM_BLOCKS];
+        encoders = new PackedInts.Encoder[NUM_BLOCKS];
+        decoders = new PackedInts.Decoder[NUM_BLOCKS];
+        for (int i = 0; i < NUM_BLOCKS; i++) {
+            int bpv = bitsPerValue == 0 ? i + 1 : bitsPerValue;
+            widths[i] = bpv;
+            for (int j = 0; j < BLOCK_SIZE; j++) {
+                values[i][j] = random.nextInt(1 << bpv);
+            }
+            encoders[i] = PackedInts.getEncoder(
+              PackedInts.Format.PACKED, PackedInts.VERSION_CURRENT, bpv);
+            decoders[i] = PackedInts.getDecoder(
+              PackedInts.Format.PACKED, PackedInts.VERSION_CURRENT, bpv);
+            blocks[i] = ByteBuffer.wrap(
+              new byte[PackedBlocks.encodedSize(bpv)]);
+            PackedBlocks.encode(bpv, values[i], blocks[i]);
+        }
+    }
+
+    @Benchmark
+    public int decodePackedInts() {
+        int sum = 0;
+        for (int i = 0; i < NUM_BLOCKS; i++) {
+            PackedInts.Decoder decoder = decoders[i];
+            decoder.decode(blocks[i].array(), 0, decoded, 0,
+                           BLOCK_SIZE / decoder.byteValueCount());
+            sum += decoded[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int decodePackedBlocks() {
+        int sum = 0;
+        for (int i = 0; i < NUM_BLOCKS; i++) {
+            PackedBlocks.decode(widths[i], blocks[i], decoded);
+            sum += decoded[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int encodePackedInts() {
+        int sum = 0;
+        for (int i = 0; i < NUM_BLOCKS; i++) {
+            PackedInts.Encoder encoder = encoders[i];
+            encoder.encode(values[i], 0, encoded.array(), 0,
+                           BLOCK_SIZE / encoder.byteValueCount());
+            sum += encoded.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int encodePackedBlocks() {
+        int sum = 0;
+        for (int i = 0; i < NUM_BLOCKS; i++) {
+            PackedBlocks.encode(widths[i], values[i], encoded);
+            sum += encoded.get(i);
+        }
+        return sum;
+    }
+}
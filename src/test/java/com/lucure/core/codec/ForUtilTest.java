@@ -0,0 +1,110 @@
+package com.lucure.core.codec;
+
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.packed.PackedInts;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.lucure.core.codec.ForUtil.MAX_DATA_SIZE;
+import static com.lucure.core.codec.ForUtil.MAX_ENCODED_SIZE;
+import static com.lucure.core.codec.LucurePostingsFormat.BLOCK_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the generated {@link PackedBlocks} against the {@link PackedInts}
+ * encoders and decoders of the PACKED format they replace
+ */
+public class ForUtilTest {
+
+    @Test
+    public void testPackedBlocksMatchPackedInts() {
+        Random random = new Random(0);
+        for (int bpv = 1; bpv <= 32; bpv++) {
+            int[] values = randomValues(random, bpv);
+            int encodedSize = PackedBlocks.encodedSize(bpv);
+            PackedInts.Encoder encoder = PackedInts.getEncoder(
+              PackedInts.Format.PACKED, PackedInts.VERSION_CURRENT, bpv);
+            PackedInts.Decoder decoder = PackedInts.getDecoder(
+              PackedInts.Format.PACKED, PackedInts.VERSION_CURRENT, bpv);
+            int iterations = BLOCK_SIZE / encoder.byteValueCount();
+
+            byte[] expectedBlocks = new byte[encodedSize];
+            encoder.encode(values, 0, expectedBlocks, 0, iterations);
+            ByteBuffer blocks = ByteBuffer.wrap(new byte[encodedSize]);
+            PackedBlocks.encode(bpv, values, blocks);
+            assertArrayEquals("bpv=" + bpv, expectedBlocks, blocks.array());
+
+            int[] decoded = new int[BLOCK_SIZE];
+            PackedBlocks.decode(bpv, blocks, decoded);
+            assertArrayEquals("bpv=" + bpv, values, decoded);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        // COMPACT only uses the PACKED format, FASTEST the others too
+        for (float ratio : new float[]{PackedInts.COMPACT,
+                                       PackedInts.DEFAULT,
+                                       PackedInts.FASTEST}) {
+            Random random = new Random(1);
+            int[][] blocks = new int[64][];
+            for (int i = 0; i < blocks.length; i++) {
+                if (i % 8 == 0) {
+                    blocks[i] = new int[BLOCK_SIZE];
+                    Arrays.fill(blocks[i], random.nextInt(1000));
+                } else {
+                    blocks[i] = randomValues(random, 1 + random.nextInt(31));
+                }
+            }
+
+            try (RAMDirectory directory = new RAMDirectory()) {
+                ForUtil forUtil;
+                try (IndexOutput out = directory.createOutput(
+                  "for", IOContext.DEFAULT)) {
+                    forUtil = new ForUtil(ratio, out);
+                    ByteBuffer encoded = ByteBuffer.wrap(
+                      new byte[MAX_ENCODED_SIZE]);
+                    for (int[] block : blocks) {
+                        int[] data = Arrays.copyOf(block, MAX_DATA_SIZE);
+                        forUtil.writeBlock(data, encoded, out);
+                    }
+                }
+                try (IndexInput in = directory.openInput(
+                  "for", IOContext.DEFAULT)) {
+                    forUtil = new ForUtil(in);
+                    ByteBuffer encoded = ByteBuffer.wrap(
+                      new byte[MAX_ENCODED_SIZE]);
+                    int[] decoded = new int[MAX_DATA_SIZE];
+                    for (int i = 0; i < blocks.length; i++) {
+                        if (i % 5 == 4) {
+                            forUtil.skipBlock(in);
+                            continue;
+                        }
+                        forUtil.readBlock(in, encoded, decoded);
+                        assertArrayEquals(blocks[i], Arrays.copyOf(
+                          decoded, BLOCK_SIZE));
+                    }
+                    assertEquals(in.length(), in.getFilePointer());
+                }
+            }
+        }
+    }
+
+    private static int[] randomValues(Random random, int bpv) {
+        int[] values = new int[BLOCK_SIZE];
+        long mask = (1L << bpv) - 1;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) (random.nextLong() & mask);
+        }
+        // at least one value of exactly bpv bits
+        values[random.nextInt(BLOCK_SIZE)] = (int) mask;
+        return values;
+    }
+}
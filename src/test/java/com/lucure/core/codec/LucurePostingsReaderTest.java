@@ -0,0 +1,543 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.RestrictedField;
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.AtomicReaderContext;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocsAndPositionsEnum;
+import org.apache.lucene.index.DocsEnum;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.Version;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs restricted queries over postings lists spanning several blocks
+ */
+public class LucurePostingsReaderTest {
+
+    private static final int NUM_DOCS = 1000;
+    private static final String FIELD = "body";
+    private static final String UNRESTRICTED_FIELD = "type";
+    // visible with A for 300 docs, then with B for the next 300...
+    private static final String CLUSTERED_FIELD = "section";
+    private static final int CLUSTER_SIZE = 300;
+    // "mixed mixed" visible with A and "mixed" visible with B in every doc,
+    // the B instance first in odd docs
+    private static final String MIXED_FIELD = "mixed";
+    // "tagN" in docs i with i % NUM_TAGS == N, visible with VISIBILITIES[N % 4]
+    private static final String TAG_FIELD = "tag";
+    private static final int NUM_TAGS = 20;
+    // only doc of the term "rare", visible with B
+    private static final int RARE_DOC = 7;
+    private static final FieldVisibility[] VISIBILITIES = {
+      new FieldVisibility("A"), new FieldVisibility("B"),
+      new FieldVisibility("A|B"), new FieldVisibility("A&B")};
+
+    private static RAMDirectory ramDirectory;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        IndexWriterConfig conf = new IndexWriterConfig(
+          Version.LUCENE_47, new WhitespaceAnalyzer(Version.LUCENE_47));
+        conf.setCodec(new LucureCodec());
+        ramDirectory = new RAMDirectory();
+
+        FieldType fieldType = new FieldType();
+        fieldType.setIndexed(true);
+        fieldType.setTokenized(true);
+        fieldType.freeze();
+
+        try (IndexWriter indexWriter = new IndexWriter(ramDirectory, conf)) {
+            for (int i = 0; i < NUM_DOCS; i++) {
+                StringBuilder text = new StringBuilder("common");
+                for (int j = 0; j < i % 5; j++) {
+                    text.append(" repeated");
+                }
+                if (i % 2 == 0) {
+                    text.append(" even");
+                }
+                if (i == RARE_DOC) {
+                    text.append(" rare");
+                }
+                Document document = new Document();
+                document.add(new RestrictedField(FIELD, text.toString(),
+                                                 fieldType,
+                                                 visibility(i)));
+                document.add(new RestrictedField(
+                  CLUSTERED_FIELD, "clustered", fieldType,
+                  VISIBILITIES[(i / CLUSTER_SIZE) % 2]));
+                RestrictedField mixedA = new RestrictedField(
+                  MIXED_FIELD, "mixed mixed", fieldType, VISIBILITIES[0]);
+                RestrictedField mixedB = new RestrictedField(
+                  MIXED_FIELD, "mixed", fieldType, VISIBILITIES[1]);
+                document.add(i % 2 == 0 ? mixedA : mixedB);
+                document.add(i % 2 == 0 ? mixedB : mixedA);
+                document.add(new RestrictedField(
+                  TAG_FIELD, "tag" + (i % NUM_TAGS), fieldType,
+                  VISIBILITIES[(i % NUM_TAGS) % VISIBILITIES.length]));
+                document.add(new TextField(UNRESTRICTED_FIELD, "type" + (i % 3),
+                                           Field.Store.NO));
+                indexWriter.addDocument(document);
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.remove();
+        ramDirectory.close();
+    }
+
+    private static FieldVisibility visibility(int doc) {
+        return VISIBILITIES[(doc / 7) % VISIBILITIES.length];
+    }
+
+    @Test
+    public void testTermQuery() throws Exception {
+        assertHits(new TermQuery(new Term(FIELD, "common")), "A");
+        assertHits(new TermQuery(new Term(FIELD, "repeated")), "B");
+        assertHits(new TermQuery(new Term(FIELD, "common")), "A", "B");
+        assertHits(new TermQuery(new Term(FIELD, "common")));
+        assertHits(new TermQuery(new Term(FIELD, "rare")), "A");
+        assertHits(new TermQuery(new Term(FIELD, "rare")), "B");
+    }
+
+    @Test
+    public void testConjunction() throws Exception {
+        BooleanQuery query = new BooleanQuery();
+        query.add(new TermQuery(new Term(FIELD, "repeated")),
+                  BooleanClause.Occur.MUST);
+        query.add(new TermQuery(new Term(FIELD, "even")),
+                  BooleanClause.Occur.MUST);
+        assertHits(query, "A");
+        assertHits(query, "A", "B");
+    }
+
+    @Test
+    public void testClusteredVisibilities() throws Exception {
+        // most blocks are skipped from their skip data summary
+        Query clustered = new TermQuery(new Term(CLUSTERED_FIELD, "clustered"));
+        BooleanQuery clusteredEven = new BooleanQuery();
+        clusteredEven.add(clustered, BooleanClause.Occur.MUST);
+        clusteredEven.add(new TermQuery(new Term(FIELD, "even")),
+                          BooleanClause.Occur.MUST);
+
+        int visibleWithA = 0;
+        int evenVisibleWithA = 0;
+        for (int i = 0; i < NUM_DOCS; i++) {
+            if ((i / CLUSTER_SIZE) % 2 == 0) {
+                visibleWithA++;
+                if (i % 2 == 0 && new AuthorizationsHolder(new Authorizations("A"))
+                  .getVisibilityEvaluator().evaluate(visibility(i))) {
+                    evenVisibleWithA++;
+                }
+            }
+        }
+        assertEquals(visibleWithA, totalHits(clustered, "A"));
+        assertEquals(NUM_DOCS - visibleWithA, totalHits(clustered, "B"));
+        assertEquals(evenVisibleWithA, totalHits(clusteredEven, "A"));
+    }
+
+    @Test
+    public void testPhrase() throws Exception {
+        PhraseQuery query = new PhraseQuery();
+        query.add(new Term(FIELD, "repeated"));
+        query.add(new Term(FIELD, "repeated"));
+        assertHits(query, "A");
+        assertHits(query, "A", "B");
+    }
+
+    @Test
+    public void testPayloadsResolveToVisibilities() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("A", "B")));
+        int positions = 0;
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            for (AtomicReaderContext context : reader.leaves()) {
+                DocsAndPositionsEnum postings = context.reader()
+                  .termPositionsEnum(new Term(FIELD, "repeated"));
+                // filtered by the enum itself
+                assertFalse(postings instanceof AccessFilteredDocsAndPositionsEnum);
+                int doc;
+                while ((doc = postings.nextDoc()) !=
+                       DocsAndPositionsEnum.NO_MORE_DOCS) {
+                    BytesRef expected = new BytesRef(
+                      visibility(context.docBase + doc).getExpression());
+                    for (int i = 0; i < postings.freq(); i++) {
+                        postings.nextPosition();
+                        BytesRef payload = postings.getPayload();
+                        assertNotNull(payload);
+                        assertEquals(expected, payload);
+                        positions++;
+                    }
+                }
+            }
+        }
+        // every doc but one in five has (doc % 5) repeated positions
+        assertEquals(2 * NUM_DOCS, positions);
+    }
+
+    @Test
+    public void testPayloadsAfterSkippedPositions() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("A", "B")));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            int checked = 0;
+            for (AtomicReaderContext context : reader.leaves()) {
+                DocsAndPositionsEnum postings = context.reader()
+                  .termPositionsEnum(new Term(FIELD, "repeated"));
+                // whole payload blocks are skipped between the docs read
+                int doc = postings.advance(300);
+                while (doc != DocsAndPositionsEnum.NO_MORE_DOCS) {
+                    if ((context.docBase + doc) % 97 == 1) {
+                        BytesRef expected = new BytesRef(
+                          visibility(context.docBase + doc).getExpression());
+                        for (int i = 0; i < postings.freq(); i++) {
+                            postings.nextPosition();
+                            assertEquals(expected, postings.getPayload());
+                        }
+                        checked++;
+                    }
+                    doc = postings.nextDoc();
+                }
+            }
+            assertTrue(checked > 0);
+        }
+    }
+
+    @Test
+    public void testVisiblePositions() throws Exception {
+        // A positions are 0 and 1 in even docs, 1 and 2 in odd docs, whose
+        // first position is not visible
+        assertVisiblePositions(new int[][]{{0, 1}, null}, "A");
+        assertVisiblePositions(new int[][]{{0, 1, 2}, {0, 1, 2}}, "A", "B");
+    }
+
+    @Test
+    public void testInvisibleFirstPosition() throws Exception {
+        // the first position of even docs is not visible with B, they are
+        // neither returned with their visible positions nor by docs()
+        assertVisiblePositions(new int[][]{null, {0}}, "B");
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("B")));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            int docs = 0;
+            for (AtomicReaderContext context : reader.leaves()) {
+                DocsEnum docsEnum = context.reader().termDocsEnum(
+                  new Term(MIXED_FIELD, "mixed"));
+                int doc;
+                while ((doc = docsEnum.nextDoc()) != DocsEnum.NO_MORE_DOCS) {
+                    assertEquals(1, (context.docBase + doc) % 2);
+                    docs++;
+                }
+            }
+            assertEquals(NUM_DOCS / 2, docs);
+        }
+    }
+
+    @Test
+    public void testMixedVisibilitiesFollowFirstPosition() throws Exception {
+        // without FLAG_VISIBLE_POSITIONS a doc is as visible as its first
+        // position, and all of its positions are returned
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("B")));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            int docs = 0;
+            for (AtomicReaderContext context : reader.leaves()) {
+                DocsAndPositionsEnum postings = context.reader()
+                  .termPositionsEnum(new Term(MIXED_FIELD, "mixed"));
+                int doc;
+                while ((doc = postings.nextDoc()) !=
+                       DocsAndPositionsEnum.NO_MORE_DOCS) {
+                    assertEquals(1, (context.docBase + doc) % 2);
+                    assertEquals(3, postings.freq());
+                    docs++;
+                }
+            }
+            assertEquals(NUM_DOCS / 2, docs);
+        }
+    }
+
+    @Test
+    public void testTermsPrunedFromTheirVisibility() throws Exception {
+        // terms are visible with A or B as a whole
+        Query tags = new PrefixQuery(new Term(TAG_FIELD, "tag"));
+        assertEquals(NUM_DOCS / 2, totalHits(tags, "A"));
+        assertEquals(NUM_DOCS / 2, totalHits(tags, "B"));
+        assertEquals(NUM_DOCS, totalHits(tags, "A", "B"));
+        assertEquals(0, totalHits(tags, "C"));
+
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("A")));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            int docs = 0;
+            for (AtomicReaderContext context : reader.leaves()) {
+                TermsEnum termsEnum = context.reader().terms(TAG_FIELD)
+                                             .iterator(null);
+                DocsEnum docsEnum = null;
+                DocsAndPositionsEnum positionsEnum = null;
+                BytesRef term;
+                while ((term = termsEnum.next()) != null) {
+                    int tag = Integer.parseInt(
+                      term.utf8ToString().substring("tag".length()));
+                    // visible with A or A|B
+                    boolean visible = tag % VISIBILITIES.length == 0 ||
+                                      tag % VISIBILITIES.length == 2;
+                    docsEnum = termsEnum.docs(null, docsEnum);
+                    positionsEnum = termsEnum.docsAndPositions(null,
+                                                               positionsEnum);
+                    // the postings of invisible terms are not read
+                    assertEquals(!visible, docsEnum instanceof
+                      LucurePostingsReader.EmptyEnum);
+                    assertEquals(!visible, positionsEnum instanceof
+                      LucurePostingsReader.EmptyEnum);
+                    int doc;
+                    while ((doc = docsEnum.nextDoc()) != DocsEnum.NO_MORE_DOCS) {
+                        assertEquals(tag, (context.docBase + doc) % NUM_TAGS);
+                        assertEquals(doc, positionsEnum.nextDoc());
+                        assertEquals(0, positionsEnum.nextPosition());
+                        docs++;
+                    }
+                    assertEquals(DocsEnum.NO_MORE_DOCS,
+                                 positionsEnum.nextDoc());
+                }
+            }
+            assertEquals(NUM_DOCS / 2, docs);
+        }
+
+        // mixed terms are pruned from their summary
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("C")));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            for (AtomicReaderContext context : reader.leaves()) {
+                assertTrue(context.reader().termDocsEnum(
+                  new Term(FIELD, "common")) instanceof
+                             LucurePostingsReader.EmptyEnum);
+            }
+        }
+    }
+
+    @Test
+    public void testAllowedVisibilitiesLookedUpOncePerAuthorizations()
+      throws Exception {
+        AuthorizationsHolder.threadAuthorizations.set(
+          AuthorizationsHolder.of(new Authorizations("A", "C")));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            for (AtomicReaderContext context : reader.leaves()) {
+                TermsEnum termsEnum = context.reader().terms(FIELD)
+                                             .iterator(null);
+                assertTrue(termsEnum.seekExact(new BytesRef("common")));
+                DocsEnum docsEnum = termsEnum.docs(null, null);
+                // other authorizations reading the segment meanwhile
+                final AtomicReader segment = context.reader();
+                Thread other = new Thread() {
+                    @Override
+                    public void run() {
+                        AuthorizationsHolder.threadAuthorizations.set(
+                          AuthorizationsHolder.of(new Authorizations("B")));
+                        try {
+                            segment.termDocsEnum(new Term(FIELD, "common"));
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                };
+                other.start();
+                other.join();
+                long lookups = AllowedVisibilitiesCache.SHARED.stats()
+                                                              .requestCount();
+                // the next terms reuse the visibilities of the first one
+                for (String term : new String[]{"repeated", "even", "rare"}) {
+                    assertTrue(termsEnum.seekExact(new BytesRef(term)));
+                    docsEnum = termsEnum.docs(null, docsEnum);
+                    termsEnum.docsAndPositions(null, null);
+                }
+                assertEquals(lookups, AllowedVisibilitiesCache.SHARED.stats()
+                                                                  .requestCount());
+            }
+        }
+    }
+
+    @Test
+    public void testPrunedTermsReuseTheirEnum() throws Exception {
+        // none of the tags is visible
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("C")));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            for (AtomicReaderContext context : reader.leaves()) {
+                TermsEnum termsEnum = context.reader().terms(TAG_FIELD)
+                                             .iterator(null);
+                DocsEnum docsEnum = null;
+                DocsAndPositionsEnum positionsEnum = null;
+                int terms = 0;
+                int reused = 0;
+                while (termsEnum.next() != null) {
+                    terms++;
+                    DocsEnum previous = docsEnum;
+                    DocsAndPositionsEnum previousPositions = positionsEnum;
+                    docsEnum = termsEnum.docs(null, docsEnum);
+                    positionsEnum = termsEnum.docsAndPositions(null,
+                                                               positionsEnum);
+                    if (!(docsEnum instanceof LucurePostingsReader.EmptyEnum) ||
+                        !(previous instanceof LucurePostingsReader.EmptyEnum)) {
+                        continue;
+                    }
+                    // the next pruned terms reuse the empty enum
+                    assertSame(previous, docsEnum);
+                    assertSame(previousPositions, positionsEnum);
+                    assertEquals(-1, docsEnum.docID());
+                    assertEquals(DocsEnum.NO_MORE_DOCS, docsEnum.nextDoc());
+                    assertEquals(-1, positionsEnum.docID());
+                    assertEquals(DocsEnum.NO_MORE_DOCS,
+                                 positionsEnum.nextDoc());
+                    reused++;
+                }
+                assertEquals(terms - 1, reused);
+            }
+        }
+    }
+
+    private void assertVisiblePositions(int[][] expected, String... auths)
+      throws Exception {
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations(auths)));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            int docs = 0;
+            for (AtomicReaderContext context : reader.leaves()) {
+                TermsEnum termsEnum = context.reader().terms(MIXED_FIELD)
+                                             .iterator(null);
+                assertTrue(termsEnum.seekExact(new BytesRef("mixed")));
+                DocsAndPositionsEnum postings = termsEnum.docsAndPositions(
+                  null, null, LucurePostingsFormat.FLAG_VISIBLE_POSITIONS);
+                int doc;
+                while ((doc = postings.nextDoc()) !=
+                       DocsAndPositionsEnum.NO_MORE_DOCS) {
+                    boolean even = (context.docBase + doc) % 2 == 0;
+                    int[] positions = expected[even ? 0 : 1];
+                    assertNotNull(positions);
+                    assertEquals(positions.length, postings.freq());
+                    for (int position : positions) {
+                        assertEquals(position, postings.nextPosition());
+                        boolean visibleWithA = even ? position < 2 : position > 0;
+                        assertEquals(new BytesRef(visibleWithA ? "A" : "B"),
+                                     postings.getPayload());
+                    }
+                    docs++;
+                }
+            }
+            int expectedDocs = 0;
+            for (int[] positions : expected) {
+                expectedDocs += positions == null ? 0 : NUM_DOCS / 2;
+            }
+            assertEquals(expectedDocs, docs);
+        }
+    }
+
+    @Test
+    public void testUnrestrictedFieldIsNotFiltered() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations("A")));
+        Term term = new Term(UNRESTRICTED_FIELD, "type0");
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            int docs = 0;
+            for (AtomicReaderContext context : reader.leaves()) {
+                DocsEnum docsEnum = context.reader().termDocsEnum(term);
+                DocsAndPositionsEnum positionsEnum = context.reader()
+                                                           .termPositionsEnum(term);
+                assertFalse(docsEnum instanceof AccessFilteredDocsAndPositionsEnum);
+                assertFalse(positionsEnum instanceof AccessFilteredDocsAndPositionsEnum);
+                while (docsEnum.nextDoc() != DocsEnum.NO_MORE_DOCS) {
+                    docs++;
+                }
+            }
+            assertEquals((NUM_DOCS + 2) / 3, docs);
+        }
+    }
+
+    private int totalHits(Query query, String... auths) throws Exception {
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations(auths)));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            TotalHitCountCollector collector = new TotalHitCountCollector();
+            new IndexSearcher(reader).search(query, collector);
+            return collector.getTotalHits();
+        }
+    }
+
+    private void assertHits(Query query, String... auths) throws Exception {
+        Authorizations authorizations = new Authorizations(auths);
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(authorizations));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            TotalHitCountCollector collector = new TotalHitCountCollector();
+            new IndexSearcher(reader).search(query, collector);
+            assertEquals(expectedHits(query, authorizations),
+                         collector.getTotalHits());
+        }
+    }
+
+    private static int expectedHits(
+      Query query, Authorizations authorizations) throws Exception {
+        int expected = 0;
+        for (int i = 0; i < NUM_DOCS; i++) {
+            if (matches(query, i) &&
+                new AuthorizationsHolder(authorizations)
+                  .getVisibilityEvaluator().evaluate(visibility(i))) {
+                expected++;
+            }
+        }
+        return expected;
+    }
+
+    private static boolean matches(Query query, int doc) {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery) query).getClauses()) {
+                if (!matches(clause.getQuery(), doc)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (query instanceof PhraseQuery) {
+            // only "repeated repeated"
+            return doc % 5 >= 2;
+        }
+        String text = ((TermQuery) query).getTerm().text();
+        switch (text) {
+            case "common":
+                return true;
+            case "repeated":
+                return doc % 5 != 0;
+            case "even":
+                return doc % 2 == 0;
+            case "rare":
+                return doc == RARE_DOC;
+            default:
+                return false;
+        }
+    }
+}
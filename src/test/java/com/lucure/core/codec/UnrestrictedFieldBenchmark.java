@@ -0,0 +1,106 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.RestrictedField;
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares term queries on an unrestricted field of an index written with
+ * the lucure codec against the same index written with the default
+ * codec. Unrestricted fields have no payloads, so their postings are
+ * returned without any access filtering and both should score the same.
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=UnrestrictedFieldBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnrestrictedFieldBenchmark {
+
+    private static final int NUM_DOCS = 100000;
+
+    @Param({"lucure", "default"})
+    public String codec;
+
+    private RAMDirectory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private TermQuery typeQuery;
+    private TermQuery idQuery;
+
+    @Setup
+    public void setup() throws IOException {
+        IndexWriterConfig conf = new IndexWriterConfig(
+          Version.LUCENE_47, new WhitespaceAnalyzer(Version.LUCENE_47));
+        conf.setCodec("lucure".equals(codec) ? new LucureCodec() :
+                      Codec.getDefault());
+        directory = new RAMDirectory();
+        FieldVisibility visibility = new FieldVisibility("A|B");
+        try (IndexWriter writer = new IndexWriter(directory, conf)) {
+            for (int i = 0; i < NUM_DOCS; i++) {
+                Document document = new Document();
+                document.add(new StringField("id", Integer.toString(i),
+                                             Field.Store.NO));
+                document.add(new TextField("type", "type" + (i % 4),
+                                           Field.Store.NO));
+                document.add(new RestrictedField(
+                  new TextField("body", "restricted body", Field.Store.NO),
+                  visibility));
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        typeQuery = new TermQuery(new Term("type", "type1"));
+        idQuery = new TermQuery(new Term("id", "4242"));
+        AuthorizationsHolder.threadAuthorizations.set(
+          AuthorizationsHolder.of(new Authorizations("A")));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public int typeTermQuery() throws IOException {
+        TotalHitCountCollector collector = new TotalHitCountCollector();
+        searcher.search(typeQuery, collector);
+        return collector.getTotalHits();
+    }
+
+    @Benchmark
+    public int idTermQuery() throws IOException {
+        TotalHitCountCollector collector = new TotalHitCountCollector();
+        searcher.search(idQuery, collector);
+        return collector.getTotalHits();
+    }
+}
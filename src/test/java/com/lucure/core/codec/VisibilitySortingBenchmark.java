@@ -0,0 +1,106 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.RestrictedField;
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares term queries on an index whose visibilities are skewed, 90% of
+ * the docs visible with A, 9% with B and 1% with C, interleaved at random,
+ * merged with and without {@link VisibilitySortingMergePolicy}. Once sorted,
+ * the postings of a rare visibility are held in a few blocks and the other
+ * blocks are skipped from their skip data.
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=VisibilitySortingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisibilitySortingBenchmark {
+
+    private static final int NUM_DOCS = 200000;
+
+    @Param({"true", "false"})
+    public boolean sorted;
+
+    @Param({"A", "C"})
+    public String authorization;
+
+    private RAMDirectory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private TermQuery commonQuery;
+
+    @Setup
+    public void setup() throws IOException {
+        IndexWriterConfig conf = new IndexWriterConfig(
+          Version.LUCENE_47, new WhitespaceAnalyzer(Version.LUCENE_47));
+        conf.setCodec(new LucureCodec());
+        conf.setMergePolicy(
+          sorted ? new VisibilitySortingMergePolicy(new TieredMergePolicy()) :
+          new TieredMergePolicy());
+        directory = new RAMDirectory();
+        FieldVisibility[] visibilities = {new FieldVisibility("A"),
+                                          new FieldVisibility("B"),
+                                          new FieldVisibility("C")};
+        Random random = new Random(42);
+        try (IndexWriter writer = new IndexWriter(directory, conf)) {
+            for (int i = 0; i < NUM_DOCS; i++) {
+                int bucket = random.nextInt(100);
+                FieldVisibility visibility = visibilities[
+                  bucket < 90 ? 0 : bucket < 99 ? 1 : 2];
+                Document document = new Document();
+                document.add(new RestrictedField(
+                  new TextField("body", "common body " + (i % 10),
+                                Field.Store.NO), visibility));
+                VisibilitySortingMergePolicy.addDominantVisibility(document);
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        commonQuery = new TermQuery(new Term("body", "common"));
+        AuthorizationsHolder.threadAuthorizations.set(
+          AuthorizationsHolder.of(new Authorizations(authorization)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public int commonTermQuery() throws IOException {
+        TotalHitCountCollector collector = new TotalHitCountCollector();
+        searcher.search(commonQuery, collector);
+        return collector.getTotalHits();
+    }
+}
@@ -0,0 +1,174 @@
+package com.lucure.core.codec;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.RestrictedField;
+import com.lucure.core.index.LucureIndexSearcher;
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.Version;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VisibilitySortingMergePolicyTest {
+
+    private static final int NUM_DOCS = 1000;
+    private static final String FIELD = "body";
+    private static final String ID_FIELD = "id";
+    private static final String[] LABELS = {"A", "B", "C"};
+
+    private static RAMDirectory ramDirectory;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        IndexWriterConfig conf = new IndexWriterConfig(
+          Version.LUCENE_47, new WhitespaceAnalyzer(Version.LUCENE_47));
+        conf.setCodec(new LucureCodec());
+        conf.setMaxBufferedDocs(100);
+        conf.setMergePolicy(
+          new VisibilitySortingMergePolicy(new TieredMergePolicy()));
+        ramDirectory = new RAMDirectory();
+
+        FieldType fieldType = new FieldType();
+        fieldType.setIndexed(true);
+        fieldType.setTokenized(true);
+        fieldType.setStored(true);
+        fieldType.freeze();
+
+        try (IndexWriter indexWriter = new IndexWriter(ramDirectory, conf)) {
+            for (int i = 0; i < NUM_DOCS; i++) {
+                String label = label(i);
+                Document document = new Document();
+                document.add(new RestrictedField(
+                  FIELD, "common " + label.toLowerCase(), fieldType,
+                  new FieldVisibility(label)));
+                document.add(new StringField(ID_FIELD, Integer.toString(i),
+                                             Field.Store.YES));
+                VisibilitySortingMergePolicy.addDominantVisibility(document);
+                indexWriter.addDocument(document);
+            }
+            indexWriter.forceMerge(1);
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.remove();
+        ramDirectory.close();
+    }
+
+    /**
+     * Skewed, interleaved visibilities: 70% A, 20% B, 10% C
+     */
+    private static String label(int doc) {
+        int bucket = (doc * 7) % 10;
+        return bucket < 7 ? "A" : bucket < 9 ? "B" : "C";
+    }
+
+    private static int count(String label) {
+        int count = 0;
+        for (int i = 0; i < NUM_DOCS; i++) {
+            if (label(i).equals(label)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testMergedSegmentIsSorted() throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            assertEquals(1, reader.leaves().size());
+            AtomicReader segment = reader.leaves().get(0).reader();
+            assertTrue(VisibilitySortingMergePolicy.isSorted(segment));
+
+            VisibilityRanges ranges = VisibilityRanges.of(segment);
+            assertEquals(LABELS.length, ranges.size());
+            int start = 0;
+            for (int i = 0; i < LABELS.length; i++) {
+                assertEquals(new BytesRef(LABELS[i]), ranges.visibility(i));
+                assertEquals(start, ranges.start(i));
+                start += count(LABELS[i]);
+                assertEquals(start, ranges.end(i));
+                assertEquals(i, ranges.rangeOf(ranges.start(i)));
+                assertEquals(i, ranges.rangeOf(ranges.end(i) - 1));
+            }
+            assertEquals(NUM_DOCS, start);
+        }
+    }
+
+    @Test
+    public void testSortedPostingsAreFiltered() throws Exception {
+        for (String label : LABELS) {
+            assertEquals(count(label), totalHits("common", label));
+            assertEquals(count(label),
+                         totalHits(label.toLowerCase(), label));
+        }
+        assertEquals(0, totalHits("a", "B", "C"));
+        assertEquals(NUM_DOCS, totalHits("common", LABELS));
+    }
+
+    @Test
+    public void testDominantVisibilityIsRestricted() throws Exception {
+        Term dominantC = new Term(
+          VisibilitySortingMergePolicy.DOMINANT_VISIBILITY_FIELD, "C");
+        assertEquals(count("C"), totalHits(dominantC, "C"));
+        assertEquals(0, totalHits(dominantC, "A", "B"));
+    }
+
+    @Test
+    public void testSortedStoredFields() throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            LucureIndexSearcher searcher = new LucureIndexSearcher(reader);
+            VisibilityRanges ranges = VisibilityRanges.of(
+              reader.leaves().get(0).reader());
+            for (int doc = 0; doc < NUM_DOCS; doc++) {
+                Document document = searcher.doc(
+                  doc, new Authorizations(LABELS));
+                int id = Integer.parseInt(document.get(ID_FIELD));
+                String label = label(id);
+                assertEquals("common " + label.toLowerCase(),
+                             document.get(FIELD));
+                assertEquals(new BytesRef(label),
+                             ranges.visibility(ranges.rangeOf(doc)));
+            }
+            Document hidden = searcher.doc(0, new Authorizations("B"));
+            assertFalse(hidden.getFields().isEmpty());
+            assertEquals(null, hidden.get(FIELD));
+        }
+    }
+
+    private int totalHits(String text, String... auths) throws Exception {
+        return totalHits(new Term(FIELD, text), auths);
+    }
+
+    private int totalHits(Term term, String... auths) throws Exception {
+        AuthorizationsHolder.threadAuthorizations.set(
+          new AuthorizationsHolder(new Authorizations(auths)));
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            TotalHitCountCollector collector = new TotalHitCountCollector();
+            new IndexSearcher(reader).search(new TermQuery(term), collector);
+            return collector.getTotalHits();
+        }
+    }
+}
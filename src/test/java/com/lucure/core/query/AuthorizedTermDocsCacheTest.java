@@ -0,0 +1,193 @@
+package com.lucure.core.query;
+
+import com.lucure.core.AuthorizationsHolder;
+import com.lucure.core.RestrictedField;
+import com.lucure.core.codec.LucureCodec;
+import com.lucure.core.index.LucureAtomicReader;
+import com.lucure.core.index.LucureIndexSearcher;
+import com.lucure.core.security.Authorizations;
+import com.lucure.core.security.FieldVisibility;
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.AtomicReader;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class AuthorizedTermDocsCacheTest {
+
+    private static final int NUM_DOCS = 3000;
+    private static final String TAG_FIELD = "tag";
+    private static final Query RED = new ConstantScoreQuery(
+      new TermQuery(new Term(TAG_FIELD, "red")));
+
+    private RAMDirectory ramDirectory;
+    private IndexWriter writer;
+    private AuthorizedTermDocsCache cache;
+
+    @Before
+    public void setup() throws Exception {
+        IndexWriterConfig conf = new IndexWriterConfig(
+          Version.LUCENE_47, new WhitespaceAnalyzer(Version.LUCENE_47));
+        conf.setCodec(new LucureCodec());
+        ramDirectory = new RAMDirectory();
+        writer = new IndexWriter(ramDirectory, conf);
+        FieldVisibility[] visibilities = {new FieldVisibility("A"),
+                                          new FieldVisibility("B"),
+                                          new FieldVisibility("A&B")};
+        for (int i = 0; i < NUM_DOCS; i++) {
+            Document document = new Document();
+            document.add(new StringField("id", Integer.toString(i),
+                                         Field.Store.NO));
+            // red is sparse in the first segment, dense in the second
+            String tag = i < NUM_DOCS / 2 ?
+                         (i % 100 == 0 ? "red" : "blue") :
+                         (i % 3 == 0 ? "blue" : "red");
+            document.add(new RestrictedField(
+              new StringField(TAG_FIELD, tag, Field.Store.NO),
+              visibilities[i % visibilities.length]));
+            writer.addDocument(document);
+            if (i == NUM_DOCS / 2 - 1) {
+                writer.commit();
+            }
+        }
+        writer.commit();
+        cache = new AuthorizedTermDocsCache();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        AuthorizationsHolder.threadAuthorizations.remove();
+        writer.close();
+        ramDirectory.close();
+    }
+
+    @Test
+    public void testSameTopDocsAsPostings() throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            IndexSearcher searcher = new LucureIndexSearcher(reader);
+            for (int i = 0; i < 2; i++) {
+                assertSameTopDocs(searcher, RED, "A");
+                assertSameTopDocs(searcher, RED, "B");
+                assertSameTopDocs(searcher, RED, "A", "B");
+                assertSameTopDocs(searcher, RED);
+            }
+            // one entry per segment and authorizations
+            assertEquals(8, cache.size());
+            assertEquals(8, cache.stats().hitCount());
+
+            // a new searcher shares the entries of the segments, though its
+            // readers do not share the core keys of the segments
+            IndexSearcher other = new LucureIndexSearcher(reader);
+            AtomicReader wrapped = other.getIndexReader().leaves().get(0)
+                                        .reader();
+            assertNotSame(reader.leaves().get(0).reader().getCoreCacheKey(),
+                          wrapped.getCoreCacheKey());
+            assertSame(reader.leaves().get(0).reader().getCoreCacheKey(),
+                       LucureAtomicReader.unwrap(wrapped).getCoreCacheKey());
+            assertSameTopDocs(other, RED, "A");
+            assertEquals(10, cache.stats().hitCount());
+        }
+        // entries are dropped with their segments
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testBoostAndDeletions() throws Exception {
+        RED.setBoost(3f);
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            assertSameTopDocs(new IndexSearcher(reader), RED, "A", "B");
+            assertEquals(2, cache.size());
+
+            for (int i = 0; i < NUM_DOCS; i += 7) {
+                writer.deleteDocuments(new Term("id", Integer.toString(i)));
+            }
+            writer.commit();
+            try (DirectoryReader newReader =
+                   DirectoryReader.openIfChanged(reader)) {
+                // deleted docs are filtered out of the cached docs
+                assertSameTopDocs(new IndexSearcher(newReader), RED, "A", "B");
+                assertEquals(2, cache.stats().hitCount());
+            }
+        } finally {
+            RED.setBoost(1f);
+        }
+    }
+
+    @Test
+    public void testBooleanAndFilterClauses() throws Exception {
+        BooleanQuery query = new BooleanQuery();
+        query.add(RED, BooleanClause.Occur.SHOULD);
+        Query blue = new ConstantScoreQuery(new QueryWrapperFilter(
+          new TermQuery(new Term(TAG_FIELD, "blue"))));
+        blue.setBoost(2f);
+        query.add(blue, BooleanClause.Occur.SHOULD);
+        query.add(new TermQuery(new Term("id", "3")),
+                  BooleanClause.Occur.SHOULD);
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            assertSameTopDocs(new IndexSearcher(reader), query, "A");
+            // red and blue per segment, the scoring term query is not cached
+            assertEquals(4, cache.size());
+        }
+    }
+
+    @Test
+    public void testLoadRestoresAuthorizations() throws Exception {
+        AuthorizationsHolder holder = AuthorizationsHolder.of(
+          new Authorizations("B"));
+        AuthorizationsHolder.threadAuthorizations.set(holder);
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            AtomicReader segment = reader.leaves().get(0).reader();
+            cache.get(segment, segment.getCoreCacheKey(),
+                      new Term(TAG_FIELD, "red"),
+                      AuthorizationsHolder.of(new Authorizations("A")));
+            assertEquals(1, cache.size());
+        }
+        assertSame(holder, AuthorizationsHolder.threadAuthorizations.get());
+    }
+
+    @Test
+    public void testOtherQueriesAreNotCached() throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(ramDirectory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            assertSameTopDocs(searcher, new TermQuery(
+              new Term(TAG_FIELD, "red")), "A");
+            assertEquals(0, cache.size());
+        }
+    }
+
+    private void assertSameTopDocs(
+      IndexSearcher searcher, Query query, String... auths) throws Exception {
+        Authorizations authorizations = new Authorizations(auths);
+        TopDocs expected = searcher.search(
+          new AuthQuery(query, authorizations), NUM_DOCS);
+        TopDocs actual = searcher.search(
+          new AuthQuery(query, authorizations, cache), NUM_DOCS);
+        assertEquals(expected.totalHits, actual.totalHits);
+        for (int i = 0; i < expected.scoreDocs.length; i++) {
+            assertEquals(expected.scoreDocs[i].doc, actual.scoreDocs[i].doc);
+            assertEquals(expected.scoreDocs[i].score,
+                         actual.scoreDocs[i].score, 0f);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.lucure.core.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up expression terms in an authorization set through a
+ * HashSet of ByteSequence wrappers, the {@link AuthorizationsMatcher} table
+ * and the interned id bit set. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=AuthorizationsMatcherBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationsMatcherBenchmark {
+
+    private static final int NUM_LOOKUPS = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int authorizations;
+
+    // terms laid out back to back as they are in expressions
+    private byte[] buffer;
+    private int[] offsets;
+    private int[] lengths;
+    private int[] ids;
+
+    private Set<ByteSequence> hashSet;
+    private AuthorizationsMatcher matcher;
+    private Authorizations bits;
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(42);
+        List<byte[]> auths = new ArrayList<byte[]>(authorizations);
+        for (int i = 0; i < authorizations; i++) {
+            auths.add(("GROUP_" + Integer.toHexString(random.nextInt()))
+                        .getBytes(Constants.UTF8));
+        }
+        hashSet = new HashSet<ByteSequence>();
+        for (byte[] auth : auths) {
+            hashSet.add(new ArrayByteSequence(auth));
+        }
+        matcher = new AuthorizationsMatcher(auths);
+        bits = new Authorizations(auths);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        offsets = new int[NUM_LOOKUPS];
+        lengths = new int[NUM_LOOKUPS];
+        ids = new int[NUM_LOOKUPS];
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            // half of the lookups hit
+            byte[] term = random.nextBoolean() ?
+                          auths.get(random.nextInt(authorizations)) :
+                          ("GROUP_" + Integer.toHexString(random.nextInt()))
+                            .getBytes(Constants.UTF8);
+            offsets[i] = out.size();
+            lengths[i] = term.length;
+            ids[i] = AuthorizationDictionary.intern(term);
+            out.write(term);
+            out.write('&');
+        }
+        buffer = out.toByteArray();
+        bits.getBits();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int hashSet() {
+        int found = 0;
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            if (hashSet.contains(
+              new ArrayByteSequence(buffer, offsets[i], lengths[i]))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int matcher() {
+        int found = 0;
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            if (matcher.contains(buffer, offsets[i], lengths[i])) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_LOOKUPS)
+    public int internedBits() {
+        int found = 0;
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            if (bits.containsId(ids[i])) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,46 @@
+package com.lucure.core.security;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class AuthorizationsMatcherTest {
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(Constants.UTF8);
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        AuthorizationsMatcher matcher = new AuthorizationsMatcher(Arrays.asList(
+          bytes("b"), bytes("a"), bytes("ab"), bytes("abc"), bytes("été"),
+          bytes("z")));
+        assertEquals(6, matcher.size());
+
+        for (String auth : new String[]{"a", "ab", "abc", "b", "z", "été"}) {
+            assertTrue(auth, matcher.contains(bytes(auth)));
+        }
+        for (String auth : new String[]{"", "abcd", "aa", "c", "é"}) {
+            assertFalse(auth, matcher.contains(bytes(auth)));
+        }
+
+        byte[] buffer = bytes("x|abc&b");
+        assertTrue(matcher.contains(buffer, 2, 3));
+        assertTrue(matcher.contains(buffer, 2, 2));
+        assertTrue(matcher.contains(buffer, 6, 1));
+        assertFalse(matcher.contains(buffer, 0, 1));
+        assertTrue(matcher.contains(new ArrayByteSequence(buffer, 2, 3)));
+    }
+
+    @Test
+    public void testAuthorizations() throws Exception {
+        Authorizations authorizations = new Authorizations("one", "two");
+        assertTrue(authorizations.contains("one"));
+        assertTrue(authorizations.contains(bytes("two")));
+        assertTrue(authorizations.contains(bytes("one|two"), 4, 3));
+        assertFalse(authorizations.contains("three"));
+        assertFalse(Authorizations.EMPTY.contains("one"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.lucure.core.security;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FieldVisibilityCacheTest {
+
+    @Test
+    public void testLookupOnSlice() throws Exception {
+        FieldVisibilityCache cache = new FieldVisibilityCache(10);
+        byte[] buffer = "xxA&Byy".getBytes(Constants.UTF8);
+
+        FieldVisibility fieldVisibility = cache.get(buffer, 2, 3);
+        assertArrayEquals("A&B".getBytes(Constants.UTF8),
+                          fieldVisibility.getExpression());
+        assertEquals(0, cache.hitCount());
+        assertEquals(1, cache.missCount());
+
+        //changing the buffer must not change the cached expression
+        buffer[2] = 'C';
+        assertSame(fieldVisibility, cache.get("A&B".getBytes(Constants.UTF8)));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        FieldVisibilityCache cache = new FieldVisibilityCache(2);
+        for (int i = 0; i < 10; i++) {
+            cache.get(("A" + i).getBytes(Constants.UTF8));
+        }
+        assertTrue(cache.size() <= 2);
+        assertTrue(cache.evictionCount() >= 8);
+    }
+
+    @Test
+    public void testEmptyExpression() throws Exception {
+        FieldVisibilityCache cache = new FieldVisibilityCache(2);
+        assertEquals(0, cache.get(new byte[0]).getExpression().length);
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = BadArgumentException.class)
+    public void testInvalidExpression() throws Exception {
+        new FieldVisibilityCache(2).get("A|B&C".getBytes(Constants.UTF8));
+    }
+}
@@ -0,0 +1,52 @@
+package com.lucure.core.security;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FieldVisibilityTest {
+
+    private static void assertCanonical(String expected, String expression) {
+        assertEquals(expected, new String(
+          new FieldVisibility(expression).canonicalize().getExpression(),
+          Constants.UTF8));
+    }
+
+    @Test
+    public void testCanonicalize() throws Exception {
+        assertCanonical("A&B", "A&B");
+        assertCanonical("A&B", "B&A");
+        assertCanonical("A&B", "(A)&B");
+        assertCanonical("A&B", "B&(A&B)");
+        assertCanonical("A|B|C", "(C|A)|B");
+        assertCanonical("A", "A|(A&B)");
+        assertCanonical("A", "A&(A|B)");
+        assertCanonical("A&C", "(A|(A&B))&C");
+        assertCanonical("A|(B&C)", "A|(B&C)|(A&B&D)");
+        assertCanonical("C&(A|B)", "(B|A)&C&(A|B|D)");
+        assertCanonical("", "");
+    }
+
+    @Test
+    public void testCanonicalizeReturnsSameInstance() throws Exception {
+        FieldVisibility fieldVisibility = new FieldVisibility("A&(B|C)");
+        assertSame(fieldVisibility, fieldVisibility.canonicalize());
+    }
+
+    @Test
+    public void testCanonicalizeDoesNotChangeParseTree() throws Exception {
+        FieldVisibility fieldVisibility = new FieldVisibility("B|(B&A)");
+        fieldVisibility.canonicalize();
+        assertEquals(2, fieldVisibility.getParseTree().getChildren().size());
+        assertEquals("[B|(B&A)]", fieldVisibility.toString());
+    }
+
+    @Test
+    public void testCachedCanonicalForm() throws Exception {
+        FieldVisibilityCache cache = new FieldVisibilityCache(10);
+        FieldVisibility canonical = cache.getCanonical(
+          new FieldVisibility("B&A"));
+        assertSame(canonical, cache.getCanonical(new FieldVisibility("(A)&B")));
+        assertSame(canonical, cache.get("A&B".getBytes(Constants.UTF8)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.lucure.core.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating visibilities with the per evaluator decision cache
+ * against running the compiled program on every call. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=VisibilityEvaluatorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisibilityEvaluatorBenchmark {
+
+    private static final int NUM_POSTINGS = 4096;
+
+    @Param({"10", "300"})
+    public int distinctExpressions;
+
+    private FieldVisibility[] postings;
+    private VisibilityEvaluator cachedEvaluator;
+    private VisibilityEvaluator uncachedEvaluator;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        FieldVisibility[] expressions = new FieldVisibility[distinctExpressions];
+        for (int i = 0; i < distinctExpressions; i++) {
+            expressions[i] = new FieldVisibility(
+              "(ORG_" + (i % 26) + "|ORG_" + ((i + 7) % 26) + "|GROUP_" + i +
+              ")&(SECRET|TOPSECRET)&(CAVEAT_" + (i % 5) + "|ADMIN)");
+        }
+        postings = new FieldVisibility[NUM_POSTINGS];
+        for (int i = 0; i < NUM_POSTINGS; i++) {
+            postings[i] = expressions[random.nextInt(distinctExpressions)];
+        }
+
+        Authorizations authorizations = new Authorizations("ORG_1", "ORG_3",
+                                                           "SECRET",
+                                                           "CAVEAT_2");
+        cachedEvaluator = new VisibilityEvaluator(authorizations);
+        uncachedEvaluator = new VisibilityEvaluator(authorizations, 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_POSTINGS)
+    public int decisionCache() throws VisibilityParseException {
+        return evaluateAll(cachedEvaluator);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_POSTINGS)
+    public int compiledProgram() throws VisibilityParseException {
+        return evaluateAll(uncachedEvaluator);
+    }
+
+    private int evaluateAll(VisibilityEvaluator evaluator)
+      throws VisibilityParseException {
+        int allowed = 0;
+        for (FieldVisibility fieldVisibility : postings) {
+            if (evaluator.evaluate(fieldVisibility)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
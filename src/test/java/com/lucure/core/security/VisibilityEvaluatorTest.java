@@ -0,0 +1,113 @@
+package com.lucure.core.security;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VisibilityEvaluatorTest {
+
+    @Test
+    public void testEvaluate() throws Exception {
+        VisibilityEvaluator evaluator = new VisibilityEvaluator(
+          new Authorizations("one", "two", "three", "four"));
+
+        assertTrue(evaluator.evaluate(new FieldVisibility()));
+        assertTrue(evaluator.evaluate(new FieldVisibility("one")));
+        assertTrue(evaluator.evaluate(new FieldVisibility("one&two")));
+        assertTrue(evaluator.evaluate(new FieldVisibility("one|five")));
+        assertTrue(evaluator.evaluate(new FieldVisibility("(one|five)&(two|six)")));
+        assertTrue(evaluator.evaluate(new FieldVisibility("five|(one&two&(three|six))")));
+
+        assertFalse(evaluator.evaluate(new FieldVisibility("five")));
+        assertFalse(evaluator.evaluate(new FieldVisibility("one&five")));
+        assertFalse(evaluator.evaluate(new FieldVisibility("five|six")));
+        assertFalse(evaluator.evaluate(new FieldVisibility("(one|five)&six")));
+        assertFalse(evaluator.evaluate(new FieldVisibility("((one&five)|six)&two")));
+    }
+
+    @Test
+    public void testQuotedTerms() throws Exception {
+        VisibilityEvaluator evaluator = new VisibilityEvaluator(
+          new Authorizations("A#C", "A\"C", "A\\C", "ACS"));
+
+        assertTrue(evaluator.evaluate(new FieldVisibility(FieldVisibility.quote("A#C") + "|" + FieldVisibility.quote("A?C"))));
+        assertTrue(evaluator.evaluate(new FieldVisibility(FieldVisibility.quote("A\"C") + "&" + FieldVisibility.quote("ACS"))));
+        assertTrue(evaluator.evaluate(new FieldVisibility(FieldVisibility.quote("A\\C") + "&\"ACS\"")));
+
+        assertFalse(evaluator.evaluate(new FieldVisibility(FieldVisibility.quote("A#C") + "&B")));
+        assertFalse(evaluator.evaluate(new FieldVisibility(FieldVisibility.quote("A?C"))));
+    }
+
+    @Test
+    public void testEvaluateSlice() throws Exception {
+        VisibilityEvaluator evaluator = new VisibilityEvaluator(
+          new Authorizations("one", "two"));
+        byte[] buffer = "xxone&twoyyone&three".getBytes(Constants.UTF8);
+
+        assertTrue(evaluator.evaluate(buffer, 2, 7));
+        assertFalse(evaluator.evaluate(buffer, 11, 9));
+        assertTrue(evaluator.evaluate(buffer, 4, 0));
+    }
+
+    @Test
+    public void testEvaluateBlock() throws Exception {
+        VisibilityEvaluator evaluator = new VisibilityEvaluator(
+          new Authorizations("one"));
+        byte[] bytes = "oneonetwoone|two".getBytes(Constants.UTF8);
+        int[] lengths = new int[70];
+        lengths[0] = 3;
+        lengths[1] = 3;
+        lengths[2] = 3;
+        lengths[69] = 7;
+        long[] accept = {-1L, -1L};
+
+        assertEquals(69, evaluator.evaluate(bytes, 0, lengths, 70, accept));
+        assertEquals(~4L, accept[0]);
+        assertEquals(0x3fL, accept[1]);
+
+        FieldVisibility one = new FieldVisibility("one");
+        FieldVisibility two = new FieldVisibility("two");
+        FieldVisibility[] visibilities = {one, one, two, null, two};
+        assertEquals(3, evaluator.evaluate(visibilities, 5, accept));
+        assertEquals(0xbL, accept[0]);
+    }
+
+    @Test
+    public void testDecisionCacheDisabled() throws Exception {
+        Authorizations authorizations = new Authorizations("one");
+        FieldVisibility visibility = new FieldVisibility("one|two");
+        assertTrue(new VisibilityEvaluator(authorizations, 0).evaluate(visibility));
+        assertTrue(new VisibilityEvaluator(authorizations, 1).evaluate(visibility));
+        assertTrue(new VisibilityEvaluator(authorizations, 1).evaluate(visibility));
+    }
+
+    @Test
+    public void testAuthorizationBits() throws Exception {
+        Authorizations authorizations = new Authorizations("one", "two");
+        int one = AuthorizationDictionary.intern("one".getBytes(Constants.UTF8));
+        int three = AuthorizationDictionary.intern("three".getBytes(Constants.UTF8));
+
+        assertTrue(authorizations.containsId(one));
+        assertFalse(authorizations.containsId(three));
+        assertFalse(authorizations.containsId(AuthorizationDictionary.NO_ID));
+        assertFalse(Authorizations.EMPTY.containsId(one));
+    }
+
+    @Test
+    public void testExpressionTermsAreNotInterned() throws Exception {
+        VisibilityEvaluator evaluator = new VisibilityEvaluator(
+          new Authorizations("one"));
+        int size = AuthorizationDictionary.size();
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(evaluator.evaluate(
+              new FieldVisibility("one&uninterned_user" + i)));
+        }
+        assertEquals(size, AuthorizationDictionary.size());
+
+        // a term interned after its program was compiled is then found
+        FieldVisibility visibility = new FieldVisibility("late_auth|five");
+        assertFalse(evaluator.evaluate(visibility));
+        assertTrue(new VisibilityEvaluator(new Authorizations("late_auth"))
+                     .evaluate(visibility));
+    }
+}
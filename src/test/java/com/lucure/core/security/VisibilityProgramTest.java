@@ -0,0 +1,153 @@
+package com.lucure.core.security;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VisibilityProgramTest {
+
+    @Test
+    public void testCompile() throws Exception {
+        FieldVisibility visibility = new FieldVisibility("(A|B)&(C|D)&E");
+        // interned before the program is compiled
+        long[] ade = bits("A", "D", "E");
+        long[] bcef = bits("B", "C", "E", "F");
+        VisibilityProgram program = visibility.getProgram();
+
+        assertEquals(5, program.size());
+        assertSame(program, visibility.getProgram());
+
+        assertTrue(program.evaluate(ade));
+        assertTrue(program.evaluate(bcef));
+        assertFalse(program.evaluate(bits("A", "B", "E")));
+        assertFalse(program.evaluate(bits("A", "C")));
+        assertFalse(program.evaluate(bits()));
+    }
+
+    @Test
+    public void testEscapedTerms() throws Exception {
+        long[] quoted = bits("Q\"T", "B\\S");
+        VisibilityProgram program = new FieldVisibility(
+          FieldVisibility.quote("Q\"T") + "&" + FieldVisibility.quote("B\\S"))
+          .getProgram();
+
+        assertTrue(program.evaluate(quoted));
+        assertFalse(program.evaluate(bits("Q\"T")));
+    }
+
+    @Test
+    public void testReorder() throws Exception {
+        FieldVisibility visibility = new FieldVisibility(
+          "(ORG_A|ORG_B|ORG_C|ORG_D)&SECRET");
+        int secret = AuthorizationDictionary.intern(
+          "SECRET".getBytes(Constants.UTF8));
+        // interned before the program is compiled
+        long[][] authorizations = {
+          bits("ORG_D"), bits("ORG_C", "ORG_D"), bits("ORG_D", "SECRET")};
+        long[] orgASecret = bits("ORG_A", "SECRET");
+        long[] orgA = bits("ORG_A");
+
+        VisibilityProgram program = visibility.getProgram();
+        assertNotEquals(secret, program.firstTermId());
+        for (int i = 0; i < VisibilityProgram.PROFILED_EVALUATIONS; i++) {
+            long[] auths = authorizations[i % authorizations.length];
+            assertEquals(i % authorizations.length == 2,
+                         program.evaluate(auths));
+        }
+        assertTrue(program.isProfiled());
+
+        // SECRET mostly fails so it is tested first
+        VisibilityProgram reordered = visibility.getProgram();
+        assertNotSame(program, reordered);
+        assertFalse(reordered.isProfiled());
+        assertSame(reordered, visibility.getProgram());
+        assertEquals(secret, reordered.firstTermId());
+        for (long[] auths : authorizations) {
+            assertEquals(program.evaluate(auths), reordered.evaluate(auths));
+        }
+        assertTrue(reordered.evaluate(orgASecret));
+        assertFalse(reordered.evaluate(orgA));
+    }
+
+    @Test
+    public void testReprofile() throws Exception {
+        FieldVisibility visibility = new FieldVisibility("REP_A&REP_B");
+        int a = AuthorizationDictionary.intern("REP_A".getBytes(Constants.UTF8));
+        int b = AuthorizationDictionary.intern("REP_B".getBytes(Constants.UTF8));
+        long[] onlyA = bits("REP_A");
+        long[] onlyB = bits("REP_B");
+
+        // REP_B mostly fails at first
+        VisibilityProgram program = visibility.getProgram();
+        for (int i = 0; i < VisibilityProgram.PROFILED_EVALUATIONS; i++) {
+            assertFalse(program.evaluate(onlyA));
+        }
+        VisibilityProgram reordered = visibility.getProgram();
+        assertEquals(b, reordered.firstTermId());
+
+        // then REP_A does, the reordered program follows
+        for (int i = 0; i < VisibilityProgram.REPROFILE_INTERVAL; i++) {
+            assertFalse(reordered.isProfiled());
+            assertFalse(reordered.evaluate(onlyB));
+        }
+        assertTrue(reordered.isProfiled());
+        VisibilityProgram reprofiled = visibility.getProgram();
+        assertNotSame(reordered, reprofiled);
+        assertEquals(a, reprofiled.firstTermId());
+        assertFalse(reprofiled.isProfiled());
+    }
+
+    @Test
+    public void testProfileBounded() throws Exception {
+        FieldVisibility visibility = new FieldVisibility("BND_A&BND_B");
+        long[] onlyA = bits("BND_A");
+
+        VisibilityProgram program = visibility.getProgram();
+        for (int i = 0; i < VisibilityProgram.PROFILED_EVALUATIONS * 2; i++) {
+            program.evaluate(onlyA);
+        }
+        // no longer counted once profiled
+        assertTrue(program.isProfiled());
+        assertEquals(VisibilityProgram.PROFILED_EVALUATIONS,
+                     program.evaluations());
+
+        for (int r = 0; r < VisibilityProgram.MAX_REORDERS; r++) {
+            program = visibility.getProgram();
+            assertFalse(program.isProfiled());
+            for (int i = 0; i < VisibilityProgram.REPROFILE_INTERVAL; i++) {
+                program.evaluate(onlyA);
+            }
+        }
+        // the last reordered program is kept
+        VisibilityProgram last = visibility.getProgram();
+        for (int i = 0; i < VisibilityProgram.REPROFILE_INTERVAL * 2; i++) {
+            assertFalse(last.evaluate(onlyA));
+        }
+        assertFalse(last.isProfiled());
+        assertEquals(0, last.evaluations());
+        assertSame(last, visibility.getProgram());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        VisibilityProgram program = new FieldVisibility().getProgram();
+        assertSame(VisibilityProgram.EMPTY, program);
+        assertTrue(program.evaluate(bits()));
+    }
+
+    @Test(expected = VisibilityParseException.class)
+    public void testMalformedTree() throws Exception {
+        FieldVisibility.Node and = new FieldVisibility.Node(
+          FieldVisibility.NodeType.AND);
+        and.add(new FieldVisibility.Node(0, 1));
+        VisibilityProgram.compile("A".getBytes(Constants.UTF8), and);
+    }
+
+    /**
+     * Bits of the authorizations as an evaluator computes them
+     */
+    private static long[] bits(String... authorizations) {
+        return VisibilityEvaluator.escape(new Authorizations(authorizations))
+                                  .getBits();
+    }
+}